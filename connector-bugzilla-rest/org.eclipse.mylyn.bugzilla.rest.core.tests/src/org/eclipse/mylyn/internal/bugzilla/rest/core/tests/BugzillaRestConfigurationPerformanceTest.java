@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestGetNamedItemsRequest;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Field;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.FieldResponse;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Named;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Product;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.ProductResponse;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.RestResponse;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Measures building the configuration maps from a large <code>/product</code> and <code>/field/bug</code> response,
+ * created by replicating the recorded test data, with {@link BugzillaRestGetNamedItemsRequest} compared to
+ * deserializing the whole response and indexing the array, i.e. the behavior prior to streaming. Item names contain
+ * non-ASCII characters, both variants decode the response as UTF-8 to allow comparing the results.
+ */
+public class BugzillaRestConfigurationPerformanceTest {
+
+	private static final int PRODUCT_COPIES = 1000;
+
+	private static final int FIELD_COPIES = 100;
+
+	private static final int RUNS = 5;
+
+	private byte[] productResponse;
+
+	private byte[] fieldResponse;
+
+	@Before
+	public void setUp() throws Exception {
+		productResponse = createResponse("products", "products.json", PRODUCT_COPIES);
+		fieldResponse = createResponse("fields", "fields.json", FIELD_COPIES);
+	}
+
+	@Test
+	public void testReadProducts() throws Exception {
+		Map<String, Product> expected = readLegacy(productResponse, ProductResponse.class);
+		Map<String, Product> products = readStreaming(productResponse, "products", Product.class);
+		assertItemsEqual(expected, products);
+
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < RUNS; i++) {
+			readLegacy(productResponse, ProductResponse.class);
+		}
+		long legacyTime = (System.currentTimeMillis() - start) / RUNS;
+
+		start = System.currentTimeMillis();
+		for (int i = 0; i < RUNS; i++) {
+			readStreaming(productResponse, "products", Product.class);
+		}
+		long streamingTime = (System.currentTimeMillis() - start) / RUNS;
+
+		System.out.println(String.format("> BugzillaRestConfigurationPerformanceTest.testReadProducts(): read %d KB "
+				+ "response with %d products, streamed in %d ms (array: %d ms)", productResponse.length / 1024,
+				products.size(), streamingTime, legacyTime));
+	}
+
+	@Test
+	public void testReadFields() throws Exception {
+		Map<String, Field> expected = readLegacy(fieldResponse, FieldResponse.class);
+		Map<String, Field> fields = readStreaming(fieldResponse, "fields", Field.class);
+		assertItemsEqual(expected, fields);
+
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < RUNS; i++) {
+			readLegacy(fieldResponse, FieldResponse.class);
+		}
+		long legacyTime = (System.currentTimeMillis() - start) / RUNS;
+
+		start = System.currentTimeMillis();
+		for (int i = 0; i < RUNS; i++) {
+			readStreaming(fieldResponse, "fields", Field.class);
+		}
+		long streamingTime = (System.currentTimeMillis() - start) / RUNS;
+
+		System.out.println(String.format("> BugzillaRestConfigurationPerformanceTest.testReadFields(): read %d KB "
+				+ "response with %d fields, streamed in %d ms (array: %d ms)", fieldResponse.length / 1024,
+				fields.size(), streamingTime, legacyTime));
+	}
+
+	/**
+	 * Compares the order of the names and the serialized form of each item since items do not implement equals().
+	 */
+	private <E extends Named> void assertItemsEqual(Map<String, E> expected, Map<String, E> actual) {
+		assertEquals(new ArrayList<String>(expected.keySet()), new ArrayList<String>(actual.keySet()));
+		Gson gson = new Gson();
+		for (Entry<String, E> entry : expected.entrySet()) {
+			assertEquals(gson.toJson(entry.getValue()), gson.toJson(actual.get(entry.getKey())));
+		}
+	}
+
+	private <E extends Named> Map<String, E> readStreaming(byte[] response, String member, Class<E> itemType)
+			throws Exception {
+		JsonReader in = new JsonReader(new InputStreamReader(new ByteArrayInputStream(response), "UTF-8"));
+		try {
+			return ImmutableSortedMap.copyOf(BugzillaRestGetNamedItemsRequest.readItems(in, member, itemType));
+		} finally {
+			in.close();
+		}
+	}
+
+	private <R extends RestResponse<E>, E extends Named> Map<String, E> readLegacy(byte[] response,
+			Class<R> responseType) throws Exception {
+		R restResponse = new Gson().fromJson(new InputStreamReader(new ByteArrayInputStream(response), "UTF-8"),
+				responseType);
+		final Map<String, E> items = Maps.uniqueIndex(Lists.newArrayList(restResponse.getArray()),
+				new Function<E, String>() {
+					public String apply(E input) {
+						return input.getName();
+					};
+				});
+		Function<E, String> getName = new Function<E, String>() {
+			public String apply(E item) {
+				return item.getName();
+			}
+		};
+		Function<String, String> comparatorFunction = Functions.compose(getName, Functions.forMap(items));
+		Ordering<String> comparator = Ordering.natural().onResultOf(comparatorFunction);
+		return ImmutableSortedMap.copyOf(items, comparator);
+	}
+
+	/**
+	 * Creates a response that contains <code>copies</code> renamed copies of each item in the recorded test data.
+	 */
+	private byte[] createResponse(String member, String testData, int copies) throws Exception {
+		String recorded = IOUtils.toString(CommonTestUtil.getResource(this, "testdata/Version1/" + testData));
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"").append(member).append("\":[");
+		boolean first = true;
+		for (Entry<String, JsonElement> entry : new JsonParser().parse(recorded).getAsJsonObject().entrySet()) {
+			String item = entry.getValue().toString();
+			String name = "\"name\":\"" + entry.getKey() + "\"";
+			int index = item.indexOf(name);
+			for (int i = 0; i < copies; i++) {
+				if (!first) {
+					sb.append(",");
+				}
+				first = false;
+				sb.append(item.substring(0, index));
+				sb.append("\"name\":\"" + entry.getKey() + " \u00E9" + i + "\"");
+				sb.append(item.substring(index + name.length()));
+			}
+		}
+		sb.append("]}");
+		return sb.toString().getBytes("UTF-8");
+	}
+
+}
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestBugException;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestClient;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestConnector;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestCore;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestException;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestTaskDataHandler;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestTaskDataReader;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.sync.SynchronizationSession;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.eclipse.mylyn.tasks.core.data.TaskMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests synchronization and retrieval of multiple bugs by {@link BugzillaRestConnector} without accessing a
+ * repository.
+ */
+@SuppressWarnings("restriction")
+public class BugzillaRestConnectorSynchronizationTest {
+
+	private static final String REPOSITORY_URL = "http://mylyn.org/bugzilla-rest";
+
+	private class StubBugzillaRestClient extends BugzillaRestClient {
+
+		/**
+		 * the modification dates reported for changed bugs
+		 */
+		final Map<String, Date> changedTasks = new LinkedHashMap<String, Date>();
+
+		/**
+		 * bugs that fail requests they are part of
+		 */
+		final Set<String> failingTaskIds = new HashSet<String>();
+
+		/**
+		 * if set, all requests for bugs fail with a connection error
+		 */
+		boolean connectionFailure;
+
+		final List<List<String>> requests = new ArrayList<List<String>>();
+
+		public StubBugzillaRestClient() {
+			super(createLocation());
+		}
+
+		@Override
+		public int getChangedTaskData(Date since, TaskRepository repository, TaskDataCollector collector,
+				IOperationMonitor monitor) throws BugzillaRestException {
+			for (Map.Entry<String, Date> entry : changedTasks.entrySet()) {
+				collector.accept(createTaskData(entry.getKey(), entry.getValue()));
+			}
+			return changedTasks.size();
+		}
+
+		@Override
+		public int getTaskData(Collection<String> taskIds, TaskRepository repository, TaskDataCollector collector,
+				IOperationMonitor monitor) throws BugzillaRestException {
+			requests.add(new ArrayList<String>(taskIds));
+			if (connectionFailure) {
+				throw new BugzillaRestException("Connection refused");
+			}
+			for (String taskId : taskIds) {
+				if (failingTaskIds.contains(taskId)) {
+					throw new BugzillaRestBugException(BugzillaRestBugException.BUG_NOT_FOUND, "Bug #" + taskId
+							+ " does not exist.");
+				}
+			}
+			for (String taskId : taskIds) {
+				collector.accept(createTaskData(taskId, null));
+			}
+			return taskIds.size();
+		}
+
+	}
+
+	private static class ListCollector extends TaskDataCollector {
+
+		private final List<String> acceptedTaskIds = new ArrayList<String>();
+
+		private final List<String> failedTaskIds = new ArrayList<String>();
+
+		@Override
+		public void accept(TaskData taskData) {
+			acceptedTaskIds.add(taskData.getTaskId());
+		}
+
+		@Override
+		public void failed(String taskId, IStatus status) {
+			assertEquals(IStatus.ERROR, status.getSeverity());
+			failedTaskIds.add(taskId);
+		}
+
+	}
+
+	private StubBugzillaRestClient client;
+
+	private BugzillaRestConnector connector;
+
+	private TaskRepository repository;
+
+	@Before
+	public void setUp() throws Exception {
+		client = new StubBugzillaRestClient();
+		connector = new BugzillaRestConnector() {
+			@Override
+			public BugzillaRestClient getClient(TaskRepository repository) {
+				return client;
+			}
+		};
+		repository = new TaskRepository(BugzillaRestCore.CONNECTOR_KIND, REPOSITORY_URL);
+		repository.setSynchronizationTimeStamp("2016-01-05T08:00:00Z");
+	}
+
+	private static RepositoryLocation createLocation() {
+		RepositoryLocation location = new RepositoryLocation();
+		location.setUrl(REPOSITORY_URL);
+		return location;
+	}
+
+	private TaskData createTaskData(String taskId, Date modificationDate) {
+		TaskData taskData = new TaskData(new TaskAttributeMapper(repository), BugzillaRestCore.CONNECTOR_KIND,
+				REPOSITORY_URL, taskId);
+		if (modificationDate != null) {
+			new TaskMapper(taskData, true).setModificationDate(modificationDate);
+		}
+		return taskData;
+	}
+
+	private SynchronizationSession createSession(String... taskIds) {
+		Set<ITask> tasks = new LinkedHashSet<ITask>();
+		for (String taskId : taskIds) {
+			tasks.add(new TaskTask(BugzillaRestCore.CONNECTOR_KIND, REPOSITORY_URL, taskId));
+		}
+		SynchronizationSession session = new SynchronizationSession();
+		session.setTaskRepository(repository);
+		session.setFullSynchronization(true);
+		session.setNeedsPerformQueries(true);
+		session.setTasks(tasks);
+		session.setChangedTasks(new HashSet<ITask>());
+		return session;
+	}
+
+	private Set<String> getStaleTaskIds(SynchronizationSession session) {
+		Set<String> taskIds = new HashSet<String>();
+		for (ITask task : session.getStaleTasks()) {
+			taskIds.add(task.getTaskId());
+		}
+		return taskIds;
+	}
+
+	private Date parseDate(String date) throws Exception {
+		return BugzillaRestTaskDataReader.createDateFormat().parse(date);
+	}
+
+	@Test
+	public void testPreSynchronization() throws Exception {
+		client.changedTasks.put("1", parseDate("2016-01-05T08:00:00Z"));
+		client.changedTasks.put("2", parseDate("2016-01-06T12:30:45Z"));
+		// not part of the synchronized tasks
+		client.changedTasks.put("3", parseDate("2016-01-07T09:00:00Z"));
+		SynchronizationSession session = createSession("1", "2", "4");
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(new HashSet<String>(Arrays.asList("1", "2")), getStaleTaskIds(session));
+		assertTrue(session.needsPerformQueries());
+		assertEquals(parseDate("2016-01-07T09:00:00Z"), session.getData());
+
+		connector.postSynchronization(session, new NullProgressMonitor());
+
+		assertEquals("2016-01-07T09:00:00Z", repository.getSynchronizationTimeStamp());
+	}
+
+	@Test
+	public void testPreSynchronizationUnchanged() throws Exception {
+		// bugs changed at the time of the last synchronization are always reported
+		client.changedTasks.put("1", parseDate("2016-01-05T08:00:00Z"));
+		SynchronizationSession session = createSession("1", "2");
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(Collections.emptySet(), getStaleTaskIds(session));
+		assertFalse(session.needsPerformQueries());
+		assertNull(session.getData());
+
+		connector.postSynchronization(session, new NullProgressMonitor());
+
+		assertEquals("2016-01-05T08:00:00Z", repository.getSynchronizationTimeStamp());
+	}
+
+	@Test
+	public void testPreSynchronizationWithoutTimeStamp() throws Exception {
+		repository.setSynchronizationTimeStamp(null);
+		SynchronizationSession session = createSession("1", "2");
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(new HashSet<String>(Arrays.asList("1", "2")), getStaleTaskIds(session));
+		assertNull(session.getData());
+	}
+
+	@Test
+	public void testGetMultiTaskData() throws Exception {
+		BugzillaRestTaskDataHandler taskDataHandler = (BugzillaRestTaskDataHandler) connector.getTaskDataHandler();
+		taskDataHandler.setMultiTaskDataChunkSize(2);
+		ListCollector collector = new ListCollector();
+
+		taskDataHandler.getMultiTaskData(repository, new LinkedHashSet<String>(Arrays.asList("1", "2", "3", "4", "5")),
+				collector, new NullProgressMonitor());
+
+		assertEquals(Arrays.asList(Arrays.asList("1", "2"), Arrays.asList("3", "4"), Arrays.asList("5")),
+				client.requests);
+		assertEquals(Arrays.asList("1", "2", "3", "4", "5"), collector.acceptedTaskIds);
+		assertEquals(Collections.emptyList(), collector.failedTaskIds);
+	}
+
+	@Test
+	public void testGetMultiTaskDataFailedChunkRetrievedPerId() throws Exception {
+		client.failingTaskIds.add("3");
+		BugzillaRestTaskDataHandler taskDataHandler = (BugzillaRestTaskDataHandler) connector.getTaskDataHandler();
+		taskDataHandler.setMultiTaskDataChunkSize(2);
+		ListCollector collector = new ListCollector();
+
+		taskDataHandler.getMultiTaskData(repository, new LinkedHashSet<String>(Arrays.asList("1", "2", "3", "4", "5")),
+				collector, new NullProgressMonitor());
+
+		assertEquals(Arrays.asList(Arrays.asList("1", "2"), Arrays.asList("3", "4"), Arrays.asList("3"),
+				Arrays.asList("4"), Arrays.asList("5")), client.requests);
+		assertEquals(Arrays.asList("1", "2", "4", "5"), collector.acceptedTaskIds);
+		assertEquals(Arrays.asList("3"), collector.failedTaskIds);
+	}
+
+	@Test
+	public void testGetMultiTaskDataConnectionFailure() throws Exception {
+		client.connectionFailure = true;
+		BugzillaRestTaskDataHandler taskDataHandler = (BugzillaRestTaskDataHandler) connector.getTaskDataHandler();
+		taskDataHandler.setMultiTaskDataChunkSize(2);
+		ListCollector collector = new ListCollector();
+
+		try {
+			taskDataHandler.getMultiTaskData(repository, new LinkedHashSet<String>(Arrays.asList("1", "2", "3")),
+					collector, new NullProgressMonitor());
+			fail("Expected CoreException");
+		} catch (CoreException e) {
+			assertEquals("Connection refused", e.getStatus().getMessage());
+		}
+
+		// the failure is not retried per bug
+		assertEquals(Arrays.asList(Arrays.asList("1", "2")), client.requests);
+		assertEquals(Collections.emptyList(), collector.acceptedTaskIds);
+		assertEquals(Collections.emptyList(), collector.failedTaskIds);
+	}
+
+}
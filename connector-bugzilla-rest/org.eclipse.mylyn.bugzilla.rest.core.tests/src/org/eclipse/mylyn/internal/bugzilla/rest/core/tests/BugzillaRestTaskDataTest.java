@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
+import org.eclipse.mylyn.commons.repositories.core.auth.AuthenticationType;
+import org.eclipse.mylyn.commons.repositories.core.auth.UserCredentials;
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestBugException;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestClient;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestConnector;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestCore;
+import org.eclipse.mylyn.internal.bugzilla.rest.core.BugzillaRestTaskDataReader;
+import org.eclipse.mylyn.internal.bugzilla.rest.test.support.BugzillaRestStubServer;
+import org.eclipse.mylyn.internal.commons.core.operations.NullOperationMonitor;
+import org.eclipse.mylyn.internal.commons.repositories.core.InMemoryCredentialsStore;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.eclipse.mylyn.tasks.core.data.TaskMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+@SuppressWarnings("restriction")
+public class BugzillaRestTaskDataTest {
+
+	private static class ListCollector extends TaskDataCollector {
+
+		private final List<TaskData> results = new ArrayList<TaskData>();
+
+		@Override
+		public void accept(TaskData taskData) {
+			results.add(taskData);
+		}
+
+	}
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private BugzillaRestStubServer server;
+
+	private BugzillaRestClient client;
+
+	private TaskRepository repository;
+
+	private ListCollector collector;
+
+	@Before
+	public void setUp() throws Exception {
+		server = new BugzillaRestStubServer();
+		server.setResponse("/rest.cgi/login", getTestData("login.json"));
+		server.start();
+
+		RepositoryLocation location = new RepositoryLocation();
+		location.setUrl(server.getUrl());
+		location.setProxy(null);
+		location.setCredentialsStore(new InMemoryCredentialsStore());
+		location.setCredentials(AuthenticationType.REPOSITORY, new UserCredentials("user", "password"));
+		client = new BugzillaRestClient(location);
+		repository = new TaskRepository(BugzillaRestCore.CONNECTOR_KIND, server.getUrl());
+		collector = new ListCollector();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		server.stop();
+	}
+
+	@Test
+	public void testGetTaskData() throws Exception {
+		server.setResponse("/rest.cgi/bug", getTestData("bugs.json"));
+
+		int count = client.getTaskData(Arrays.asList("1", "2"), repository, collector, new NullOperationMonitor());
+
+		assertEquals(2, count);
+		assertEquals(2, collector.results.size());
+		assertEquals("/rest.cgi/bug?id=1,2&include_fields=" + BugzillaRestTaskDataReader.INCLUDE_FIELDS
+				+ "&token=2-u7nMlHbPFT", server.getRequests().get(1));
+
+		TaskData taskData = collector.results.get(0);
+		assertEquals("1", taskData.getTaskId());
+		assertEquals(server.getUrl(), taskData.getRepositoryUrl());
+		assertFalse(taskData.isPartial());
+		TaskMapper mapper = new TaskMapper(taskData);
+		assertEquals("first bug", mapper.getSummary());
+		assertEquals("ManualTest", mapper.getProduct());
+		assertEquals("ManualC1", mapper.getComponent());
+		assertEquals("CONFIRMED", mapper.getStatus());
+		assertEquals("P3", mapper.getPriority());
+		assertEquals("tests@mylyn.eclipse.org", mapper.getOwner());
+		assertEquals("admin@mylyn.eclipse.org", mapper.getReporter());
+		assertEquals(parseDate("2016-01-04T10:15:30Z"), mapper.getCreationDate());
+		assertEquals(parseDate("2016-01-05T08:00:00Z"), mapper.getModificationDate());
+		assertEquals("R1", taskData.getRoot().getAttribute("version").getValue());
+
+		// the id is the last member of the second bug
+		taskData = collector.results.get(1);
+		assertEquals("2", taskData.getTaskId());
+		mapper = new TaskMapper(taskData);
+		assertEquals("second bug", mapper.getSummary());
+		assertEquals("FIXED", mapper.getResolution());
+		assertEquals(Arrays.asList("test", "streaming"),
+				taskData.getRoot().getAttribute(TaskAttribute.KEYWORDS).getValues());
+	}
+
+	@Test
+	public void testGetTaskDataCompressed() throws Exception {
+		server.setResponse("/rest.cgi/bug", getTestData("bugs.json"));
+
+		client.getTaskData(Arrays.asList("1", "2"), repository, collector, new NullOperationMonitor());
+		assertEquals(2, collector.results.size());
+		assertEquals(1, server.getCompressedRequests().size());
+
+		collector = new ListCollector();
+		client.getClient().setGzipEnabled(false);
+		client.getTaskData(Arrays.asList("1", "2"), repository, collector, new NullOperationMonitor());
+		assertEquals(2, collector.results.size());
+		assertEquals(1, server.getCompressedRequests().size());
+	}
+
+	@Test
+	public void testGetTaskDataError() throws Exception {
+		server.setResponse("/rest.cgi/bug", getTestData("error.json"));
+		thrown.expect(BugzillaRestBugException.class);
+		thrown.expectMessage("Bug #3 does not exist.");
+		client.getTaskData(Arrays.asList("3"), repository, collector, new NullOperationMonitor());
+	}
+
+	@Test
+	public void testFindTaskData() throws Exception {
+		server.setResponse("/rest.cgi/bug", getTestData("bugs.json"));
+
+		int count = client.findTaskData("product=ManualTest&bug_status=CONFIRMED", repository, collector,
+				new NullOperationMonitor());
+
+		assertEquals(2, count);
+		assertTrue(collector.results.get(0).isPartial());
+		assertTrue(collector.results.get(1).isPartial());
+		assertEquals("/rest.cgi/bug?product=ManualTest&bug_status=CONFIRMED&include_fields="
+				+ BugzillaRestTaskDataReader.INCLUDE_FIELDS + "&token=2-u7nMlHbPFT", server.getRequests().get(1));
+	}
+
+	@Test
+	public void testGetChangedTaskData() throws Exception {
+		server.setResponse("/rest.cgi/bug", getTestData("changed.json"));
+
+		int count = client.getChangedTaskData(parseDate("2016-01-05T08:00:00Z"), repository, collector,
+				new NullOperationMonitor());
+
+		assertEquals(1, count);
+		assertEquals("2", collector.results.get(0).getTaskId());
+		assertEquals(parseDate("2016-01-06T12:30:45Z"), new TaskMapper(collector.results.get(0)).getModificationDate());
+		assertEquals("/rest.cgi/bug?last_change_time=2016-01-05T08%3A00%3A00Z&include_fields=id,last_change_time"
+				+ "&token=2-u7nMlHbPFT", server.getRequests().get(1));
+	}
+
+	@Test
+	public void testTaskUrl() {
+		BugzillaRestConnector connector = new BugzillaRestConnector();
+		String taskUrl = connector.getTaskUrl("http://mylyn.org/bugzilla", "123");
+		assertEquals("http://mylyn.org/bugzilla/show_bug.cgi?id=123", taskUrl);
+		assertEquals("123", connector.getTaskIdFromTaskUrl(taskUrl));
+		assertEquals("http://mylyn.org/bugzilla", connector.getRepositoryUrlFromTaskUrl(taskUrl));
+	}
+
+	private String getTestData(String name) throws IOException {
+		return IOUtils.toString(CommonTestUtil.getResource(this, "testdata/Stub/" + name));
+	}
+
+	private Date parseDate(String date) throws Exception {
+		return BugzillaRestTaskDataReader.createDateFormat().parse(date);
+	}
+
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.test.support;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A minimal HTTP server that serves recorded Bugzilla REST responses. Responses are looked up by the request path
+ * without parameters, e.g. <code>/rest.cgi/bug</code>. Requests for paths without a response are answered with 404.
+ * Responses are compressed if the client accepts gzip encoding.
+ */
+public class BugzillaRestStubServer implements Runnable {
+
+	private final ServerSocket serverSocket;
+
+	private final Map<String, String> responseByPath = new ConcurrentHashMap<String, String>();
+
+	private final List<String> requests = new CopyOnWriteArrayList<String>();
+
+	private final List<String> compressedRequests = new CopyOnWriteArrayList<String>();
+
+	private Thread runner;
+
+	private volatile boolean stopped;
+
+	public BugzillaRestStubServer() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getByName("localhost"));
+	}
+
+	public String getUrl() {
+		return "http://localhost:" + serverSocket.getLocalPort();
+	}
+
+	public void setResponse(String path, String body) {
+		responseByPath.put(path, body);
+	}
+
+	/**
+	 * Returns the request URIs in the order they were received.
+	 */
+	public List<String> getRequests() {
+		return new ArrayList<String>(requests);
+	}
+
+	/**
+	 * Returns the request URIs that were answered with a compressed response.
+	 */
+	public List<String> getCompressedRequests() {
+		return new ArrayList<String>(compressedRequests);
+	}
+
+	public void start() {
+		runner = new Thread(this, "BugzillaRestStubServer :" + serverSocket.getLocalPort());
+		runner.setDaemon(true);
+		runner.start();
+	}
+
+	public void stop() throws InterruptedException {
+		stopped = true;
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+			// ignore
+		}
+		if (runner != null) {
+			runner.join(1000);
+		}
+	}
+
+	public void run() {
+		while (!stopped) {
+			Socket socket;
+			try {
+				socket = serverSocket.accept();
+			} catch (IOException e) {
+				// closed by stop()
+				return;
+			}
+			try {
+				handle(socket);
+			} catch (IOException e) {
+				// ignore, the client is expected to report the failure
+			} finally {
+				try {
+					socket.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	private void handle(Socket socket) throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "ISO-8859-1"));
+		String requestLine = in.readLine();
+		if (requestLine == null) {
+			return;
+		}
+		// requests are expected to be GET requests without a body
+		boolean gzip = false;
+		String line;
+		while ((line = in.readLine()) != null && line.length() > 0) {
+			if (line.toLowerCase().startsWith("accept-encoding:") && line.toLowerCase().contains("gzip")) {
+				gzip = true;
+			}
+		}
+
+		String[] tokens = requestLine.split(" ");
+		String uri = (tokens.length > 1) ? tokens[1] : "";
+		requests.add(uri);
+		int index = uri.indexOf('?');
+		String body = responseByPath.get((index != -1) ? uri.substring(0, index) : uri);
+
+		byte[] content = (body != null) ? body.getBytes("UTF-8") : new byte[0];
+		gzip &= body != null;
+		if (gzip) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			GZIPOutputStream gzipOut = new GZIPOutputStream(bytes);
+			gzipOut.write(content);
+			gzipOut.close();
+			content = bytes.toByteArray();
+			compressedRequests.add(uri);
+		}
+		StringBuilder header = new StringBuilder();
+		header.append((body != null) ? "HTTP/1.1 200 OK" : "HTTP/1.1 404 Not Found").append("\r\n");
+		header.append("Content-Type: application/json; charset=UTF-8\r\n");
+		if (gzip) {
+			header.append("Content-Encoding: gzip\r\n");
+		}
+		header.append("Content-Length: ").append(content.length).append("\r\n");
+		header.append("Connection: close\r\n");
+		header.append("\r\n");
+		OutputStream out = socket.getOutputStream();
+		out.write(header.toString().getBytes("ISO-8859-1"));
+		out.write(content);
+		out.flush();
+	}
+
+}
@@ -31,6 +31,7 @@ import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.LoginToken;
 
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
 
 public class BugzillaRestAuthenticatedGetRequest<T> extends BugzillaRestRequest<T> {
 
@@ -66,7 +67,7 @@ public class BugzillaRestAuthenticatedGetRequest<T> extends BugzillaRestRequest<
 				TypeToken<LoginToken> type = new TypeToken<LoginToken>() {
 				};
 				InputStream is = response.getEntity().getContent();
-				InputStreamReader in = new InputStreamReader(is);
+				InputStreamReader in = new InputStreamReader(is, CHARSET_UTF_8);
 				LoginToken loginToken = new Gson().fromJson(in, type.getType());
 				((BugzillaRestHttpClient) getClient()).setLoginToken(loginToken);
 				getClient().setAuthenticated(true);
@@ -90,6 +91,9 @@ public class BugzillaRestAuthenticatedGetRequest<T> extends BugzillaRestRequest<
 		HttpRequestBase request = new HttpGet(baseUrl() + bugUrl);
 		request.setHeader(CONTENT_TYPE, TEXT_XML_CHARSET_UTF_8);
 		request.setHeader(ACCEPT, APPLICATION_JSON);
+		if (((BugzillaRestHttpClient) getClient()).isGzipEnabled()) {
+			request.setHeader(ACCEPT_ENCODING, CONTENT_ENCODING_GZIP);
+		}
 		return request;
 	}
 
@@ -104,7 +108,7 @@ public class BugzillaRestAuthenticatedGetRequest<T> extends BugzillaRestRequest<
 	}
 
 	@Override
-	protected T parseFromJson(InputStreamReader in) {
+	protected T parseFromJson(JsonReader in) throws IOException, BugzillaRestException {
 		return new Gson().fromJson(in, responseType.getType());
 	}
 
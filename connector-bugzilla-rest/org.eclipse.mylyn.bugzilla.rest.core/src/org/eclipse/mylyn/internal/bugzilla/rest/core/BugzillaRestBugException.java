@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core;
+
+/**
+ * Indicates that the repository rejected a request because of a particular bug, e.g. since the bug does not exist or
+ * the user is not permitted to access it. Other bugs may be retrieved successfully with the same credentials.
+ */
+public class BugzillaRestBugException extends BugzillaRestException {
+
+	private static final long serialVersionUID = -3168460370235012412L;
+
+	/**
+	 * Invalid bug id or alias.
+	 */
+	public static final int INVALID_BUG_ID = 100;
+
+	/**
+	 * The bug does not exist.
+	 */
+	public static final int BUG_NOT_FOUND = 101;
+
+	/**
+	 * The user is not permitted to access the bug.
+	 */
+	public static final int BUG_ACCESS_DENIED = 102;
+
+	private final int errorCode;
+
+	public BugzillaRestBugException(int errorCode, String message) {
+		super(message);
+		this.errorCode = errorCode;
+	}
+
+	public int getErrorCode() {
+		return errorCode;
+	}
+
+	/**
+	 * Returns true, if <code>errorCode</code> is a Bugzilla error code that refers to a particular bug.
+	 */
+	public static boolean isBugError(int errorCode) {
+		return errorCode == INVALID_BUG_ID || errorCode == BUG_NOT_FOUND || errorCode == BUG_ACCESS_DENIED;
+	}
+
+}
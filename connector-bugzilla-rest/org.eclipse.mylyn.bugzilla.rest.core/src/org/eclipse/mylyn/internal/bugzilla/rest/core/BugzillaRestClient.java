@@ -11,7 +11,12 @@
 
 package org.eclipse.mylyn.internal.bugzilla.rest.core;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Collection;
+import java.util.Date;
 import java.util.Map;
+import java.util.SortedMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -20,18 +25,15 @@ import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
 import org.eclipse.mylyn.commons.repositories.core.RepositoryLocation;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.ErrorResponse;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Field;
-import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.FieldResponse;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Named;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.ParameterResponse;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Product;
-import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.ProductResponse;
-import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.RestResponse;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.VersionResponse;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
 
-import com.google.common.base.Function;
-import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
+import com.google.common.base.Joiner;
 import com.google.gson.reflect.TypeToken;
 
 public class BugzillaRestClient {
@@ -74,25 +76,21 @@ public class BugzillaRestClient {
 		}
 	}
 
-	public <R extends RestResponse<E>, E extends Named> Map<String, E> retrieveItems(IOperationMonitor monitor,
-			String path, TypeToken typeToken) throws BugzillaRestException {
-		R response = new BugzillaRestAuthenticatedGetRequest<R>(client, path, typeToken).run(monitor);
-		E[] members = response.getArray();
-		return Maps.uniqueIndex(Lists.newArrayList(members), new Function<E, String>() {
-			public String apply(E input) {
-				return input.getName();
-			};
-		});
+	/**
+	 * Retrieves the items of the array <code>member</code> in the response for <code>path</code> indexed by name. The
+	 * response is processed as a stream, i.e. the array is not materialized.
+	 */
+	public <E extends Named> SortedMap<String, E> retrieveItems(IOperationMonitor monitor, String path,
+			String member, Class<E> itemType) throws BugzillaRestException {
+		return new BugzillaRestGetNamedItemsRequest<E>(client, path, member, itemType).run(monitor);
 	}
 
 	private Map<String, Field> getFields(IOperationMonitor monitor) throws BugzillaRestException {
-		return retrieveItems(monitor, "/field/bug?", new TypeToken<FieldResponse>() {
-		});
+		return retrieveItems(monitor, "/field/bug?", "fields", Field.class);
 	}
 
 	private Map<String, Product> getProducts(IOperationMonitor monitor) throws BugzillaRestException {
-		return retrieveItems(monitor, "/product?type=accessible", new TypeToken<ProductResponse>() {
-		});
+		return retrieveItems(monitor, "/product?type=accessible", "products", Product.class);
 	}
 
 	public ParameterResponse getParameters(IOperationMonitor monitor) throws BugzillaRestException {
@@ -101,4 +99,56 @@ public class BugzillaRestClient {
 				}).run(monitor);
 	}
 
+	/**
+	 * Retrieves the bugs with the given ids in a single request. Task data is passed to <code>collector</code> while
+	 * the response is read.
+	 *
+	 * @return the number of retrieved bugs
+	 */
+	public int getTaskData(Collection<String> taskIds, TaskRepository repository, TaskDataCollector collector,
+			IOperationMonitor monitor) throws BugzillaRestException {
+		String urlSuffix = "/bug?id=" + Joiner.on(',').join(taskIds) + "&include_fields=" //$NON-NLS-1$ //$NON-NLS-2$
+				+ BugzillaRestTaskDataReader.INCLUDE_FIELDS;
+		return getTaskData(urlSuffix, repository, false, collector, monitor);
+	}
+
+	/**
+	 * Retrieves the bugs matching <code>query</code> which is a list of search parameters as used by
+	 * <code>buglist.cgi</code>. Task data is passed to <code>collector</code> while the response is read and marked
+	 * as partial.
+	 *
+	 * @return the number of retrieved bugs
+	 */
+	public int findTaskData(String query, TaskRepository repository, TaskDataCollector collector,
+			IOperationMonitor monitor) throws BugzillaRestException {
+		String urlSuffix = "/bug?" + query + "&include_fields=" + BugzillaRestTaskDataReader.INCLUDE_FIELDS; //$NON-NLS-1$ //$NON-NLS-2$
+		return getTaskData(urlSuffix, repository, true, collector, monitor);
+	}
+
+	/**
+	 * Retrieves the bugs that were changed at or after <code>since</code>. The task data passed to
+	 * <code>collector</code> only contains the modification date.
+	 *
+	 * @return the number of retrieved bugs
+	 */
+	public int getChangedTaskData(Date since, TaskRepository repository, TaskDataCollector collector,
+			IOperationMonitor monitor) throws BugzillaRestException {
+		String urlSuffix;
+		try {
+			urlSuffix = "/bug?last_change_time=" //$NON-NLS-1$
+					+ URLEncoder.encode(BugzillaRestTaskDataReader.createDateFormat().format(since), "UTF-8") //$NON-NLS-1$
+					+ "&include_fields=" + BugzillaRestTaskDataReader.INCLUDE_FIELDS_CHANGED; //$NON-NLS-1$
+		} catch (UnsupportedEncodingException e) {
+			throw new BugzillaRestException(e);
+		}
+		return getTaskData(urlSuffix, repository, true, collector, monitor);
+	}
+
+	private int getTaskData(String urlSuffix, TaskRepository repository, boolean partial,
+			TaskDataCollector collector, IOperationMonitor monitor) throws BugzillaRestException {
+		BugzillaRestTaskDataReader reader = new BugzillaRestTaskDataReader(new TaskAttributeMapper(repository),
+				partial);
+		return new BugzillaRestGetTaskDataRequest(client, urlSuffix, reader, collector).run(monitor);
+	}
+
 }
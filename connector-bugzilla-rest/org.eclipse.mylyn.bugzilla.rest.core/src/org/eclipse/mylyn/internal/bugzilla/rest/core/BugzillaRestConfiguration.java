@@ -18,10 +18,7 @@ import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Field;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Parameters;
 import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Product;
 
-import com.google.common.base.Function;
-import com.google.common.base.Functions;
 import com.google.common.collect.ImmutableSortedMap;
-import com.google.common.collect.Ordering;
 
 public class BugzillaRestConfiguration implements Serializable {
 
@@ -43,15 +40,11 @@ public class BugzillaRestConfiguration implements Serializable {
 		return repositoryId;
 	}
 
+	/**
+	 * Sets the fields indexed by name. Copying a map that is already sorted by name does not require sorting.
+	 */
 	void setFields(Map<String, Field> fields) {
-		Function<Field, String> getName = new Function<Field, String>() {
-			public String apply(Field item) {
-				return item.getName();
-			}
-		};
-		Function<String, String> comparatorFunction = Functions.compose(getName, Functions.forMap(fields));
-		Ordering<String> comparator = Ordering.natural().onResultOf(comparatorFunction);
-		this.fields = ImmutableSortedMap.copyOf(fields, comparator);
+		this.fields = ImmutableSortedMap.copyOf(fields);
 	}
 
 	public Map<String, Field> getFields() {
@@ -62,15 +55,11 @@ public class BugzillaRestConfiguration implements Serializable {
 		return fields.get(fieldName);
 	}
 
+	/**
+	 * Sets the products indexed by name. Copying a map that is already sorted by name does not require sorting.
+	 */
 	void setProducts(Map<String, Product> products) {
-		Function<Product, String> getName = new Function<Product, String>() {
-			public String apply(Product item) {
-				return item.getName();
-			}
-		};
-		Function<String, String> comparatorFunction = Functions.compose(getName, Functions.forMap(products));
-		Ordering<String> comparator = Ordering.natural().onResultOf(comparatorFunction);
-		this.products = ImmutableSortedMap.copyOf(products, comparator);
+		this.products = ImmutableSortedMap.copyOf(products);
 	}
 
 	public Map<String, Product> getProducts() {
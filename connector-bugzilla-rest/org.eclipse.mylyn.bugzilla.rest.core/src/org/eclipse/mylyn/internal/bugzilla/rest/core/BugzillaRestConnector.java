@@ -11,6 +11,12 @@
 
 package org.eclipse.mylyn.internal.bugzilla.rest.core;
 
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -36,7 +42,9 @@ import org.eclipse.mylyn.tasks.core.TaskRepository;
 import org.eclipse.mylyn.tasks.core.data.AbstractTaskDataHandler;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
 import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.eclipse.mylyn.tasks.core.data.TaskMapper;
 import org.eclipse.mylyn.tasks.core.sync.ISynchronizationSession;
+import org.eclipse.osgi.util.NLS;
 
 import com.google.common.base.Optional;
 import com.google.common.cache.CacheBuilder;
@@ -57,6 +65,10 @@ public class BugzillaRestConnector extends AbstractRepositoryConnector {
 
 	private static final ThreadLocal<IOperationMonitor> context = new ThreadLocal<IOperationMonitor>();
 
+	private static final String TASK_URL_PREFIX = "/show_bug.cgi?id="; //$NON-NLS-1$
+
+	private final BugzillaRestTaskDataHandler taskDataHandler = new BugzillaRestTaskDataHandler(this);
+
 	private final LoadingCache<RepositoryKey, BugzillaRestClient> clientCache = CacheBuilder.newBuilder()
 			.expireAfterAccess(CLIENT_CACHE_DURATION.getValue(), CLIENT_CACHE_DURATION.getUnit())
 			.build(new CacheLoader<RepositoryKey, BugzillaRestClient>() {
@@ -142,40 +154,174 @@ public class BugzillaRestConnector extends AbstractRepositoryConnector {
 
 	@Override
 	public String getRepositoryUrlFromTaskUrl(String taskUrl) {
-		// ignore
-		return null;
+		if (taskUrl == null) {
+			return null;
+		}
+		int index = taskUrl.indexOf(TASK_URL_PREFIX);
+		return (index != -1) ? taskUrl.substring(0, index) : null;
 	}
 
 	@Override
 	public TaskData getTaskData(TaskRepository repository, String taskIdOrKey, IProgressMonitor monitor)
 			throws CoreException {
-		// ignore
-		return null;
+		final TaskData[] result = new TaskData[1];
+		try {
+			getClient(repository).getTaskData(Collections.singleton(taskIdOrKey), repository,
+					new TaskDataCollector() {
+						@Override
+						public void accept(TaskData taskData) {
+							result[0] = taskData;
+						}
+					}, convert(monitor));
+		} catch (BugzillaRestException e) {
+			throw new CoreException(new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN, e.getMessage(), e));
+		}
+		if (result[0] == null) {
+			throw new CoreException(new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN, NLS.bind(
+					"Bug ''{0}'' does not exist", taskIdOrKey))); //$NON-NLS-1$
+		}
+		return result[0];
 	}
 
 	@Override
 	public String getTaskIdFromTaskUrl(String taskUrl) {
-		// ignore
-		return null;
+		if (taskUrl == null) {
+			return null;
+		}
+		int index = taskUrl.indexOf(TASK_URL_PREFIX);
+		return (index != -1) ? taskUrl.substring(index + TASK_URL_PREFIX.length()) : null;
 	}
 
 	@Override
 	public String getTaskUrl(String repositoryUrl, String taskIdOrKey) {
-		// ignore
-		return null;
+		return repositoryUrl + TASK_URL_PREFIX + taskIdOrKey;
 	}
 
 	@Override
 	public boolean hasTaskChanged(TaskRepository taskRepository, ITask task, TaskData taskData) {
-		// ignore
-		return false;
+		return new TaskMapper(taskData).hasChanges(task);
 	}
 
+	/**
+	 * Retrieves the bugs matching the search parameters of the query URL. Bugs are passed to <code>collector</code>
+	 * while the response is read.
+	 */
 	@Override
 	public IStatus performQuery(TaskRepository repository, IRepositoryQuery query, TaskDataCollector collector,
 			ISynchronizationSession session, IProgressMonitor monitor) {
-		// ignore
-		return null;
+		String queryUrl = query.getUrl();
+		String parameters = (queryUrl != null && queryUrl.indexOf('?') != -1) ? queryUrl.substring(queryUrl
+				.indexOf('?') + 1) : queryUrl;
+		try {
+			getClient(repository).findTaskData(parameters, repository, collector, convert(monitor));
+			return Status.OK_STATUS;
+		} catch (CoreException e) {
+			return e.getStatus();
+		} catch (BugzillaRestException e) {
+			return new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Marks the tasks that were changed since the last synchronization as stale. Only the id and modification date of
+	 * changed bugs are retrieved. Queries are skipped if the repository is unchanged. The most recent modification
+	 * date is passed to {@link #postSynchronization(ISynchronizationSession, IProgressMonitor)} as session data.
+	 */
+	@Override
+	public void preSynchronization(ISynchronizationSession session, IProgressMonitor monitor) throws CoreException {
+		if (!session.isFullSynchronization() || session.getTasks().isEmpty()) {
+			return;
+		}
+
+		TaskRepository repository = session.getTaskRepository();
+		Date since = parseSynchronizationTimeStamp(repository);
+		if (since == null) {
+			for (ITask task : session.getTasks()) {
+				session.markStale(task);
+			}
+			return;
+		}
+
+		final Map<String, Date> modificationDateById = new HashMap<String, Date>();
+		try {
+			getClient(repository).getChangedTaskData(since, repository, new TaskDataCollector() {
+				@Override
+				public void accept(TaskData taskData) {
+					modificationDateById.put(taskData.getTaskId(), new TaskMapper(taskData).getModificationDate());
+				}
+			}, convert(monitor));
+		} catch (BugzillaRestException e) {
+			throw new CoreException(new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN, e.getMessage(), e));
+		}
+
+		// the synchronization timestamp is set to the most recent modification date, hence the most recently
+		// changed bugs are always reported
+		boolean changed = false;
+		Date mostRecent = since;
+		for (Date modificationDate : modificationDateById.values()) {
+			if (modificationDate == null) {
+				changed = true;
+			} else if (modificationDate.after(mostRecent)) {
+				changed = true;
+				mostRecent = modificationDate;
+			}
+		}
+		if (!changed) {
+			// repository is unchanged
+			session.setNeedsPerformQueries(false);
+			return;
+		}
+		if (mostRecent != since) {
+			// also covers changed bugs that are not part of the synchronized tasks
+			session.setData(mostRecent);
+		}
+
+		for (ITask task : session.getTasks()) {
+			if (modificationDateById.containsKey(task.getTaskId())) {
+				session.markStale(task);
+			}
+		}
+	}
+
+	@Override
+	public void postSynchronization(ISynchronizationSession session, IProgressMonitor monitor) throws CoreException {
+		if (session.isFullSynchronization() && session.getStatus() == null) {
+			TaskRepository repository = session.getTaskRepository();
+			Date mostRecent = parseSynchronizationTimeStamp(repository);
+			if (session.getData() instanceof Date) {
+				Date lastChangeTime = (Date) session.getData();
+				if (mostRecent == null || lastChangeTime.after(mostRecent)) {
+					mostRecent = lastChangeTime;
+				}
+			}
+			for (ITask task : session.getChangedTasks()) {
+				Date modificationDate = task.getModificationDate();
+				if (modificationDate != null && (mostRecent == null || modificationDate.after(mostRecent))) {
+					mostRecent = modificationDate;
+				}
+			}
+			if (mostRecent != null) {
+				repository.setSynchronizationTimeStamp(BugzillaRestTaskDataReader.createDateFormat().format(
+						mostRecent));
+			}
+		}
+	}
+
+	private Date parseSynchronizationTimeStamp(TaskRepository repository) {
+		String timeStamp = repository.getSynchronizationTimeStamp();
+		if (timeStamp == null || timeStamp.length() == 0) {
+			return null;
+		}
+		DateFormat format = BugzillaRestTaskDataReader.createDateFormat();
+		try {
+			return format.parse(timeStamp);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+	private IOperationMonitor convert(IProgressMonitor monitor) {
+		return (monitor != null) ? OperationUtil.convert(monitor) : new NullOperationMonitor();
 	}
 
 	@Override
@@ -188,13 +334,13 @@ public class BugzillaRestConnector extends AbstractRepositoryConnector {
 
 	@Override
 	public void updateTaskFromTaskData(TaskRepository taskRepository, ITask task, TaskData taskData) {
-		// ignore
-
+		new TaskMapper(taskData).applyTo(task);
+		task.setUrl(getTaskUrl(taskRepository.getRepositoryUrl(), taskData.getTaskId()));
 	}
 
 	@Override
 	public AbstractTaskDataHandler getTaskDataHandler() {
-		return new BugzillaRestTaskDataHandler(this);
+		return taskDataHandler;
 	}
 
 	private BugzillaRestClient createClient(TaskRepository repository) {
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core;
+
+import java.io.IOException;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.Named;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Retrieves an array of named items, e.g. the <code>products</code> of a <code>/product</code> request, and indexes
+ * the items by name while the response is read. Items are deserialized one at a time and the array is never
+ * materialized.
+ */
+public class BugzillaRestGetNamedItemsRequest<E extends Named> extends
+		BugzillaRestAuthenticatedGetRequest<SortedMap<String, E>> {
+
+	/**
+	 * Reads the items of the array <code>member</code> from <code>in</code>.
+	 *
+	 * @return the items sorted by name, if several items have the same name the last one is returned
+	 * @throws BugzillaRestException
+	 *             if the response reports an error
+	 */
+	public static <E extends Named> SortedMap<String, E> readItems(JsonReader in, String member, Class<E> itemType)
+			throws IOException, BugzillaRestException {
+		Gson gson = new Gson();
+		SortedMap<String, E> itemByName = new TreeMap<String, E>();
+		boolean error = false;
+		String message = null;
+		in.beginObject();
+		while (in.hasNext()) {
+			String name = in.nextName();
+			if (member.equals(name) && in.peek() == JsonToken.BEGIN_ARRAY) {
+				in.beginArray();
+				while (in.hasNext()) {
+					E item;
+					try {
+						item = gson.fromJson(in, itemType);
+					} catch (JsonParseException e) {
+						throw new BugzillaRestException(e);
+					}
+					if (item != null && item.getName() != null) {
+						itemByName.put(item.getName(), item);
+					}
+				}
+				in.endArray();
+			} else if ("error".equals(name) && in.peek() == JsonToken.BOOLEAN) { //$NON-NLS-1$
+				error = in.nextBoolean();
+			} else if ("message".equals(name) && in.peek() == JsonToken.STRING) { //$NON-NLS-1$
+				message = in.nextString();
+			} else {
+				in.skipValue();
+			}
+		}
+		in.endObject();
+		if (error) {
+			throw new BugzillaRestException((message != null) ? message : "Unexpected error response"); //$NON-NLS-1$
+		}
+		return itemByName;
+	}
+
+	private final String member;
+
+	private final Class<E> itemType;
+
+	public BugzillaRestGetNamedItemsRequest(BugzillaRestHttpClient client, String urlSuffix, String member,
+			Class<E> itemType) {
+		super(client, urlSuffix, null);
+		this.member = member;
+		this.itemType = itemType;
+	}
+
+	@Override
+	protected SortedMap<String, E> parseFromJson(JsonReader in) throws IOException, BugzillaRestException {
+		return readItems(in, member, itemType);
+	}
+
+}
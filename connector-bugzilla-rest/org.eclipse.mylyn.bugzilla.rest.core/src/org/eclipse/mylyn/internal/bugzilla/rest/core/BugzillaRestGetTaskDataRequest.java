@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import org.apache.http.HttpStatus;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpResponse;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Retrieves bugs and streams them into a {@link TaskDataCollector} while the response is read.
+ */
+public class BugzillaRestGetTaskDataRequest extends BugzillaRestAuthenticatedGetRequest<Integer> {
+
+	private final BugzillaRestTaskDataReader reader;
+
+	private final TaskDataCollector collector;
+
+	public BugzillaRestGetTaskDataRequest(BugzillaRestHttpClient client, String urlSuffix,
+			BugzillaRestTaskDataReader reader, TaskDataCollector collector) {
+		super(client, urlSuffix, null);
+		this.reader = reader;
+		this.collector = collector;
+	}
+
+	/**
+	 * Bugzilla reports errors for particular bugs, e.g. a bug that does not exist, with an error status and a JSON
+	 * body that carries the error code. The body is read to report such errors as {@link BugzillaRestBugException}.
+	 */
+	@Override
+	protected void doValidate(CommonHttpResponse response, IOperationMonitor monitor) throws IOException,
+	BugzillaRestException {
+		if (response.getStatusCode() != HttpStatus.SC_OK && response.getResponse().getEntity() != null) {
+			try {
+				JsonReader in = new JsonReader(new InputStreamReader(getResponseStream(response), CHARSET_UTF_8));
+				try {
+					reader.read(in, new TaskDataCollector() {
+						@Override
+						public void accept(TaskData taskData) {
+							// ignore
+						}
+					});
+				} finally {
+					in.close();
+				}
+			} catch (IOException e) {
+				// not a Bugzilla error response
+			} catch (IllegalStateException e) {
+				// not a Bugzilla error response
+			}
+		}
+		super.doValidate(response, monitor);
+	}
+
+	/**
+	 * Returns the number of retrieved bugs.
+	 */
+	@Override
+	protected Integer parseFromJson(JsonReader in) throws IOException, BugzillaRestException {
+		return reader.read(in, collector);
+	}
+
+}
@@ -18,6 +18,8 @@ import org.eclipse.mylyn.internal.bugzilla.rest.core.response.data.LoginToken;
 public class BugzillaRestHttpClient extends CommonHttpClient {
 	private LoginToken loginToken = null;
 
+	private volatile boolean gzipEnabled = true;
+
 	public BugzillaRestHttpClient(RepositoryLocation location) {
 		super(location);
 	}
@@ -30,6 +32,18 @@ public class BugzillaRestHttpClient extends CommonHttpClient {
 		this.loginToken = loginToken;
 	}
 
+	public boolean isGzipEnabled() {
+		return gzipEnabled;
+	}
+
+	/**
+	 * Sets whether compressed responses are requested from the repository. Responses are decompressed regardless of
+	 * this setting if the repository sends them compressed.
+	 */
+	public void setGzipEnabled(boolean gzipEnabled) {
+		this.gzipEnabled = gzipEnabled;
+	}
+
 	@Override
 	public boolean needsAuthentication() {
 		return ((loginToken == null) || super.needsAuthentication());
@@ -14,7 +14,9 @@ package org.eclipse.mylyn.internal.bugzilla.rest.core;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.util.zip.GZIPInputStream;
 
+import org.apache.http.Header;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpRequestBase;
@@ -28,6 +30,8 @@ import org.eclipse.mylyn.commons.repositories.http.core.CommonHttpResponse;
 import org.eclipse.mylyn.commons.repositories.http.core.HttpUtil;
 import org.eclipse.osgi.util.NLS;
 
+import com.google.gson.stream.JsonReader;
+
 public abstract class BugzillaRestRequest<T> extends CommonHttpOperation<T> {
 	protected static final String ACCEPT = "Accept"; //$NON-NLS-1$
 
@@ -37,13 +41,28 @@ public abstract class BugzillaRestRequest<T> extends CommonHttpOperation<T> {
 
 	protected static final String TEXT_XML_CHARSET_UTF_8 = "text/xml; charset=UTF-8"; //$NON-NLS-1$
 
+	protected static final String ACCEPT_ENCODING = "Accept-Encoding"; //$NON-NLS-1$
+
+	protected static final String CONTENT_ENCODING = "Content-Encoding"; //$NON-NLS-1$
+
+	protected static final String CONTENT_ENCODING_GZIP = "gzip"; //$NON-NLS-1$
+
+	/**
+	 * The charset of JSON responses, Bugzilla always encodes responses in UTF-8 regardless of the platform default.
+	 */
+	protected static final String CHARSET_UTF_8 = "UTF-8"; //$NON-NLS-1$
+
 	public BugzillaRestRequest(BugzillaRestHttpClient client) {
 		super(client);
 	}
 
 	protected abstract T execute(IOperationMonitor monitor) throws IOException, BugzillaRestException;
 
-	protected abstract T parseFromJson(InputStreamReader in);
+	/**
+	 * Reads the result from the JSON response while it is received. Implementations may consume the response one
+	 * value at a time rather than deserializing it as a whole.
+	 */
+	protected abstract T parseFromJson(JsonReader in) throws IOException, BugzillaRestException;
 
 	protected abstract HttpRequestBase createHttpRequestBase();
 
@@ -69,9 +88,24 @@ public abstract class BugzillaRestRequest<T> extends CommonHttpOperation<T> {
 
 	protected T doProcess(CommonHttpResponse response, IOperationMonitor monitor) throws IOException,
 	BugzillaRestException {
-		InputStream is = response.getResponseEntityAsStream();
-		InputStreamReader in = new InputStreamReader(is);
-		return parseFromJson(in);
+		JsonReader in = new JsonReader(new InputStreamReader(getResponseStream(response), CHARSET_UTF_8));
+		try {
+			return parseFromJson(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Returns the content of <code>response</code> and decompresses it if the repository sent a compressed response.
+	 */
+	protected InputStream getResponseStream(CommonHttpResponse response) throws IOException {
+		InputStream in = response.getResponseEntityAsStream();
+		Header header = response.getResponse().getFirstHeader(CONTENT_ENCODING);
+		if (header != null && CONTENT_ENCODING_GZIP.equalsIgnoreCase(header.getValue())) {
+			return new GZIPInputStream(in);
+		}
+		return in;
 	}
 
 	protected void doValidate(CommonHttpResponse response, IOperationMonitor monitor) throws IOException,
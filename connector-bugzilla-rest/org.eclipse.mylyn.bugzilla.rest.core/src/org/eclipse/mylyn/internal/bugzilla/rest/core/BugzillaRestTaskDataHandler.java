@@ -11,10 +11,21 @@
 
 package org.eclipse.mylyn.internal.bugzilla.rest.core;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.commons.core.operations.IOperationMonitor;
+import org.eclipse.mylyn.commons.core.operations.OperationUtil;
+import org.eclipse.mylyn.internal.commons.core.operations.NullOperationMonitor;
 import org.eclipse.mylyn.tasks.core.ITaskMapping;
 import org.eclipse.mylyn.tasks.core.RepositoryResponse;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
@@ -22,10 +33,20 @@ import org.eclipse.mylyn.tasks.core.data.AbstractTaskDataHandler;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
 
 public class BugzillaRestTaskDataHandler extends AbstractTaskDataHandler {
+
+	/**
+	 * The default number of bugs that are retrieved in a single request by
+	 * {@link #getMultiTaskData(TaskRepository, Set, TaskDataCollector, IProgressMonitor)}.
+	 */
+	public static final int DEFAULT_MULTI_TASK_DATA_CHUNK_SIZE = 100;
+
 	protected final BugzillaRestConnector connector;
 
+	private volatile int multiTaskDataChunkSize = DEFAULT_MULTI_TASK_DATA_CHUNK_SIZE;
+
 	public BugzillaRestTaskDataHandler(BugzillaRestConnector connector) {
 		this.connector = connector;
 	}
@@ -57,4 +78,71 @@ public class BugzillaRestTaskDataHandler extends AbstractTaskDataHandler {
 		return new TaskAttributeMapper(repository);
 	}
 
+	@Override
+	public boolean canGetMultiTaskData(TaskRepository repository) {
+		return true;
+	}
+
+	/**
+	 * Retrieves bugs in chunks of {@link #getMultiTaskDataChunkSize()} bugs per request. If a chunk can not be
+	 * retrieved since the repository reports an error for one of the bugs, e.g. because it does not exist or is not
+	 * accessible, the bugs of the chunk are retrieved individually and failures are reported to <code>collector</code>.
+	 * Any other error, e.g. a failed connection or authentication, aborts the retrieval.
+	 */
+	@Override
+	public void getMultiTaskData(TaskRepository repository, Set<String> taskIds, TaskDataCollector collector,
+			IProgressMonitor monitor) throws CoreException {
+		BugzillaRestClient client = connector.getClient(repository);
+		IOperationMonitor progress = (monitor != null) ? OperationUtil.convert(monitor) : new NullOperationMonitor();
+		List<String> ids = new ArrayList<String>(taskIds);
+		int chunkSize = multiTaskDataChunkSize;
+		for (int start = 0; start < ids.size(); start += chunkSize) {
+			if (progress.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			List<String> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+			getMultiTaskData(repository, client, chunk, collector, progress);
+		}
+	}
+
+	private void getMultiTaskData(TaskRepository repository, BugzillaRestClient client, List<String> ids,
+			final TaskDataCollector collector, IOperationMonitor monitor) throws CoreException {
+		final Set<String> accepted = new HashSet<String>();
+		try {
+			client.getTaskData(ids, repository, new TaskDataCollector() {
+				@Override
+				public void accept(TaskData taskData) {
+					accepted.add(taskData.getTaskId());
+					collector.accept(taskData);
+				}
+			}, monitor);
+		} catch (BugzillaRestBugException e) {
+			if (ids.size() == 1) {
+				collector.failed(ids.get(0), new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN, e.getMessage(), e));
+			} else {
+				// determine which bug failed
+				for (String id : ids) {
+					if (!accepted.contains(id)) {
+						getMultiTaskData(repository, client, Collections.singletonList(id), collector, monitor);
+					}
+				}
+			}
+		} catch (BugzillaRestException e) {
+			throw new CoreException(new Status(IStatus.ERROR, BugzillaRestCore.ID_PLUGIN, e.getMessage(), e));
+		}
+	}
+
+	public int getMultiTaskDataChunkSize() {
+		return multiTaskDataChunkSize;
+	}
+
+	/**
+	 * Sets the number of bugs that are retrieved in a single request by
+	 * {@link #getMultiTaskData(TaskRepository, Set, TaskDataCollector, IProgressMonitor)}.
+	 */
+	public void setMultiTaskDataChunkSize(int chunkSize) {
+		Assert.isLegal(chunkSize > 0);
+		this.multiTaskDataChunkSize = chunkSize;
+	}
+
 }
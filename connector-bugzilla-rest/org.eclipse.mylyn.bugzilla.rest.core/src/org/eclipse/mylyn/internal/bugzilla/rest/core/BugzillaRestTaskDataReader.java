@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.rest.core;
+
+import java.io.IOException;
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TimeZone;
+
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.AbstractTaskSchema.Field;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+
+import com.google.common.base.Joiner;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Reads the response of a <code>/bug</code> request. Each bug is passed to a {@link TaskDataCollector} as soon as it
+ * has been parsed, i.e. while the remainder of the response is still being received, and bugs are never held in memory
+ * as a whole.
+ */
+public class BugzillaRestTaskDataReader {
+
+	private static final String DATE_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'"; //$NON-NLS-1$
+
+	private static final String ID = "id"; //$NON-NLS-1$
+
+	private static final Map<String, Field> fieldByName = new LinkedHashMap<String, Field>();
+
+	static {
+		BugzillaRestTaskSchema schema = BugzillaRestTaskSchema.getDefault();
+		fieldByName.put("summary", schema.SUMMARY); //$NON-NLS-1$
+		fieldByName.put("product", schema.PRODUCT); //$NON-NLS-1$
+		fieldByName.put("component", schema.COMPONENT); //$NON-NLS-1$
+		fieldByName.put("version", schema.VERSION); //$NON-NLS-1$
+		fieldByName.put("status", schema.STATUS); //$NON-NLS-1$
+		fieldByName.put("resolution", schema.RESOLUTION); //$NON-NLS-1$
+		fieldByName.put("priority", schema.PRIORITY); //$NON-NLS-1$
+		fieldByName.put("severity", schema.SEVERITY); //$NON-NLS-1$
+		fieldByName.put("keywords", schema.KEYWORDS); //$NON-NLS-1$
+		fieldByName.put("assigned_to", schema.USER_ASSIGNED); //$NON-NLS-1$
+		fieldByName.put("creator", schema.USER_REPORTER); //$NON-NLS-1$
+		fieldByName.put("creation_time", schema.DATE_CREATION); //$NON-NLS-1$
+		fieldByName.put("last_change_time", schema.DATE_MODIFICATION); //$NON-NLS-1$
+	}
+
+	/**
+	 * The value of the <code>include_fields</code> parameter that requests all fields that are read.
+	 */
+	public static final String INCLUDE_FIELDS = ID + "," + Joiner.on(',').join(fieldByName.keySet()); //$NON-NLS-1$
+
+	/**
+	 * The value of the <code>include_fields</code> parameter that only requests the fields that are required to
+	 * determine whether a task has changed.
+	 */
+	public static final String INCLUDE_FIELDS_CHANGED = ID + ",last_change_time"; //$NON-NLS-1$
+
+	public static DateFormat createDateFormat() {
+		SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+		format.setTimeZone(TimeZone.getTimeZone("UTC")); //$NON-NLS-1$
+		return format;
+	}
+
+	private final TaskAttributeMapper mapper;
+
+	private final boolean partial;
+
+	private final DateFormat dateFormat = createDateFormat();
+
+	/**
+	 * @param partial
+	 *            if true, the created task data is marked as partial, e.g. for query results
+	 */
+	public BugzillaRestTaskDataReader(TaskAttributeMapper mapper, boolean partial) {
+		this.mapper = mapper;
+		this.partial = partial;
+	}
+
+	/**
+	 * Reads bugs from <code>in</code> and passes each bug to <code>collector</code>.
+	 *
+	 * @return the number of bugs that were read
+	 * @throws BugzillaRestBugException
+	 *             if the response reports an error for one of the requested bugs
+	 * @throws BugzillaRestException
+	 *             if the response reports any other error
+	 */
+	public int read(JsonReader in, TaskDataCollector collector) throws IOException, BugzillaRestException {
+		int count = 0;
+		boolean error = false;
+		int code = 0;
+		String message = null;
+		in.beginObject();
+		while (in.hasNext()) {
+			String name = in.nextName();
+			if ("bugs".equals(name)) { //$NON-NLS-1$
+				in.beginArray();
+				while (in.hasNext()) {
+					TaskData taskData = readBug(in);
+					if (taskData != null) {
+						collector.accept(taskData);
+						count++;
+					}
+				}
+				in.endArray();
+			} else if ("error".equals(name) && in.peek() == JsonToken.BOOLEAN) { //$NON-NLS-1$
+				error = in.nextBoolean();
+			} else if ("code".equals(name) && in.peek() == JsonToken.NUMBER) { //$NON-NLS-1$
+				code = in.nextInt();
+			} else if ("message".equals(name) && in.peek() == JsonToken.STRING) { //$NON-NLS-1$
+				message = in.nextString();
+			} else {
+				in.skipValue();
+			}
+		}
+		in.endObject();
+		if (error) {
+			if (message == null) {
+				message = "Unexpected error response"; //$NON-NLS-1$
+			}
+			if (BugzillaRestBugException.isBugError(code)) {
+				throw new BugzillaRestBugException(code, message);
+			}
+			throw new BugzillaRestException(message);
+		}
+		return count;
+	}
+
+	private TaskData readBug(JsonReader in) throws IOException {
+		// the order of members is not defined, values are kept until the id has been read
+		String id = null;
+		Map<String, List<String>> valuesByName = new LinkedHashMap<String, List<String>>();
+		in.beginObject();
+		while (in.hasNext()) {
+			String name = in.nextName();
+			if (ID.equals(name)) {
+				id = in.nextString();
+			} else if (fieldByName.containsKey(name)) {
+				valuesByName.put(name, readValues(in));
+			} else {
+				in.skipValue();
+			}
+		}
+		in.endObject();
+		return (id != null) ? createTaskData(id, valuesByName) : null;
+	}
+
+	private List<String> readValues(JsonReader in) throws IOException {
+		switch (in.peek()) {
+		case NULL:
+			in.nextNull();
+			return Collections.emptyList();
+		case BOOLEAN:
+			return Collections.singletonList(Boolean.toString(in.nextBoolean()));
+		case BEGIN_ARRAY:
+			List<String> values = new ArrayList<String>();
+			in.beginArray();
+			while (in.hasNext()) {
+				if (in.peek() == JsonToken.STRING || in.peek() == JsonToken.NUMBER) {
+					values.add(in.nextString());
+				} else {
+					in.skipValue();
+				}
+			}
+			in.endArray();
+			return values;
+		case BEGIN_OBJECT:
+			in.skipValue();
+			return Collections.emptyList();
+		default:
+			return Collections.singletonList(in.nextString());
+		}
+	}
+
+	private TaskData createTaskData(String id, Map<String, List<String>> valuesByName) {
+		TaskRepository repository = mapper.getTaskRepository();
+		TaskData taskData = new TaskData(mapper, BugzillaRestCore.CONNECTOR_KIND, repository.getRepositoryUrl(), id);
+		taskData.setPartial(partial);
+		TaskAttribute root = taskData.getRoot();
+		BugzillaRestTaskSchema.getDefault().TASK_KEY.createAttribute(root).setValue(id);
+		for (Entry<String, List<String>> entry : valuesByName.entrySet()) {
+			Field field = fieldByName.get(entry.getKey());
+			TaskAttribute attribute = field.createAttribute(root);
+			List<String> values = entry.getValue();
+			if (values.isEmpty()) {
+				continue;
+			}
+			String type = field.getType();
+			if (TaskAttribute.TYPE_DATE.equals(type) || TaskAttribute.TYPE_DATETIME.equals(type)) {
+				Date date = parseDate(values.get(0));
+				if (date != null) {
+					mapper.setDateValue(attribute, date);
+				}
+			} else if (TaskAttribute.TYPE_PERSON.equals(type)) {
+				mapper.setRepositoryPerson(attribute, repository.createPerson(values.get(0)));
+			} else {
+				attribute.setValues(values);
+			}
+		}
+		return taskData;
+	}
+
+	private Date parseDate(String value) {
+		try {
+			return dateFormat.parse(value);
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+}
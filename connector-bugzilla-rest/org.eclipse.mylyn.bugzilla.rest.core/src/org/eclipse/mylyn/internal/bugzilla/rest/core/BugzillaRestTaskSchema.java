@@ -33,6 +33,30 @@ public class BugzillaRestTaskSchema extends AbstractTaskSchema {
 
 	public final Field COMPONENT = inheritFrom(parent.COMPONENT).create();
 
+	public final Field PRODUCT = inheritFrom(parent.PRODUCT).create();
+
+	public final Field VERSION = createField("version", "Version", TaskAttribute.TYPE_SINGLE_SELECT, Flag.ATTRIBUTE); //$NON-NLS-1$ //$NON-NLS-2$
+
+	public final Field STATUS = inheritFrom(parent.STATUS).create();
+
+	public final Field RESOLUTION = inheritFrom(parent.RESOLUTION).create();
+
+	public final Field PRIORITY = inheritFrom(parent.PRIORITY).create();
+
+	public final Field SEVERITY = inheritFrom(parent.SEVERITY).create();
+
+	public final Field KEYWORDS = inheritFrom(parent.KEYWORDS).create();
+
+	public final Field TASK_KEY = inheritFrom(parent.TASK_KEY).create();
+
+	public final Field USER_ASSIGNED = inheritFrom(parent.USER_ASSIGNED).create();
+
+	public final Field USER_REPORTER = inheritFrom(parent.USER_REPORTER).create();
+
+	public final Field DATE_CREATION = inheritFrom(parent.DATE_CREATION).create();
+
+	public final Field DATE_MODIFICATION = inheritFrom(parent.DATE_MODIFICATION).create();
+
 	public final Field DUMMYATTRIBUTE = createField("task.bugzilla.dummy.attribute", "Dummy Attribute", //$NON-NLS-1$ //$NON-NLS-2$
 			TaskAttribute.TYPE_SHORT_TEXT, Flag.ATTRIBUTE);
 
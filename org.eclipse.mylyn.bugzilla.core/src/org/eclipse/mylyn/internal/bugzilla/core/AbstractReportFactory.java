@@ -11,8 +11,6 @@
 
 package org.eclipse.mylyn.internal.bugzilla.core;
 
-import java.io.BufferedInputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -51,40 +49,17 @@ public class AbstractReportFactory {
 	 * @throws GeneralSecurityException
 	 */
 	protected void collectResults(DefaultHandler contentHandler, boolean clean) throws IOException {
-		File tempFile = null;
-
 		if (inStream == null) {
 			return;
 		}
 
-		final BufferedInputStream is = new BufferedInputStream(inStream, 1024);
-
-		InputStream iis = new InputStream() {
-			@SuppressWarnings({ "restriction" })
-			@Override
-			public int read() throws IOException {
-				int c;
-				while ((c = is.read()) != -1) {
-					if (org.eclipse.mylyn.internal.commons.core.XmlStringConverter.isValid((char) c)) {
-						return c;
-					}
-				}
-				return -1;
-			}
-		};
-
 		Reader in;
 		if (characterEncoding != null) {
-			in = new InputStreamReader(iis, characterEncoding);
+			in = new InputStreamReader(inStream, characterEncoding);
 		} else {
-			in = new InputStreamReader(iis);
-		}
-
-		if (clean) {
-			tempFile = File.createTempFile("XmlCleaner-", "tmp"); //$NON-NLS-1$//$NON-NLS-2$
-			tempFile.deleteOnExit();
-			in = XmlCleaner.clean(in, tempFile);
+			in = new InputStreamReader(inStream);
 		}
+		in = new XmlFilterReader(in, clean);
 
 		try {
 			final XMLReader reader = CoreUtil.newXmlReader();
@@ -124,11 +99,5 @@ public class AbstractReportFactory {
 		} catch (SAXException e) {
 			throw new IOException(e.getMessage());
 		}
-
-		finally {
-			if (tempFile != null) {
-				tempFile.delete();
-			}
-		}
 	}
 }
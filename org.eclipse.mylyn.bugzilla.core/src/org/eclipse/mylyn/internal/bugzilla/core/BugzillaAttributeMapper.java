@@ -11,8 +11,6 @@
 
 package org.eclipse.mylyn.internal.bugzilla.core;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -20,6 +18,7 @@ import java.util.Map;
 
 import org.eclipse.mylyn.tasks.core.IRepositoryPerson;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.DateParser;
 import org.eclipse.mylyn.tasks.core.data.TaskAttachmentMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
@@ -46,6 +45,8 @@ public class BugzillaAttributeMapper extends TaskAttributeMapper {
 	private static final String[] dateFormats = { dateFormat_1_TimeZone, dateFormat_1, dateFormat_2_TimeZone,
 			dateFormat_2, dateFormat_3_TimeZone, dateFormat_3 };
 
+	private static final DateParser dateParser = new DateParser(dateFormats);
+
 	private final BugzillaRepositoryConnector connector;
 
 	public BugzillaAttributeMapper(TaskRepository taskRepository, BugzillaRepositoryConnector connector) {
@@ -58,13 +59,14 @@ public class BugzillaAttributeMapper extends TaskAttributeMapper {
 		if (attribute == null) {
 			return null;
 		}
-		Date parsedDate = parseDate(attribute.getValue());
-		if (parsedDate != null) {
-			return parsedDate;
-		}
 		return super.getDateValue(attribute);
 	}
 
+	@Override
+	protected DateParser getDateParser() {
+		return dateParser;
+	}
+
 	@Override
 	public boolean getBooleanValue(TaskAttribute attribute) {
 		if (attribute.getValue().equals("1")) { //$NON-NLS-1$
@@ -85,19 +87,8 @@ public class BugzillaAttributeMapper extends TaskAttributeMapper {
 		}
 	}
 
-	/**
-	 * Note: Date formatter constructed within method for thread safety
-	 */
 	public static final Date parseDate(String dateString) {
-		for (String format : dateFormats) {
-			try {
-				SimpleDateFormat simpleFormatter = new SimpleDateFormat(format);
-				return simpleFormatter.parse(dateString);
-			} catch (ParseException e) {
-			} catch (NumberFormatException e) {
-			}
-		}
-		return null;
+		return dateParser.parse(dateString);
 	}
 
 	@Override
@@ -113,34 +104,34 @@ public class BugzillaAttributeMapper extends TaskAttributeMapper {
 				bugzillaVersion = BugzillaVersion.MIN_VERSION;
 			}
 
-			SimpleDateFormat comment_creation_ts_Format;
-			SimpleDateFormat attachment_creation_ts_Format;
+			String comment_creation_ts_Format;
+			String attachment_creation_ts_Format;
 
 			String dateString = null;
 			String attributeId = attribute.getId();
 
 			if (attributeId.equals(BugzillaAttribute.DELTA_TS.getKey())) {
-				dateString = new SimpleDateFormat(dateFormat_1).format(date);
+				dateString = dateParser.format(date, dateFormat_1);
 			} else if (attributeId.equals(BugzillaAttribute.CREATION_TS.getKey())) {
-				dateString = new SimpleDateFormat(dateFormat_2).format(date);
+				dateString = dateParser.format(date, dateFormat_2);
 			} else if (attributeId.equals(BugzillaAttribute.BUG_WHEN.getKey())) {
 				if (bugzillaVersion.compareMajorMinorOnly(BugzillaVersion.BUGZILLA_2_22) < 0) {
-					comment_creation_ts_Format = new SimpleDateFormat(dateFormat_2);
+					comment_creation_ts_Format = dateFormat_2;
 				} else {
-					comment_creation_ts_Format = new SimpleDateFormat(dateFormat_1);
+					comment_creation_ts_Format = dateFormat_1;
 				}
-				dateString = comment_creation_ts_Format.format(date);
+				dateString = dateParser.format(date, comment_creation_ts_Format);
 			} else if (attributeId.equals(BugzillaAttribute.DATE.getKey())) {
 				if (bugzillaVersion.compareMajorMinorOnly(BugzillaVersion.BUGZILLA_2_22) < 0) {
-					attachment_creation_ts_Format = new SimpleDateFormat(dateFormat_2);
+					attachment_creation_ts_Format = dateFormat_2;
 				} else {
-					attachment_creation_ts_Format = new SimpleDateFormat(dateFormat_1);
+					attachment_creation_ts_Format = dateFormat_1;
 				}
-				dateString = attachment_creation_ts_Format.format(date);
+				dateString = dateParser.format(date, attachment_creation_ts_Format);
 			} else if (attributeId.equals(BugzillaAttribute.DEADLINE.getKey())) {
-				dateString = new SimpleDateFormat(dateFormat_3).format(date);
+				dateString = dateParser.format(date, dateFormat_3);
 			} else if (attributeId.startsWith(BugzillaCustomField.CUSTOM_FIELD_PREFIX)) {
-				dateString = new SimpleDateFormat(dateFormat_1).format(date);
+				dateString = dateParser.format(date, dateFormat_1);
 			}
 
 			if (dateString == null) {
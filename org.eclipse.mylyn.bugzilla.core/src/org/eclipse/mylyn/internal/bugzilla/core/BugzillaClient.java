@@ -14,6 +14,7 @@
 package org.eclipse.mylyn.internal.bugzilla.core;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -35,12 +36,17 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import javax.swing.text.html.HTML.Tag;
 
@@ -68,6 +74,8 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.mylyn.commons.core.HtmlStreamTokenizer;
@@ -82,6 +90,7 @@ import org.eclipse.mylyn.commons.net.WebLocation;
 import org.eclipse.mylyn.commons.net.WebUtil;
 import org.eclipse.mylyn.internal.bugzilla.core.IBugzillaConstants.BUGZILLA_REPORT_STATUS_4_0;
 import org.eclipse.mylyn.internal.bugzilla.core.service.BugzillaXmlRpcClient;
+import org.eclipse.mylyn.internal.tasks.core.IRepositoryConstants;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryLocation;
 import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
 import org.eclipse.mylyn.tasks.core.RepositoryResponse;
@@ -175,7 +184,7 @@ public class BugzillaClient {
 
 	protected String characterEncoding;
 
-	private boolean loggedIn;
+	private volatile boolean loggedIn;
 
 	private final Map<String, String> configParameters;
 
@@ -187,7 +196,7 @@ public class BugzillaClient {
 
 	private RepositoryConfiguration repositoryConfiguration;
 
-	private HostConfiguration hostConfiguration;
+	private volatile HostConfiguration hostConfiguration;
 
 	private final AbstractWebLocation location;
 
@@ -1106,17 +1115,33 @@ public class BugzillaClient {
 	 */
 	private GzipPostMethod postFormData(String formUrl, NameValuePair[] formData, IProgressMonitor monitor)
 			throws IOException, CoreException {
+		return postFormData(formUrl, formData, true, monitor);
+	}
+
+	/**
+	 * calling method must release the connection on the returned PostMethod once finished.
+	 * 
+	 * @param authenticate
+	 *            if false, the host configuration and session established by a previous request are reused which
+	 *            allows invoking this method from worker threads
+	 */
+	private GzipPostMethod postFormData(String formUrl, NameValuePair[] formData, boolean authenticate,
+			IProgressMonitor monitor) throws IOException, CoreException {
 
 		GzipPostMethod postMethod = null;
 		monitor = Policy.monitorFor(monitor);
-		hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
-		authenticate(monitor);
+		if (authenticate) {
+			hostConfiguration = WebUtil.createHostConfiguration(httpClient, location, monitor);
+			authenticate(monitor);
+		}
 
 		postMethod = new GzipPostMethod(WebUtil.getRequestPath(repositoryUrl.toString() + formUrl), true);
 		postMethod.setRequestHeader(
 				"Content-Type", "application/x-www-form-urlencoded; charset=" + getCharacterEncoding()); //$NON-NLS-1$ //$NON-NLS-2$
 
-		httpClient.getHttpConnectionManager().getParams().setSoTimeout(WebUtil.getConnectionTimeout());
+		if (authenticate) {
+			httpClient.getHttpConnectionManager().getParams().setSoTimeout(WebUtil.getConnectionTimeout());
+		}
 
 		postMethod.setRequestBody(formData);
 		postMethod.setDoAuthentication(true);
@@ -2222,89 +2247,135 @@ public class BugzillaClient {
 			connector.addRepositoryConfiguration(repositoryConfiguration);
 		}
 
-		GzipPostMethod method = null;
-		HashMap<String, TaskData> taskDataMap = new HashMap<String, TaskData>();
-		// make a copy to modify set
-		taskIds = new HashSet<String>(taskIds);
-		int authenticationAttempt = 0;
-		while (taskIds.size() > 0) {
+		List<List<String>> batches = createTaskDataBatches(taskIds, getMaxRetrievedPerQuery());
+		if (batches.isEmpty()) {
+			return;
+		}
 
-			try {
+		// retrieve the first batch on the calling thread to make sure that the client is authenticated before
+		// further requests are sent in parallel
+		byte[] content = retrieveTaskData(batches.get(0), monitor);
+		if (batches.size() == 1) {
+			parseTaskData(batches.get(0), content, collector, mapper);
+			return;
+		}
 
-				Set<String> idsToRetrieve = new HashSet<String>();
-				Iterator<String> itr = taskIds.iterator();
-				for (int x = 0; itr.hasNext() && x < MAX_RETRIEVED_PER_QUERY; x++) {
-					String taskId = itr.next();
-					String taskIdOrg = taskId;
-					// remove leading zeros
-					boolean changed = false;
-					while (taskId.startsWith("0")) { //$NON-NLS-1$
-						taskId = taskId.substring(1);
-						changed = true;
-					}
-					idsToRetrieve.add(taskId);
-					if (changed) {
-						taskIds.remove(taskIdOrg);
-						taskIds.add(taskId);
-					}
+		// retrieve subsequent batches while the previous batch is parsed, workers reuse the session of the calling
+		// thread and leave authentication to the calling thread
+		int maxRequests = Math.min(getMaxConcurrentRequests(), batches.size() - 1);
+		ExecutorService executor = BugzillaExecutors.getRequestExecutor();
+		LinkedList<Future<byte[]>> requests = new LinkedList<Future<byte[]>>();
+		try {
+			final IProgressMonitor workerMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return super.isCanceled() || (monitor != null && monitor.isCanceled());
+				}
+			};
+			int next = 1;
+			for (; next < batches.size() && requests.size() < maxRequests; next++) {
+				requests.add(executor.submit(createRetrieveTaskDataCallable(batches.get(next), workerMonitor)));
+			}
+			parseTaskData(batches.get(0), content, collector, mapper);
+			for (int i = 1; i < batches.size(); i++) {
+				content = getContent(requests.removeFirst());
+				if (next < batches.size()) {
+					requests.add(executor.submit(createRetrieveTaskDataCallable(batches.get(next), workerMonitor)));
+					next++;
 				}
+				if (content == null) {
+					// the session has expired, authenticate and retry on the calling thread
+					content = retrieveTaskData(batches.get(i), monitor);
+				}
+				parseTaskData(batches.get(i), content, collector, mapper);
+			}
+		} finally {
+			for (Future<byte[]> request : requests) {
+				request.cancel(true);
+			}
+		}
+	}
 
-				NameValuePair[] formData = new NameValuePair[idsToRetrieve.size() + 2];
+	private Callable<byte[]> createRetrieveTaskDataCallable(final List<String> taskIds, final IProgressMonitor monitor) {
+		return new Callable<byte[]>() {
+			public byte[] call() throws Exception {
+				return fetchTaskData(taskIds, monitor);
+			}
+		};
+	}
 
-				if (idsToRetrieve.size() == 0) {
-					return;
-				}
+	private byte[] getContent(Future<byte[]> request) throws IOException, CoreException {
+		try {
+			return request.get();
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			} else if (cause instanceof CoreException) {
+				throw (CoreException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CoreException(new Status(IStatus.ERROR, BugzillaCorePlugin.ID_PLUGIN,
+					"Unexpected error during retrieval of task data", cause)); //$NON-NLS-1$
+		}
+	}
 
-				itr = idsToRetrieve.iterator();
-				int x = 0;
-				for (; itr.hasNext(); x++) {
-					String taskId = itr.next();
-					formData[x] = new NameValuePair("id", taskId); //$NON-NLS-1$
-					TaskData taskData = new TaskData(mapper, getConnectorKind(), repositoryUrl.toString(), taskId);
-					setupExistingBugAttributes(repositoryUrl.toString(), taskData);
-					taskDataMap.put(taskId, taskData);
-				}
-				formData[x++] = new NameValuePair("ctype", "xml"); //$NON-NLS-1$ //$NON-NLS-2$
-				formData[x] = new NameValuePair("excludefield", "attachmentdata"); //$NON-NLS-1$ //$NON-NLS-2$
-				method = postFormData(IBugzillaConstants.URL_POST_SHOW_BUG, formData, monitor);
-				if (method == null) {
-					throw new IOException("Could not post form, client returned null method."); //$NON-NLS-1$
-				}
+	/**
+	 * Splits <code>taskIds</code> into batches of at most <code>batchSize</code> ids. Leading zeros are removed from
+	 * ids.
+	 */
+	private List<List<String>> createTaskDataBatches(Set<String> taskIds, int batchSize) {
+		Set<String> ids = new LinkedHashSet<String>();
+		for (String taskId : taskIds) {
+			// remove leading zeros
+			while (taskId.startsWith("0")) { //$NON-NLS-1$
+				taskId = taskId.substring(1);
+			}
+			if (taskId.length() > 0) {
+				ids.add(taskId);
+			}
+		}
 
-				boolean parseable = false;
-				if (method.getResponseHeader("Content-Type") != null) { //$NON-NLS-1$
-					Header responseTypeHeader = method.getResponseHeader("Content-Type"); //$NON-NLS-1$
-					for (String type : VALID_CONFIG_CONTENT_TYPES) {
-						if (responseTypeHeader.getValue().toLowerCase(Locale.ENGLISH).contains(type)) {
-							InputStream input = getResponseStream(method, monitor);
-							try {
-								MultiBugReportFactory factory = new MultiBugReportFactory(input,
-										getCharacterEncoding(), connector);
-								List<BugzillaCustomField> customFields = new ArrayList<BugzillaCustomField>();
-								if (repositoryConfiguration != null) {
-									customFields = repositoryConfiguration.getCustomFields();
-								}
-								factory.populateReport(taskDataMap, collector, mapper, customFields);
-								taskIds.removeAll(idsToRetrieve);
-								taskDataMap.clear();
-								parseable = true;
-								break;
-							} finally {
-								input.close();
-							}
-						}
-					}
-				}
+		List<List<String>> batches = new ArrayList<List<String>>();
+		List<String> batch = null;
+		for (String taskId : ids) {
+			if (batch == null || batch.size() >= batchSize) {
+				batch = new ArrayList<String>(Math.min(batchSize, ids.size()));
+				batches.add(batch);
+			}
+			batch.add(taskId);
+		}
+		return batches;
+	}
 
-				if (!parseable) {
-					// because html is not a valid config content type it is save to get the response here
-					throw new CoreException(parseHtmlError(getResponseStream(method, monitor)));
+	/**
+	 * Retrieves the XML representation of <code>taskIds</code> from the repository. Authenticates if needed and hence
+	 * must not be invoked from worker threads.
+	 */
+	protected byte[] retrieveTaskData(List<String> taskIds, IProgressMonitor monitor) throws IOException,
+			CoreException {
+		NameValuePair[] formData = createTaskDataFormData(taskIds);
+		int authenticationAttempt = 0;
+		while (true) {
+			GzipPostMethod method = null;
+			try {
+				method = postFormData(IBugzillaConstants.URL_POST_SHOW_BUG, formData, monitor);
+				byte[] content = readTaskData(method, monitor);
+				if (content != null) {
+					return content;
 				}
+
+				// because html is not a valid config content type it is save to get the response here
+				throw new CoreException(parseHtmlError(getResponseStream(method, monitor)));
 			} catch (CoreException c) {
 				if (c.getStatus().getCode() == RepositoryStatus.ERROR_REPOSITORY_LOGIN && authenticationAttempt < 1) {
 					loggedIn = false;
 					authenticationAttempt++;
-					//StatusHandler.log(c.getStatus());
 				} else {
 					throw c;
 				}
@@ -2316,6 +2387,111 @@ public class BugzillaClient {
 		}
 	}
 
+	/**
+	 * Retrieves the XML representation of <code>taskIds</code> using the session of a previous request without
+	 * modifying the state of the client, for use by worker threads.
+	 * 
+	 * @return the content or <code>null</code>, if the response does not contain task data, e.g. if the session has
+	 *         expired, in which case the calling thread needs to retry using
+	 *         {@link #retrieveTaskData(List, IProgressMonitor)}
+	 */
+	protected byte[] fetchTaskData(List<String> taskIds, IProgressMonitor monitor) throws IOException, CoreException {
+		GzipPostMethod method = null;
+		try {
+			method = postFormData(IBugzillaConstants.URL_POST_SHOW_BUG, createTaskDataFormData(taskIds), false,
+					monitor);
+			return readTaskData(method, monitor);
+		} finally {
+			if (method != null) {
+				WebUtil.releaseConnection(method, monitor);
+			}
+		}
+	}
+
+	private NameValuePair[] createTaskDataFormData(List<String> taskIds) {
+		NameValuePair[] formData = new NameValuePair[taskIds.size() + 2];
+		int x = 0;
+		for (String taskId : taskIds) {
+			formData[x++] = new NameValuePair("id", taskId); //$NON-NLS-1$
+		}
+		formData[x++] = new NameValuePair("ctype", "xml"); //$NON-NLS-1$ //$NON-NLS-2$
+		formData[x] = new NameValuePair("excludefield", "attachmentdata"); //$NON-NLS-1$ //$NON-NLS-2$
+		return formData;
+	}
+
+	/**
+	 * Returns the content of <code>method</code> or <code>null</code>, if the response is not of a valid content type.
+	 */
+	private byte[] readTaskData(GzipPostMethod method, IProgressMonitor monitor) throws IOException {
+		if (method == null) {
+			throw new IOException("Could not post form, client returned null method."); //$NON-NLS-1$
+		}
+
+		if (method.getResponseHeader("Content-Type") != null) { //$NON-NLS-1$
+			Header responseTypeHeader = method.getResponseHeader("Content-Type"); //$NON-NLS-1$
+			for (String type : VALID_CONFIG_CONTENT_TYPES) {
+				if (responseTypeHeader.getValue().toLowerCase(Locale.ENGLISH).contains(type)) {
+					InputStream input = getResponseStream(method, monitor);
+					try {
+						ByteArrayOutputStream out = new ByteArrayOutputStream();
+						transferData(input, out);
+						return out.toByteArray();
+					} finally {
+						input.close();
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	protected void parseTaskData(List<String> taskIds, byte[] content, TaskDataCollector collector,
+			TaskAttributeMapper mapper) throws IOException, CoreException {
+		Map<String, TaskData> taskDataMap = new HashMap<String, TaskData>();
+		for (String taskId : taskIds) {
+			TaskData taskData = new TaskData(mapper, getConnectorKind(), repositoryUrl.toString(), taskId);
+			setupExistingBugAttributes(repositoryUrl.toString(), taskData);
+			taskDataMap.put(taskId, taskData);
+		}
+
+		MultiBugReportFactory factory = new MultiBugReportFactory(new ByteArrayInputStream(content),
+				getCharacterEncoding(), connector);
+		List<BugzillaCustomField> customFields = new ArrayList<BugzillaCustomField>();
+		if (repositoryConfiguration != null) {
+			customFields = repositoryConfiguration.getCustomFields();
+		}
+		factory.populateReport(taskDataMap, collector, mapper, customFields);
+	}
+
+	/**
+	 * Returns the maximum number of tasks that are retrieved in a single request.
+	 */
+	int getMaxRetrievedPerQuery() {
+		return parsePositiveInt(configParameters.get(IBugzillaConstants.BUGZILLA_MAX_RETRIEVED_PER_QUERY),
+				MAX_RETRIEVED_PER_QUERY);
+	}
+
+	/**
+	 * Returns the maximum number of requests for task data that are sent ahead while task data is parsed.
+	 */
+	int getMaxConcurrentRequests() {
+		return parsePositiveInt(configParameters.get(IRepositoryConstants.PROPERTY_MAX_CONCURRENT_REQUESTS), 1);
+	}
+
+	private static int parsePositiveInt(String value, int defaultValue) {
+		if (value != null) {
+			try {
+				int result = Integer.parseInt(value);
+				if (result > 0) {
+					return result;
+				}
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+		return defaultValue;
+	}
+
 	protected String getConnectorKind() {
 		return BugzillaCorePlugin.CONNECTOR_KIND;
 	}
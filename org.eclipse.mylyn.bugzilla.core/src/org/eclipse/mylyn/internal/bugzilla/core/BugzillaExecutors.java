@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Provides the worker threads that are shared by all clients for sending requests to repositories in parallel. Callers
+ * limit the number of requests they submit concurrently, idle threads are discarded.
+ */
+class BugzillaExecutors {
+
+	private static class RequestThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Bugzilla Request #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+	private static final ExecutorService requestExecutor = Executors.newCachedThreadPool(new RequestThreadFactory());
+
+	public static ExecutorService getRequestExecutor() {
+		return requestExecutor;
+	}
+
+}
@@ -24,19 +24,26 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubProgressMonitor;
@@ -74,6 +81,18 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 
 	private static final String CHANGED_BUGS_CGI_QUERY = "/buglist.cgi?query_format=advanced&chfieldfrom="; //$NON-NLS-1$
 
+	private static final String CHANGED_BUGS_CGI_COLUMNS = "&columnlist=changeddate"; //$NON-NLS-1$
+
+	private static final String CHANGED_BUGS_CGI_NO_LIMIT = "&limit=0"; //$NON-NLS-1$
+
+	private static final String ENCODED_ID_SEPARATOR = "%2C"; //$NON-NLS-1$
+
+	private static final String PRODUCT = "&product="; //$NON-NLS-1$
+
+	private static final int MAX_URL_LENGTH = 7000;
+
+	private static final int MAX_PRODUCTS_PER_QUERY = 10;
+
 	private static final String CLIENT_LABEL = Messages.BugzillaRepositoryConnector_BUGZILLA_CONNECTOR_LABEL;
 
 	private static final String COMMENT_FORMAT = "yyyy-MM-dd HH:mm"; //$NON-NLS-1$
@@ -293,41 +312,29 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 			}
 
 			String urlQueryBase = repository.getRepositoryUrl() + CHANGED_BUGS_CGI_QUERY
-					+ URLEncoder.encode(dateString, repository.getCharacterEncoding()) + CHANGED_BUGS_CGI_ENDDATE;
-
-			StringBuilder urlQueryString = new StringBuilder(Math.min(30 + 9 * session.getTasks().size(), 7009));
-			urlQueryString.append(urlQueryBase + BUG_ID);
-
-			Set<ITask> changedTasks = new HashSet<ITask>();
-			Iterator<ITask> itr = session.getTasks().iterator();
-			int queryCounter = 0;
-			Set<ITask> checking = new HashSet<ITask>();
-			while (itr.hasNext()) {
-				ITask task = itr.next();
-				checking.add(task);
-				queryCounter++;
-				urlQueryString.append(URLEncoder.encode(task.getTaskId() + ",", repository.getCharacterEncoding())); //$NON-NLS-1$
-				if (urlQueryString.length() >= 7000) {
-					queryForChanged(repository, changedTasks, urlQueryString.toString(), session,
-							new SubProgressMonitor(monitor, queryCounter));
-
-					queryCounter = 0;
-					urlQueryString.setLength(0);
-					urlQueryString.append(urlQueryBase + BUG_ID);
-				}
+					+ URLEncoder.encode(dateString, repository.getCharacterEncoding()) + CHANGED_BUGS_CGI_ENDDATE
+					+ CHANGED_BUGS_CGI_COLUMNS;
 
-				if (!itr.hasNext() && queryCounter != 0) {
-					queryForChanged(repository, changedTasks, urlQueryString.toString(), session,
-							new SubProgressMonitor(monitor, queryCounter));
-				}
+			Map<String, ITask> taskById = new HashMap<String, ITask>();
+			for (ITask task : session.getTasks()) {
+				taskById.put(task.getTaskId(), task);
 			}
 
-			for (ITask task : session.getTasks()) {
-				if (changedTasks.contains(task)) {
-					session.markStale(task);
-				}
+			List<String> queryUrls = null;
+			if (Boolean.parseBoolean(repository.getProperty(IBugzillaConstants.BUGZILLA_QUERY_CHANGED_BY_PRODUCT))) {
+				queryUrls = getChangedQueryUrlsByProduct(repository, urlQueryBase, session.getTasks());
+			}
+			if (queryUrls == null) {
+				queryUrls = getChangedQueryUrlsById(repository, urlQueryBase, session.getTasks());
 			}
 
+			for (TaskData data : queryForChanged(repository, queryUrls, session,
+					new SubProgressMonitor(monitor, session.getTasks().size()))) {
+				ITask changedTask = taskById.get(data.getTaskId());
+				if (changedTask != null) {
+					session.markStale(changedTask);
+				}
+			}
 		} catch (UnsupportedEncodingException e) {
 			throw new CoreException(new Status(IStatus.ERROR, BugzillaCorePlugin.ID_PLUGIN,
 					"Repository configured with unsupported encoding: " + repository.getCharacterEncoding() //$NON-NLS-1$
@@ -337,39 +344,217 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 		}
 	}
 
-	private void queryForChanged(final TaskRepository repository, Set<ITask> changedTasks, String urlQueryString,
-			ISynchronizationSession syncSession, IProgressMonitor monitor) throws UnsupportedEncodingException,
-			CoreException {
+	/**
+	 * Returns queries for tasks that changed since the last synchronization restricted by the ids of
+	 * <code>tasks</code>. The ids are split across several queries to keep the length of URLs bounded.
+	 */
+	private List<String> getChangedQueryUrlsById(TaskRepository repository, String urlQueryBase, Set<ITask> tasks)
+			throws UnsupportedEncodingException {
+		List<String> queryUrls = new ArrayList<String>();
+		StringBuilder urlQueryString = new StringBuilder(Math.min(30 + 9 * tasks.size(), MAX_URL_LENGTH + 9));
+		urlQueryString.append(urlQueryBase).append(BUG_ID);
+		int queryLength = urlQueryString.length();
+		for (ITask task : tasks) {
+			String taskId = task.getTaskId();
+			if (isNumeric(taskId)) {
+				urlQueryString.append(taskId);
+			} else {
+				urlQueryString.append(URLEncoder.encode(taskId, repository.getCharacterEncoding()));
+			}
+			urlQueryString.append(ENCODED_ID_SEPARATOR);
+			if (urlQueryString.length() >= MAX_URL_LENGTH) {
+				queryUrls.add(urlQueryString.toString());
+				urlQueryString.setLength(queryLength);
+			}
+		}
+		if (urlQueryString.length() > queryLength) {
+			queryUrls.add(urlQueryString.toString());
+		}
+		return queryUrls;
+	}
 
-		HashMap<String, ITask> taskById = new HashMap<String, ITask>();
-		for (ITask task : syncSession.getTasks()) {
-			taskById.put(task.getTaskId(), task);
+	/**
+	 * Returns a single query for tasks that changed since the last synchronization restricted by the products of
+	 * <code>tasks</code>, or <code>null</code> if the product is not known for all tasks or the tasks span too many
+	 * products. Bugs that were moved to a different product since the last synchronization are not detected by this
+	 * query.
+	 */
+	private List<String> getChangedQueryUrlsByProduct(TaskRepository repository, String urlQueryBase,
+			Set<ITask> tasks) throws UnsupportedEncodingException {
+		Set<String> products = new HashSet<String>();
+		for (ITask task : tasks) {
+			String product = task.getAttribute(TaskAttribute.PRODUCT);
+			if (product == null || product.length() == 0) {
+				return null;
+			}
+			if (products.add(product) && products.size() > MAX_PRODUCTS_PER_QUERY) {
+				return null;
+			}
+		}
+		StringBuilder urlQueryString = new StringBuilder(urlQueryBase);
+		urlQueryString.append(CHANGED_BUGS_CGI_NO_LIMIT);
+		for (String product : products) {
+			urlQueryString.append(PRODUCT);
+			urlQueryString.append(URLEncoder.encode(product, repository.getCharacterEncoding()));
 		}
+		return Collections.singletonList(urlQueryString.toString());
+	}
+
+	private static boolean isNumeric(String taskId) {
+		for (int i = 0; i < taskId.length(); i++) {
+			if (!Character.isDigit(taskId.charAt(i))) {
+				return false;
+			}
+		}
+		return taskId.length() > 0;
+	}
+
+	/**
+	 * Runs <code>queryUrls</code> and returns the collected results. The first query is run on the calling thread,
+	 * remaining queries run concurrently up to the limit returned by {@link #getMaxConcurrentRequests(TaskRepository)}.
+	 * Concurrent queries share the session of the client. Since Bugzilla returns no hits if the session has been lost,
+	 * e.g. due to an IP change, a query that returned hits is repeated once all concurrent queries have completed. Only
+	 * if it no longer returns hits, the calling thread logs in again and repeats the queries without hits.
+	 */
+	private List<TaskData> queryForChanged(final TaskRepository repository, List<String> queryUrls,
+			final ISynchronizationSession syncSession, final IProgressMonitor monitor) throws CoreException {
+		List<TaskData> result = new ArrayList<TaskData>();
+		monitor.beginTask(Messages.BugzillaRepositoryConnector_checking_for_changed_tasks, queryUrls.size());
+		try {
+			if (queryUrls.isEmpty()) {
+				return result;
+			}
+
+			// authenticates the client before further queries are sent concurrently
+			BugzillaTaskDataCollector collector = queryForChanged(repository, queryUrls.get(0), syncSession, true,
+					new SubProgressMonitor(monitor, 1));
+			result.addAll(collector.getTaskData());
+			String probeQueryUrl = (collector.getTaskData().isEmpty()) ? null : queryUrls.get(0);
+
+			int threadCount = Math.min(getMaxConcurrentRequests(repository), queryUrls.size() - 1);
+			if (threadCount <= 1) {
+				for (String queryUrl : queryUrls.subList(1, queryUrls.size())) {
+					collector = queryForChanged(repository, queryUrl, syncSession, true, new SubProgressMonitor(
+							monitor, 1));
+					result.addAll(collector.getTaskData());
+				}
+				return result;
+			}
 
+			final IProgressMonitor workerMonitor = new NullProgressMonitor() {
+				@Override
+				public boolean isCanceled() {
+					return super.isCanceled() || monitor.isCanceled();
+				}
+			};
+			ExecutorService executor = BugzillaExecutors.getRequestExecutor();
+			List<String> concurrentQueryUrls = queryUrls.subList(1, queryUrls.size());
+			LinkedList<Future<BugzillaTaskDataCollector>> futures = new LinkedList<Future<BugzillaTaskDataCollector>>();
+			List<String> emptyQueryUrls = new ArrayList<String>();
+			try {
+				int next = 0;
+				for (int i = 0; i < concurrentQueryUrls.size(); i++) {
+					for (; next < concurrentQueryUrls.size() && futures.size() < threadCount; next++) {
+						futures.add(executor.submit(createQueryForChangedCallable(repository,
+								concurrentQueryUrls.get(next), syncSession, workerMonitor)));
+					}
+					collector = getCollector(futures.removeFirst());
+					if (collector.getTaskData().isEmpty()) {
+						emptyQueryUrls.add(concurrentQueryUrls.get(i));
+					} else {
+						result.addAll(collector.getTaskData());
+						probeQueryUrl = concurrentQueryUrls.get(i);
+					}
+					monitor.worked(1);
+				}
+			} finally {
+				for (Future<BugzillaTaskDataCollector> future : futures) {
+					future.cancel(true);
+				}
+			}
+
+			// if no query returned hits the session was renewed by the first query, otherwise the session is only
+			// considered lost if a query that returned hits no longer does
+			if (!emptyQueryUrls.isEmpty() && probeQueryUrl != null
+					&& queryForChanged(repository, probeQueryUrl, syncSession, false, monitor).getTaskData().isEmpty()) {
+				// in case of an ip change bugzilla can return 0 hits due to an invalid authorization token, log in
+				// again once on the calling thread and repeat the affected queries
+				logout(repository, monitor);
+				for (String queryUrl : emptyQueryUrls) {
+					collector = queryForChanged(repository, queryUrl, syncSession, false, monitor);
+					result.addAll(collector.getTaskData());
+				}
+			}
+			return result;
+		} finally {
+			monitor.done();
+		}
+	}
+
+	private Callable<BugzillaTaskDataCollector> createQueryForChangedCallable(final TaskRepository repository,
+			final String queryUrl, final ISynchronizationSession syncSession, final IProgressMonitor monitor) {
+		return new Callable<BugzillaTaskDataCollector>() {
+			public BugzillaTaskDataCollector call() throws Exception {
+				return queryForChanged(repository, queryUrl, syncSession, false, monitor);
+			}
+		};
+	}
+
+	private void logout(TaskRepository repository, IProgressMonitor monitor) throws CoreException {
+		BugzillaClient client = getClientManager().getClient(repository, monitor);
+		try {
+			client.logout(monitor);
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, BugzillaCorePlugin.ID_PLUGIN, IStatus.ERROR,
+					MessageFormat.format(Messages.BugzillaRepositoryConnector_Check_repository_configuration,
+							e.getMessage()), e));
+		}
+	}
+
+	private BugzillaTaskDataCollector getCollector(Future<BugzillaTaskDataCollector> future) throws CoreException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException) {
+				throw (CoreException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CoreException(new Status(IStatus.ERROR, BugzillaCorePlugin.ID_PLUGIN,
+					"Unexpected error while checking for changed tasks", cause)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * @param relogin
+	 *            see {@link #performQuery(TaskRepository, IRepositoryQuery, TaskDataCollector, ISynchronizationSession,
+	 *            boolean, IProgressMonitor)}
+	 */
+	private BugzillaTaskDataCollector queryForChanged(TaskRepository repository, String urlQueryString,
+			ISynchronizationSession syncSession, boolean relogin, IProgressMonitor monitor) {
 		BugzillaTaskDataCollector collector = new BugzillaTaskDataCollector();
 
 		// TODO: Decouple from internals
 		IRepositoryQuery query = new RepositoryQuery(repository.getConnectorKind(), ""); //$NON-NLS-1$
 		query.setSummary(Messages.BugzillaRepositoryConnector_Query_for_changed_tasks);
 		query.setUrl(urlQueryString);
-		performQuery(repository, query, collector, syncSession, monitor);
-		for (TaskData data : collector.getTaskData()) {
-			ITask changedTask = taskById.get(data.getTaskId());
-			if (changedTask != null) {
-				changedTasks.add(changedTask);
+		performQuery(repository, query, collector, syncSession, relogin, monitor);
+
+		if (collector.getQueryTimestamp() != null) {
+			synchronized (syncSession) {
+				if (syncSession.getData() == null) {
+					// Bugzilla 4.2 does not parse the timezone of the time stamp properly hence it needs to be
+					// persisted in server time and not local time
+					syncSession.setData(collector.getQueryTimestamp());
+				}
 			}
 		}
-
-		if (syncSession.getData() == null && collector.getQueryTimestamp() != null) {
-			// Bugzilla 4.2 does not parse the timezone of the time stamp properly hence it needs to be persisted in
-			// server time and not local time
-			syncSession.setData(collector.getQueryTimestamp());
-//			Date queryDate = BugzillaAttributeMapper.parseDate(collector.getQueryTimestamp());
-//			if (queryDate != null) {
-//				// Ensure time is in right format
-//				syncSession.setData(new SimpleDateFormat(TIMESTAMP_WITH_OFFSET).format(queryDate));
-//			}
-		}
+		return collector;
 	}
 
 	@Override
@@ -385,6 +570,17 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 	@Override
 	public IStatus performQuery(TaskRepository repository, final IRepositoryQuery query,
 			TaskDataCollector resultCollector, ISynchronizationSession event, IProgressMonitor monitor) {
+		return performQuery(repository, query, resultCollector, event, true, monitor);
+	}
+
+	/**
+	 * @param relogin
+	 *            if true, the query is repeated after logging out if no hits are received. Must be false if the client
+	 *            is used by several threads concurrently since logging out resets the shared session.
+	 */
+	private IStatus performQuery(TaskRepository repository, final IRepositoryQuery query,
+			TaskDataCollector resultCollector, ISynchronizationSession event, boolean relogin,
+			IProgressMonitor monitor) {
 
 		monitor = Policy.monitorFor(monitor);
 		try {
@@ -392,7 +588,7 @@ public class BugzillaRepositoryConnector extends AbstractRepositoryConnector {
 			BugzillaClient client = getClientManager().getClient(repository, new SubProgressMonitor(monitor, 1));
 			TaskAttributeMapper mapper = getTaskDataHandler().getAttributeMapper(repository);
 			boolean hitsReceived = client.getSearchHits(query, resultCollector, mapper, monitor);
-			if (!hitsReceived) {
+			if (!hitsReceived && relogin) {
 				// XXX: HACK in case of ip change bugzilla can return 0 hits
 				// due to invalid authorization token, forcing relogin fixes
 				client.logout(monitor);
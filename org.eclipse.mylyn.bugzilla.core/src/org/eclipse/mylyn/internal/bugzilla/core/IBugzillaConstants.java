@@ -254,6 +254,10 @@ public interface IBugzillaConstants {
 
 	public static final String BUGZILLA_USE_XMLRPC = "bugzilla.xmlrpc.status.transition"; //$NON-NLS-1$
 
+	public static final String BUGZILLA_MAX_RETRIEVED_PER_QUERY = "bugzilla.maxRetrievedPerQuery"; //$NON-NLS-1$
+
+	public static final String BUGZILLA_QUERY_CHANGED_BY_PRODUCT = "bugzilla.queryChangedByProduct"; //$NON-NLS-1$
+
 	public static final String DEFAULT_LANG = "en (default)"; //$NON-NLS-1$
 
 	public static final String BUGZILLA_PARAM_USECLASSIFICATION = "bugzilla.param.use.classification"; //$NON-NLS-1$
@@ -11,9 +11,8 @@
 
 package org.eclipse.mylyn.internal.bugzilla.core;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -21,6 +20,7 @@ import java.util.Map;
 
 import org.eclipse.mylyn.tasks.core.IRepositoryPerson;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.DateParser;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
@@ -44,6 +44,10 @@ public class SaxMultiBugReportContentHandler extends DefaultHandler {
 
 	private static final String ID_STRING_END = ")"; //$NON-NLS-1$
 
+	private static final DateParser DATE_PARSER = new DateParser("yyyy-MM-dd HH:mm"); //$NON-NLS-1$
+
+	private static final DateParser DELTA_TS_PARSER = new DateParser("yyyy-MM-dd HH:mm:ss"); //$NON-NLS-1$
+
 	private StringBuffer characters;
 
 	private TaskComment taskComment;
@@ -84,10 +88,6 @@ public class SaxMultiBugReportContentHandler extends DefaultHandler {
 
 	private final TaskAttributeMapper mapper;
 
-	private final SimpleDateFormat simpleFormatter = new SimpleDateFormat("yyyy-MM-dd HH:mm"); //$NON-NLS-1$
-
-	private final SimpleDateFormat simpleFormatter_deltaTS = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss"); //$NON-NLS-1$
-
 	private String bugIDValue;
 
 	public SaxMultiBugReportContentHandler(TaskAttributeMapper mapper, TaskDataCollector collector,
@@ -375,11 +375,9 @@ public class SaxMultiBugReportContentHandler extends DefaultHandler {
 			break;
 		case DATE:
 			if (attachment != null) {
-				try {
-					attachment.setCreationDate(simpleFormatter.parse(parsedText));
-					break;
-				} catch (ParseException e) {
-				} catch (NumberFormatException e) {
+				Date creationDate = DATE_PARSER.parse(parsedText);
+				if (creationDate != null) {
+					attachment.setCreationDate(creationDate);
 				}
 			}
 			break;
@@ -401,15 +399,9 @@ public class SaxMultiBugReportContentHandler extends DefaultHandler {
 			break;
 		case DELTA_TS:
 			if (attachment != null) {
-				try {
-					if (parsedText != null) {
-						try {
-							attachment.setDeltaDate(simpleFormatter_deltaTS.parse(parsedText));
-						} catch (ParseException e) {
-						}
-					}
-				} catch (NumberFormatException e) {
-					// ignore
+				Date deltaDate = DELTA_TS_PARSER.parse(parsedText);
+				if (deltaDate != null) {
+					attachment.setDeltaDate(deltaDate);
 				}
 			} else {
 				createAttrribute(parsedText, tag);
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.bugzilla.core;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Removes characters that are not permitted in XML documents from a stream of decoded characters. Optionally escapes
+ * unescaped <code>&amp;</code> characters within the <code>resource</code> and <code>rdf:about</code> attributes
+ * which are not escaped by older Bugzilla versions, see {@link XmlCleaner}.
+ * <p>
+ * Characters are processed in blocks while they are read, hence the document is never held in memory or written to
+ * disk.
+ */
+public class XmlFilterReader extends FilterReader {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final boolean escapeResources;
+
+	private char[] buffer;
+
+	private char[] pending;
+
+	private int pendingPosition;
+
+	private int pendingLimit;
+
+	private boolean inTag;
+
+	private char quote;
+
+	private boolean nameComplete;
+
+	private final StringBuilder name = new StringBuilder();
+
+	/**
+	 * The value of an attribute that requires escaping, null otherwise.
+	 */
+	private StringBuilder value;
+
+	/**
+	 * @param escapeResources
+	 *            if true, <code>&amp;</code> characters in <code>resource</code> and <code>rdf:about</code> attributes
+	 *            are escaped
+	 */
+	public XmlFilterReader(Reader in, boolean escapeResources) {
+		super(in);
+		this.escapeResources = escapeResources;
+	}
+
+	@Override
+	public int read() throws IOException {
+		char[] c = new char[1];
+		return (read(c, 0, 1) == -1) ? -1 : c[0];
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (!escapeResources) {
+			int n;
+			do {
+				n = in.read(cbuf, off, len);
+				if (n == -1) {
+					return -1;
+				}
+				n = removeInvalid(cbuf, off, n);
+			} while (n == 0);
+			return n;
+		}
+
+		while (pendingPosition == pendingLimit) {
+			if (!fill()) {
+				return -1;
+			}
+		}
+		int n = Math.min(len, pendingLimit - pendingPosition);
+		System.arraycopy(pending, pendingPosition, cbuf, off, n);
+		pendingPosition += n;
+		return n;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		if (n < 0) {
+			throw new IllegalArgumentException("skip value is negative"); //$NON-NLS-1$
+		}
+		char[] skipBuffer = new char[(int) Math.min(n, BUFFER_SIZE)];
+		long remaining = n;
+		while (remaining > 0) {
+			int count = read(skipBuffer, 0, (int) Math.min(remaining, skipBuffer.length));
+			if (count == -1) {
+				break;
+			}
+			remaining -= count;
+		}
+		return n - remaining;
+	}
+
+	@Override
+	public boolean ready() throws IOException {
+		return pendingPosition < pendingLimit || in.ready();
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public void mark(int readAheadLimit) throws IOException {
+		throw new IOException("mark() not supported"); //$NON-NLS-1$
+	}
+
+	@Override
+	public void reset() throws IOException {
+		throw new IOException("reset() not supported"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Reads the next block from the underlying reader and stores the filtered characters in {@link #pending}.
+	 *
+	 * @return false, if the end of the stream was reached
+	 */
+	private boolean fill() throws IOException {
+		if (buffer == null) {
+			buffer = new char[BUFFER_SIZE];
+			pending = new char[BUFFER_SIZE];
+		}
+		int n = in.read(buffer, 0, buffer.length);
+		if (n == -1) {
+			if (value != null) {
+				// unterminated attribute
+				pendingPosition = 0;
+				pendingLimit = 0;
+				append(value);
+				value = null;
+				return pendingLimit > 0;
+			}
+			return false;
+		}
+		n = removeInvalid(buffer, 0, n);
+		pendingPosition = 0;
+		pendingLimit = 0;
+		int i = 0;
+		while (i < n) {
+			if (!inTag) {
+				// copy text up to the next tag
+				int start = i;
+				while (i < n && buffer[i] != '<') {
+					i++;
+				}
+				append(buffer, start, i - start);
+				if (i == n) {
+					break;
+				}
+			}
+			process(buffer[i++]);
+		}
+		return true;
+	}
+
+	private void process(char c) {
+		if (quote != 0) {
+			if (c == quote) {
+				quote = 0;
+				if (value != null) {
+					append(escape(value));
+					value = null;
+				}
+			} else if (value != null) {
+				value.append(c);
+				return;
+			}
+		} else if (inTag) {
+			if (c == '>') {
+				inTag = false;
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+				String attributeName = name.toString();
+				if ("resource".equals(attributeName) || "rdf:about".equals(attributeName)) { //$NON-NLS-1$ //$NON-NLS-2$
+					value = new StringBuilder();
+				}
+				name.setLength(0);
+				nameComplete = false;
+			} else if (Character.isWhitespace(c) || c == '=') {
+				nameComplete = name.length() > 0;
+			} else {
+				if (nameComplete) {
+					name.setLength(0);
+					nameComplete = false;
+				}
+				name.append(c);
+			}
+		} else if (c == '<') {
+			inTag = true;
+			name.setLength(0);
+			nameComplete = false;
+		}
+		append(c);
+	}
+
+	private void append(char c) {
+		ensureCapacity(1);
+		pending[pendingLimit++] = c;
+	}
+
+	private void append(char[] cbuf, int off, int len) {
+		ensureCapacity(len);
+		System.arraycopy(cbuf, off, pending, pendingLimit, len);
+		pendingLimit += len;
+	}
+
+	private void append(CharSequence text) {
+		int length = text.length();
+		ensureCapacity(length);
+		for (int i = 0; i < length; i++) {
+			pending[pendingLimit++] = text.charAt(i);
+		}
+	}
+
+	private void ensureCapacity(int length) {
+		if (pendingLimit + length > pending.length) {
+			char[] newPending = new char[Math.max(pending.length * 2, pendingLimit + length)];
+			System.arraycopy(pending, 0, newPending, 0, pendingLimit);
+			pending = newPending;
+		}
+	}
+
+	/**
+	 * Escapes <code>&amp;</code> characters that do not start an entity or character reference.
+	 */
+	private static CharSequence escape(CharSequence text) {
+		StringBuilder sb = null;
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '&' && !isReference(text, i)) {
+				if (sb == null) {
+					sb = new StringBuilder(length + 16);
+					sb.append(text, 0, i);
+				}
+				sb.append("&amp;"); //$NON-NLS-1$
+			} else if (sb != null) {
+				sb.append(c);
+			}
+		}
+		return (sb != null) ? sb : text;
+	}
+
+	private static boolean isReference(CharSequence text, int start) {
+		int i = start + 1;
+		if (i < text.length() && text.charAt(i) == '#') {
+			i++;
+		}
+		int nameStart = i;
+		while (i < text.length() && Character.isLetterOrDigit(text.charAt(i))) {
+			i++;
+		}
+		return i > nameStart && i < text.length() && text.charAt(i) == ';';
+	}
+
+	/**
+	 * Removes characters that are not permitted by the XML specification. Surrogate pairs are retained.
+	 *
+	 * @return the number of remaining characters
+	 */
+	private static int removeInvalid(char[] cbuf, int off, int len) {
+		int end = off + len;
+		int i = off;
+		// most blocks do not contain invalid characters
+		while (i < end && isValid(cbuf[i])) {
+			i++;
+		}
+		int target = i;
+		for (; i < end; i++) {
+			char c = cbuf[i];
+			if (isValid(c)) {
+				cbuf[target++] = c;
+			}
+		}
+		return target - off;
+	}
+
+	private static boolean isValid(char c) {
+		return (c >= 0x20 && c <= 0xFFFD) || c == 0x9 || c == 0xA || c == 0xD;
+	}
+
+}
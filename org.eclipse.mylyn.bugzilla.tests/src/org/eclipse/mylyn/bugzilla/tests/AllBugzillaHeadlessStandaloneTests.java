@@ -19,16 +19,19 @@ import junit.framework.TestSuite;
 
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaAttributeMapperTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaAttributeTest;
+import org.eclipse.mylyn.bugzilla.tests.core.BugzillaClientTaskDataTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaClientTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaConfigurationTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaCustomFieldsTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaFlagsTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaRepositoryConnectorConfigurationTest;
+import org.eclipse.mylyn.bugzilla.tests.core.BugzillaRepositoryConnectorChangedTasksTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaRepositoryConnectorStandaloneTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaTaskCompletionTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaUtilTest;
 import org.eclipse.mylyn.bugzilla.tests.core.BugzillaVersionTest;
 import org.eclipse.mylyn.bugzilla.tests.core.RepositoryConfigurationTest;
+import org.eclipse.mylyn.bugzilla.tests.core.XmlFilterReaderTest;
 import org.eclipse.mylyn.bugzilla.tests.support.BugzillaFixture;
 import org.eclipse.mylyn.commons.sdk.util.TestConfiguration;
 import org.eclipse.mylyn.internal.bugzilla.core.BugzillaVersion;
@@ -52,6 +55,9 @@ public class AllBugzillaHeadlessStandaloneTests {
 		suite.addTestSuite(BugzillaAttributeMapperTest.class);
 		suite.addTestSuite(BugzillaAttributeTest.class);
 		suite.addTestSuite(RepositoryConfigurationTest.class);
+		suite.addTestSuite(XmlFilterReaderTest.class);
+		suite.addTestSuite(BugzillaClientTaskDataTest.class);
+		suite.addTestSuite(BugzillaRepositoryConnectorChangedTasksTest.class);
 		if (!configuration.isLocalOnly()) {
 			// network tests
 			suite.addTestSuite(BugzillaTaskCompletionTest.class);
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.tests.core;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaClient;
+import org.eclipse.mylyn.internal.bugzilla.core.IBugzillaConstants;
+import org.eclipse.mylyn.internal.bugzilla.core.RepositoryConfiguration;
+import org.eclipse.mylyn.internal.tasks.core.IRepositoryConstants;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+
+/**
+ * Tests the retrieval of task data in batches without accessing a repository.
+ */
+public class BugzillaClientTaskDataTest extends TestCase {
+
+	private class StubBugzillaClient extends BugzillaClient {
+
+		private final Thread callingThread = Thread.currentThread();
+
+		final List<List<String>> retrieved = Collections.synchronizedList(new ArrayList<List<String>>());
+
+		final List<List<String>> fetched = Collections.synchronizedList(new ArrayList<List<String>>());
+
+		final List<List<String>> parsed = new ArrayList<List<String>>();
+
+		public StubBugzillaClient(int maxRetrievedPerQuery, int maxConcurrentRequests) throws MalformedURLException {
+			super(new WebLocation("http://mylyn.org/bugzilla"), "UTF-8", createConfigParameters(maxRetrievedPerQuery,
+					maxConcurrentRequests), null, null);
+			setRepositoryConfiguration(new RepositoryConfiguration());
+		}
+
+		@Override
+		protected byte[] retrieveTaskData(List<String> taskIds, IProgressMonitor monitor) throws IOException,
+				CoreException {
+			assertSame(callingThread, Thread.currentThread());
+			retrieved.add(taskIds);
+			return taskIds.toString().getBytes();
+		}
+
+		@Override
+		protected byte[] fetchTaskData(List<String> taskIds, IProgressMonitor monitor) throws IOException,
+				CoreException {
+			assertNotSame(callingThread, Thread.currentThread());
+			fetched.add(taskIds);
+			return taskIds.toString().getBytes();
+		}
+
+		@Override
+		protected void parseTaskData(List<String> taskIds, byte[] content, TaskDataCollector collector,
+				TaskAttributeMapper mapper) throws IOException, CoreException {
+			assertSame(callingThread, Thread.currentThread());
+			assertEquals(taskIds.toString(), new String(content));
+			parsed.add(taskIds);
+		}
+
+	}
+
+	private static Map<String, String> createConfigParameters(int maxRetrievedPerQuery, int maxConcurrentRequests) {
+		Map<String, String> configParameters = new HashMap<String, String>();
+		configParameters.put(IBugzillaConstants.BUGZILLA_MAX_RETRIEVED_PER_QUERY, String.valueOf(maxRetrievedPerQuery));
+		configParameters.put(IRepositoryConstants.PROPERTY_MAX_CONCURRENT_REQUESTS,
+				String.valueOf(maxConcurrentRequests));
+		return configParameters;
+	}
+
+	private static Set<String> ids(String... ids) {
+		return new LinkedHashSet<String>(Arrays.asList(ids));
+	}
+
+	private static List<List<String>> batches(List<?>... batches) {
+		List<List<String>> result = new ArrayList<List<String>>();
+		for (List<?> batch : batches) {
+			List<String> ids = new ArrayList<String>();
+			for (Object id : batch) {
+				ids.add(id.toString());
+			}
+			result.add(ids);
+		}
+		return result;
+	}
+
+	private final TaskDataCollector collector = new TaskDataCollector() {
+		@Override
+		public void accept(TaskData taskData) {
+		}
+	};
+
+	public void testGetTaskDataSingleBatch() throws Exception {
+		StubBugzillaClient client = new StubBugzillaClient(3, 2);
+		client.getTaskData(ids("1", "2"), collector, null, new NullProgressMonitor());
+		assertEquals(batches(Arrays.asList(1, 2)), client.retrieved);
+		assertEquals(0, client.fetched.size());
+		assertEquals(batches(Arrays.asList(1, 2)), client.parsed);
+	}
+
+	public void testGetTaskDataBatches() throws Exception {
+		StubBugzillaClient client = new StubBugzillaClient(2, 2);
+		client.getTaskData(ids("1", "02", "3", "004", "5"), collector, null, new NullProgressMonitor());
+		assertEquals(batches(Arrays.asList(1, 2)), client.retrieved);
+		assertEquals(2, client.fetched.size());
+		assertTrue(client.fetched.containsAll(batches(Arrays.asList(3, 4), Arrays.asList(5))));
+		assertEquals(batches(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), client.parsed);
+	}
+
+	public void testGetTaskDataParsedInOrder() throws Exception {
+		final CountDownLatch lastBatchFetched = new CountDownLatch(1);
+		StubBugzillaClient client = new StubBugzillaClient(1, 2) {
+			@Override
+			protected byte[] fetchTaskData(List<String> taskIds, IProgressMonitor monitor) throws IOException,
+					CoreException {
+				if (taskIds.contains("2")) {
+					// complete the second batch after the third batch
+					try {
+						assertTrue(lastBatchFetched.await(10, TimeUnit.SECONDS));
+					} catch (InterruptedException e) {
+						fail();
+					}
+				}
+				byte[] content = super.fetchTaskData(taskIds, monitor);
+				if (taskIds.contains("3")) {
+					lastBatchFetched.countDown();
+				}
+				return content;
+			}
+		};
+		client.getTaskData(ids("1", "2", "3"), collector, null, new NullProgressMonitor());
+		assertEquals(batches(Arrays.asList(3), Arrays.asList(2)), client.fetched);
+		assertEquals(batches(Arrays.asList(1), Arrays.asList(2), Arrays.asList(3)), client.parsed);
+	}
+
+	public void testGetTaskDataBatchFails() throws Exception {
+		final IOException failure = new IOException();
+		StubBugzillaClient client = new StubBugzillaClient(1, 1) {
+			@Override
+			protected byte[] fetchTaskData(List<String> taskIds, IProgressMonitor monitor) throws IOException,
+					CoreException {
+				if (taskIds.contains("3")) {
+					throw failure;
+				}
+				return super.fetchTaskData(taskIds, monitor);
+			}
+		};
+		try {
+			client.getTaskData(ids("1", "2", "3", "4"), collector, null, new NullProgressMonitor());
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertSame(failure, e);
+		}
+		assertEquals(batches(Arrays.asList(1), Arrays.asList(2)), client.parsed);
+	}
+
+	public void testGetTaskDataSessionExpired() throws Exception {
+		StubBugzillaClient client = new StubBugzillaClient(1, 2) {
+			@Override
+			protected byte[] fetchTaskData(List<String> taskIds, IProgressMonitor monitor) throws IOException,
+					CoreException {
+				if (taskIds.contains("2")) {
+					// response does not contain task data
+					return null;
+				}
+				return super.fetchTaskData(taskIds, monitor);
+			}
+		};
+		client.getTaskData(ids("1", "2", "3"), collector, null, new NullProgressMonitor());
+		assertEquals(batches(Arrays.asList(1), Arrays.asList(2)), client.retrieved);
+		assertEquals(batches(Arrays.asList(3)), client.fetched);
+		assertEquals(batches(Arrays.asList(1), Arrays.asList(2), Arrays.asList(3)), client.parsed);
+	}
+
+}
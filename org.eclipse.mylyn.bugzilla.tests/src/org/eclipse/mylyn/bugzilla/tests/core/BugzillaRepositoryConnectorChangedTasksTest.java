@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.tests.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaClient;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaClientManager;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaCorePlugin;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaRepositoryConnector;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.sync.SynchronizationSession;
+import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+
+/**
+ * Tests the concurrent check for changed tasks in {@link BugzillaRepositoryConnector#preSynchronization
+ * preSynchronization()} without accessing a repository.
+ */
+public class BugzillaRepositoryConnectorChangedTasksTest extends TestCase {
+
+	private static final String REPOSITORY_URL = "http://mylyn.org/bugzilla";
+
+	/**
+	 * the number of tasks that results in several queries due to the length limit of query URLs
+	 */
+	private static final int TASK_COUNT = 5000;
+
+	private class StubBugzillaClient extends BugzillaClient {
+
+		final Thread callingThread = Thread.currentThread();
+
+		final Set<String> changedTaskIds = Collections.synchronizedSet(new HashSet<String>());
+
+		/**
+		 * the number of queries after which the session expires and queries return no hits until logging in again
+		 */
+		int sessionQueryLimit = Integer.MAX_VALUE;
+
+		final CopyOnWriteArrayList<String> queryThreads = new CopyOnWriteArrayList<String>();
+
+		final AtomicInteger activeQueries = new AtomicInteger();
+
+		final AtomicInteger maxActiveQueries = new AtomicInteger();
+
+		int queryCount;
+
+		int logoutCount;
+
+		public StubBugzillaClient() throws MalformedURLException {
+			super(new WebLocation(REPOSITORY_URL), "UTF-8", new HashMap<String, String>(), null, null);
+		}
+
+		@Override
+		public boolean getSearchHits(IRepositoryQuery query, TaskDataCollector collector, TaskAttributeMapper mapper,
+				IProgressMonitor monitor) throws IOException, CoreException {
+			int active = activeQueries.incrementAndGet();
+			try {
+				boolean sessionExpired;
+				synchronized (this) {
+					queryCount++;
+					maxActiveQueries.set(Math.max(maxActiveQueries.get(), active));
+					sessionExpired = queryCount > sessionQueryLimit;
+				}
+				queryThreads.add(Thread.currentThread().getName());
+				if (sessionExpired) {
+					return false;
+				}
+				String url = query.getUrl();
+				String[] ids = url.substring(url.indexOf("&bug_id=") + 8).split("%2C");
+				boolean hitsReceived = false;
+				for (String id : ids) {
+					if (changedTaskIds.contains(id)) {
+						collector.accept(new TaskData(mapper, BugzillaCorePlugin.CONNECTOR_KIND, REPOSITORY_URL, id));
+						hitsReceived = true;
+					}
+				}
+				return hitsReceived;
+			} finally {
+				activeQueries.decrementAndGet();
+			}
+		}
+
+		@Override
+		public void logout(IProgressMonitor monitor) throws IOException, CoreException {
+			assertSame(callingThread, Thread.currentThread());
+			assertEquals("Unexpected logout while queries are running", 0, activeQueries.get());
+			synchronized (this) {
+				logoutCount++;
+				sessionQueryLimit = Integer.MAX_VALUE;
+			}
+		}
+
+		int getCallingThreadQueryCount() {
+			return Collections.frequency(queryThreads, callingThread.getName());
+		}
+
+	}
+
+	private StubBugzillaClient client;
+
+	private BugzillaRepositoryConnector connector;
+
+	private TaskRepository repository;
+
+	@Override
+	protected void setUp() throws Exception {
+		client = new StubBugzillaClient();
+		connector = new BugzillaRepositoryConnector((File) null) {
+			private final BugzillaClientManager clientManager = new BugzillaClientManager(this) {
+				@Override
+				protected BugzillaClient createClient(TaskRepository taskRepository) {
+					return client;
+				}
+			};
+
+			@Override
+			public BugzillaClientManager getClientManager() {
+				return clientManager;
+			}
+		};
+		repository = new TaskRepository(BugzillaCorePlugin.CONNECTOR_KIND, REPOSITORY_URL);
+		repository.setSynchronizationTimeStamp("2016-01-01 00:00:00");
+	}
+
+	private SynchronizationSession createSession() {
+		Set<ITask> tasks = new LinkedHashSet<ITask>();
+		for (int i = 1; i <= TASK_COUNT; i++) {
+			tasks.add(new TaskTask(BugzillaCorePlugin.CONNECTOR_KIND, REPOSITORY_URL, String.valueOf(i)));
+		}
+		SynchronizationSession session = new SynchronizationSession();
+		session.setTaskRepository(repository);
+		session.setTasks(tasks);
+		return session;
+	}
+
+	private Set<String> getStaleTaskIds(SynchronizationSession session) {
+		Set<String> taskIds = new HashSet<String>();
+		for (ITask task : session.getStaleTasks()) {
+			taskIds.add(task.getTaskId());
+		}
+		return taskIds;
+	}
+
+	private void addChangedTaskPerQuery() {
+		for (int i = 1; i <= TASK_COUNT; i += 700) {
+			client.changedTaskIds.add(String.valueOf(i));
+		}
+	}
+
+	public void testPreSynchronizationConcurrent() throws Exception {
+		repository.setMaxConcurrentRequests(3);
+		addChangedTaskPerQuery();
+		SynchronizationSession session = createSession();
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(client.changedTaskIds, getStaleTaskIds(session));
+		assertTrue("Expected several queries, got " + client.queryCount, client.queryCount > 3);
+		assertTrue(client.maxActiveQueries.get() <= 3);
+		assertEquals(0, client.logoutCount);
+		assertTrue(client.queryThreads.contains(Thread.currentThread().getName()));
+	}
+
+	public void testPreSynchronizationConcurrentSessionExpired() throws Exception {
+		repository.setMaxConcurrentRequests(3);
+		addChangedTaskPerQuery();
+		client.sessionQueryLimit = 1;
+		SynchronizationSession session = createSession();
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(client.changedTaskIds, getStaleTaskIds(session));
+		assertEquals(1, client.logoutCount);
+	}
+
+	public void testPreSynchronizationConcurrentEmptyResultsNotRetried() throws Exception {
+		repository.setMaxConcurrentRequests(3);
+		client.changedTaskIds.add("1");
+		SynchronizationSession session = createSession();
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(Collections.singleton("1"), getStaleTaskIds(session));
+		assertEquals(0, client.logoutCount);
+		// the first query and a single query that verifies the session
+		assertEquals(2, client.getCallingThreadQueryCount());
+	}
+
+	public void testPreSynchronizationConcurrentNoChanges() throws Exception {
+		repository.setMaxConcurrentRequests(3);
+		SynchronizationSession session = createSession();
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(Collections.emptySet(), getStaleTaskIds(session));
+		// the first query logs in again if it receives no hits which renews the session for the concurrent queries
+		assertEquals(1, client.logoutCount);
+		assertEquals(2, client.getCallingThreadQueryCount());
+	}
+
+	public void testPreSynchronizationSequential() throws Exception {
+		repository.setMaxConcurrentRequests(1);
+		addChangedTaskPerQuery();
+		SynchronizationSession session = createSession();
+
+		connector.preSynchronization(session, new NullProgressMonitor());
+
+		assertEquals(client.changedTaskIds, getStaleTaskIds(session));
+		assertEquals(1, client.maxActiveQueries.get());
+		assertEquals(0, client.logoutCount);
+	}
+
+}
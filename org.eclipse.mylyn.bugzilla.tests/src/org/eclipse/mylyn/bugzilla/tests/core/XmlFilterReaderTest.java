@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.tests.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.bugzilla.tests.support.BugzillaFixture;
+import org.eclipse.mylyn.internal.bugzilla.core.BugzillaAttribute;
+import org.eclipse.mylyn.internal.bugzilla.core.RepositoryConfiguration;
+import org.eclipse.mylyn.internal.bugzilla.core.RepositoryConfigurationFactory;
+import org.eclipse.mylyn.internal.bugzilla.core.XmlFilterReader;
+
+public class XmlFilterReaderTest extends TestCase {
+
+	public void testRemoveInvalidCharacters() throws Exception {
+		assertEquals("<a>bc\td\n</a>", filter("<a>b\u0000c\t\u0001d\n\u001F</a>", false));
+		assertEquals("<a></a>", filter("<a>\u0000\u0001\u0002</a>", false));
+		assertEquals("\uFFFD", filter("\uFFFE\uFFFD\uFFFF", false));
+	}
+
+	public void testRetainSurrogatePairs() throws Exception {
+		String text = "<a>\uD83D\uDE00 \u00E9\u4E2D</a>";
+		assertEquals(text, filter(text, false));
+		assertEquals(text, filter(text, true));
+	}
+
+	public void testDecodeMultiByteEncodings() throws Exception {
+		String text = "<a>\u00E9\u4E2D\uD83D\uDE00\u0001</a>";
+		for (String encoding : new String[] { "UTF-8", "UTF-16", "UTF-16LE" }) {
+			Reader reader = new XmlFilterReader(new InputStreamReader(new ByteArrayInputStream(
+					text.getBytes(encoding)), encoding), false);
+			assertEquals(encoding, "<a>\u00E9\u4E2D\uD83D\uDE00</a>", read(reader, 3));
+		}
+	}
+
+	public void testEscapeResources() throws Exception {
+		assertEquals("<li resource=\"a?b=1&amp;c=2\"/>", filter("<li resource=\"a?b=1&c=2\"/>", true));
+		assertEquals("<li rdf:about='a&amp;b'>&c</li>", filter("<li rdf:about='a&b'>&c</li>", true));
+		assertEquals("<li resource = \"a&amp;b\"/>", filter("<li resource = \"a&b\"/>", true));
+		// existing references are retained
+		assertEquals("<li resource=\"a&amp;b&#38;c&amp;d\"/>", filter("<li resource=\"a&amp;b&#38;c&d\"/>", true));
+		// other attributes are not modified
+		assertEquals("<li name=\"a&b\" resource=\"&amp;\"/>", filter("<li name=\"a&b\" resource=\"&\"/>", true));
+		assertEquals("<li name=\"a&b\"/>", filter("<li name=\"a&b\"/>", false));
+		assertEquals("<li>resource=\"a&b\"</li>", filter("<li>resource=\"a&b\"</li>", true));
+	}
+
+	public void testEscapeResourcesAcrossBlocks() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			sb.append("<li resource=\"product.cgi?name=" + i + "&id=" + i + "\"/>\n");
+			expected.append("<li resource=\"product.cgi?name=" + i + "&amp;id=" + i + "\"/>\n");
+		}
+		assertEquals(expected.toString(), filter(sb.toString(), true));
+	}
+
+	public void testUnterminatedResource() throws Exception {
+		assertEquals("<li resource=\"a&b", filter("<li resource=\"a&b", true));
+	}
+
+	public void testRepositoryConfigurationFromFile() throws Exception {
+		InputStream stream = BugzillaFixture.getResource("testdata/configuration/rdfconfig218.txt");
+		try {
+			RepositoryConfigurationFactory factory = new RepositoryConfigurationFactory(stream, null);
+			RepositoryConfiguration config = factory.getConfiguration();
+			assertNotNull(config);
+			assertTrue(config.getOptionValues(BugzillaAttribute.PRODUCT).contains(
+					"Test-Long-Named-Product-AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA"));
+		} finally {
+			stream.close();
+		}
+	}
+
+	private String filter(String text, boolean escapeResources) throws IOException {
+		String result = read(new XmlFilterReader(new StringReader(text), escapeResources), 8192);
+		// reading single characters yields the same result
+		assertEquals(result, read(new XmlFilterReader(new StringReader(text), escapeResources), 1));
+		return result;
+	}
+
+	private String read(Reader reader, int bufferSize) throws IOException {
+		try {
+			StringBuilder sb = new StringBuilder();
+			char[] buffer = new char[bufferSize];
+			int n;
+			while ((n = reader.read(buffer)) != -1) {
+				sb.append(buffer, 0, n);
+			}
+			return sb.toString();
+		} finally {
+			reader.close();
+		}
+	}
+
+}
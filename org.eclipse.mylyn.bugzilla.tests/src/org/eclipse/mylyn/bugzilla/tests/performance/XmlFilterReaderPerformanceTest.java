@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.bugzilla.tests.performance;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.core.CoreUtil;
+import org.eclipse.mylyn.internal.bugzilla.core.XmlCleaner;
+import org.eclipse.mylyn.internal.bugzilla.core.XmlFilterReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Measures parsing a large multi-bug <code>show_bug.cgi?ctype=xml</code> response with {@link XmlFilterReader}
+ * compared to filtering invalid characters byte by byte and cleaning through a temporary file, i.e. the behavior of
+ * <code>AbstractReportFactory</code> prior to streaming.
+ */
+public class XmlFilterReaderPerformanceTest extends TestCase {
+
+	private static final int BUGS = 200;
+
+	private static final int COMMENTS = 100;
+
+	private byte[] response;
+
+	@Override
+	protected void setUp() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\" ?>\n");
+		sb.append("<bugzilla version=\"4.4\" urlbase=\"http://repository/\" maintainer=\"admin@example.com\">\n");
+		for (int i = 0; i < BUGS; i++) {
+			sb.append("<bug>\n<bug_id>" + i + "</bug_id>\n");
+			sb.append("<short_desc>Summary of bug " + i + " \u00E9\u4E2D</short_desc>\n");
+			sb.append("<delta_ts>2016-03-14 09:26:53 -0700</delta_ts>\n");
+			for (int j = 0; j < COMMENTS; j++) {
+				sb.append("<long_desc isprivate=\"0\">\n<commentid>" + (i * COMMENTS + j) + "</commentid>\n");
+				sb.append("<who name=\"User " + j + "\">user" + j + "@example.com</who>\n");
+				sb.append("<bug_when>2016-03-14 09:26:53 -0700</bug_when>\n");
+				sb.append("<thetext>Comment " + j + " of bug " + i
+						+ ": the quick brown fox jumps over the lazy dog \u0001\n"
+						+ "see http://repository/show_bug.cgi?id=" + i + "&amp;ctype=xml</thetext>\n");
+				sb.append("</long_desc>\n");
+			}
+			sb.append("</bug>\n");
+		}
+		sb.append("</bugzilla>\n");
+		response = sb.toString().getBytes("UTF-8");
+	}
+
+	public void testParse() throws Exception {
+		// warm up
+		parse(new InputStreamReader(createLegacyStream(), "UTF-8"));
+		parse(new XmlFilterReader(new InputStreamReader(new ByteArrayInputStream(response), "UTF-8"), false));
+
+		long start = System.currentTimeMillis();
+		parse(new InputStreamReader(createLegacyStream(), "UTF-8"));
+		long legacyTime = System.currentTimeMillis() - start;
+
+		start = System.currentTimeMillis();
+		parse(new XmlFilterReader(new InputStreamReader(new ByteArrayInputStream(response), "UTF-8"), false));
+		long time = System.currentTimeMillis() - start;
+
+		System.out.println(String.format("> XmlFilterReaderPerformanceTest.testParse(): parsed %d KB response with %d "
+				+ "bugs, filtered in %d ms (byte by byte: %d ms)", response.length / 1024, BUGS, time, legacyTime));
+	}
+
+	public void testParseCleaned() throws Exception {
+		File tempFile = File.createTempFile("XmlCleaner-", "tmp");
+		try {
+			// warm up
+			parseCleaned(tempFile);
+			parse(new XmlFilterReader(new InputStreamReader(new ByteArrayInputStream(response), "UTF-8"), true));
+
+			long start = System.currentTimeMillis();
+			parseCleaned(tempFile);
+			long legacyTime = System.currentTimeMillis() - start;
+
+			start = System.currentTimeMillis();
+			parse(new XmlFilterReader(new InputStreamReader(new ByteArrayInputStream(response), "UTF-8"), true));
+			long time = System.currentTimeMillis() - start;
+
+			System.out.println(String.format("> XmlFilterReaderPerformanceTest.testParseCleaned(): parsed %d KB "
+					+ "response with %d bugs, cleaned in %d ms (temporary file: %d ms)", response.length / 1024, BUGS,
+					time, legacyTime));
+		} finally {
+			tempFile.delete();
+		}
+	}
+
+	private void parseCleaned(File tempFile) throws Exception {
+		Reader in = XmlCleaner.clean(new InputStreamReader(createLegacyStream(), "UTF-8"), tempFile);
+		try {
+			parse(in);
+		} finally {
+			in.close();
+		}
+	}
+
+	private InputStream createLegacyStream() {
+		final InputStream is = new BufferedInputStream(new ByteArrayInputStream(response), 1024);
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				int c;
+				while ((c = is.read()) != -1) {
+					if (c >= 0x20 || c == 0x9 || c == 0xA || c == 0xD) {
+						return c;
+					}
+				}
+				return -1;
+			}
+		};
+	}
+
+	private void parse(Reader in) throws Exception {
+		final int[] counts = new int[2];
+		XMLReader reader = CoreUtil.newXmlReader();
+		reader.setContentHandler(new DefaultHandler() {
+			@Override
+			public void startElement(String uri, String localName, String qName, Attributes attributes) {
+				// the qualified name is optional for namespace aware readers
+				String name = (localName != null && localName.length() > 0) ? localName : qName;
+				if ("bug".equals(name)) {
+					counts[0]++;
+				} else if ("long_desc".equals(name)) {
+					counts[1]++;
+				}
+			}
+		});
+		reader.parse(new InputSource(in));
+		assertEquals(BUGS, counts[0]);
+		assertEquals(BUGS * COMMENTS, counts[1]);
+	}
+
+}
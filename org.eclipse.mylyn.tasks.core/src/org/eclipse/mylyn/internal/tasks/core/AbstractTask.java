@@ -15,7 +15,6 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IStatus;
@@ -34,6 +33,9 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 
 	public static final String DEFAULT_TASK_KIND = "task"; //$NON-NLS-1$
 
+	// dates are stored as milliseconds to avoid retaining a Date object per date and task
+	private static final long NO_DATE = Long.MIN_VALUE;
+
 	private String repositoryUrl;
 
 	private String taskKind = DEFAULT_TASK_KIND;
@@ -52,7 +54,8 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 
 	private boolean reminded = false;
 
-	private final Set<AbstractTaskContainer> containers = new CopyOnWriteArraySet<AbstractTaskContainer>();
+	private final RepositoryElementSet<AbstractTaskContainer> containers = new RepositoryElementSet<AbstractTaskContainer>(
+			4);
 
 	// ************ Synch ****************
 
@@ -70,15 +73,15 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 
 	private boolean stale = false;
 
-	private Date completionDate = null;
+	private long completionDate = NO_DATE;
 
-	private Date creationDate = null;
+	private long creationDate = NO_DATE;
 
-	private Date modificationDate = null;
+	private long modificationDate = NO_DATE;
 
 	private DateRange scheduledForDate = null;
 
-	private Date dueDate = null;
+	private long dueDate = NO_DATE;
 
 	private String notes = ""; //$NON-NLS-1$
 
@@ -95,6 +98,8 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 
 	private String ownerId;
 
+	private volatile TaskList taskList;
+
 	public AbstractTask(String repositoryUrl, String taskId, String summary) {
 		super(RepositoryTaskHandleUtil.getHandle(repositoryUrl, taskId));
 		this.repositoryUrl = repositoryUrl;
@@ -128,7 +133,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 
 	@Deprecated
 	public void setLastReadTimeStamp(String lastReadTimeStamp) {
-		this.lastReadTimeStamp = (lastReadTimeStamp != null) ? lastReadTimeStamp.intern() : null;
+		this.lastReadTimeStamp = (lastReadTimeStamp != null) ? getStringPool().intern(lastReadTimeStamp) : null;
 	}
 
 	/**
@@ -169,7 +174,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	public void setOwner(String owner) {
 		if (!areEqual(this.owner, owner)) {
 			String oldValue = this.owner;
-			this.owner = (owner != null) ? owner.intern() : null;
+			this.owner = (owner != null) ? getStringPool().intern(owner) : null;
 			firePropertyChange("owner", oldValue, owner); //$NON-NLS-1$
 		}
 	}
@@ -181,7 +186,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	public void setOwnerId(String ownerId) {
 		if (!areEqual(this.ownerId, ownerId)) {
 			String oldValue = this.ownerId;
-			this.ownerId = (ownerId != null) ? ownerId.intern() : null;
+			this.ownerId = (ownerId != null) ? getStringPool().intern(ownerId) : null;
 			firePropertyChange("ownerId", oldValue, ownerId); //$NON-NLS-1$
 		}
 	}
@@ -211,7 +216,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public final void setRepositoryUrl(String repositoryUrl) {
-		this.repositoryUrl = (repositoryUrl != null) ? repositoryUrl.intern() : null;
+		this.repositoryUrl = (repositoryUrl != null) ? getStringPool().intern(repositoryUrl) : null;
 		super.setHandleIdentifier(RepositoryTaskHandleUtil.getHandle(repositoryUrl, taskId));
 	}
 
@@ -266,7 +271,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public boolean isCompleted() {
-		return completionDate != null;
+		return completionDate != NO_DATE;
 	}
 
 	/**
@@ -275,9 +280,9 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	@Deprecated
 	public void setCompleted(boolean completed) {
 		if (completed) {
-			completionDate = new Date();
+			completionDate = System.currentTimeMillis();
 		} else {
-			completionDate = null;
+			completionDate = NO_DATE;
 		}
 	}
 
@@ -289,7 +294,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	public void setPriority(String priority) {
 		if (!areEqual(this.priority, priority)) {
 			String oldValue = this.priority;
-			this.priority = (priority != null) ? priority.intern() : null;
+			this.priority = (priority != null) ? getStringPool().intern(priority) : null;
 			firePropertyChange("priority", oldValue, priority); //$NON-NLS-1$
 		}
 	}
@@ -330,6 +335,13 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 		containers.remove(container);
 	}
 
+	/**
+	 * Updates the index of parent containers after the handle identifier of containers has changed.
+	 */
+	void internalRehashParentContainers() {
+		containers.rehash();
+	}
+
 	public Set<AbstractTaskContainer> getParentContainers() {
 		//return new HashSet<AbstractTaskContainer>(containers);
 		return containers;
@@ -341,7 +353,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public Date getCompletionDate() {
-		return completionDate;
+		return toDate(completionDate);
 	}
 
 	public void setScheduledForDate(DateRange reminderDate) {
@@ -361,13 +373,13 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public Date getCreationDate() {
-		return creationDate;
+		return toDate(creationDate);
 	}
 
 	public void setCreationDate(Date creationDate) {
-		if (!areEqual(this.creationDate, creationDate)) {
-			Date oldValue = this.creationDate;
-			this.creationDate = creationDate;
+		if (!areEqual(getCreationDate(), creationDate)) {
+			Date oldValue = getCreationDate();
+			this.creationDate = toTime(creationDate);
 			firePropertyChange("creationDate", oldValue, creationDate); //$NON-NLS-1$
 		}
 	}
@@ -382,13 +394,25 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public void setCompletionDate(Date completionDate) {
-		if (!areEqual(this.completionDate, completionDate)) {
-			Date oldValue = this.completionDate;
-			this.completionDate = completionDate;
+		if (!areEqual(getCompletionDate(), completionDate)) {
+			Date oldValue = getCompletionDate();
+			this.completionDate = toTime(completionDate);
 			firePropertyChange("completionDate", oldValue, completionDate); //$NON-NLS-1$
 		}
 	}
 
+	private static Date toDate(long time) {
+		return (time != NO_DATE) ? new Date(time) : null;
+	}
+
+	private static long toTime(Date date) {
+		return (date != null) ? date.getTime() : NO_DATE;
+	}
+
+	private StringPool getStringPool() {
+		return StringPool.getPool(getConnectorKind());
+	}
+
 	private boolean areEqual(Object oldValue, Object newValue) {
 		return (oldValue != null) ? oldValue.equals(newValue) : oldValue == newValue;
 	}
@@ -433,7 +457,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	public void setTaskKind(String taskKind) {
 		if (!areEqual(this.taskKind, taskKind)) {
 			String oldValue = this.taskKind;
-			this.taskKind = (taskKind != null) ? taskKind.intern() : null;
+			this.taskKind = (taskKind != null) ? getStringPool().intern(taskKind) : null;
 			firePropertyChange("taskKind", oldValue, taskKind); //$NON-NLS-1$
 		}
 	}
@@ -444,13 +468,13 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public Date getDueDate() {
-		return dueDate;
+		return toDate(dueDate);
 	}
 
 	public void setDueDate(Date date) {
-		if (!areEqual(this.dueDate, date)) {
-			Date oldValue = this.dueDate;
-			this.dueDate = date;
+		if (!areEqual(getDueDate(), date)) {
+			Date oldValue = getDueDate();
+			this.dueDate = toTime(date);
 			firePropertyChange("dueDate", oldValue, date); //$NON-NLS-1$
 		}
 	}
@@ -466,13 +490,13 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	}
 
 	public Date getModificationDate() {
-		return modificationDate;
+		return toDate(modificationDate);
 	}
 
 	public void setModificationDate(Date modificationDate) {
-		if (!areEqual(this.modificationDate, modificationDate)) {
-			Date oldValue = this.modificationDate;
-			this.modificationDate = modificationDate;
+		if (!areEqual(getModificationDate(), modificationDate)) {
+			Date oldValue = getModificationDate();
+			this.modificationDate = toTime(modificationDate);
 			firePropertyChange("modificationDate", oldValue, modificationDate); //$NON-NLS-1$
 		}
 	}
@@ -488,11 +512,23 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 	public void setTaskKey(String taskKey) {
 		if (!areEqual(this.taskKey, taskKey)) {
 			String oldValue = this.taskKey;
+			String oldTaskKey = getTaskKey();
 			this.taskKey = taskKey;
 			firePropertyChange("taskKey", oldValue, taskKey); //$NON-NLS-1$
+			TaskList taskList = this.taskList;
+			if (taskList != null) {
+				taskList.taskKeyChanged(this, oldTaskKey, getTaskKey());
+			}
 		}
 	}
 
+	/**
+	 * Sets the task list that indexes this task by key. Invoked by {@link TaskList} when the task is added or removed.
+	 */
+	void setTaskList(TaskList taskList) {
+		this.taskList = taskList;
+	}
+
 	public synchronized String getAttribute(String key) {
 		return (attributeMap != null) ? attributeMap.getAttribute(key) : null;
 	}
@@ -509,7 +545,7 @@ public abstract class AbstractTask extends AbstractTaskContainer implements ITas
 		String oldValue;
 		synchronized (this) {
 			if (attributeMap == null) {
-				attributeMap = new AttributeMap();
+				attributeMap = new AttributeMap(getConnectorKind());
 			}
 			oldValue = attributeMap.getAttribute(key);
 			if (!areEqual(oldValue, value)) {
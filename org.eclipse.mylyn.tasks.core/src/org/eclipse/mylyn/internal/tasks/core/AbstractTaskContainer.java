@@ -15,7 +15,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.PlatformObject;
@@ -33,7 +32,7 @@ public abstract class AbstractTaskContainer extends PlatformObject implements IR
 
 	private String handleIdentifier = ""; //$NON-NLS-1$
 
-	private final Collection<ITask> children = new CopyOnWriteArrayList<ITask>();
+	private final RepositoryElementSet<ITask> children = new RepositoryElementSet<ITask>();
 
 	/**
 	 * Optional URL corresponding to the web resource associated with this container.
@@ -63,6 +62,13 @@ public abstract class AbstractTaskContainer extends PlatformObject implements IR
 		return children.remove(task);
 	}
 
+	/**
+	 * Updates the index of children after the handle identifier of children has changed.
+	 */
+	void internalRehashChildren() {
+		children.rehash();
+	}
+
 	/**
 	 * Removes any cyclic dependencies in children. TODO: review to make sure that this is too expensive, or move to
 	 * creation.
@@ -78,18 +84,19 @@ public abstract class AbstractTaskContainer extends PlatformObject implements IR
 	 */
 	public boolean contains(String handle) {
 		Assert.isNotNull(handle);
-		return containsHelper(children, handle, new HashSet<IRepositoryElement>());
+		return containsHelper(this, handle, new HashSet<IRepositoryElement>());
 	}
 
-	private boolean containsHelper(Collection<ITask> children, String handle, Set<IRepositoryElement> visitedContainers) {
-		for (ITask child : children) {
-			if (visitedContainers.contains(child)) {
-				continue;
-			}
-			visitedContainers.add(child);
-			if (child instanceof ITaskContainer) {
-				if (handle.equals(child.getHandleIdentifier())
-						|| containsHelper(((ITaskContainer) child).getChildren(), handle, visitedContainers)) {
+	private boolean containsHelper(AbstractTaskContainer container, String handle,
+			Set<IRepositoryElement> visitedContainers) {
+		if (container.children.get(handle) != null) {
+			return true;
+		}
+		for (ITask child : container.children) {
+			// only descend into children that have children themselves
+			if (child instanceof AbstractTaskContainer && !((AbstractTaskContainer) child).isEmpty()
+					&& visitedContainers.add(child)) {
+				if (containsHelper((AbstractTaskContainer) child, handle, visitedContainers)) {
 					return true;
 				}
 			}
@@ -17,31 +17,151 @@ import java.util.Map;
 import org.eclipse.core.runtime.Assert;
 
 /**
+ * A compact map of attributes. Entries are stored in a single array using open addressing which requires a fraction
+ * of the memory of a {@link HashMap} for the small number of attributes that is typical for tasks. Keys are
+ * canonicalized through a pool shared by all maps and values through a pool of the connector.
+ *
  * @author Steffen Pingel
  */
 public class AttributeMap {
 
-	private final Map<String, String> attributes;
+	private static final int INITIAL_CAPACITY = 4;
+
+	private final StringPool valuePool;
+
+	/**
+	 * Keys at even and the corresponding values at odd indices, null if the map is empty. The number of entries is a
+	 * power of two.
+	 */
+	private String[] table;
+
+	private int size;
 
 	public AttributeMap() {
-		attributes = new HashMap<String, String>(4);
+		this(null);
+	}
+
+	/**
+	 * @param connectorKind
+	 *            determines the pool for values
+	 */
+	public AttributeMap(String connectorKind) {
+		this.valuePool = StringPool.getPool(connectorKind);
 	}
 
 	public String getAttribute(String key) {
-		return attributes.get(key);
+		int index = indexOf(key);
+		return (index != -1) ? table[index + 1] : null;
 	}
 
 	public Map<String, String> getAttributes() {
-		return new HashMap<String, String>(attributes);
+		Map<String, String> attributes = new HashMap<String, String>(Math.max(INITIAL_CAPACITY, size * 2));
+		if (table != null) {
+			for (int i = 0; i < table.length; i += 2) {
+				if (table[i] != null) {
+					attributes.put(table[i], table[i + 1]);
+				}
+			}
+		}
+		return attributes;
 	}
 
 	public void setAttribute(String key, String value) {
 		Assert.isNotNull(key);
 		if (value == null) {
-			attributes.remove(key);
+			remove(key);
 		} else {
-			attributes.put(key.intern(), value.intern());
+			put(StringPool.getKeyPool().intern(key), valuePool.intern(value));
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private int indexOf(String key) {
+		if (table == null || key == null) {
+			return -1;
+		}
+		int mask = (table.length >> 1) - 1;
+		for (int slot = hash(key) & mask;; slot = (slot + 1) & mask) {
+			String candidate = table[slot << 1];
+			if (candidate == null) {
+				return -1;
+			}
+			if (candidate == key || candidate.equals(key)) {
+				return slot << 1;
+			}
+		}
+	}
+
+	private void put(String key, String value) {
+		int index = indexOf(key);
+		if (index != -1) {
+			table[index + 1] = value;
+			return;
+		}
+		if (table == null) {
+			table = new String[INITIAL_CAPACITY << 1];
+		} else if ((size + 1) * 4 > (table.length >> 1) * 3) {
+			// keep the load factor below 0.75
+			resize(table.length);
+		}
+		insert(table, key, value);
+		size++;
+	}
+
+	private void resize(int capacity) {
+		String[] oldTable = table;
+		table = new String[capacity << 1];
+		for (int i = 0; i < oldTable.length; i += 2) {
+			if (oldTable[i] != null) {
+				insert(table, oldTable[i], oldTable[i + 1]);
+			}
+		}
+	}
+
+	private void remove(String key) {
+		int index = indexOf(key);
+		if (index == -1) {
+			return;
 		}
+		size--;
+		if (size == 0) {
+			table = null;
+			return;
+		}
+		// shift subsequent entries of the probe sequence to keep them reachable
+		int mask = (table.length >> 1) - 1;
+		int gap = index >> 1;
+		table[index] = null;
+		table[index + 1] = null;
+		for (int slot = (gap + 1) & mask; table[slot << 1] != null; slot = (slot + 1) & mask) {
+			int home = hash(table[slot << 1]) & mask;
+			// move the entry if its home slot is not cyclically between the gap and its current slot
+			if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+				table[gap << 1] = table[slot << 1];
+				table[(gap << 1) + 1] = table[(slot << 1) + 1];
+				table[slot << 1] = null;
+				table[(slot << 1) + 1] = null;
+				gap = slot;
+			}
+		}
+	}
+
+	private static void insert(String[] table, String key, String value) {
+		int mask = (table.length >> 1) - 1;
+		int slot = hash(key) & mask;
+		while (table[slot << 1] != null) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot << 1] = key;
+		table[(slot << 1) + 1] = value;
+	}
+
+	private static int hash(String key) {
+		int h = key.hashCode();
+		return h ^ (h >>> 16);
 	}
 
 }
@@ -37,6 +37,8 @@ public interface IRepositoryConstants {
 
 	public static final String PROPERTY_LABEL = "label"; //$NON-NLS-1$
 
+	public static final String PROPERTY_MAX_CONCURRENT_REQUESTS = "maxConcurrentRequests"; //$NON-NLS-1$
+
 	public static final String PROPERTY_DELIM = ":"; //$NON-NLS-1$
 
 	public static final String KIND_UNKNOWN = "<unknown>"; //$NON-NLS-1$
@@ -13,6 +13,8 @@ package org.eclipse.mylyn.internal.tasks.core;
 
 import java.util.Set;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.eclipse.mylyn.tasks.core.ITask;
 
@@ -79,4 +81,13 @@ public interface ITaskList {
 	 */
 	public abstract void removeFromContainer(AbstractTaskContainer container, ITask task);
 
+	/**
+	 * Runs <code>runnable</code> while holding the task list lock. Unlike individual modifications that each fire
+	 * notifications, changes made by <code>runnable</code> including calls to {@link #notifyElementChanged} are
+	 * collected, redundant changes are merged and the result is fired once when <code>runnable</code> completes.
+	 * 
+	 * @since 3.15
+	 */
+	public abstract void runBatch(ITaskListRunnable runnable, IProgressMonitor monitor) throws CoreException;
+
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.mylyn.tasks.core.IRepositoryElement;
+
+/**
+ * A thread-safe set of task list elements that preserves insertion order. Elements are indexed by handle identifier
+ * which makes {@link #add(IRepositoryElement)}, {@link #remove(Object)} and {@link #contains(Object)} constant time
+ * operations.
+ * <p>
+ * Like {@link java.util.concurrent.CopyOnWriteArraySet} iterators operate on a snapshot of the elements and never throw
+ * {@link java.util.ConcurrentModificationException}. The snapshot is only created when the set is iterated after a
+ * modification, hence adding many elements does not copy the elements for each modification.
+ */
+public class RepositoryElementSet<E extends IRepositoryElement> extends AbstractSet<E> {
+
+	private static class SnapshotIterator<E> implements Iterator<E> {
+
+		private final Object[] elements;
+
+		private int index;
+
+		public SnapshotIterator(Object[] elements) {
+			this.elements = elements;
+		}
+
+		public boolean hasNext() {
+			return index < elements.length;
+		}
+
+		@SuppressWarnings("unchecked")
+		public E next() {
+			if (index >= elements.length) {
+				throw new NoSuchElementException();
+			}
+			return (E) elements[index++];
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+	private static final Object[] EMPTY = new Object[0];
+
+	private final int initialCapacity;
+
+	/**
+	 * Created on first use since most tasks do not have children.
+	 */
+	private Map<String, E> elements;
+
+	private volatile Object[] snapshot = EMPTY;
+
+	public RepositoryElementSet() {
+		this(16);
+	}
+
+	public RepositoryElementSet(int initialCapacity) {
+		this.initialCapacity = initialCapacity;
+	}
+
+	@Override
+	public synchronized boolean add(E element) {
+		Assert.isNotNull(element);
+		if (elements == null) {
+			elements = new LinkedHashMap<String, E>(initialCapacity);
+		}
+		String handle = element.getHandleIdentifier();
+		if (elements.containsKey(handle)) {
+			return false;
+		}
+		elements.put(handle, element);
+		snapshot = null;
+		return true;
+	}
+
+	@Override
+	public synchronized boolean remove(Object object) {
+		if (elements == null || !(object instanceof IRepositoryElement)) {
+			return false;
+		}
+		if (elements.remove(((IRepositoryElement) object).getHandleIdentifier()) != null) {
+			snapshot = null;
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public synchronized boolean contains(Object object) {
+		if (elements == null || !(object instanceof IRepositoryElement)) {
+			return false;
+		}
+		return elements.containsKey(((IRepositoryElement) object).getHandleIdentifier());
+	}
+
+	/**
+	 * Returns the element with the given handle identifier.
+	 *
+	 * @return the element or null, if the set does not contain an element with <code>handle</code>
+	 */
+	public synchronized E get(String handle) {
+		return (elements != null) ? elements.get(handle) : null;
+	}
+
+	@Override
+	public synchronized void clear() {
+		elements = null;
+		snapshot = EMPTY;
+	}
+
+	@Override
+	public synchronized int size() {
+		return (elements != null) ? elements.size() : 0;
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return elements == null || elements.isEmpty();
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new SnapshotIterator<E>(getSnapshot());
+	}
+
+	@Override
+	public Object[] toArray() {
+		return getSnapshot().clone();
+	}
+
+	private Object[] getSnapshot() {
+		Object[] result = snapshot;
+		if (result == null) {
+			synchronized (this) {
+				result = snapshot;
+				if (result == null) {
+					result = elements.values().toArray();
+					snapshot = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Updates the index after the handle identifier of elements has changed. Preserves the order of elements.
+	 */
+	public synchronized void rehash() {
+		if (elements == null) {
+			return;
+		}
+		Object[] values = elements.values().toArray();
+		elements.clear();
+		for (Object value : values) {
+			@SuppressWarnings("unchecked")
+			E element = (E) value;
+			elements.put(element.getHandleIdentifier(), element);
+		}
+		snapshot = null;
+	}
+
+}
@@ -121,7 +121,7 @@ public class RepositoryModel implements IRepositoryModel {
 		return RepositoryTaskHandleUtil.getHandle(taskRepository.getRepositoryUrl(), taskId);
 	}
 
-	public TaskRepository getTaskRepository(String connectorKind, String repositoryUrl) {
+	public synchronized TaskRepository getTaskRepository(String connectorKind, String repositoryUrl) {
 		TaskRepository taskRepository = repositoryManager.getRepository(connectorKind, repositoryUrl);
 		if (taskRepository == null) {
 			taskRepository = new TaskRepository(connectorKind, repositoryUrl);
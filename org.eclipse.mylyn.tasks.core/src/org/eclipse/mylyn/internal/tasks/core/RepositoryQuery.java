@@ -127,7 +127,7 @@ public class RepositoryQuery extends AbstractTaskContainer implements IRepositor
 
 	public synchronized void setAttribute(String key, String value) {
 		if (attributeMap == null) {
-			attributeMap = new AttributeMap();
+			attributeMap = new AttributeMap(getConnectorKind());
 		}
 		attributeMap.setAttribute(key, value);
 	}
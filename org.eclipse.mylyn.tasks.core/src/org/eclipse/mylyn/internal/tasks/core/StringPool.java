@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+/**
+ * Canonicalizes strings that are repeated across many tasks, e.g. attribute keys, owners and priorities. Unlike
+ * {@link String#intern()} strings are held in weak pools that are separate for each connector which keeps the global
+ * intern table small and lookups fast.
+ */
+public final class StringPool {
+
+	private static final StringPool KEYS = new StringPool();
+
+	private static final StringPool DEFAULT = new StringPool();
+
+	private static final ConcurrentMap<String, StringPool> poolByConnectorKind = new ConcurrentHashMap<String, StringPool>(
+			4);
+
+	/**
+	 * Returns the pool for attribute keys which is shared by all connectors.
+	 */
+	public static StringPool getKeyPool() {
+		return KEYS;
+	}
+
+	/**
+	 * Returns the pool for values of tasks of <code>connectorKind</code>.
+	 */
+	public static StringPool getPool(String connectorKind) {
+		if (connectorKind == null) {
+			return DEFAULT;
+		}
+		StringPool pool = poolByConnectorKind.get(connectorKind);
+		if (pool == null) {
+			pool = new StringPool();
+			StringPool existingPool = poolByConnectorKind.putIfAbsent(connectorKind, pool);
+			if (existingPool != null) {
+				pool = existingPool;
+			}
+		}
+		return pool;
+	}
+
+	private final Interner<String> interner = Interners.newWeakInterner();
+
+	private StringPool() {
+	}
+
+	/**
+	 * Returns the canonical instance of <code>value</code>.
+	 *
+	 * @return a string equal to <code>value</code> or null, if <code>value</code> is null
+	 */
+	public String intern(String value) {
+		return (value != null) ? interner.intern(value) : null;
+	}
+
+}
@@ -61,6 +61,12 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 
 	private final Set<ITask> allDueTasks = new HashSet<ITask>();
 
+	// tasks that are not completed and not scheduled, maintained from task list changes
+	private volatile Set<ITask> unscheduledTasks = createTaskSet();
+
+	// tasks that are completed, maintained from task list changes
+	private volatile Set<ITask> completedTasks = createTaskSet();
+
 	private final SortedMap<DateRange, Set<ITask>> scheduledTasks = Collections.synchronizedSortedMap(new TreeMap<DateRange, Set<ITask>>());
 
 	private final SortedMap<Calendar, Set<ITask>> dueTasks = Collections.synchronizedSortedMap(new TreeMap<Calendar, Set<ITask>>());
@@ -89,9 +95,17 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 			for (TaskContainerDelta taskContainerDelta : containers) {
 				if (taskContainerDelta.getKind() == TaskContainerDelta.Kind.ROOT) {
 					reloadPlanningData();
-				} else if (!taskContainerDelta.isTransient() && Kind.DELETED == taskContainerDelta.getKind()
-						&& taskContainerDelta.getElement() instanceof ITask && taskActivationHistory != null) {
-					taskActivationHistory.removeTask((ITask) taskContainerDelta.getElement());
+				} else if (taskContainerDelta.getElement() instanceof ITask) {
+					ITask task = (ITask) taskContainerDelta.getElement();
+					if (Kind.DELETED == taskContainerDelta.getKind()) {
+						removeFromStateIndex(task);
+						if (!taskContainerDelta.isTransient() && taskActivationHistory != null) {
+							taskActivationHistory.removeTask(task);
+						}
+					} else if (Kind.ADDED == taskContainerDelta.getKind()
+							|| Kind.CONTENT == taskContainerDelta.getKind()) {
+						updateStateIndex(task);
+					}
 				}
 			}
 		}
@@ -192,6 +206,8 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 		allDueTasks.clear();
 		scheduledTasks.clear();
 		allScheduledTasks.clear();
+		unscheduledTasks = createTaskSet();
+		completedTasks = createTaskSet();
 		clearActivity();
 	}
 
@@ -366,6 +382,7 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 			}
 			tasks.add(task);
 			allScheduledTasks.add(task);
+			updateStateIndex(task);
 		} else {
 			removeScheduledTask(task);
 		}
@@ -378,6 +395,7 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 			}
 			allScheduledTasks.remove(task);
 		}
+		updateStateIndex(task);
 	}
 
 	public Set<ITask> getScheduledTasks(DateRange range) {
@@ -627,6 +645,8 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 	}
 
 	private void reloadScheduledData() {
+		Set<ITask> unscheduled = createTaskSet();
+		Set<ITask> completed = createTaskSet();
 		for (AbstractTask task : taskList.getAllTasks()) {
 			if (task.getScheduledForDate() != null) {
 				addScheduledTask(task);
@@ -634,7 +654,40 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 			if (task.getDueDate() != null) {
 				addDueTask(task);
 			}
+			if (task.isCompleted()) {
+				completed.add(task);
+			} else if (task.getScheduledForDate() == null) {
+				unscheduled.add(task);
+			}
 		}
+		unscheduledTasks = unscheduled;
+		completedTasks = completed;
+	}
+
+	private static Set<ITask> createTaskSet() {
+		return Collections.newSetFromMap(new ConcurrentHashMap<ITask, Boolean>());
+	}
+
+	private void updateStateIndex(ITask task) {
+		if (taskList.getTask(task.getHandleIdentifier()) == null) {
+			// not in the task list or deleted
+			removeFromStateIndex(task);
+		} else if (task.isCompleted()) {
+			unscheduledTasks.remove(task);
+			completedTasks.add(task);
+		} else {
+			completedTasks.remove(task);
+			if (task instanceof AbstractTask && ((AbstractTask) task).getScheduledForDate() == null) {
+				unscheduledTasks.add(task);
+			} else {
+				unscheduledTasks.remove(task);
+			}
+		}
+	}
+
+	private void removeFromStateIndex(ITask task) {
+		unscheduledTasks.remove(task);
+		completedTasks.remove(task);
 	}
 
 	public void setScheduledFor(AbstractTask task, DateRange reminderDate) {
@@ -922,6 +975,22 @@ public class TaskActivityManager implements ITaskActivityManager2 {
 		return children;
 	}
 
+	/**
+	 * Returns a live read-only view of the tasks that are neither completed nor scheduled. The view is maintained
+	 * incrementally from task list changes and does not require iterating all tasks.
+	 */
+	public Set<ITask> getUnscheduledIncompleteTasks() {
+		return Collections.unmodifiableSet(unscheduledTasks);
+	}
+
+	/**
+	 * Returns a live read-only view of the tasks that are completed. The view is maintained incrementally from task
+	 * list changes and does not require iterating all tasks.
+	 */
+	public Set<ITask> getCompletedTasks() {
+		return Collections.unmodifiableSet(completedTasks);
+	}
+
 	public Collection<AbstractTask> getUnscheduled() {
 		Set<AbstractTask> allTasks = new HashSet<AbstractTask>(taskList.getAllTasks());
 		for (ITask abstractTask : getAllScheduledTasks()) {
@@ -11,9 +11,13 @@
 
 package org.eclipse.mylyn.internal.tasks.core;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,6 +38,7 @@ import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
 import org.eclipse.mylyn.tasks.core.ITask;
 import org.eclipse.mylyn.tasks.core.ITask.SynchronizationState;
+import org.eclipse.mylyn.tasks.core.ITaskContainer;
 
 /**
  * Stores and manages task list elements and their containment hierarchy.
@@ -44,6 +49,92 @@ import org.eclipse.mylyn.tasks.core.ITask.SynchronizationState;
  */
 public class TaskList implements ITaskList, ITransferList {
 
+	/**
+	 * Indexes the tasks of a repository. Instances are only modified while holding the task list lock, except for
+	 * updates of task keys, but may be read concurrently.
+	 */
+	private static class RepositoryIndex {
+
+		private final Set<AbstractTask> tasks = Collections.newSetFromMap(new ConcurrentHashMap<AbstractTask, Boolean>());
+
+		private final Map<String, AbstractTask> tasksByKey = new ConcurrentHashMap<String, AbstractTask>();
+
+	}
+
+	/**
+	 * A live read-only view of the tasks of a repository that reflects tasks that are added to or removed from the
+	 * task list after the view was created.
+	 */
+	private class RepositoryTasksView extends AbstractCollection<AbstractTask> {
+
+		private final String repositoryUrl;
+
+		public RepositoryTasksView(String repositoryUrl) {
+			this.repositoryUrl = repositoryUrl;
+		}
+
+		@Override
+		public Iterator<AbstractTask> iterator() {
+			RepositoryIndex index = repositoryIndexes.get(repositoryUrl);
+			if (index == null) {
+				return Collections.<AbstractTask> emptySet().iterator();
+			}
+			return Collections.unmodifiableSet(index.tasks).iterator();
+		}
+
+		@Override
+		public int size() {
+			RepositoryIndex index = repositoryIndexes.get(repositoryUrl);
+			return (index != null) ? index.tasks.size() : 0;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			RepositoryIndex index = repositoryIndexes.get(repositoryUrl);
+			return index != null && index.tasks.contains(o);
+		}
+
+	}
+
+	/**
+	 * Identifies deltas that can be merged.
+	 */
+	private static class DeltaKey {
+
+		private final IRepositoryElement element;
+
+		private final ITaskContainer parent;
+
+		private final boolean content;
+
+		public DeltaKey(IRepositoryElement element, ITaskContainer parent, boolean content) {
+			this.element = element;
+			this.parent = parent;
+			this.content = content;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = (element != null) ? element.hashCode() : 0;
+			result = 31 * result + ((parent != null) ? parent.hashCode() : 0);
+			return (content) ? result + 1 : result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof DeltaKey)) {
+				return false;
+			}
+			DeltaKey other = (DeltaKey) obj;
+			return content == other.content && areEqual(element, other.element) && areEqual(parent, other.parent);
+		}
+
+		private static boolean areEqual(Object object, Object other) {
+			return (object == null) ? other == null : object.equals(other);
+		}
+
+	}
+
 	private static String DEFAULT_HANDLE_PREFIX = "handle-"; //$NON-NLS-1$
 
 	private static ILock lock = Job.getJobManager().newLock();
@@ -64,8 +155,20 @@ public class TaskList implements ITaskList, ITransferList {
 
 	private Map<String, AbstractTask> tasks;
 
+	private Map<String, RepositoryIndex> repositoryIndexes;
+
 	private Set<TaskContainerDelta> delta;
 
+	/**
+	 * The thread that runs a batch or null, if no batch is in progress. Only modified while holding the lock.
+	 */
+	private volatile Thread batchThread;
+
+	/**
+	 * Set if deltas collected while holding the lock are coalesced before they are fired.
+	 */
+	private boolean coalesceDeltas;
+
 	private int nextHandle = 1;
 
 	public TaskList() {
@@ -257,7 +360,9 @@ public class TaskList implements ITaskList, ITransferList {
 				addToUnmatched((AbstractTask) child, delta);
 			}
 
-			tasks.remove(task.getHandleIdentifier());
+			if (tasks.remove(task.getHandleIdentifier()) != null) {
+				removeFromIndex(task);
+			}
 			delta.add(new TaskContainerDelta(task, TaskContainerDelta.Kind.REMOVED));
 			delta.add(new TaskContainerDelta(task, TaskContainerDelta.Kind.DELETED));
 		} finally {
@@ -265,7 +370,7 @@ public class TaskList implements ITaskList, ITransferList {
 		}
 	}
 
-	private void fireDelta(HashSet<TaskContainerDelta> deltasToFire) {
+	private void fireDelta(Set<TaskContainerDelta> deltasToFire) {
 		for (ITaskListChangeListener listener : changeListeners) {
 			try {
 				listener.containersChanged(Collections.unmodifiableSet(deltasToFire));
@@ -280,6 +385,22 @@ public class TaskList implements ITaskList, ITransferList {
 		return Collections.unmodifiableCollection(tasks.values());
 	}
 
+	/**
+	 * Returns a live read-only view of all categories including the default category. Unlike {@link #getCategories()}
+	 * no copy is made, the view reflects subsequent modifications of the task list.
+	 */
+	public Collection<AbstractTaskCategory> getAllCategories() {
+		return Collections.unmodifiableCollection(categories.values());
+	}
+
+	/**
+	 * Returns a live read-only view of all queries. Unlike {@link #getQueries()} no copy is made, the view reflects
+	 * subsequent modifications of the task list.
+	 */
+	public Collection<RepositoryQuery> getAllQueries() {
+		return Collections.unmodifiableCollection(queries.values());
+	}
+
 	public Set<AbstractTaskCategory> getCategories() {
 		return Collections.unmodifiableSet(new HashSet<AbstractTaskCategory>(categories.values()));
 	}
@@ -295,12 +416,7 @@ public class TaskList implements ITaskList, ITransferList {
 
 	public AbstractTaskCategory getContainerForHandle(String categoryHandle) {
 		Assert.isNotNull(categoryHandle);
-		for (AbstractTaskCategory cat : categories.values()) {
-			if (cat.getHandleIdentifier().equals(categoryHandle)) {
-				return cat;
-			}
-		}
-		return null;
+		return categories.get(categoryHandle);
 	}
 
 	public AbstractTaskCategory getDefaultCategory() {
@@ -325,6 +441,7 @@ public class TaskList implements ITaskList, ITransferList {
 		if (task == null) {
 			tasks.put(taskListElement.getHandleIdentifier(), taskListElement);
 			task = taskListElement;
+			addToIndex(task);
 			if (task instanceof LocalTask) {
 				try {
 					int taskId = Integer.parseInt(task.getTaskId());
@@ -357,20 +474,13 @@ public class TaskList implements ITaskList, ITransferList {
 	}
 
 	public Set<AbstractTaskContainer> getRootElements() {
-		Set<AbstractTaskContainer> roots = new HashSet<AbstractTaskContainer>();
+		Set<AbstractTaskContainer> roots = new HashSet<AbstractTaskContainer>((categories.size() + queries.size()
+				+ unmatchedMap.size() + unsubmittedTasksMap.size()) * 4 / 3 + 2);
 		roots.add(defaultCategory);
-		for (AbstractTaskCategory cat : categories.values()) {
-			roots.add(cat);
-		}
-		for (RepositoryQuery query : queries.values()) {
-			roots.add(query);
-		}
-		for (UnmatchedTaskContainer orphanContainer : unmatchedMap.values()) {
-			roots.add(orphanContainer);
-		}
-		for (UnsubmittedTaskContainer unsubmitedTaskContainer : unsubmittedTasksMap.values()) {
-			roots.add(unsubmitedTaskContainer);
-		}
+		roots.addAll(categories.values());
+		roots.addAll(queries.values());
+		roots.addAll(unmatchedMap.values());
+		roots.addAll(unsubmittedTasksMap.values());
 		return roots;
 	}
 
@@ -397,14 +507,29 @@ public class TaskList implements ITaskList, ITransferList {
 	}
 
 	public AbstractTask getTaskByKey(String repositoryUrl, String taskKey) {
-		for (AbstractTask task : tasks.values()) {
-			String currentTaskKey = task.getTaskKey();
-			if (currentTaskKey != null && currentTaskKey.equals(taskKey)
-					&& task.getRepositoryUrl().equals(repositoryUrl)) {
-				return task;
+		if (repositoryUrl == null || taskKey == null) {
+			return null;
+		}
+		RepositoryIndex index = repositoryIndexes.get(repositoryUrl);
+		if (index == null) {
+			return null;
+		}
+		AbstractTask task = index.tasksByKey.get(taskKey);
+		if (task != null && (!taskKey.equals(task.getTaskKey()) || !index.tasks.contains(task))) {
+			// the key is computed by the task and changed without notification, fall back to scanning the repository
+			index.tasksByKey.remove(taskKey, task);
+			task = null;
+			for (AbstractTask repositoryTask : index.tasks) {
+				String currentTaskKey = repositoryTask.getTaskKey();
+				if (currentTaskKey != null) {
+					index.tasksByKey.put(currentTaskKey, repositoryTask);
+					if (task == null && currentTaskKey.equals(taskKey)) {
+						task = repositoryTask;
+					}
+				}
 			}
 		}
-		return null;
+		return task;
 	}
 
 	public Set<AbstractTaskCategory> getTaskCategories() {
@@ -421,15 +546,67 @@ public class TaskList implements ITaskList, ITransferList {
 	 * Returns all tasks for the given repository url.
 	 */
 	public Set<ITask> getTasks(String repositoryUrl) {
-		Set<ITask> repositoryTasks = new HashSet<ITask>();
 		if (repositoryUrl != null) {
-			for (ITask task : tasks.values()) {
-				if (task.getRepositoryUrl().equals(repositoryUrl)) {
-					repositoryTasks.add(task);
-				}
+			RepositoryIndex index = repositoryIndexes.get(repositoryUrl);
+			if (index != null) {
+				return new HashSet<ITask>(index.tasks);
+			}
+		}
+		return new HashSet<ITask>();
+	}
+
+	/**
+	 * Returns a live read-only view of the tasks for the given repository url. Unlike {@link #getTasks(String)} no
+	 * copy is made, the view reflects tasks that are subsequently added to or removed from the task list.
+	 */
+	public Collection<AbstractTask> getRepositoryTasks(String repositoryUrl) {
+		Assert.isNotNull(repositoryUrl);
+		return new RepositoryTasksView(repositoryUrl);
+	}
+
+	private void addToIndex(AbstractTask task) {
+		RepositoryIndex index = repositoryIndexes.get(task.getRepositoryUrl());
+		if (index == null) {
+			index = new RepositoryIndex();
+			repositoryIndexes.put(task.getRepositoryUrl(), index);
+		}
+		index.tasks.add(task);
+		String taskKey = task.getTaskKey();
+		if (taskKey != null) {
+			index.tasksByKey.put(taskKey, task);
+		}
+		task.setTaskList(this);
+	}
+
+	private void removeFromIndex(AbstractTask task) {
+		task.setTaskList(null);
+		RepositoryIndex index = repositoryIndexes.get(task.getRepositoryUrl());
+		if (index != null) {
+			index.tasks.remove(task);
+			String taskKey = task.getTaskKey();
+			if (taskKey != null) {
+				index.tasksByKey.remove(taskKey, task);
+			}
+			if (index.tasks.isEmpty()) {
+				repositoryIndexes.remove(task.getRepositoryUrl());
+			}
+		}
+	}
+
+	/**
+	 * Invoked by <code>task</code> when its key changes. Tasks may be modified without holding the task list lock hence
+	 * this method does not acquire the lock.
+	 */
+	void taskKeyChanged(AbstractTask task, String oldTaskKey, String newTaskKey) {
+		RepositoryIndex index = repositoryIndexes.get(task.getRepositoryUrl());
+		if (index != null && index.tasks.contains(task)) {
+			if (oldTaskKey != null) {
+				index.tasksByKey.remove(oldTaskKey, task);
+			}
+			if (newTaskKey != null) {
+				index.tasksByKey.put(newTaskKey, task);
 			}
 		}
-		return repositoryTasks;
 	}
 
 	public AbstractTaskContainer getUnmatchedContainer(String repositoryUrl) {
@@ -490,7 +667,19 @@ public class TaskList implements ITaskList, ITransferList {
 			}
 		}
 
-		fireDelta(deltas);
+		fireOrDeferDelta(deltas);
+	}
+
+	/**
+	 * Fires <code>deltas</code> immediately unless the current thread runs a batch in which case <code>deltas</code>
+	 * are fired when the batch completes.
+	 */
+	private void fireOrDeferDelta(Set<TaskContainerDelta> deltas) {
+		if (batchThread == Thread.currentThread()) {
+			delta.addAll(deltas);
+		} else {
+			fireDelta(deltas);
+		}
 	}
 
 	// TODO rename: this indicates a change of the synchronizing/status flag, not of the synchronization state
@@ -502,7 +691,7 @@ public class TaskList implements ITaskList, ITransferList {
 			taskChangeDeltas.add(delta);
 		}
 
-		fireDelta(taskChangeDeltas);
+		fireOrDeferDelta(taskChangeDeltas);
 	}
 
 	// TODO rename: this indicates a change of the synchronizing/status flag, not of the synchronization state  
@@ -520,16 +709,20 @@ public class TaskList implements ITaskList, ITransferList {
 
 		try {
 			lock();
-			for (AbstractTask task : tasks.values()) {
-				if (oldRepositoryUrl.equals(RepositoryTaskHandleUtil.getRepositoryUrl(task.getHandleIdentifier()))) {
-					tasks.remove(task.getHandleIdentifier());
-					task.setRepositoryUrl(newRepositoryUrl);
-					tasks.put(task.getHandleIdentifier(), task);
-					String taskUrl = task.getUrl();
-					if (taskUrl != null && taskUrl.startsWith(oldRepositoryUrl)) {
-						task.setUrl(newRepositoryUrl + taskUrl.substring(oldRepositoryUrl.length()));
-					}
+			AbstractTask[] refactoredTasks = getRepositoryTasks(oldRepositoryUrl).toArray(new AbstractTask[0]);
+			for (AbstractTask task : refactoredTasks) {
+				removeFromIndex(task);
+				tasks.remove(task.getHandleIdentifier());
+				task.setRepositoryUrl(newRepositoryUrl);
+				tasks.put(task.getHandleIdentifier(), task);
+				addToIndex(task);
+				String taskUrl = task.getUrl();
+				if (taskUrl != null && taskUrl.startsWith(oldRepositoryUrl)) {
+					task.setUrl(newRepositoryUrl + taskUrl.substring(oldRepositoryUrl.length()));
 				}
+			}
+			// unsubmitted tasks are local tasks
+			for (AbstractTask task : getRepositoryTasks(LocalRepositoryConnector.REPOSITORY_URL)) {
 				if (oldRepositoryUrl.equals(task.getAttribute(ITasksCoreConstants.ATTRIBUTE_OUTGOING_NEW_REPOSITORY_URL))) {
 					task.setAttribute(ITasksCoreConstants.ATTRIBUTE_OUTGOING_NEW_REPOSITORY_URL, newRepositoryUrl);
 				}
@@ -558,6 +751,20 @@ public class TaskList implements ITaskList, ITransferList {
 					unsubmitted.setRepositoryUrl(newRepositoryUrl);
 					unsubmittedTasksMap.put(newRepositoryUrl, unsubmitted);
 					delta.add(new TaskContainerDelta(unsubmitted, TaskContainerDelta.Kind.CONTENT));
+					for (ITask task : unsubmitted.getChildren()) {
+						((AbstractTask) task).internalRehashParentContainers();
+					}
+				}
+			}
+
+			// children and parent containers are indexed by handle which has changed for refactored tasks
+			for (AbstractTask task : refactoredTasks) {
+				task.internalRehashParentContainers();
+				for (AbstractTaskContainer container : task.getParentContainers()) {
+					container.internalRehashChildren();
+				}
+				for (ITask child : task.getChildren()) {
+					((AbstractTask) child).internalRehashParentContainers();
 				}
 			}
 		} finally {
@@ -640,7 +847,13 @@ public class TaskList implements ITaskList, ITransferList {
 	public void reset() {
 		try {
 			lock();
+			if (tasks != null) {
+				for (AbstractTask task : tasks.values()) {
+					task.setTaskList(null);
+				}
+			}
 			tasks = new ConcurrentHashMap<String, AbstractTask>();
+			repositoryIndexes = new ConcurrentHashMap<String, RepositoryIndex>();
 
 			unmatchedMap = new ConcurrentHashMap<String, UnmatchedTaskContainer>();
 			unsubmittedTasksMap = new ConcurrentHashMap<String, UnsubmittedTaskContainer>();
@@ -677,10 +890,70 @@ public class TaskList implements ITaskList, ITransferList {
 		}
 	}
 
+	public void runBatch(ITaskListRunnable runnable, IProgressMonitor monitor) throws CoreException {
+		monitor = Policy.monitorFor(monitor);
+		lock(monitor, false);
+		Thread previousBatchThread = batchThread;
+		try {
+			batchThread = Thread.currentThread();
+			coalesceDeltas = true;
+
+			runnable.execute(monitor);
+
+		} finally {
+			batchThread = previousBatchThread;
+			unlock();
+		}
+	}
+
+	/**
+	 * Merges redundant deltas: an element that is added to and removed from the same container cancels out, repeated
+	 * content changes of an element are reported once. Preserves the order of the remaining deltas.
+	 */
+	private static Set<TaskContainerDelta> coalesce(Collection<TaskContainerDelta> deltas) {
+		Map<Object, TaskContainerDelta> result = new LinkedHashMap<Object, TaskContainerDelta>();
+		for (TaskContainerDelta containerDelta : deltas) {
+			switch (containerDelta.getKind()) {
+			case ADDED:
+			case REMOVED:
+				DeltaKey key = new DeltaKey(containerDelta.getElement(), containerDelta.getParent(), false);
+				TaskContainerDelta previous = result.get(key);
+				if (previous != null && previous.getKind() != containerDelta.getKind()) {
+					result.remove(key);
+					if (previous.getKind() == TaskContainerDelta.Kind.REMOVED) {
+						// the element was removed and added back, only report a change of content
+						addContentDelta(result, new TaskContainerDelta(containerDelta.getElement(),
+								TaskContainerDelta.Kind.CONTENT));
+					}
+				} else {
+					result.put(key, containerDelta);
+				}
+				break;
+			case CONTENT:
+				addContentDelta(result, containerDelta);
+				break;
+			default:
+				result.put(new Object(), containerDelta);
+			}
+		}
+		return new LinkedHashSet<TaskContainerDelta>(result.values());
+	}
+
+	private static void addContentDelta(Map<Object, TaskContainerDelta> result, TaskContainerDelta containerDelta) {
+		DeltaKey key = new DeltaKey(containerDelta.getElement(), null, true);
+		TaskContainerDelta previous = result.get(key);
+		if (previous == null) {
+			result.put(key, containerDelta);
+		} else if (previous.isTransient() && !containerDelta.isTransient()) {
+			// a change that needs to be persisted supersedes a change of the synchronization state
+			result.put(key, containerDelta);
+		}
+	}
+
 	private void lock() {
 		lock.acquire();
 		if (lock.getDepth() == 1) {
-			delta = new HashSet<TaskContainerDelta>();
+			delta = new LinkedHashSet<TaskContainerDelta>();
 		}
 	}
 
@@ -689,7 +962,7 @@ public class TaskList implements ITaskList, ITransferList {
 			try {
 				if (lock.acquire(3000)) {
 					if (lock.getDepth() == 1) {
-						delta = new HashSet<TaskContainerDelta>();
+						delta = new LinkedHashSet<TaskContainerDelta>();
 					}
 					// success
 					return;
@@ -707,10 +980,11 @@ public class TaskList implements ITaskList, ITransferList {
 	}
 
 	private void unlock() {
-		HashSet<TaskContainerDelta> toFire = null;
+		Set<TaskContainerDelta> toFire = null;
 		try {
 			if (lock.getDepth() == 1) {
-				toFire = new HashSet<TaskContainerDelta>(delta);
+				toFire = (coalesceDeltas) ? coalesce(delta) : new HashSet<TaskContainerDelta>(delta);
+				coalesceDeltas = false;
 			}
 		} finally {
 			lock.release();
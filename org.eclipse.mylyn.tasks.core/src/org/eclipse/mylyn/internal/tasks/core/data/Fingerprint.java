@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.util.Collection;
+
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+
+/**
+ * Computes 64-bit FNV-1a hashes of task attributes, see {@link TaskAttribute#getFingerprint()}.
+ * <p>
+ * The fingerprint of an attribute combines the hash of its payload, i.e. the id, values, options and meta data in that
+ * order, with the hash of its children. Strings are hashed as their length followed by their characters which allows
+ * {@link TaskDataStateBinaryReader} to compute fingerprints while skipping encoded attributes.
+ */
+public final class Fingerprint {
+
+	public static final long SEED = 0xcbf29ce484222325L;
+
+	private static final long PRIME = 0x100000001b3L;
+
+	private Fingerprint() {
+	}
+
+	public static long update(long hash, char c) {
+		return (hash ^ c) * PRIME;
+	}
+
+	public static long update(long hash, int value) {
+		hash = update(hash, (char) (value >>> 16));
+		return update(hash, (char) value);
+	}
+
+	public static long update(long hash, long value) {
+		hash = update(hash, (int) (value >>> 32));
+		return update(hash, (int) value);
+	}
+
+	public static long update(long hash, String value) {
+		int length = value.length();
+		hash = update(hash, length);
+		for (int i = 0; i < length; i++) {
+			hash = update(hash, value.charAt(i));
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns the hash of the fingerprints of <code>children</code>.
+	 */
+	public static long children(Collection<TaskAttribute> children) {
+		long hash = update(SEED, children.size());
+		for (TaskAttribute child : children) {
+			hash = update(hash, child.getFingerprint());
+		}
+		return hash;
+	}
+
+	/**
+	 * Combines the hash of the payload of an attribute with the hash of its children. Never returns 0.
+	 */
+	public static long combine(long payload, long children) {
+		long hash = update(payload, children);
+		return (hash != 0) ? hash : 1;
+	}
+
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.util.Map.Entry;
+
+import org.eclipse.mylyn.tasks.core.data.ITaskAttributeLoader;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+/**
+ * Copies the children of a source attribute when they are first accessed. Children are copied one level at a time,
+ * i.e. the children of copied attributes are again copied on demand, and children of the source that have not been
+ * loaded yet are not loaded but share the loader of the source.
+ * <p>
+ * The source must not be modified after the loader has been created, e.g. since it is held in a cache.
+ */
+public class TaskAttributeCopyLoader implements ITaskAttributeLoader {
+
+	/**
+	 * Creates a copy of <code>data</code> that only copies attributes when they are accessed.
+	 *
+	 * @param data
+	 *            the task data to copy, must not be modified while the view is in use
+	 * @return a copy of <code>data</code> or null, if <code>data</code> is null
+	 */
+	public static TaskData createView(TaskData data) {
+		if (data == null) {
+			return null;
+		}
+		TaskData view = new TaskData(data.getAttributeMapper(), data.getConnectorKind(), data.getRepositoryUrl(),
+				data.getTaskId());
+		view.setVersion(data.getVersion());
+		view.getRoot().setAttributeLoader(new TaskAttributeCopyLoader(data.getRoot()));
+		return view;
+	}
+
+	/**
+	 * Returns the number of descendants of <code>attribute</code> without loading children that have not been loaded
+	 * yet.
+	 */
+	public static int countDescendants(TaskAttribute attribute) {
+		ITaskAttributeLoader loader = attribute.getAttributeLoader();
+		if (loader != null) {
+			return loader.getAttributeCount();
+		}
+		int count = 0;
+		for (TaskAttribute child : attribute.getAttributes().values()) {
+			count += 1 + countDescendants(child);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of bytes retained by loaders of <code>attribute</code> and its descendants that have not been
+	 * loaded yet, see {@link ITaskAttributeLoader#getRetainedSize()}.
+	 */
+	public static long getRetainedSize(TaskAttribute attribute) {
+		ITaskAttributeLoader loader = attribute.getAttributeLoader();
+		if (loader != null) {
+			return loader.getRetainedSize();
+		}
+		long size = 0;
+		for (TaskAttribute child : attribute.getAttributes().values()) {
+			size += getRetainedSize(child);
+		}
+		return size;
+	}
+
+	private final TaskAttribute source;
+
+	private int count = -1;
+
+	public TaskAttributeCopyLoader(TaskAttribute source) {
+		this.source = source;
+	}
+
+	public void loadAttributes(TaskAttribute parent) {
+		ITaskAttributeLoader sourceLoader = source.getAttributeLoader();
+		if (sourceLoader != null) {
+			sourceLoader.loadAttributes(parent);
+			return;
+		}
+		for (TaskAttribute child : source.getAttributes().values()) {
+			TaskAttribute target = parent.createAttribute(child.getId());
+			target.setValues(child.getValues());
+			for (Entry<String, String> option : child.getOptions().entrySet()) {
+				target.putOption(option.getKey(), option.getValue());
+			}
+			for (Entry<String, String> entry : child.getMetaData().getValues().entrySet()) {
+				target.getMetaData().putValue(entry.getKey(), entry.getValue());
+			}
+			ITaskAttributeLoader loader = child.getAttributeLoader();
+			if (loader != null) {
+				target.setAttributeLoader(loader);
+			} else if (!child.getAttributes().isEmpty()) {
+				target.setAttributeLoader(new TaskAttributeCopyLoader(child));
+			}
+		}
+	}
+
+	public int getAttributeCount() {
+		if (count == -1) {
+			count = countDescendants(source);
+		}
+		return count;
+	}
+
+	public int getRetainedSize() {
+		// the source is retained by its owner, only data that the source has not loaded yet is shared
+		ITaskAttributeLoader sourceLoader = source.getAttributeLoader();
+		return (sourceLoader != null) ? sourceLoader.getRetainedSize() : 0;
+	}
+
+	public long getAttributesFingerprint() {
+		ITaskAttributeLoader sourceLoader = source.getAttributeLoader();
+		if (sourceLoader != null) {
+			return sourceLoader.getAttributesFingerprint();
+		}
+		return Fingerprint.children(source.getAttributes().values());
+	}
+
+}
@@ -46,6 +46,8 @@ public class TaskDataDiff implements ITaskDataDiff {
 
 	private final TaskRepository repository;
 
+	private boolean parsed;
+
 	public TaskDataDiff(RepositoryModel repositoryModel, TaskData newTaskData, TaskData oldTaskData) {
 		Assert.isNotNull(repositoryModel);
 		Assert.isNotNull(newTaskData);
@@ -54,7 +56,6 @@ public class TaskDataDiff implements ITaskDataDiff {
 		this.newTaskData = newTaskData;
 		this.oldTaskData = oldTaskData;
 		this.hasChanged = true;
-		parse();
 	}
 
 	public boolean hasChanged() {
@@ -78,14 +79,36 @@ public class TaskDataDiff implements ITaskDataDiff {
 	}
 
 	public Collection<ITaskComment> getNewComments() {
+		parse();
 		return newComments;
 	}
 
 	public Collection<ITaskAttributeDiff> getChangedAttributes() {
+		parse();
 		return changedAttributes;
 	}
 
-	private void parse() {
+	/**
+	 * Returns true, if the task data has the same fingerprint as the previous task data. Only used to skip comparing
+	 * attributes, the changed flag is controlled by synchronization participants.
+	 */
+	private boolean isUnchanged() {
+		return oldTaskData != null && oldTaskData.getRoot().getFingerprint() == newTaskData.getRoot().getFingerprint();
+	}
+
+	/**
+	 * Compares the task data when changes are first requested. Synchronized since diffs are shared between the
+	 * synchronization jobs and the UI.
+	 */
+	private synchronized void parse() {
+		if (parsed) {
+			return;
+		}
+		parsed = true;
+		if (isUnchanged()) {
+			return;
+		}
+
 		for (String attributeId : ATTRIBUTES_IDS) {
 			TaskAttribute newAttribute = newTaskData.getRoot().getMappedAttribute(attributeId);
 			TaskAttribute oldAttribute = null;
@@ -130,6 +153,11 @@ public class TaskDataDiff implements ITaskDataDiff {
 		} else if (TaskAttribute.TYPE_OPERATION.equals(type)) {
 			// ignore
 		} else if (ignoreKind || attribute.getMetaData().getKind() != null) {
+			if (oldAttribute != null && newAttribute != null
+					&& oldAttribute.getFingerprint() == newAttribute.getFingerprint()) {
+				// unchanged
+				return;
+			}
 			TaskAttributeDiff diff = new TaskAttributeDiff(oldAttribute, newAttribute);
 			if (diff.hasChanges()) {
 				changedAttributes.add(diff);
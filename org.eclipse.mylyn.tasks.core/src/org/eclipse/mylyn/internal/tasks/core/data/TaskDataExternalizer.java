@@ -188,6 +188,23 @@ public class TaskDataExternalizer {
 		return taskDataState;
 	}
 
+	/**
+	 * Reads a state in the format written by {@link #writeBinaryState(OutputStream, ITaskDataWorkingCopy)}.
+	 */
+	public TaskDataState readBinaryState(InputStream in) throws IOException {
+		TaskDataStateBinaryReader reader = new TaskDataStateBinaryReader(taskRepositoryManager);
+		TaskDataState taskDataState = reader.read(in);
+		if (taskDataState != null) {
+			migrate(taskDataState);
+		}
+		return taskDataState;
+	}
+
+	public void writeBinaryState(OutputStream out, ITaskDataWorkingCopy state) throws IOException {
+		TaskDataStateBinaryWriter writer = new TaskDataStateBinaryWriter();
+		writer.write(out, state);
+	}
+
 	public void writeState(OutputStream out, ITaskDataWorkingCopy state) throws IOException {
 		try {
 			SAXTransformerFactory transformerFactory = (SAXTransformerFactory) TransformerFactory.newInstance();
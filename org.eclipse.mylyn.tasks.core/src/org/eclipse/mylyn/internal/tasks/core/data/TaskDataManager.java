@@ -14,6 +14,7 @@ package org.eclipse.mylyn.internal.tasks.core.data;
 import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -23,18 +24,21 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.core.CoreUtil;
 import org.eclipse.mylyn.commons.core.DelegatingProgressMonitor;
 import org.eclipse.mylyn.commons.core.IDelegatingProgressMonitor;
 import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
 import org.eclipse.mylyn.internal.tasks.core.ITaskListRunnable;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.TaskActivityManager;
 import org.eclipse.mylyn.internal.tasks.core.TaskList;
 import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore.Format;
 import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
 import org.eclipse.mylyn.tasks.core.IRepositoryManager;
 import org.eclipse.mylyn.tasks.core.ITask;
@@ -77,6 +81,8 @@ public class TaskDataManager implements ITaskDataManager {
 
 	private final SynchronizationManger synchronizationManger;
 
+	private volatile Format format = Format.XML;
+
 	public TaskDataManager(TaskDataStore taskDataStore, IRepositoryManager repositoryManager, TaskList taskList,
 			TaskActivityManager taskActivityManager, SynchronizationManger synchronizationManger) {
 		this.taskDataStore = taskDataStore;
@@ -159,7 +165,7 @@ public class TaskDataManager implements ITaskDataManager {
 		final boolean[] changed = new boolean[1];
 		taskList.run(new ITaskListRunnable() {
 			public void execute(IProgressMonitor monitor) throws CoreException {
-				final File file = getFile(task, kind);
+				final File file = getMigratedFile(task, kind);
 				taskDataStore.putTaskData(ensurePathExists(file), state);
 				switch (task.getSynchronizationState()) {
 				case SYNCHRONIZED:
@@ -217,6 +223,7 @@ public class TaskDataManager implements ITaskDataManager {
 
 					if (taskDataChanged) {
 						String suppressIncoming = null;
+						TaskDataDiff diff = null;
 						if (synchronizationManger.hasParticipants(task.getConnectorKind())) {
 							// determine whether to show an incoming
 							if (state == null) {
@@ -224,9 +231,16 @@ public class TaskDataManager implements ITaskDataManager {
 								state = taskDataStore.getTaskDataState(ensurePathExists(file));
 							}
 							TaskData lastReadData = (state != null) ? state.getLastReadData() : null;
-							TaskDataDiff diff = synchronizationManger.createDiff(taskData, lastReadData, monitor);
+							diff = synchronizationManger.createDiff(taskData, lastReadData, monitor);
 							suppressIncoming = Boolean.toString(!diff.hasChanged());
 						}
+						if (!taskData.isPartial()) {
+							// allows listeners to compute notifications without reading the state again
+							if (diff != null) {
+								event.setDiff(diff);
+							}
+							event.setLastReadData(state.getLastReadData());
+						}
 
 						switch (task.getSynchronizationState()) {
 						case OUTGOING:
@@ -277,7 +291,7 @@ public class TaskDataManager implements ITaskDataManager {
 		// XXX move this to AbstractTask or use model listener to notify task activity 
 		// manager of due date changes
 		Date newDueDate = task.getDueDate();
-		if (oldDueDate != null && !oldDueDate.equals(newDueDate) || newDueDate != oldDueDate) {
+		if ((oldDueDate != null) ? !oldDueDate.equals(newDueDate) : newDueDate != null) {
 			taskActivityManager.setDueDate(task, newDueDate);
 		}
 		return task.isChanged();
@@ -295,11 +309,16 @@ public class TaskDataManager implements ITaskDataManager {
 		Assert.isNotNull(kind);
 		File file = getFile(task, kind);
 		if (!file.exists()) {
-			File oldFile = getFile10(task, kind);
-			if (oldFile.exists()) {
-				TaskDataState state = taskDataStore.getTaskDataState(oldFile);
-				// save migrated task data right away
-				taskDataStore.putTaskData(ensurePathExists(file), state);
+			File otherFile = getFile(task.getRepositoryUrl(), task, kind, getOtherFormat());
+			if (otherFile.exists()) {
+				taskDataStore.migrate(otherFile, ensurePathExists(file));
+			} else {
+				File oldFile = getFile10(task, kind);
+				if (oldFile.exists()) {
+					TaskDataState state = taskDataStore.getTaskDataState(oldFile);
+					// save migrated task data right away
+					taskDataStore.putTaskData(ensurePathExists(file), state);
+				}
 			}
 		}
 		return file;
@@ -312,7 +331,7 @@ public class TaskDataManager implements ITaskDataManager {
 		final TaskDataManagerEvent event = new TaskDataManagerEvent(this, itask);
 		taskList.run(new ITaskListRunnable() {
 			public void execute(IProgressMonitor monitor) throws CoreException {
-				File dataFile = getFile(task, kind);
+				File dataFile = getMigratedFile(task, kind);
 				if (dataFile.exists()) {
 					taskDataStore.discardEdits(dataFile);
 				}
@@ -339,9 +358,26 @@ public class TaskDataManager implements ITaskDataManager {
 		if (file.exists()) {
 			return file;
 		}
+		File otherFile = getFile(task.getRepositoryUrl(), task, kind, getOtherFormat());
+		if (otherFile.exists()) {
+			return otherFile;
+		}
 		return getFile10(task, kind);
 	}
 
+	/**
+	 * Reads the state of <code>task</code> from any of the locations returned by {@link #findFile(ITask, String)}.
+	 */
+	private TaskDataState readState(ITask task, String kind) throws CoreException {
+		File file = findFile(task, kind);
+		TaskDataState state = taskDataStore.getTaskDataState(file);
+		if (state == null && !file.equals(getFile(task, kind))) {
+			// the file may have been migrated concurrently
+			state = taskDataStore.getTaskDataState(findFile(task, kind));
+		}
+		return state;
+	}
+
 	public String getDataPath() {
 		return dataPath;
 	}
@@ -351,11 +387,15 @@ public class TaskDataManager implements ITaskDataManager {
 	}
 
 	private File getFile(String repositoryUrl, ITask task, String kind) {
+		return getFile(repositoryUrl, task, kind, format);
+	}
+
+	private File getFile(String repositoryUrl, ITask task, String kind, Format format) {
 //			String pathName = task.getConnectorKind() + "-"
 //					+ URLEncoder.encode(task.getRepositoryUrl(), ENCODING_UTF_8);
 //			String fileName = kind + "-" + URLEncoder.encode(task.getTaskId(), ENCODING_UTF_8) + EXTENSION;
 		String repositoryPath = task.getConnectorKind() + "-" + CoreUtil.asFileName(repositoryUrl); //$NON-NLS-1$
-		String fileName = CoreUtil.asFileName(task.getTaskId()) + EXTENSION;
+		String fileName = CoreUtil.asFileName(task.getTaskId()) + getExtension(format);
 		File path = new File(dataPath + File.separator + FOLDER_TASKS + File.separator + repositoryPath
 				+ File.separator + FOLDER_DATA);
 		return new File(path, fileName);
@@ -376,7 +416,7 @@ public class TaskDataManager implements ITaskDataManager {
 	public TaskData getTaskData(ITask task) throws CoreException {
 		Assert.isNotNull(task);
 		final String kind = task.getConnectorKind();
-		TaskDataState state = taskDataStore.getTaskDataState(findFile(task, kind));
+		TaskDataState state = readState(task, kind);
 		if (state == null) {
 			return null;
 		}
@@ -387,14 +427,14 @@ public class TaskDataManager implements ITaskDataManager {
 		Assert.isNotNull(task);
 		final String kind = task.getConnectorKind();
 		// TODO check that repository task data != null for returned task data state
-		return taskDataStore.getTaskDataState(findFile(task, kind));
+		return readState(task, kind);
 	}
 
 	public TaskData getTaskData(TaskRepository taskRepository, String taskId) throws CoreException {
 		Assert.isNotNull(taskRepository);
 		Assert.isNotNull(taskId);
-		TaskDataState state = taskDataStore.getTaskDataState(findFile(new TaskTask(taskRepository.getConnectorKind(),
-				taskRepository.getRepositoryUrl(), taskId), taskRepository.getConnectorKind()));
+		TaskDataState state = readState(new TaskTask(taskRepository.getConnectorKind(),
+				taskRepository.getRepositoryUrl(), taskId), taskRepository.getConnectorKind());
 		if (state == null) {
 			return null;
 		}
@@ -444,8 +484,10 @@ public class TaskDataManager implements ITaskDataManager {
 		taskList.run(new ITaskListRunnable() {
 			public void execute(IProgressMonitor monitor) throws CoreException {
 				File file = getFile(task, task.getConnectorKind());
-				if (file.exists()) {
+				File otherFile = getFile(task.getRepositoryUrl(), task, task.getConnectorKind(), getOtherFormat());
+				if (file.exists() || otherFile.exists()) {
 					taskDataStore.deleteTaskData(file);
+					taskDataStore.deleteTaskData(otherFile);
 					task.setSynchronizationState(SynchronizationState.SYNCHRONIZED);
 				}
 			}
@@ -453,8 +495,87 @@ public class TaskDataManager implements ITaskDataManager {
 		taskList.notifyElementChanged(task);
 	}
 
+	/**
+	 * Sets the folder that contains task data. Cached task data is discarded since the folder may have been replaced,
+	 * e.g. when a backup is restored.
+	 */
 	public void setDataPath(String dataPath) {
 		this.dataPath = dataPath;
+		taskDataStore.clearCache();
+	}
+
+	/**
+	 * Sets the format for writing task data. Task data in the other format is migrated when it is written or through
+	 * {@link #migrateTaskData(IProgressMonitor)}.
+	 */
+	public void setFormat(Format format) {
+		Assert.isNotNull(format);
+		this.format = format;
+	}
+
+	public Format getFormat() {
+		return format;
+	}
+
+	/**
+	 * Converts all task data files that do not use the format set through {@link #setFormat(Format)}. Files are
+	 * otherwise migrated when they are written.
+	 * 
+	 * @return the number of migrated files
+	 */
+	public int migrateTaskData(IProgressMonitor monitor) throws CoreException {
+		monitor = Policy.monitorFor(monitor);
+		final String extension = getExtension(getOtherFormat());
+		final String targetExtension = getExtension(format);
+		List<File> files = new ArrayList<File>();
+		collectTaskDataFiles(new File(dataPath + File.separator + FOLDER_TASKS), extension, files);
+		final int[] count = new int[1];
+		monitor.beginTask(Messages.TaskDataManager_Migrating_Task_Data, files.size());
+		try {
+			for (final File file : files) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				String baseName = file.getName().substring(0, file.getName().length() - extension.length());
+				final File target = new File(file.getParentFile(), baseName + targetExtension);
+				// synchronize with writes that migrate files on demand
+				taskList.run(new ITaskListRunnable() {
+					public void execute(IProgressMonitor monitor) throws CoreException {
+						if (target.exists()) {
+							// already migrated, the remaining file is stale
+							taskDataStore.deleteTaskData(file);
+						} else if (taskDataStore.migrate(file, target)) {
+							count[0]++;
+						}
+					}
+				});
+				monitor.worked(1);
+			}
+		} finally {
+			monitor.done();
+		}
+		return count[0];
+	}
+
+	private void collectTaskDataFiles(File folder, String extension, List<File> files) {
+		File[] children = folder.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				if (child.isDirectory()) {
+					collectTaskDataFiles(child, extension, files);
+				} else if (child.getName().endsWith(extension)) {
+					files.add(child);
+				}
+			}
+		}
+	}
+
+	private Format getOtherFormat() {
+		return (format == Format.XML) ? Format.BINARY : Format.XML;
+	}
+
+	private static String getExtension(Format format) {
+		return (format == Format.BINARY) ? TaskDataStore.EXTENSION_BINARY : EXTENSION;
 	}
 
 	/**
@@ -516,7 +637,7 @@ public class TaskDataManager implements ITaskDataManager {
 		final boolean[] changed = new boolean[1];
 		taskList.run(new ITaskListRunnable() {
 			public void execute(IProgressMonitor monitor) throws CoreException {
-				taskDataStore.putEdits(getFile(task, kind), editsData);
+				taskDataStore.putEdits(getMigratedFile(task, kind), editsData);
 				switch (task.getSynchronizationState()) {
 				case INCOMING:
 				case INCOMING_NEW:
@@ -27,6 +27,12 @@ public class TaskDataManagerEvent extends EventObject {
 
 	private Object data;
 
+	private TaskDataDiff diff;
+
+	private TaskData lastReadData;
+
+	private boolean lastReadDataAvailable;
+
 	private final ITask task;
 
 	private boolean taskChanged;
@@ -60,6 +66,26 @@ public class TaskDataManagerEvent extends EventObject {
 		return data;
 	}
 
+	/**
+	 * Returns the difference between the updated task data and the last read task data if it was computed while
+	 * updating.
+	 * 
+	 * @return the difference or null, if it was not computed
+	 */
+	public TaskDataDiff getDiff() {
+		return diff;
+	}
+
+	/**
+	 * Returns the last read task data at the time of the update. Only valid if {@link #hasLastReadData()} returns
+	 * true.
+	 * 
+	 * @return the last read task data or null, if the task has not been read
+	 */
+	public TaskData getLastReadData() {
+		return lastReadData;
+	}
+
 	public ITask getTask() {
 		return task;
 	}
@@ -84,10 +110,27 @@ public class TaskDataManagerEvent extends EventObject {
 		return token;
 	}
 
+	/**
+	 * Returns true, if the last read task data was available when the event was fired which allows listeners to compare
+	 * it to the updated task data without reading the stored state.
+	 */
+	public boolean hasLastReadData() {
+		return lastReadDataAvailable;
+	}
+
 	public void setData(Object data) {
 		this.data = data;
 	}
 
+	public void setDiff(TaskDataDiff diff) {
+		this.diff = diff;
+	}
+
+	public void setLastReadData(TaskData lastReadData) {
+		this.lastReadData = lastReadData;
+		this.lastReadDataAvailable = true;
+	}
+
 	public void setTaskChanged(boolean taskChanged) {
 		this.taskChanged = taskChanged;
 	}
@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.IRepositoryManager;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.AbstractTaskDataHandler;
+import org.eclipse.mylyn.tasks.core.data.ITaskAttributeLoader;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+/**
+ * Reads a {@link TaskDataState} written by {@link TaskDataStateBinaryWriter}.
+ * <p>
+ * Only top-level attributes are created when the state is read. The children of top-level attributes, e.g. the
+ * attributes of comments, attachments and operations, are validated and skipped and decoded from the retained
+ * decompressed data when they are first accessed, see {@link ITaskAttributeLoader}.
+ */
+public class TaskDataStateBinaryReader {
+
+	private final IRepositoryManager repositoryManager;
+
+	/**
+	 * The string table is shared with loaders and must not be modified once the state has been read.
+	 */
+	private List<String> stringTable;
+
+	private BodyInputStream body;
+
+	private DataInputStream in;
+
+	/**
+	 * True, if reading the children of an attribute that were skipped when the state was read, i.e. the string table
+	 * is complete.
+	 */
+	private boolean loadingSubtree;
+
+	private int skippedAttributes;
+
+	private TaskAttributeMapper attributeMapper;
+
+	public TaskDataStateBinaryReader(IRepositoryManager repositoryManager) {
+		this.repositoryManager = repositoryManager;
+	}
+
+	private TaskDataStateBinaryReader(byte[] bytes, int offset, List<String> stringTable) {
+		this.repositoryManager = null;
+		this.stringTable = stringTable;
+		this.body = new BodyInputStream(bytes, offset);
+		this.in = new DataInputStream(body);
+		this.loadingSubtree = true;
+	}
+
+	public TaskDataState read(InputStream stream) throws IOException {
+		DataInputStream header = new DataInputStream(stream);
+		if (header.readInt() != TaskDataStateBinaryWriter.MAGIC) {
+			throw new IOException("Invalid task data header"); //$NON-NLS-1$
+		}
+		int version = header.readUnsignedByte();
+		if (version != TaskDataStateBinaryWriter.VERSION) {
+			throw new IOException("Unsupported task data version: " + version); //$NON-NLS-1$
+		}
+
+		Inflater decompressor = new Inflater();
+		try {
+			body = new BodyInputStream(inflate(new InflaterInputStream(stream, decompressor)), 0);
+			in = new DataInputStream(body);
+			stringTable = new ArrayList<String>();
+			String connectorKind = readString();
+			String repositoryUrl = readString();
+			String taskId = readString();
+			attributeMapper = getAttributeMapper(connectorKind, repositoryUrl);
+			TaskDataState state = new TaskDataState(connectorKind, repositoryUrl, taskId);
+			state.setRepositoryData(readTaskData(state, null));
+			state.setLastReadData(readTaskData(state, state.getRepositoryData()));
+			state.setEditsData(readTaskData(state, null));
+			return state;
+		} finally {
+			decompressor.end();
+		}
+	}
+
+	private TaskData readTaskData(TaskDataState state, TaskData base) throws IOException {
+		int kind = in.readUnsignedByte();
+		if (kind == TaskDataStateBinaryWriter.DATA_NONE) {
+			return null;
+		}
+		TaskData data = new TaskData(attributeMapper, state.getConnectorKind(), state.getRepositoryUrl(),
+				state.getTaskId());
+		if (in.readBoolean()) {
+			data.setVersion(readString());
+		}
+		if (kind == TaskDataStateBinaryWriter.DATA_DELTA) {
+			if (base == null) {
+				throw new IOException("Missing base for task data delta"); //$NON-NLS-1$
+			}
+			readDeltaChildren(data.getRoot(), base.getRoot());
+		} else if (kind == TaskDataStateBinaryWriter.DATA_FULL) {
+			readTopLevelChildren(data.getRoot());
+		} else {
+			throw new IOException("Invalid task data kind: " + kind); //$NON-NLS-1$
+		}
+		return data;
+	}
+
+	private void readTopLevelChildren(TaskAttribute parent) throws IOException {
+		int count = readCount();
+		for (int i = 0; i < count; i++) {
+			TaskAttribute attribute = parent.createAttribute(readRef());
+			readPayload(attribute);
+			skipChildren(attribute);
+		}
+	}
+
+	/**
+	 * Skips the children of <code>attribute</code> and registers a loader that reads them on demand. Strings that are
+	 * defined by the children are added to the string table since subsequent references depend on them.
+	 */
+	private void skipChildren(TaskAttribute attribute) throws IOException {
+		int offset = body.getPosition();
+		skippedAttributes = 0;
+		long fingerprint = skipAttributes();
+		if (skippedAttributes > 0) {
+			attribute.setAttributeLoader(new SubtreeLoader(body.getBytes(), offset, body.getPosition() - offset,
+					stringTable, skippedAttributes, fingerprint));
+		}
+	}
+
+	/**
+	 * Skips a list of attributes.
+	 * 
+	 * @return the fingerprint of the skipped attributes, see {@link Fingerprint}
+	 */
+	private long skipAttributes() throws IOException {
+		int count = readCount();
+		skippedAttributes += count;
+		long children = Fingerprint.update(Fingerprint.SEED, count);
+		for (int i = 0; i < count; i++) {
+			long payload = Fingerprint.update(Fingerprint.SEED, readRef());
+			payload = skipPayload(payload);
+			children = Fingerprint.update(children, Fingerprint.combine(payload, skipAttributes()));
+		}
+		return children;
+	}
+
+	private long skipPayload(long hash) throws IOException {
+		int count = readCount();
+		hash = Fingerprint.update(hash, count);
+		for (int i = 0; i < count; i++) {
+			hash = skipString(hash);
+		}
+		count = readCount();
+		hash = Fingerprint.update(hash, count);
+		for (int i = 0; i < count; i++) {
+			hash = Fingerprint.update(hash, readRef());
+			hash = skipString(hash);
+		}
+		count = readCount();
+		hash = Fingerprint.update(hash, count);
+		for (int i = 0; i < count; i++) {
+			hash = Fingerprint.update(hash, readRef());
+			hash = Fingerprint.update(hash, readRef());
+		}
+		return hash;
+	}
+
+	private void readChildren(TaskAttribute parent) throws IOException {
+		int count = readCount();
+		for (int i = 0; i < count; i++) {
+			TaskAttribute attribute = parent.createAttribute(readRef());
+			readPayload(attribute);
+			readChildren(attribute);
+		}
+	}
+
+	private void readDeltaChildren(TaskAttribute parent, TaskAttribute base) throws IOException {
+		int count = readCount();
+		for (int i = 0; i < count; i++) {
+			String id = readRef();
+			int kind = in.readUnsignedByte();
+			if (kind == TaskDataStateBinaryWriter.NODE_NEW) {
+				TaskAttribute attribute = parent.createAttribute(id);
+				readPayload(attribute);
+				if (parent.getParentAttribute() == null) {
+					skipChildren(attribute);
+				} else {
+					readChildren(attribute);
+				}
+			} else {
+				TaskAttribute baseAttribute = base.getAttribute(id);
+				if (baseAttribute == null) {
+					throw new IOException("Missing base for attribute delta: " + id); //$NON-NLS-1$
+				}
+				if (kind == TaskDataStateBinaryWriter.NODE_SAME) {
+					parent.deepAddCopy(baseAttribute);
+				} else if (kind == TaskDataStateBinaryWriter.NODE_CHANGED) {
+					TaskAttribute attribute = parent.createAttribute(id);
+					readPayload(attribute);
+					readDeltaChildren(attribute, baseAttribute);
+				} else {
+					throw new IOException("Invalid attribute kind: " + kind); //$NON-NLS-1$
+				}
+			}
+		}
+	}
+
+	private void readPayload(TaskAttribute attribute) throws IOException {
+		int count = readCount();
+		for (int i = 0; i < count; i++) {
+			attribute.addValue(readString());
+		}
+		count = readCount();
+		for (int i = 0; i < count; i++) {
+			String key = readRef();
+			attribute.putOption(key, readString());
+		}
+		count = readCount();
+		for (int i = 0; i < count; i++) {
+			String key = readRef();
+			attribute.getMetaData().putValue(key, readRef());
+		}
+	}
+
+	/**
+	 * Reads the number of characters of a string or the number of elements of a list. Each of them is encoded in at
+	 * least one byte, larger counts can only be read from corrupt data and are rejected before anything is allocated.
+	 */
+	private int readCount() throws IOException {
+		int count = readVarInt(in);
+		if (count < 0 || count > body.available()) {
+			throw new IOException("Invalid count: " + count); //$NON-NLS-1$
+		}
+		return count;
+	}
+
+	private String readRef() throws IOException {
+		int index = readVarInt(in);
+		if (index == 0) {
+			String value = readString();
+			if (!loadingSubtree) {
+				stringTable.add(value);
+			}
+			return value;
+		}
+		if (index > stringTable.size()) {
+			throw new IOException("Invalid string reference: " + index); //$NON-NLS-1$
+		}
+		return stringTable.get(index - 1);
+	}
+
+	private String readString() throws IOException {
+		int length = readCount();
+		char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = (char) readVarInt(in);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Skips a string and returns <code>hash</code> updated with the string as by
+	 * {@link Fingerprint#update(long, String)}.
+	 */
+	private long skipString(long hash) throws IOException {
+		int length = readCount();
+		hash = Fingerprint.update(hash, length);
+		for (int i = 0; i < length; i++) {
+			hash = Fingerprint.update(hash, (char) readVarInt(in));
+		}
+		return hash;
+	}
+
+	static int readVarInt(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer"); //$NON-NLS-1$
+	}
+
+	private static byte[] inflate(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int n;
+		while ((n = in.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		return out.toByteArray();
+	}
+
+	private TaskAttributeMapper getAttributeMapper(String connectorKind, String repositoryUrl) throws IOException {
+		AbstractRepositoryConnector connector = repositoryManager.getRepositoryConnector(connectorKind);
+		if (connector == null) {
+			throw new IOException("No repository connector for kind \"" + connectorKind + "\" found"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		TaskRepository taskRepository = repositoryManager.getRepository(connectorKind, repositoryUrl);
+		if (taskRepository == null) {
+			throw new IOException("Repository \"" + repositoryUrl + "\" not found for kind \"" + connectorKind + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+
+		AbstractTaskDataHandler taskDataHandler = connector.getTaskDataHandler();
+		if (taskDataHandler != null) {
+			return taskDataHandler.getAttributeMapper(taskRepository);
+		} else {
+			return new TaskAttributeMapper(taskRepository);
+		}
+	}
+
+	private static class BodyInputStream extends ByteArrayInputStream {
+
+		public BodyInputStream(byte[] buf, int offset) {
+			super(buf, offset, buf.length - offset);
+		}
+
+		public byte[] getBytes() {
+			return buf;
+		}
+
+		public int getPosition() {
+			return pos;
+		}
+
+	}
+
+	/**
+	 * Reads the children of an attribute from the decompressed data. Instances are immutable and may be shared by
+	 * copies of the attribute.
+	 */
+	private static class SubtreeLoader implements ITaskAttributeLoader {
+
+		private final byte[] bytes;
+
+		private final int offset;
+
+		private final int length;
+
+		private final List<String> stringTable;
+
+		private final int count;
+
+		private final long fingerprint;
+
+		public SubtreeLoader(byte[] bytes, int offset, int length, List<String> stringTable, int count,
+				long fingerprint) {
+			this.bytes = bytes;
+			this.offset = offset;
+			this.length = length;
+			this.stringTable = stringTable;
+			this.count = count;
+			this.fingerprint = fingerprint;
+		}
+
+		public void loadAttributes(TaskAttribute parent) {
+			try {
+				new TaskDataStateBinaryReader(bytes, offset, stringTable).readChildren(parent);
+			} catch (IOException e) {
+				// the data was validated when the state was read
+				throw new IllegalStateException(e);
+			}
+		}
+
+		public int getAttributeCount() {
+			return count;
+		}
+
+		public int getRetainedSize() {
+			// the decompressed data is shared by all loaders of a state, each accounts for the part it decodes
+			return length;
+		}
+
+		public long getAttributesFingerprint() {
+			return fingerprint;
+		}
+
+	}
+
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.data;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.eclipse.mylyn.tasks.core.data.ITaskDataWorkingCopy;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+/**
+ * Writes a {@link TaskDataState} in a compact binary format. The format consists of an uncompressed header that holds
+ * {@link #MAGIC} and {@link #VERSION} followed by a deflated body:
+ *
+ * <pre>
+ * body       := string(connectorKind) string(repositoryUrl) string(taskId) data(repository) data(lastRead) data(edits)
+ * data       := DATA_NONE | DATA_FULL version children | DATA_DELTA version delta-children
+ * attribute  := ref(id) payload children
+ * payload    := count string(value)* count (ref(key) string(value))* count (ref(key) ref(value))*
+ * children   := count attribute*
+ * delta-children := count (ref(id) (NODE_SAME | NODE_CHANGED payload delta-children | NODE_NEW payload children))*
+ * </pre>
+ *
+ * Attribute ids and meta data keys and values are interned: the first occurrence is written as <code>0</code> followed
+ * by the string, subsequent occurrences as the index in the table plus one. The last read data is encoded as a delta
+ * against the repository data since both are usually identical or differ in few attributes only.
+ *
+ * @see TaskDataStateBinaryReader
+ */
+public class TaskDataStateBinaryWriter {
+
+	public static final int MAGIC = 0x4D594C4E; // "MYLN"
+
+	public static final int VERSION = 1;
+
+	static final int DATA_NONE = 0;
+
+	static final int DATA_FULL = 1;
+
+	static final int DATA_DELTA = 2;
+
+	static final int NODE_SAME = 0;
+
+	static final int NODE_CHANGED = 1;
+
+	static final int NODE_NEW = 2;
+
+	private final Map<String, Integer> stringTable = new HashMap<String, Integer>();
+
+	private DataOutputStream out;
+
+	public void write(OutputStream stream, ITaskDataWorkingCopy state) throws IOException {
+		DataOutputStream header = new DataOutputStream(stream);
+		header.writeInt(MAGIC);
+		header.writeByte(VERSION);
+		header.flush();
+
+		Deflater compressor = new Deflater(Deflater.BEST_SPEED);
+		DeflaterOutputStream deflater = new DeflaterOutputStream(stream, compressor);
+		try {
+			out = new DataOutputStream(deflater);
+			stringTable.clear();
+			writeString(state.getConnectorKind());
+			writeString(state.getRepositoryUrl());
+			writeString(state.getTaskId());
+			writeTaskData(state.getRepositoryData(), null);
+			writeTaskData(state.getLastReadData(), state.getRepositoryData());
+			writeTaskData(state.getEditsData(), null);
+			out.flush();
+			deflater.finish();
+		} finally {
+			compressor.end();
+		}
+	}
+
+	private void writeTaskData(TaskData data, TaskData base) throws IOException {
+		if (data == null) {
+			out.writeByte(DATA_NONE);
+		} else if (base != null) {
+			out.writeByte(DATA_DELTA);
+			writeNullableString(data.getVersion());
+			writeDeltaChildren(data.getRoot(), base.getRoot());
+		} else {
+			out.writeByte(DATA_FULL);
+			writeNullableString(data.getVersion());
+			// the root node is not persisted, consistent with the XML format
+			writeChildren(data.getRoot());
+		}
+	}
+
+	private void writeAttribute(TaskAttribute attribute) throws IOException {
+		writeRef(attribute.getId());
+		writePayload(attribute);
+		writeChildren(attribute);
+	}
+
+	private void writeChildren(TaskAttribute attribute) throws IOException {
+		Map<String, TaskAttribute> children = attribute.getAttributes();
+		writeCount(children.size());
+		for (TaskAttribute child : children.values()) {
+			writeAttribute(child);
+		}
+	}
+
+	private void writeDeltaChildren(TaskAttribute attribute, TaskAttribute base) throws IOException {
+		Map<String, TaskAttribute> children = attribute.getAttributes();
+		writeCount(children.size());
+		for (TaskAttribute child : children.values()) {
+			writeRef(child.getId());
+			TaskAttribute baseChild = base.getAttribute(child.getId());
+			if (baseChild == null) {
+				out.writeByte(NODE_NEW);
+				writePayload(child);
+				writeChildren(child);
+			} else if (deepEquals(child, baseChild)) {
+				out.writeByte(NODE_SAME);
+			} else {
+				out.writeByte(NODE_CHANGED);
+				writePayload(child);
+				writeDeltaChildren(child, baseChild);
+			}
+		}
+	}
+
+	private void writePayload(TaskAttribute attribute) throws IOException {
+		List<String> values = attribute.getValues();
+		writeCount(values.size());
+		for (String value : values) {
+			writeString(value);
+		}
+
+		Map<String, String> options = attribute.getOptions();
+		writeCount(options.size());
+		for (Entry<String, String> entry : options.entrySet()) {
+			writeRef(entry.getKey());
+			writeString(entry.getValue());
+		}
+
+		Map<String, String> metaData = attribute.getMetaData().getValues();
+		writeCount(metaData.size());
+		for (Entry<String, String> entry : metaData.entrySet()) {
+			writeRef(entry.getKey());
+			writeRef(entry.getValue());
+		}
+	}
+
+	private void writeCount(int count) throws IOException {
+		writeVarInt(out, count);
+	}
+
+	private void writeRef(String value) throws IOException {
+		Integer index = stringTable.get(value);
+		if (index != null) {
+			writeVarInt(out, index + 1);
+		} else {
+			writeVarInt(out, 0);
+			writeString(value);
+			stringTable.put(value, stringTable.size());
+		}
+	}
+
+	private void writeNullableString(String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			writeString(value);
+		}
+	}
+
+	/**
+	 * Writes the length followed by each character as a variable length integer. Unlike UTF-8 this preserves unpaired
+	 * surrogates and is not limited in length like {@link DataOutputStream#writeUTF(String)}.
+	 */
+	private void writeString(String value) throws IOException {
+		int length = value.length();
+		writeVarInt(out, length);
+		for (int i = 0; i < length; i++) {
+			writeVarInt(out, value.charAt(i));
+		}
+	}
+
+	static void writeVarInt(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	static boolean deepEquals(TaskAttribute attribute, TaskAttribute other) {
+		if (!attribute.getValues().equals(other.getValues())
+				|| !entriesEqual(attribute.getOptions(), other.getOptions())
+				|| !entriesEqual(attribute.getMetaData().getValues(), other.getMetaData().getValues())) {
+			return false;
+		}
+		Map<String, TaskAttribute> children = attribute.getAttributes();
+		Map<String, TaskAttribute> otherChildren = other.getAttributes();
+		if (children.size() != otherChildren.size()) {
+			return false;
+		}
+		Iterator<TaskAttribute> it = otherChildren.values().iterator();
+		for (TaskAttribute child : children.values()) {
+			TaskAttribute otherChild = it.next();
+			if (!child.getId().equals(otherChild.getId()) || !deepEquals(child, otherChild)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compares maps including iteration order.
+	 */
+	private static boolean entriesEqual(Map<String, String> map, Map<String, String> other) {
+		if (map.size() != other.size()) {
+			return false;
+		}
+		Iterator<Entry<String, String>> it = other.entrySet().iterator();
+		for (Entry<String, String> entry : map.entrySet()) {
+			if (!entry.equals(it.next())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -13,10 +13,19 @@ package org.eclipse.mylyn.internal.tasks.core.data;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -31,72 +40,170 @@ import org.eclipse.mylyn.tasks.core.IRepositoryManager;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
 import org.xml.sax.SAXException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.Striped;
+
 /**
  * @author Steffen Pingel
  */
 public class TaskDataStore {
 
+	/**
+	 * The format of a task data file, determined by the file extension.
+	 */
+	public enum Format {
+		/**
+		 * XML in a zip archive, supported by all versions.
+		 */
+		XML,
+		/**
+		 * A compact binary encoding, see {@link TaskDataStateBinaryWriter}. Used for files that end with
+		 * {@link TaskDataStore#EXTENSION_BINARY}.
+		 */
+		BINARY
+	}
+
+	/**
+	 * The extension of files in the binary format.
+	 */
+	public static final String EXTENSION_BINARY = ".bin"; //$NON-NLS-1$
+
 	private static final String FILE_NAME_INTERNAL = "data.xml"; //$NON-NLS-1$
 
+	/**
+	 * The default maximum number of task attributes held by the state cache.
+	 */
+	public static final long DEFAULT_CACHE_WEIGHT = 500000;
+
+	/**
+	 * The approximate heap size of a task attribute in bytes, used to weigh data that is retained to load attributes on
+	 * demand.
+	 */
+	private static final int ATTRIBUTE_SIZE = 128;
+
+	private static final String EXTENSION_TEMP = ".tmp"; //$NON-NLS-1$
+
+	private static final String EXTENSION_JOURNAL = ".journal"; //$NON-NLS-1$
+
+	/**
+	 * The size in bytes after which the journal is merged into the archive.
+	 */
+	private static final long MAX_JOURNAL_SIZE = 256 * 1024;
+
+	/**
+	 * The size of the stamp at the start of a journal that identifies the archive the journal applies to.
+	 */
+	private static final int JOURNAL_HEADER_SIZE = 16;
+
+	private static final int LOCK_STRIPES = 64;
+
 	private final TaskDataExternalizer externalizer;
 
+	private final Striped<Lock> locks = Striped.lock(LOCK_STRIPES);
+
+	private final Cache<File, TaskDataState> cache;
+
+	private volatile boolean journalEdits;
+
 	public TaskDataStore(IRepositoryManager taskRepositoryManager) {
+		this(taskRepositoryManager, DEFAULT_CACHE_WEIGHT);
+	}
+
+	/**
+	 * @param maximumCacheWeight
+	 *            the maximum number of task attributes kept in parsed form, <code>0</code> disables caching
+	 */
+	public TaskDataStore(IRepositoryManager taskRepositoryManager, long maximumCacheWeight) {
 		this.externalizer = new TaskDataExternalizer(taskRepositoryManager);
+		this.cache = CacheBuilder.newBuilder()
+				.maximumWeight(maximumCacheWeight)
+				.weigher(new Weigher<File, TaskDataState>() {
+					public int weigh(File key, TaskDataState value) {
+						return getWeight(value);
+					}
+				})
+				.build();
 	}
 
-	public synchronized TaskDataState discardEdits(File file) throws CoreException {
-		TaskDataState state = readState(file);
-		if (state != null) {
-			state.setEditsData(null);
+	public TaskDataState discardEdits(File file) throws CoreException {
+		Lock lock = lock(file);
+		try {
+			TaskDataState state = readState(file);
+			if (state != null) {
+				state.setEditsData(null);
+			}
+			writeState(file, state);
+			return state;
+		} finally {
+			lock.unlock();
 		}
-		writeState(file, state);
-		return state;
 	}
 
-	public synchronized TaskDataState getTaskDataState(File file) throws CoreException {
-		return readState(file);
+	public TaskDataState getTaskDataState(File file) throws CoreException {
+		Lock lock = lock(file);
+		try {
+			return readState(file);
+		} finally {
+			lock.unlock();
+		}
 	}
 
-	public synchronized void putEdits(File file, TaskData data) throws CoreException {
+	public void putEdits(File file, TaskData data) throws CoreException {
 		Assert.isNotNull(file);
 		Assert.isNotNull(data);
-		TaskDataState state = readState(file);
-		if (state == null) {
-			state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
+		Lock lock = lock(file);
+		try {
+			TaskDataState state = readState(file);
+			if (state == null) {
+				state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
+			}
+			state.setEditsData(data);
+			if (journalEdits) {
+				writeEdits(file, state, data);
+			} else {
+				writeState(file, state);
+			}
+		} finally {
+			lock.unlock();
 		}
-		state.setEditsData(data);
-		writeState(file, state);
 	}
 
-	public synchronized TaskDataState putTaskData(File file, TaskData data, boolean setLastRead, boolean user)
+	public TaskDataState putTaskData(File file, TaskData data, boolean setLastRead, boolean user)
 			throws CoreException {
 		Assert.isNotNull(file);
 		Assert.isNotNull(data);
-		TaskDataState state = null;
+		Lock lock = lock(file);
 		try {
-			state = readState(file);
-		} catch (CoreException e) {
-			if (!user) {
-				throw new CoreException(
-						new Status(
-								IStatus.ERROR,
-								ITasksCoreConstants.ID_PLUGIN,
-								"Reading of existing task data failed. Forcing synchronization will override outgoing changes.", //$NON-NLS-1$
-								e));
+			TaskDataState state = null;
+			try {
+				state = readState(file);
+			} catch (CoreException e) {
+				if (!user) {
+					throw new CoreException(
+							new Status(
+									IStatus.ERROR,
+									ITasksCoreConstants.ID_PLUGIN,
+									"Reading of existing task data failed. Forcing synchronization will override outgoing changes.", //$NON-NLS-1$
+									e));
+				}
 			}
+			if (state == null) {
+				state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
+			}
+			if (setLastRead) {
+				state.setLastReadData(state.getRepositoryData());
+			}
+			state.setRepositoryData(data);
+			writeState(file, state);
+			return state;
+		} finally {
+			lock.unlock();
 		}
-		if (state == null) {
-			state = new TaskDataState(data.getConnectorKind(), data.getRepositoryUrl(), data.getTaskId());
-		}
-		if (setLastRead) {
-			state.setLastReadData(state.getRepositoryData());
-		}
-		state.setRepositoryData(data);
-		writeState(file, state);
-		return state;
 	}
 
-	public synchronized TaskDataState setTaskData(File file, TaskData data) throws CoreException {
+	public TaskDataState setTaskData(File file, TaskData data) throws CoreException {
 		Assert.isNotNull(file);
 		Assert.isNotNull(data);
 
@@ -106,14 +213,28 @@ public class TaskDataStore {
 		state.setRepositoryData(data);
 		state.setEditsData(null);
 		state.setLastReadData(data);
-		writeState(file, state);
+		Lock lock = lock(file);
+		try {
+			writeState(file, state);
+		} finally {
+			lock.unlock();
+		}
 		return state;
 	}
 
-	private TaskDataState readStateInternal(File file, boolean xml11) throws IOException, SAXException {
-		ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(file)));
+	/**
+	 * Provides the input stream for parsing a state. Streams may need to be opened twice if the first attempt to parse
+	 * fails.
+	 */
+	private interface StateSource {
+
+		InputStream open() throws IOException;
+
+	}
+
+	private TaskDataState readStateInternal(StateSource source, boolean xml11) throws IOException, SAXException {
+		InputStream in = source.open();
 		try {
-			in.getNextEntry();
 			// bug 268456: When TaskData that contains C0 control characters is written to disk using XML 1.0 reading it back 
 			// in fails with a SAXException. The XML 1.1 standard allows C0 entities but fails if C1 entities. If C0 control 
 			// characters are detected while parsing file as XML 1.0 a second attempt is made using XML 1.1. If the file contains 
@@ -128,25 +249,72 @@ public class TaskDataStore {
 		}
 	}
 
+	private TaskDataState parseState(StateSource source) throws IOException {
+		try {
+			try {
+				return readStateInternal(source, false);
+			} catch (SAXException e) {
+				// bug 268456: if reading fails, try again using a different XML version
+				if (e.getMessage() != null
+						&& (e.getMessage().contains("invalid XML character") || e.getMessage().contains(" \"&#"))) { //$NON-NLS-1$ //$NON-NLS-2$
+					return readStateInternal(source, true);
+				} else {
+					throw e;
+				}
+			}
+		} catch (SAXException e) {
+			throw new IOException("Error parsing task data: " + e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+	private TaskDataState parseArchive(final File file, Format format) throws IOException {
+		if (format == Format.BINARY) {
+			InputStream in = new BufferedInputStream(new FileInputStream(file));
+			try {
+				return externalizer.readBinaryState(in);
+			} finally {
+				in.close();
+			}
+		}
+		return parseState(new StateSource() {
+			public InputStream open() throws IOException {
+				ZipInputStream in = new ZipInputStream(new BufferedInputStream(new FileInputStream(file)));
+				in.getNextEntry();
+				return in;
+			}
+		});
+	}
+
+	/**
+	 * Returns a copy of the state stored in <code>file</code> that may be modified by the caller. Must be invoked while
+	 * holding the lock for <code>file</code>.
+	 */
 	private TaskDataState readState(File file) throws CoreException {
+		TaskDataState cachedState = cache.getIfPresent(file);
+		if (cachedState != null) {
+			return createView(cachedState);
+		}
+		TaskDataState state = readStateFromDisk(file);
+		if (state != null) {
+			cache.put(file, copyState(state));
+		}
+		return state;
+	}
+
+	private TaskDataState readStateFromDisk(File file) throws CoreException {
 		try {
+			if (!file.exists()) {
+				recover(file);
+			}
 			if (file.exists()) {
-				try {
-					try {
-						return readStateInternal(file, false);
-					} catch (SAXException e) {
-						// bug 268456: if reading fails, try again using a different XML version
-						if (e.getMessage() != null
-								&& (e.getMessage().contains("invalid XML character") || e.getMessage().contains(" \"&#"))) { //$NON-NLS-1$ //$NON-NLS-2$
-							return readStateInternal(file, true);
-						} else {
-							throw e;
-						}
+				TaskDataState state = parseArchive(file, getFormat(file));
+				if (state != null) {
+					TaskData edits = readJournal(file);
+					if (edits != null) {
+						state.setEditsData(edits);
 					}
-
-				} catch (SAXException e) {
-					throw new IOException("Error parsing task data: " + e.getMessage()); //$NON-NLS-1$
 				}
+				return state;
 			}
 			return null;
 		} catch (IOException e) {
@@ -155,16 +323,128 @@ public class TaskDataStore {
 		}
 	}
 
+	/**
+	 * Restores a complete temporary file that was not moved into place due to a crash. This can only happen on file
+	 * systems that do not support replacing an existing file through a rename.
+	 */
+	private void recover(File file) {
+		File tempFile = getTempFile(file);
+		if (tempFile.exists()) {
+			try {
+				parseArchive(tempFile, getFormat(file));
+			} catch (IOException e) {
+				// incomplete write
+				tempFile.delete();
+				return;
+			}
+			tempFile.renameTo(file);
+		}
+	}
+
+	/**
+	 * Must be invoked while holding the lock for <code>file</code>.
+	 */
 	private void writeState(File file, TaskDataState state) throws CoreException {
+		// invalidate first to ensure that a failed write does not leave a stale entry behind
+		cache.invalidate(file);
 		try {
-			ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+			// write to a temporary file first to ensure that a crash never leaves a truncated archive behind
+			File tempFile = getTempFile(file);
+			FileOutputStream fileOut = new FileOutputStream(tempFile);
 			try {
-				out.setMethod(ZipOutputStream.DEFLATED);
+				if (getFormat(file) == Format.BINARY) {
+					BufferedOutputStream out = new BufferedOutputStream(fileOut);
+					externalizer.writeBinaryState(out, state);
+					out.flush();
+					fileOut.getFD().sync();
+				} else {
+					ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(fileOut));
+					try {
+						out.setMethod(ZipOutputStream.DEFLATED);
 
-				ZipEntry entry = new ZipEntry(FILE_NAME_INTERNAL);
-				out.putNextEntry(entry);
+						ZipEntry entry = new ZipEntry(FILE_NAME_INTERNAL);
+						out.putNextEntry(entry);
 
-				externalizer.writeState(out, state);
+						externalizer.writeState(out, state);
+
+						out.finish();
+						out.flush();
+						fileOut.getFD().sync();
+					} finally {
+						out.close();
+					}
+				}
+			} finally {
+				fileOut.close();
+			}
+			if (getJournalFile(file).exists()) {
+				advanceStamp(tempFile, file);
+			}
+			move(tempFile, file);
+			// the archive now includes all edits, a journal that is left behind no longer matches the archive and is
+			// ignored when reading
+			getJournalFile(file).delete();
+		} catch (IOException e) {
+			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Error writing task data", //$NON-NLS-1$
+					e));
+		}
+		if (state != null) {
+			cache.put(file, copyState(state));
+		}
+	}
+
+	private void move(File source, File target) throws IOException {
+		if (!source.renameTo(target)) {
+			// some platforms do not support replacing an existing file, the temporary file is restored by recover() in 
+			// case of a crash before the rename completes 
+			target.delete();
+			if (!source.renameTo(target)) {
+				throw new IOException("Failed to move \"" + source + "\" to \"" + target + "\""); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+		}
+	}
+
+	/**
+	 * Appends <code>edits</code> to the journal of <code>file</code> unless the journal has grown too large, in which
+	 * case <code>state</code> is written in full. The journal starts with the stamp of the archive it applies to, a
+	 * journal that was created for a different archive is replaced. Must be invoked while holding the lock for
+	 * <code>file</code>.
+	 */
+	private void writeEdits(File file, TaskDataState state, TaskData edits) throws CoreException {
+		File journalFile = getJournalFile(file);
+		if (!file.exists() || journalFile.length() > MAX_JOURNAL_SIZE) {
+			writeState(file, state);
+			return;
+		}
+
+		cache.invalidate(file);
+		try {
+			TaskDataState record = new TaskDataState(state.getConnectorKind(), state.getRepositoryUrl(),
+					state.getTaskId());
+			record.setEditsData(edits);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DeflaterOutputStream deflater = new DeflaterOutputStream(bytes);
+			externalizer.writeState(deflater, record);
+			deflater.close();
+
+			long[] stamp = getStamp(file);
+			boolean append = Arrays.equals(stamp, readStamp(journalFile));
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.size() + JOURNAL_HEADER_SIZE + 4);
+			DataOutputStream data = new DataOutputStream(buffer);
+			if (!append) {
+				data.writeLong(stamp[0]);
+				data.writeLong(stamp[1]);
+			}
+			data.writeInt(bytes.size());
+			bytes.writeTo(data);
+			data.flush();
+
+			FileOutputStream out = new FileOutputStream(journalFile, append);
+			try {
+				// a single write to keep the window for partially written records small, incomplete records are
+				// skipped when reading; the journal is not synced since losing the latest edits leaves the archive
+				// consistent
+				buffer.writeTo(out);
 			} finally {
 				out.close();
 			}
@@ -172,6 +452,144 @@ public class TaskDataStore {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Error writing task data", //$NON-NLS-1$
 					e));
 		}
+		cache.put(file, copyState(state));
+	}
+
+	/**
+	 * Returns the edits of the last complete record in the journal of <code>file</code> or <code>null</code>, if the
+	 * journal does not exist or does not apply to the archive, e.g. if a crash prevented the journal from being
+	 * removed after the archive was written.
+	 */
+	private TaskData readJournal(File file) throws IOException {
+		File journalFile = getJournalFile(file);
+		if (!journalFile.exists() || !Arrays.equals(getStamp(file), readStamp(journalFile))) {
+			return null;
+		}
+		byte[] lastRecord = null;
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
+		try {
+			in.skipBytes(JOURNAL_HEADER_SIZE);
+			long remaining = journalFile.length() - JOURNAL_HEADER_SIZE;
+			while (remaining >= 4) {
+				int length = in.readInt();
+				remaining -= 4;
+				if (length < 0 || length > remaining) {
+					// truncated record
+					break;
+				}
+				byte[] record = new byte[length];
+				in.readFully(record);
+				remaining -= length;
+				lastRecord = record;
+			}
+		} finally {
+			in.close();
+		}
+		if (lastRecord == null) {
+			return null;
+		}
+		final byte[] bytes = lastRecord;
+		TaskDataState state = parseState(new StateSource() {
+			public InputStream open() throws IOException {
+				return new InflaterInputStream(new ByteArrayInputStream(bytes));
+			}
+		});
+		return (state != null) ? state.getEditsData() : null;
+	}
+
+	/**
+	 * Returns the length and modification time of <code>file</code> that identify the archive a journal applies to.
+	 */
+	private long[] getStamp(File file) {
+		return new long[] { file.length(), file.lastModified() };
+	}
+
+	/**
+	 * Ensures that the stamp of <code>tempFile</code> differs from the stamp of the archive <code>file</code> it
+	 * replaces. File systems with a coarse timestamp resolution may report the same modification time for consecutive
+	 * writes which would otherwise cause a journal that is left behind by a crash to be applied to the new archive.
+	 */
+	private void advanceStamp(File tempFile, File file) {
+		long lastModified = file.lastModified();
+		if (tempFile.length() == file.length() && tempFile.lastModified() <= lastModified) {
+			tempFile.setLastModified(lastModified + 1000);
+		}
+	}
+
+	/**
+	 * Returns the stamp of the archive <code>journalFile</code> applies to or <code>null</code>, if the journal does
+	 * not exist or is incomplete.
+	 */
+	private long[] readStamp(File journalFile) throws IOException {
+		if (journalFile.length() < JOURNAL_HEADER_SIZE) {
+			return null;
+		}
+		DataInputStream in = new DataInputStream(new FileInputStream(journalFile));
+		try {
+			return new long[] { in.readLong(), in.readLong() };
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Returns the format of <code>file</code>, determined by the extension.
+	 */
+	public static Format getFormat(File file) {
+		return (file.getName().endsWith(EXTENSION_BINARY)) ? Format.BINARY : Format.XML;
+	}
+
+	private File getTempFile(File file) {
+		return new File(file.getParentFile(), file.getName() + EXTENSION_TEMP);
+	}
+
+	private File getJournalFile(File file) {
+		return new File(file.getParentFile(), file.getName() + EXTENSION_JOURNAL);
+	}
+
+	private Lock lock(File file) {
+		Lock lock = locks.get(file);
+		lock.lock();
+		return lock;
+	}
+
+	/**
+	 * Creates a deep copy of the persisted parts of <code>state</code>. Cached states are never handed out directly
+	 * since callers modify the returned task data.
+	 */
+	private static TaskDataState copyState(TaskDataState state) {
+		TaskDataState copy = new TaskDataState(state.getConnectorKind(), state.getRepositoryUrl(), state.getTaskId());
+		copy.setRepositoryData(TaskDataState.createCopy(state.getRepositoryData()));
+		copy.setLastReadData(TaskDataState.createCopy(state.getLastReadData()));
+		copy.setEditsData(TaskDataState.createCopy(state.getEditsData()));
+		return copy;
+	}
+
+	/**
+	 * Creates a copy of a cached state that copies attributes when they are accessed, which is significantly cheaper
+	 * than {@link #copyState(TaskDataState)} for callers that only access a few attributes.
+	 */
+	private static TaskDataState createView(TaskDataState state) {
+		TaskDataState copy = new TaskDataState(state.getConnectorKind(), state.getRepositoryUrl(), state.getTaskId());
+		copy.setRepositoryData(TaskAttributeCopyLoader.createView(state.getRepositoryData()));
+		copy.setLastReadData(TaskAttributeCopyLoader.createView(state.getLastReadData()));
+		copy.setEditsData(TaskAttributeCopyLoader.createView(state.getEditsData()));
+		return copy;
+	}
+
+	private static int getWeight(TaskDataState state) {
+		return 1 + getWeight(state.getRepositoryData()) + getWeight(state.getLastReadData())
+				+ getWeight(state.getEditsData());
+	}
+
+	private static int getWeight(TaskData data) {
+		if (data == null) {
+			return 0;
+		}
+		// attributes that have not been loaded are weighed without loading them, including the data retained to load
+		// them
+		long retainedSize = TaskAttributeCopyLoader.getRetainedSize(data.getRoot());
+		return 1 + TaskAttributeCopyLoader.countDescendants(data.getRoot()) + (int) (retainedSize / ATTRIBUTE_SIZE);
 	}
 
 //	public synchronized void putLastRead(File file, TaskData data) throws CoreException {
@@ -186,12 +604,75 @@ public class TaskDataStore {
 //		writeState(file, state);
 //	}
 
-	public synchronized void putTaskData(File file, TaskDataState state) throws CoreException {
-		writeState(file, state);
+	public void putTaskData(File file, TaskDataState state) throws CoreException {
+		Lock lock = lock(file);
+		try {
+			writeState(file, state);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public boolean deleteTaskData(File file) {
+		Lock lock = lock(file);
+		try {
+			cache.invalidate(file);
+			getJournalFile(file).delete();
+			getTempFile(file).delete();
+			return file.delete();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Moves the task data in <code>source</code> to <code>target</code>, converting it to the format of
+	 * <code>target</code>. Existing task data in <code>target</code> is replaced.
+	 * 
+	 * @return true, if the task data was moved; false, if <code>source</code> does not exist
+	 */
+	public boolean migrate(File source, File target) throws CoreException {
+		Assert.isNotNull(source);
+		Assert.isNotNull(target);
+		Iterable<Lock> sourceAndTargetLocks = locks.bulkGet(Arrays.asList(source, target));
+		for (Lock lock : sourceAndTargetLocks) {
+			lock.lock();
+		}
+		try {
+			TaskDataState state = readState(source);
+			if (state == null) {
+				return false;
+			}
+			writeState(target, state);
+			cache.invalidate(source);
+			getJournalFile(source).delete();
+			getTempFile(source).delete();
+			source.delete();
+			return true;
+		} finally {
+			for (Lock lock : sourceAndTargetLocks) {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * If enabled, {@link #putEdits(File, TaskData)} appends the edits to a journal next to the archive instead of
+	 * rewriting the archive. The journal is merged into the archive on the next full write.
+	 */
+	public void setJournalEdits(boolean journalEdits) {
+		this.journalEdits = journalEdits;
+	}
+
+	public boolean isJournalEdits() {
+		return journalEdits;
 	}
 
-	public synchronized boolean deleteTaskData(File file) {
-		return file.delete();
+	/**
+	 * Discards all cached task data states.
+	 */
+	public void clearCache() {
+		cache.invalidateAll();
 	}
 
 }
@@ -18,11 +18,11 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -193,8 +193,9 @@ public final class DelegatingTaskExternalizer {
 		Assert.isNotNull(repositoryManager);
 		this.repositoryModel = repositoryModel;
 		this.repositoryManager = repositoryManager;
-		this.parentCategoryMap = new HashMap<AbstractTask, String>();
-		this.errors = new ArrayList<IStatus>();
+		// tasks may be read concurrently, see TaskListExternalizer
+		this.parentCategoryMap = new ConcurrentHashMap<AbstractTask, String>();
+		this.errors = Collections.synchronizedList(new ArrayList<IStatus>());
 		this.migrators = Collections.emptyList();
 	}
 
@@ -470,6 +471,18 @@ public final class DelegatingTaskExternalizer {
 		}
 	}
 
+	/**
+	 * Activates <code>task</code> if <code>element</code> marks it as active and no task has been activated before.
+	 * Tasks may be read concurrently, hence this is invoked separately for each task in the order of the task list to
+	 * consistently activate the first active task.
+	 */
+	void readActivation(AbstractTask task, Element element) {
+		if (!taskActivated && element.getAttribute(KEY_ACTIVE).compareTo(VAL_TRUE) == 0) {
+			task.setActive(true);
+			taskActivated = true;
+		}
+	}
+
 	private void readAttributes(IAttributeContainer container, Element parent) {
 		NodeList list = parent.getChildNodes();
 		for (int i = 0; i < list.getLength(); i++) {
@@ -504,12 +517,8 @@ public final class DelegatingTaskExternalizer {
 		if (element.hasAttribute(KEY_KIND)) {
 			task.setTaskKind(element.getAttribute(KEY_KIND));
 		}
-		if (!taskActivated && element.getAttribute(KEY_ACTIVE).compareTo(VAL_TRUE) == 0) {
-			task.setActive(true);
-			taskActivated = true;
-		} else {
-			task.setActive(false);
-		}
+		// tasks are activated by readActivation() in the order of the task list
+		task.setActive(false);
 		if (element.hasAttribute(KEY_ISSUEURL)) {
 			task.setUrl(element.getAttribute(KEY_ISSUEURL));
 		} else {
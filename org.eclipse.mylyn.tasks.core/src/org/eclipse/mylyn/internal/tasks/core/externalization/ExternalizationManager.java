@@ -211,6 +211,8 @@ public class ExternalizationManager {
 
 					boolean fullSave = isFullSavePending;
 					isFullSavePending = false;
+					// participants may skip cached data unless the context requests a full save
+					context = new ExternalizationContext(Kind.SAVE, context.getRootPath(), fullSave);
 
 					for (IExternalizationParticipant participant : externalizationParticipants) {
 						ISchedulingRule rule = participant.getSchedulingRule();
@@ -247,9 +249,16 @@ public class ExternalizationManager {
 
 		private final String rootPath;
 
+		private final boolean fullSave;
+
 		public ExternalizationContext(IExternalizationContext.Kind kind, String rootPath) {
+			this(kind, rootPath, false);
+		}
+
+		public ExternalizationContext(IExternalizationContext.Kind kind, String rootPath, boolean fullSave) {
 			this.kind = kind;
 			this.rootPath = rootPath;
+			this.fullSave = fullSave;
 		}
 
 		public Kind getKind() {
@@ -259,6 +268,10 @@ public class ExternalizationManager {
 		public String getRootPath() {
 			return rootPath;
 		}
+
+		public boolean isFullSave() {
+			return fullSave;
+		}
 	}
 
 }
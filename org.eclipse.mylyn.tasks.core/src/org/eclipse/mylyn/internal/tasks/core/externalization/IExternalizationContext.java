@@ -23,4 +23,10 @@ public interface IExternalizationContext {
 	public abstract Kind getKind();
 
 	public abstract String getRootPath();
+
+	/**
+	 * Returns true, if all data should be written regardless of any cached state, e.g. when the workbench is shutting
+	 * down. Only applies to contexts of kind {@link Kind#SAVE}.
+	 */
+	public abstract boolean isFullSave();
 }
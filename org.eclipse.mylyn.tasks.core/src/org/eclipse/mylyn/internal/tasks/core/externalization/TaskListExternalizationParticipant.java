@@ -26,6 +26,7 @@ import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta;
 import org.eclipse.mylyn.internal.tasks.core.TaskList;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
 import org.eclipse.mylyn.internal.tasks.core.UnmatchedTaskContainer;
+import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.eclipse.mylyn.tasks.core.ITask;
 import org.eclipse.mylyn.tasks.core.ITaskActivationListener;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
@@ -58,6 +59,8 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 		this.taskList = taskList;
 		this.taskListWriter = taskListExternalizer;
 		this.taskRepositoryManager = repositoryManager;
+		// elements are invalidated through task list deltas, only modified elements are serialized again on save
+		this.taskListWriter.setCacheEnabled(true);
 	}
 
 	@Override
@@ -70,6 +73,15 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 		return dirty;
 	}
 
+	@Override
+	public void execute(IExternalizationContext context, IProgressMonitor monitor) throws CoreException {
+		if (context.getKind() == IExternalizationContext.Kind.SAVE && context.isFullSave()) {
+			// serialize all elements on shutdown in case an element was modified without a corresponding delta
+			taskListWriter.invalidateAll();
+		}
+		super.execute(context, monitor);
+	}
+
 	@Override
 	public void load(final File sourceFile, IProgressMonitor monitor) throws CoreException {
 		ITaskListRunnable loadRunnable = new ITaskListRunnable() {
@@ -144,13 +156,29 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 	}
 
 	public void containersChanged(Set<TaskContainerDelta> containers) {
+		boolean changed = false;
 		for (TaskContainerDelta taskContainerDelta : containers) {
+			// transient changes are not saved immediately but may still affect the persisted state of an element
+			invalidate(taskContainerDelta);
 			if (!taskContainerDelta.isTransient()) {
-				synchronized (TaskListExternalizationParticipant.this) {
-					dirty = true;
-				}
-				manager.requestSave();
-				return;
+				changed = true;
+			}
+		}
+		if (changed) {
+			synchronized (TaskListExternalizationParticipant.this) {
+				dirty = true;
+			}
+			manager.requestSave();
+		}
+	}
+
+	private void invalidate(TaskContainerDelta delta) {
+		if (delta.getKind() == TaskContainerDelta.Kind.ROOT || delta.getElement() == null) {
+			taskListWriter.invalidateAll();
+		} else {
+			taskListWriter.invalidate(delta.getElement());
+			if (delta.getParent() instanceof IRepositoryElement) {
+				taskListWriter.invalidate((IRepositoryElement) delta.getParent());
 			}
 		}
 	}
@@ -166,6 +194,7 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 	}
 
 	public void taskActivated(ITask task) {
+		taskListWriter.invalidate(task);
 		synchronized (TaskListExternalizationParticipant.this) {
 			dirty = true;
 		}
@@ -174,6 +203,7 @@ public class TaskListExternalizationParticipant extends AbstractExternalizationP
 	}
 
 	public void taskDeactivated(ITask task) {
+		taskListWriter.invalidate(task);
 		synchronized (TaskListExternalizationParticipant.this) {
 			dirty = true;
 		}
@@ -13,16 +13,30 @@
 
 package org.eclipse.mylyn.internal.tasks.core.externalization;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -30,16 +44,11 @@ import java.util.zip.ZipOutputStream;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
@@ -48,12 +57,23 @@ import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.ITransferList;
 import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
 import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
+import org.eclipse.mylyn.internal.tasks.core.XmlReaderUtil;
 import org.eclipse.mylyn.tasks.core.AbstractTaskListMigrator;
+import org.eclipse.mylyn.tasks.core.IRepositoryElement;
 import org.eclipse.mylyn.tasks.core.IRepositoryManager;
+import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * @author Mik Kersten
@@ -63,7 +83,7 @@ public class TaskListExternalizer {
 
 	private static final String ERROR_TASKLIST_READ = "Failed to load Task List"; //$NON-NLS-1$
 
-	private static final String TRANSFORM_PROPERTY_VERSION = "version"; //$NON-NLS-1$
+	private static final String CHARSET = "UTF-8"; //$NON-NLS-1$
 
 	// May 2007: There was a bug when reading in 1.1
 	// Result was an infinite loop within the parser
@@ -89,6 +109,14 @@ public class TaskListExternalizer {
 
 	private String readVersion = ""; //$NON-NLS-1$
 
+	private final Map<String, byte[]> fragmentCache = new ConcurrentHashMap<String, byte[]>();
+
+	private final AtomicLong invalidationCount = new AtomicLong();
+
+	private volatile boolean cacheEnabled;
+
+	private int readThreadCount = Runtime.getRuntime().availableProcessors();
+
 	public TaskListExternalizer(RepositoryModel repositoryModel, IRepositoryManager repositoryManager) {
 		this.delegatingExternalizer = new DelegatingTaskExternalizer(repositoryModel, repositoryManager);
 		try {
@@ -104,21 +132,71 @@ public class TaskListExternalizer {
 		this.delegatingExternalizer.initialize(migrators);
 	}
 
+	/**
+	 * Enables caching of the serialized representation of task list elements. If enabled, callers are responsible for
+	 * invoking {@link #invalidate(IRepositoryElement)} whenever the persisted state of an element changes.
+	 */
+	public void setCacheEnabled(boolean cacheEnabled) {
+		this.cacheEnabled = cacheEnabled;
+		if (!cacheEnabled) {
+			invalidateAll();
+		}
+	}
+
+	public boolean isCacheEnabled() {
+		return cacheEnabled;
+	}
+
+	/**
+	 * Sets the number of threads that create tasks while the task list is read. If <code>threadCount</code> is 1, tasks
+	 * are created by the thread that parses the task list. Defaults to the number of available processors.
+	 */
+	public void setReadThreadCount(int threadCount) {
+		Assert.isLegal(threadCount > 0);
+		this.readThreadCount = threadCount;
+	}
+
+	public int getReadThreadCount() {
+		return readThreadCount;
+	}
+
+	/**
+	 * Discards the cached representation of <code>element</code>.
+	 */
+	public void invalidate(IRepositoryElement element) {
+		invalidationCount.incrementAndGet();
+		fragmentCache.remove(getCacheKey(element));
+	}
+
+	public void invalidateAll() {
+		invalidationCount.incrementAndGet();
+		fragmentCache.clear();
+	}
+
+	private String getCacheKey(IRepositoryElement element) {
+		if (element instanceof ITask) {
+			return "task:" + element.getHandleIdentifier(); //$NON-NLS-1$
+		} else if (element instanceof IRepositoryQuery) {
+			return "query:" + element.getHandleIdentifier(); //$NON-NLS-1$
+		} else {
+			return "category:" + element.getHandleIdentifier(); //$NON-NLS-1$
+		}
+	}
+
 	public void writeTaskList(ITransferList taskList, File outFile) throws CoreException {
 		try {
 			FileOutputStream outStream = new FileOutputStream(outFile);
 			try {
-				Document doc = createTaskListDocument(taskList);
-
 				ZipOutputStream zipOutStream = new ZipOutputStream(outStream);
 
 				ZipEntry zipEntry = new ZipEntry(ITasksCoreConstants.OLD_TASK_LIST_FILE);
 				zipOutStream.putNextEntry(zipEntry);
 				zipOutStream.setMethod(ZipOutputStream.DEFLATED);
 
-				writeDocument(doc, zipOutStream);
+				OutputStream out = new BufferedOutputStream(zipOutStream);
+				writeTaskList(taskList, out);
+				out.flush();
 
-				zipOutStream.flush();
 				zipOutStream.closeEntry();
 				zipOutStream.finish();
 			} finally {
@@ -130,71 +208,92 @@ public class TaskListExternalizer {
 		}
 	}
 
-	private Document createTaskListDocument(ITransferList taskList) throws CoreException {
-		Document doc = createDocument();
+	/**
+	 * Streams the task list to <code>out</code>. Each element is created through the {@link DelegatingTaskExternalizer}
+	 * in a scratch document and serialized immediately hence only a single element is held in memory at a time.
+	 */
+	private void writeTaskList(ITransferList taskList, OutputStream out) throws CoreException, IOException {
+		FragmentWriter writer = new FragmentWriter(createDocument());
 
 		delegatingExternalizer.clearErrorStatus();
 
-		Element root = doc.createElement(ELEMENT_TASK_LIST);
-		root.setAttribute(ATTRIBUTE_VERSION, VALUE_VERSION);
-		doc.appendChild(root);
+		out.write(("<?xml version=\"" + XML_VERSION + "\" encoding=\"" + CHARSET + "\" standalone=\"no\"?>" //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+				+ "<" + ELEMENT_TASK_LIST + " " + ATTRIBUTE_VERSION + "=\"" + VALUE_VERSION + "\">").getBytes(CHARSET)); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
 
-		// create task nodes...
+		// write task nodes...
 		for (AbstractTask task : taskList.getAllTasks()) {
-			delegatingExternalizer.createTaskElement(task, doc, root);
+			byte[] fragment = getCachedFragment(task);
+			if (fragment == null) {
+				long stamp = invalidationCount.get();
+				fragment = writer.write(delegatingExternalizer.createTaskElement(task, writer.getDocument(),
+						writer.getRoot()));
+				putCachedFragment(task, fragment, stamp);
+			}
+			out.write(fragment);
 		}
 
-		// create the category nodes...
+		// write the category nodes...
 		for (AbstractTaskCategory category : taskList.getCategories()) {
-			delegatingExternalizer.createCategoryElement(category, doc, root);
+			byte[] fragment = getCachedFragment(category);
+			if (fragment == null) {
+				long stamp = invalidationCount.get();
+				fragment = writer.write(delegatingExternalizer.createCategoryElement(category, writer.getDocument(),
+						writer.getRoot()));
+				putCachedFragment(category, fragment, stamp);
+			}
+			out.write(fragment);
 		}
 
-		// create query nodes...
+		// write query nodes...
 		for (RepositoryQuery query : taskList.getQueries()) {
-			delegatingExternalizer.createQueryElement(query, doc, root);
+			byte[] fragment = getCachedFragment(query);
+			if (fragment == null) {
+				long stamp = invalidationCount.get();
+				fragment = writer.write(delegatingExternalizer.createQueryElement(query, writer.getDocument(),
+						writer.getRoot()));
+				putCachedFragment(query, fragment, stamp);
+			}
+			out.write(fragment);
 		}
 
 		// Persist orphaned tasks...
 		for (Node node : orphanedNodes) {
-			Node tempNode = doc.importNode(node, true);
-			if (tempNode != null) {
-				root.appendChild(tempNode);
-			}
+			out.write(writer.write(node));
 		}
 
+		out.write(("</" + ELEMENT_TASK_LIST + ">").getBytes(CHARSET)); //$NON-NLS-1$ //$NON-NLS-2$
+
 		if (delegatingExternalizer.getErrorStatus() != null) {
 			StatusHandler.log(delegatingExternalizer.getErrorStatus());
 		}
+	}
 
-		return doc;
+	private byte[] getCachedFragment(IRepositoryElement element) {
+		return (cacheEnabled) ? fragmentCache.get(getCacheKey(element)) : null;
 	}
 
-	private void writeDocument(Document doc, OutputStream outputStream) throws CoreException {
-		Source source = new DOMSource(doc);
-		Result result = new StreamResult(outputStream);
-		try {
-			Transformer xformer = TransformerFactory.newInstance().newTransformer();
-			xformer.setOutputProperty(TRANSFORM_PROPERTY_VERSION, XML_VERSION);
-			xformer.transform(source, result);
-		} catch (TransformerException e) {
-			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Failed write task list", //$NON-NLS-1$
-					e));
+	private void putCachedFragment(IRepositoryElement element, byte[] fragment, long stamp) {
+		// skip elements that may have been modified while they were serialized
+		if (cacheEnabled && fragment.length > 0 && invalidationCount.get() == stamp) {
+			fragmentCache.put(getCacheKey(element), fragment);
 		}
 	}
 
 	private Document createDocument() throws CoreException {
+		return createDocumentBuilder().newDocument();
+	}
+
+	private DocumentBuilder createDocumentBuilder() throws CoreException {
 		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-		DocumentBuilder db;
 		try {
-			db = dbf.newDocumentBuilder();
-			return db.newDocument();
+			return dbf.newDocumentBuilder();
 		} catch (ParserConfigurationException e) {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
 					"Failed to create document", e)); //$NON-NLS-1$
 		}
 	}
 
-	public void readTaskList(ITransferList taskList, File inFile) throws CoreException {
+	public void readTaskList(final ITransferList taskList, File inFile) throws CoreException {
 		if (!inFile.exists()) {
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
 					"Task list file not found \"" + inFile.getAbsolutePath() + "\"")); //$NON-NLS-1$ //$NON-NLS-2$
@@ -214,33 +313,63 @@ public class TaskListExternalizer {
 					"Failed to create document for orphaned nodes", e)); //$NON-NLS-1$
 		}
 
-		Document doc = openTaskList(inFile);
-		Element root = doc.getDocumentElement();
-		readVersion = root.getAttribute(ATTRIBUTE_VERSION);
-		if (readVersion.equals(VALUE_VERSION_1_0_0)) {
-			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Task list version \"" //$NON-NLS-1$
-					+ readVersion + "\" not supported")); //$NON-NLS-1$
-		}
+		invalidateAll();
 
-		NodeList list = root.getChildNodes();
+		final List<Node> queryNodes = new ArrayList<Node>();
+		final List<Node> categoryNodes = new ArrayList<Node>();
+		final List<TaskReader> taskReaders = new ArrayList<TaskReader>();
+		// create tasks on worker threads while parsing, the task list is only modified by this thread once all tasks
+		// are read
+		final ExecutorService executor = (readThreadCount > 1) ? Executors.newFixedThreadPool(readThreadCount,
+				new ReaderThreadFactory()) : null;
+		String version;
+		try {
+			version = readTaskListElements(inFile, new ElementHandler() {
+				public void handleElement(Element child) throws CoreException {
+					if (child.getNodeName().endsWith(DelegatingTaskExternalizer.KEY_CATEGORY)) {
+						categoryNodes.add(child);
+					} else if (child.getNodeName().endsWith(DelegatingTaskExternalizer.KEY_QUERY)) {
+						queryNodes.add(child);
+					} else {
+						TaskReader reader = new TaskReader(child);
+						if (executor != null && DelegatingTaskExternalizer.NODE_TASK.equals(child.getNodeName())) {
+							executor.execute(reader);
+						} else {
+							// legacy tasks are processed by migrators which are not required to be thread-safe
+							reader.run();
+						}
+						taskReaders.add(reader);
+					}
+				}
+			});
+		} catch (CoreException e) {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			throw e;
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+		readVersion = version;
 
-		// read tasks
+		// add tasks in the order of the task list
 		Map<AbstractTask, NodeList> tasksWithSubtasks = new HashMap<AbstractTask, NodeList>();
-		for (int i = 0; i < list.getLength(); i++) {
-			Node child = list.item(i);
-			if (!child.getNodeName().endsWith(DelegatingTaskExternalizer.KEY_CATEGORY)
-					&& !child.getNodeName().endsWith(DelegatingTaskExternalizer.KEY_QUERY)) {
-				AbstractTask task = delegatingExternalizer.readTask(child, null, null);
-				if (task != null) {
-					taskList.addTask(task);
-					if (child.getChildNodes() != null && child.getChildNodes().getLength() > 0) {
-						tasksWithSubtasks.put(task, child.getChildNodes());
-					}
-				} else {
-					addOrphan(child);
+		for (TaskReader reader : taskReaders) {
+			Element child = reader.getElement();
+			AbstractTask task = reader.getTask();
+			if (task != null) {
+				delegatingExternalizer.readActivation(task, child);
+				taskList.addTask(task);
+				if (child.getChildNodes() != null && child.getChildNodes().getLength() > 0) {
+					tasksWithSubtasks.put(task, child.getChildNodes());
 				}
+			} else {
+				addOrphan(child);
 			}
 		}
+
 		// create subtask hierarchy
 		for (AbstractTask task : tasksWithSubtasks.keySet()) {
 			NodeList nodes = tasksWithSubtasks.get(task);
@@ -248,27 +377,21 @@ public class TaskListExternalizer {
 		}
 
 		// read queries
-		for (int i = 0; i < list.getLength(); i++) {
-			Node child = list.item(i);
-			if (child.getNodeName().endsWith(DelegatingTaskExternalizer.KEY_QUERY)) {
-				RepositoryQuery query = delegatingExternalizer.readQuery(child);
-				if (query != null) {
-					taskList.addQuery(query);
-					if (child.getChildNodes() != null && child.getChildNodes().getLength() > 0) {
-						delegatingExternalizer.readTaskReferences(query, child.getChildNodes(), taskList);
-					}
-				} else {
-					addOrphan(child);
+		for (Node child : queryNodes) {
+			RepositoryQuery query = delegatingExternalizer.readQuery(child);
+			if (query != null) {
+				taskList.addQuery(query);
+				if (child.getChildNodes() != null && child.getChildNodes().getLength() > 0) {
+					delegatingExternalizer.readTaskReferences(query, child.getChildNodes(), taskList);
 				}
+			} else {
+				addOrphan(child);
 			}
 		}
 
 		// Read Categories
-		for (int i = 0; i < list.getLength(); i++) {
-			Node child = list.item(i);
-			if (child.getNodeName().endsWith(DelegatingTaskExternalizer.KEY_CATEGORY)) {
-				delegatingExternalizer.readCategory(child, taskList);
-			}
+		for (Node child : categoryNodes) {
+			delegatingExternalizer.readCategory(child, taskList);
 		}
 
 		// Legacy migration for task nodes that have the old Category handle on the element
@@ -296,15 +419,172 @@ public class TaskListExternalizer {
 		}
 	}
 
+	private interface ElementHandler {
+
+		public void handleElement(Element element) throws CoreException;
+
+	}
+
+	/**
+	 * Creates a task from a task list element. Each element is owned by a separate document, see
+	 * {@link TaskListContentHandler}, hence readers for different elements may run concurrently.
+	 */
+	private class TaskReader extends FutureTask<AbstractTask> {
+
+		private final Element element;
+
+		public TaskReader(final Element element) {
+			super(new Callable<AbstractTask>() {
+				public AbstractTask call() throws Exception {
+					return delegatingExternalizer.readTask(element, null, null);
+				}
+			});
+			this.element = element;
+		}
+
+		public Element getElement() {
+			return element;
+		}
+
+		/**
+		 * Waits for the task to be created.
+		 *
+		 * @return the task or null, if the element does not represent a valid task
+		 */
+		public AbstractTask getTask() throws CoreException {
+			try {
+				return get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof CoreException) {
+					throw (CoreException) e.getCause();
+				}
+				throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, ERROR_TASKLIST_READ,
+						e.getCause()));
+			}
+		}
+
+	}
+
+	private static class ReaderThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "Task List Reader #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+	/**
+	 * Builds a DOM element for each child of the task list root and passes it to <code>handler</code> as soon as the
+	 * element has been parsed. This avoids building a document for the entire task list. Each element is created in a
+	 * separate document since DOM implementations are not thread-safe, not even for concurrent reads of different
+	 * nodes of a document.
+	 */
+	private static class TaskListContentHandler extends DefaultHandler {
+
+		private final DocumentBuilder documentBuilder;
+
+		private Document document;
+
+		private final ElementHandler handler;
+
+		private Node current;
+
+		private int depth;
+
+		private String version;
+
+		private CoreException exception;
+
+		public TaskListContentHandler(DocumentBuilder documentBuilder, ElementHandler handler) {
+			this.documentBuilder = documentBuilder;
+			this.handler = handler;
+		}
+
+		@Override
+		public void startElement(String uri, String localName, String qName, Attributes attributes)
+				throws SAXException {
+			String name = (qName != null && qName.length() > 0) ? qName : localName;
+			depth++;
+			if (depth == 1) {
+				version = attributes.getValue(ATTRIBUTE_VERSION);
+				if (version == null) {
+					version = ""; //$NON-NLS-1$
+				}
+				if (version.equals(VALUE_VERSION_1_0_0)) {
+					exception = new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+							"Task list version \"" + version + "\" not supported")); //$NON-NLS-1$ //$NON-NLS-2$
+					throw new SAXException(exception);
+				}
+				return;
+			}
+
+			if (depth == 2) {
+				document = documentBuilder.newDocument();
+			}
+			Element element = document.createElement(name);
+			for (int i = 0; i < attributes.getLength(); i++) {
+				String attributeName = attributes.getQName(i);
+				if (attributeName == null || attributeName.length() == 0) {
+					attributeName = attributes.getLocalName(i);
+				}
+				element.setAttribute(attributeName, attributes.getValue(i));
+			}
+			if (current != null) {
+				current.appendChild(element);
+			}
+			current = element;
+		}
+
+		@Override
+		public void characters(char[] ch, int start, int length) throws SAXException {
+			if (current != null) {
+				current.appendChild(document.createTextNode(new String(ch, start, length)));
+			}
+		}
+
+		@Override
+		public void endElement(String uri, String localName, String qName) throws SAXException {
+			depth--;
+			if (depth == 1) {
+				Element element = (Element) current;
+				current = null;
+				try {
+					handler.handleElement(element);
+				} catch (CoreException e) {
+					exception = e;
+					throw new SAXException(e);
+				}
+			} else if (depth > 1) {
+				current = current.getParentNode();
+			}
+		}
+
+		public String getVersion() {
+			return version;
+		}
+
+		public CoreException getException() {
+			return exception;
+		}
+
+	}
+
 	/**
-	 * Opens the specified XML file and parses it into a DOM Document. Filename - the name of the file to open Return -
-	 * the Document built from the XML file Throws - XMLException if the file cannot be parsed as XML - IOException if
-	 * the file cannot be opened
+	 * Opens the specified XML file and passes each child of the root element to <code>handler</code> while the file
+	 * is parsed.
 	 * 
-	 * @throws CoreException
+	 * @return the version of the task list
 	 */
-	private Document openTaskList(File inputFile) throws CoreException {
+	private String readTaskListElements(File inputFile, ElementHandler handler) throws CoreException {
 		InputStream in = null;
+		TaskListContentHandler contentHandler = null;
 		try {
 			if (inputFile.getName().endsWith(ITasksCoreConstants.FILE_EXTENSION)) {
 				in = new ZipInputStream(new FileInputStream(inputFile));
@@ -323,10 +603,17 @@ public class TaskListExternalizer {
 				in = new FileInputStream(inputFile);
 			}
 
-			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-			DocumentBuilder builder = factory.newDocumentBuilder();
-			return builder.parse(in);
+			contentHandler = new TaskListContentHandler(createDocumentBuilder(), handler);
+			XMLReader reader = XmlReaderUtil.createXmlReader();
+			reader.setContentHandler(contentHandler);
+			reader.parse(new InputSource(new BufferedInputStream(in)));
+			return contentHandler.getVersion();
+		} catch (CoreException e) {
+			throw e;
 		} catch (Exception e) {
+			if (contentHandler != null && contentHandler.getException() != null) {
+				throw contentHandler.getException();
+			}
 			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, ERROR_TASKLIST_READ, e));
 		} finally {
 			if (in != null) {
@@ -340,4 +627,134 @@ public class TaskListExternalizer {
 		}
 	}
 
+	/**
+	 * Serializes DOM elements to UTF-8 encoded XML.
+	 */
+	private static class FragmentWriter {
+
+		private final Document document;
+
+		private final Element root;
+
+		private final ByteArrayOutputStream buffer;
+
+		private final Writer out;
+
+		public FragmentWriter(Document document) throws IOException {
+			this.document = document;
+			this.root = document.createElement(ELEMENT_TASK_LIST);
+			this.buffer = new ByteArrayOutputStream(1024);
+			this.out = new OutputStreamWriter(buffer, CHARSET);
+		}
+
+		public Document getDocument() {
+			return document;
+		}
+
+		/**
+		 * Returns the parent for elements that are passed to {@link #write(Node)}.
+		 */
+		public Element getRoot() {
+			return root;
+		}
+
+		public byte[] write(Node node) throws IOException {
+			if (node == null) {
+				return new byte[0];
+			}
+			try {
+				buffer.reset();
+				writeNode(node);
+				out.flush();
+				return buffer.toByteArray();
+			} finally {
+				if (node.getParentNode() == root) {
+					root.removeChild(node);
+				}
+			}
+		}
+
+		private void writeNode(Node node) throws IOException {
+			switch (node.getNodeType()) {
+			case Node.ELEMENT_NODE:
+				out.write('<');
+				out.write(node.getNodeName());
+				NamedNodeMap attributes = node.getAttributes();
+				for (int i = 0; i < attributes.getLength(); i++) {
+					Attr attribute = (Attr) attributes.item(i);
+					out.write(' ');
+					out.write(attribute.getName());
+					out.write("=\""); //$NON-NLS-1$
+					writeEscaped(attribute.getValue(), true);
+					out.write('"');
+				}
+				NodeList children = node.getChildNodes();
+				if (children.getLength() == 0) {
+					out.write("/>"); //$NON-NLS-1$
+				} else {
+					out.write('>');
+					for (int i = 0; i < children.getLength(); i++) {
+						writeNode(children.item(i));
+					}
+					out.write("</"); //$NON-NLS-1$
+					out.write(node.getNodeName());
+					out.write('>');
+				}
+				break;
+			case Node.TEXT_NODE:
+			case Node.CDATA_SECTION_NODE:
+				writeEscaped(node.getNodeValue(), false);
+				break;
+			default:
+				// comments and processing instructions are not persisted
+			}
+		}
+
+		/**
+		 * Escapes markup and characters that would otherwise be normalized by the parser. This is consistent with the
+		 * output of the default XML transformer.
+		 */
+		private void writeEscaped(String value, boolean attribute) throws IOException {
+			if (value == null) {
+				return;
+			}
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+				case '<':
+					out.write("&lt;"); //$NON-NLS-1$
+					break;
+				case '>':
+					out.write("&gt;"); //$NON-NLS-1$
+					break;
+				case '&':
+					out.write("&amp;"); //$NON-NLS-1$
+					break;
+				case '"':
+					if (attribute) {
+						out.write("&quot;"); //$NON-NLS-1$
+					} else {
+						out.write(c);
+					}
+					break;
+				case '\n':
+				case '\t':
+					if (attribute) {
+						out.write("&#" + (int) c + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+					} else {
+						out.write(c);
+					}
+					break;
+				default:
+					if (c < 0x20) {
+						out.write("&#" + (int) c + ";"); //$NON-NLS-1$ //$NON-NLS-2$
+					} else {
+						out.write(c);
+					}
+				}
+			}
+		}
+
+	}
+
 }
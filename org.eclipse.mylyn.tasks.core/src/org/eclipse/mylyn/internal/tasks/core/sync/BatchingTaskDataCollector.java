@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.sync;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.mylyn.commons.core.StatusHandler;
+import org.eclipse.mylyn.internal.tasks.core.ITaskListRunnable;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+
+/**
+ * Buffers results and passes them to a delegate collector in task list batches. This reduces the number of task list
+ * notifications when synchronizing a large number of tasks. Results are processed in the order they are received.
+ * Delegates that extend {@link TwoPhaseCollector} store task data after the batch has released the task list lock.
+ */
+class BatchingTaskDataCollector extends TaskDataCollector {
+
+	/**
+	 * A collector that separates updating the task list from storing task data which is expensive and must not be
+	 * performed while a batch holds the task list lock.
+	 */
+	abstract static class TwoPhaseCollector extends TaskDataCollector {
+
+		/**
+		 * Updates the task list for <code>taskData</code>. Invoked within a batch when used with a
+		 * {@link BatchingTaskDataCollector}.
+		 * 
+		 * @return an action that stores <code>taskData</code> and is invoked after the batch, or <code>null</code>
+		 */
+		protected abstract Runnable update(TaskData taskData);
+
+		@Override
+		public void accept(TaskData taskData) {
+			Runnable store = update(taskData);
+			if (store != null) {
+				store.run();
+			}
+		}
+
+	}
+
+	/**
+	 * A result that is processed in two steps: {@link #run()} is invoked within the batch, {@link #complete()} after
+	 * the batch has released the task list lock.
+	 */
+	private static class AcceptEvent implements Runnable {
+
+		private final TwoPhaseCollector delegate;
+
+		private final TaskData taskData;
+
+		private Runnable store;
+
+		public AcceptEvent(TwoPhaseCollector delegate, TaskData taskData) {
+			this.delegate = delegate;
+			this.taskData = taskData;
+		}
+
+		public void run() {
+			store = delegate.update(taskData);
+		}
+
+		public void complete() {
+			if (store != null) {
+				store.run();
+			}
+		}
+
+	}
+
+	/**
+	 * The maximum number of results that are processed in a single batch. Batches only hold the task list lock while
+	 * the task list is updated, storing task data happens afterwards.
+	 */
+	static final int BATCH_SIZE = 100;
+
+	private final TaskList taskList;
+
+	private final TaskDataCollector delegate;
+
+	private final IProgressMonitor monitor;
+
+	private final List<Runnable> events = new ArrayList<Runnable>(BATCH_SIZE);
+
+	public BatchingTaskDataCollector(TaskList taskList, TaskDataCollector delegate, IProgressMonitor monitor) {
+		this.taskList = taskList;
+		this.delegate = delegate;
+		this.monitor = monitor;
+	}
+
+	@Override
+	public void accept(TaskData taskData) {
+		add(createAcceptEvent(delegate, taskData));
+	}
+
+	/**
+	 * Returns an event for {@link #runBatch(TaskList, List, IProgressMonitor)} that passes <code>taskData</code> to
+	 * <code>delegate</code>.
+	 */
+	public static Runnable createAcceptEvent(final TaskDataCollector delegate, final TaskData taskData) {
+		if (delegate instanceof TwoPhaseCollector) {
+			return new AcceptEvent((TwoPhaseCollector) delegate, taskData);
+		}
+		return new Runnable() {
+			public void run() {
+				delegate.accept(taskData);
+			}
+		};
+	}
+
+	@Override
+	public void failed(final String taskId, final IStatus status) {
+		add(new Runnable() {
+			public void run() {
+				delegate.failed(taskId, status);
+			}
+		});
+	}
+
+	private void add(Runnable event) {
+		events.add(event);
+		if (events.size() >= BATCH_SIZE) {
+			flush();
+		}
+	}
+
+	/**
+	 * Processes all buffered results.
+	 */
+	public void flush() {
+		if (!events.isEmpty()) {
+			try {
+				runBatch(taskList, events, monitor);
+			} finally {
+				events.clear();
+			}
+		}
+	}
+
+	/**
+	 * Runs <code>events</code> as a single task list batch which fires one set of merged deltas for all changes. Task
+	 * data of accepted results is stored after the batch has completed.
+	 */
+	public static void runBatch(TaskList taskList, final List<Runnable> events, IProgressMonitor monitor) {
+		try {
+			taskList.runBatch(new ITaskListRunnable() {
+				public void execute(IProgressMonitor monitor) throws CoreException {
+					for (Runnable event : events) {
+						event.run();
+					}
+				}
+			}, monitor);
+		} catch (CoreException e) {
+			// not thrown by the runnable
+			StatusHandler.log(e.getStatus());
+		} finally {
+			// store task data of results that were applied to the task list
+			for (Runnable event : events) {
+				if (event instanceof AcceptEvent) {
+					((AcceptEvent) event).complete();
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.internal.tasks.core.sync;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.Policy;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+
+/**
+ * Provides worker threads for synchronization jobs that issue concurrent requests to a repository.
+ */
+class SynchronizationExecutors {
+
+	/**
+	 * Interval in milliseconds in which synchronization jobs check for cancellation while waiting for workers.
+	 */
+	static final long POLL_INTERVAL = 200;
+
+	private static class RepositoryThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		private final String name;
+
+		public RepositoryThreadFactory(String name) {
+			this.name = name;
+		}
+
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, name + " #" + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	}
+
+	public static ExecutorService newFixedThreadPool(String jobName, TaskRepository repository, int threadCount) {
+		return Executors.newFixedThreadPool(threadCount, new RepositoryThreadFactory(jobName
+				+ " [" + repository.getRepositoryLabel() + "]")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Returns a monitor for use in a worker thread that reports cancellation of <code>monitor</code>. Progress monitors
+	 * are not thread-safe, hence progress of workers is not propagated.
+	 */
+	public static IProgressMonitor createWorkerMonitor(final IProgressMonitor monitor, boolean user) {
+		IProgressMonitor workerMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || monitor.isCanceled();
+			}
+		};
+		if (!user) {
+			workerMonitor = Policy.backgroundMonitorFor(workerMonitor);
+		}
+		return workerMonitor;
+	}
+
+}
@@ -64,7 +64,7 @@ public class SynchronizationSession implements ISynchronizationSession {
 		return data;
 	}
 
-	public Set<ITask> getStaleTasks() {
+	public synchronized Set<ITask> getStaleTasks() {
 		if (staleTasks == null) {
 			return Collections.emptySet();
 		} else {
@@ -96,7 +96,7 @@ public class SynchronizationSession implements ISynchronizationSession {
 		return user;
 	}
 
-	public void markStale(ITask task) {
+	public synchronized void markStale(ITask task) {
 		if (staleTasks == null) {
 			staleTasks = new HashSet<ITask>();
 		}
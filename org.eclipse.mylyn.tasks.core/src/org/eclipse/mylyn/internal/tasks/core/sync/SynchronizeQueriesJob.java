@@ -22,6 +22,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -58,7 +62,7 @@ import org.eclipse.osgi.util.NLS;
  */
 public class SynchronizeQueriesJob extends SynchronizationJob {
 
-	private class TaskCollector extends TaskDataCollector {
+	private class TaskCollector extends BatchingTaskDataCollector.TwoPhaseCollector {
 
 		private final Set<ITask> removedQueryResults;
 
@@ -75,7 +79,7 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 		}
 
 		@Override
-		public void accept(TaskData taskData) {
+		protected Runnable update(final TaskData taskData) {
 			ITask task = taskList.getTask(taskData.getRepositoryUrl(), taskData.getTaskId());
 			if (task == null) {
 				task = tasksModel.createTask(repository, taskData.getTaskId());
@@ -87,12 +91,21 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 				removedQueryResults.remove(task);
 			}
 			taskList.addTask(task, repositoryQuery);
-			try {
-				session.putTaskData(task, taskData);
-			} catch (CoreException e) {
-				StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN, "Failed to save task", e)); //$NON-NLS-1$
-			}
 			resultCount++;
+			if (markUpdated(task, taskData)) {
+				final ITask updatedTask = task;
+				return new Runnable() {
+					public void run() {
+						try {
+							session.putTaskData(updatedTask, taskData);
+						} catch (CoreException e) {
+							StatusHandler.log(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+									"Failed to save task", e)); //$NON-NLS-1$
+						}
+					}
+				};
+			}
+			return null;
 		}
 
 		public Set<ITask> getRemovedChildren() {
@@ -118,6 +131,36 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 
 	}
 
+	/**
+	 * Processes the result of a query that was performed in a worker thread.
+	 */
+	private class QueryCompletion implements Runnable {
+
+		private final TaskCollector collector;
+
+		private final IStatus result;
+
+		private final Throwable exception;
+
+		public QueryCompletion(TaskCollector collector, IStatus result, Throwable exception) {
+			this.collector = collector;
+			this.result = result;
+			this.exception = exception;
+		}
+
+		public void run() {
+			if (exception instanceof RuntimeException) {
+				throw (RuntimeException) exception;
+			} else if (exception instanceof Error) {
+				throw (Error) exception;
+			}
+			updateQuery(collector.repositoryQuery, collector, result);
+		}
+
+	}
+
+	private static final int EVENT_QUEUE_CAPACITY = 500;
+
 	public static final String MAX_HITS_REACHED = Messages.SynchronizeQueriesJob_Max_allowed_number_of_hits_returned_exceeded;
 
 	private final AbstractRepositoryConnector connector;
@@ -134,6 +177,12 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 
 	private final List<IStatus> statuses;
 
+	/**
+	 * Tasks that were updated in the current synchronization mapped to <code>true</code> if the update was based on
+	 * partial task data.
+	 */
+	private final Map<ITask, Boolean> updatedTasks;
+
 	public SynchronizeQueriesJob(TaskList taskList, TaskDataManager taskDataManager, IRepositoryModel tasksModel,
 			AbstractRepositoryConnector connector, TaskRepository repository, Set<RepositoryQuery> queries) {
 		super(Messages.SynchronizeQueriesJob_Synchronizing_Queries + " (" + repository.getRepositoryLabel() + ")"); //$NON-NLS-1$//$NON-NLS-2$
@@ -144,6 +193,7 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 		this.repository = repository;
 		this.queries = queries;
 		this.statuses = new ArrayList<IStatus>();
+		this.updatedTasks = new HashMap<ITask, Boolean>();
 	}
 
 	@Override
@@ -154,6 +204,7 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 			try {
 				monitor.beginTask(Messages.SynchronizeQueriesJob_Processing, 20 + queries.size() * 20 + 40 + 10);
 
+				updatedTasks.clear();
 				Set<ITask> allTasks;
 				if (!isFullSynchronization()) {
 					allTasks = new HashSet<ITask>();
@@ -262,6 +313,12 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 	}
 
 	private void synchronizeQueries(IProgressMonitor monitor, SynchronizationSession session) {
+		int maxConcurrentQueries = Math.min(connector.getMaxConcurrentRequests(repository), queries.size());
+		if (maxConcurrentQueries > 1) {
+			synchronizeQueriesConcurrently(monitor, session, maxConcurrentQueries);
+			return;
+		}
+
 		for (RepositoryQuery repositoryQuery : queries) {
 			Policy.checkCanceled(monitor);
 			monitor.subTask(MessageFormat.format(Messages.SynchronizeQueriesJob_Synchronizing_query_X,
@@ -270,6 +327,102 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 		}
 	}
 
+	/**
+	 * Performs queries in up to <code>maxConcurrentQueries</code> worker threads. Results that are passed to the
+	 * collector are forwarded to the calling thread and processed in the order they are received which keeps updates
+	 * of the task list and the task data store sequential.
+	 */
+	private void synchronizeQueriesConcurrently(IProgressMonitor monitor, final SynchronizationSession session,
+			int maxConcurrentQueries) {
+		final BlockingQueue<Runnable> events = new LinkedBlockingQueue<Runnable>(EVENT_QUEUE_CAPACITY);
+		final IProgressMonitor workerMonitor = SynchronizationExecutors.createWorkerMonitor(monitor, isUser());
+		ExecutorService executor = SynchronizationExecutors.newFixedThreadPool("Synchronizing Queries", repository, //$NON-NLS-1$
+				maxConcurrentQueries);
+		try {
+			for (final RepositoryQuery repositoryQuery : queries) {
+				executor.execute(new Runnable() {
+					public void run() {
+						final TaskCollector collector = new TaskCollector(repositoryQuery, session);
+						TaskDataCollector forwardingCollector = new TaskDataCollector() {
+							@Override
+							public void accept(TaskData taskData) {
+								dispatch(events, BatchingTaskDataCollector.createAcceptEvent(collector, taskData));
+							}
+
+							@Override
+							public void failed(final String taskId, final IStatus status) {
+								dispatch(events, new Runnable() {
+									public void run() {
+										collector.failed(taskId, status);
+									}
+								});
+							}
+						};
+						IStatus result = null;
+						Throwable exception = null;
+						try {
+							result = connector.performQuery(repository, repositoryQuery, forwardingCollector,
+									session, workerMonitor);
+						} catch (Throwable t) {
+							exception = t;
+						}
+						dispatch(events, new QueryCompletion(collector, result, exception));
+					}
+				});
+			}
+
+			int pendingQueries = queries.size();
+			List<Runnable> batch = new ArrayList<Runnable>(BatchingTaskDataCollector.BATCH_SIZE);
+			while (pendingQueries > 0) {
+				Runnable event = events.poll(SynchronizationExecutors.POLL_INTERVAL, TimeUnit.MILLISECONDS);
+				Policy.checkCanceled(monitor);
+				if (event != null) {
+					// process all results that are available in a single batch
+					batch.add(event);
+					events.drainTo(batch, BatchingTaskDataCollector.BATCH_SIZE - 1);
+					int completedQueries = 0;
+					for (Runnable batchEvent : batch) {
+						if (batchEvent instanceof QueryCompletion) {
+							monitor.subTask(MessageFormat.format(Messages.SynchronizeQueriesJob_Synchronizing_query_X,
+									((QueryCompletion) batchEvent).collector.repositoryQuery.getSummary()));
+							completedQueries++;
+						}
+					}
+					BatchingTaskDataCollector.runBatch(taskList, batch, monitor);
+					batch.clear();
+					pendingQueries -= completedQueries;
+					monitor.worked(20 * completedQueries);
+				}
+			}
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void dispatch(BlockingQueue<Runnable> events, Runnable event) {
+		try {
+			events.put(event);
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		}
+	}
+
+	/**
+	 * Returns <code>true</code>, if <code>taskData</code> needs to be processed for <code>task</code>. Tasks that are
+	 * contained in several queries are only updated once per synchronization unless full task data supersedes
+	 * partial task data.
+	 */
+	private boolean markUpdated(ITask task, TaskData taskData) {
+		Boolean partial = updatedTasks.get(task);
+		if (partial != null && (!partial || taskData.isPartial())) {
+			return false;
+		}
+		updatedTasks.put(task, taskData.isPartial());
+		return true;
+	}
+
 	private boolean postSynchronization(SynchronizationSession event, IProgressMonitor monitor) {
 		try {
 			Policy.checkCanceled(monitor);
@@ -305,11 +458,21 @@ public class SynchronizeQueriesJob extends SynchronizationJob {
 	private void synchronizeQuery(RepositoryQuery repositoryQuery, SynchronizationSession event,
 			IProgressMonitor monitor) {
 		TaskCollector collector = new TaskCollector(repositoryQuery, event);
+		BatchingTaskDataCollector batchingCollector = new BatchingTaskDataCollector(taskList, collector, monitor);
 
 		if (!isUser()) {
 			monitor = Policy.backgroundMonitorFor(monitor);
 		}
-		IStatus result = connector.performQuery(repository, repositoryQuery, collector, event, monitor);
+		IStatus result;
+		try {
+			result = connector.performQuery(repository, repositoryQuery, batchingCollector, event, monitor);
+		} finally {
+			batchingCollector.flush();
+		}
+		updateQuery(repositoryQuery, collector, result);
+	}
+
+	private void updateQuery(RepositoryQuery repositoryQuery, TaskCollector collector, IStatus result) {
 		if (result == null || result.isOK()) {
 			if (collector.getResultCount() >= TaskDataCollector.MAX_HITS) {
 				StatusHandler.log(new Status(IStatus.WARNING, ITasksCoreConstants.ID_PLUGIN, MAX_HITS_REACHED + "\n" //$NON-NLS-1$
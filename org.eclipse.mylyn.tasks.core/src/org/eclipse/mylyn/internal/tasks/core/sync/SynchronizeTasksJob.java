@@ -17,9 +17,17 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -31,6 +39,7 @@ import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.ITaskListRunnable;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants.MutexSchedulingRule;
 import org.eclipse.mylyn.internal.tasks.core.TaskList;
@@ -135,8 +144,8 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 			} catch (OperationCanceledException e) {
 				for (ITask task : allTasks) {
 					((AbstractTask) task).setSynchronizing(false);
-					taskList.notifyElementChanged(task);
 				}
+				taskList.notifyElementsChanged(allTasks);
 				return Status.CANCEL_STATUS;
 			}
 		} finally {
@@ -154,10 +163,13 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 
 	public void synchronizedTaskRelations(IProgressMonitor monitor, Map<String, TaskRelation[]> relationsByTaskId) {
 		updateRelations = false;
+		final Map<ITask, List<ITask>> addedChildren = new LinkedHashMap<ITask, List<ITask>>();
+		final Map<ITask, Set<ITask>> removedChildren = new LinkedHashMap<ITask, Set<ITask>>();
 		for (String taskId : relationsByTaskId.keySet()) {
 			ITask parentTask = taskList.getTask(taskRepository.getRepositoryUrl(), taskId);
 			if (parentTask instanceof ITaskContainer) {
 				Set<ITask> removedChildTasks = new HashSet<ITask>(((ITaskContainer) parentTask).getChildren());
+				List<ITask> addedChildTasks = new ArrayList<ITask>();
 
 				TaskRelation[] relations = relationsByTaskId.get(taskId);
 				for (TaskRelation relation : relations) {
@@ -181,14 +193,33 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 						}
 
 						if (task != null) {
-							taskList.addTask(task, (AbstractTaskContainer) parentTask);
+							addedChildTasks.add(task);
 						}
 					}
 				}
 
-				for (ITask task : removedChildTasks) {
-					taskList.removeFromContainer((AbstractTaskContainer) parentTask, task);
-				}
+				addedChildren.put(parentTask, addedChildTasks);
+				removedChildren.put(parentTask, removedChildTasks);
+			}
+		}
+
+		// subtasks are retrieved before updating the task list to avoid holding the lock during network access
+		if (!addedChildren.isEmpty()) {
+			try {
+				taskList.runBatch(new ITaskListRunnable() {
+					public void execute(IProgressMonitor monitor) throws CoreException {
+						for (ITask parentTask : addedChildren.keySet()) {
+							for (ITask task : addedChildren.get(parentTask)) {
+								taskList.addTask(task, (AbstractTaskContainer) parentTask);
+							}
+							for (ITask task : removedChildren.get(parentTask)) {
+								taskList.removeFromContainer((AbstractTaskContainer) parentTask, task);
+							}
+						}
+					}
+				}, monitor);
+			} catch (CoreException e) {
+				StatusHandler.log(e.getStatus());
 			}
 		}
 	}
@@ -201,9 +232,7 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 			monitor.beginTask(Messages.SynchronizeTasksJob_Processing, tasks.size() * 100);
 			if (canGetMultiTaskData(taskRepository)) {
 				try {
-					for (ITask task : tasks) {
-						resetStatus(task);
-					}
+					resetStatus(tasks);
 					synchronizeTasks(new SubProgressMonitor(monitor, tasks.size() * 100), taskRepository, tasks);
 				} catch (CoreException e) {
 					for (ITask task : tasks) {
@@ -211,13 +240,18 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 					}
 				}
 			} else {
-				for (ITask task : tasks) {
-					Policy.checkCanceled(monitor);
-					resetStatus(task);
-					try {
-						synchronizeTask(new SubProgressMonitor(monitor, 100), task);
-					} catch (CoreException e) {
-						updateStatus(taskRepository, task, e.getStatus());
+				int maxConcurrentRequests = Math.min(connector.getMaxConcurrentRequests(taskRepository), tasks.size());
+				if (maxConcurrentRequests > 1) {
+					synchronizeTasksConcurrently(monitor, tasks, maxConcurrentRequests);
+				} else {
+					for (ITask task : tasks) {
+						Policy.checkCanceled(monitor);
+						resetStatus(task);
+						try {
+							synchronizeTask(new SubProgressMonitor(monitor, 100), task);
+						} catch (CoreException e) {
+							updateStatus(taskRepository, task, e.getStatus());
+						}
 					}
 				}
 			}
@@ -251,6 +285,80 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 				"Connector failed to return task data for task \"" + task + "\"")); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Retrieves task data for <code>tasks</code> using up to <code>maxConcurrentRequests</code> worker threads. Task data
+	 * is processed in the calling thread in the order it is received so updates to the task list and the task data
+	 * store are not affected by the number of workers.
+	 */
+	private void synchronizeTasksConcurrently(final IProgressMonitor monitor, Set<ITask> tasks,
+			int maxConcurrentRequests) {
+		final TaskRepository repository = taskRepository;
+		ExecutorService executor = SynchronizationExecutors.newFixedThreadPool("Synchronizing Tasks", repository, //$NON-NLS-1$
+				maxConcurrentRequests);
+		final IProgressMonitor workerMonitor = SynchronizationExecutors.createWorkerMonitor(monitor, isUser());
+		try {
+			CompletionService<TaskData> completionService = new ExecutorCompletionService<TaskData>(executor);
+			Map<Future<TaskData>, ITask> taskByFuture = new HashMap<Future<TaskData>, ITask>();
+			for (ITask task : tasks) {
+				resetStatus(task);
+				final String taskId = task.getTaskId();
+				Future<TaskData> future = completionService.submit(new Callable<TaskData>() {
+					public TaskData call() throws Exception {
+						Policy.checkCanceled(workerMonitor);
+						return connector.getTaskData(repository, taskId, workerMonitor);
+					}
+				});
+				taskByFuture.put(future, task);
+			}
+
+			while (!taskByFuture.isEmpty()) {
+				Future<TaskData> future = completionService.poll(SynchronizationExecutors.POLL_INTERVAL,
+						TimeUnit.MILLISECONDS);
+				Policy.checkCanceled(monitor);
+				if (future == null) {
+					continue;
+				}
+
+				ITask task = taskByFuture.remove(future);
+				monitor.subTask(MessageFormat.format(Messages.SynchronizeTasksJob_Receiving_task_X, task.getSummary()));
+				try {
+					TaskData taskData = getTaskData(future);
+					if (taskData != null) {
+						updateFromTaskData(repository, task, taskData, new SubProgressMonitor(monitor, 100));
+					} else {
+						updateStatus(repository, task, new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+								"Connector failed to return task data for task \"" + task + "\"")); //$NON-NLS-1$ //$NON-NLS-2$
+						monitor.worked(100);
+					}
+				} catch (CoreException e) {
+					updateStatus(repository, task, e.getStatus());
+					monitor.worked(100);
+				}
+			}
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private TaskData getTaskData(Future<TaskData> future) throws CoreException, InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException) {
+				throw (CoreException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			} else if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CoreException(new Status(IStatus.ERROR, ITasksCoreConstants.ID_PLUGIN,
+					"Unexpected error during task data retrieval", cause)); //$NON-NLS-1$
+		}
+	}
+
 	private ITask synchronizeTask(IProgressMonitor monitor, String taskId) throws CoreException {
 		monitor.subTask(MessageFormat.format(Messages.SynchronizeTasksJob_Receiving_task_X, taskId));
 		if (!isUser()) {
@@ -273,6 +381,19 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 		}
 	}
 
+	private void resetStatus(Set<ITask> tasks) {
+		Set<ITask> changedTasks = new HashSet<ITask>();
+		for (ITask task : tasks) {
+			if (((AbstractTask) task).getStatus() != null) {
+				((AbstractTask) task).setStatus(null);
+				changedTasks.add(task);
+			}
+		}
+		if (!changedTasks.isEmpty()) {
+			taskList.notifySynchronizationStateChanged(changedTasks);
+		}
+	}
+
 	private void synchronizeTasks(final IProgressMonitor monitor, final TaskRepository repository, Set<ITask> tasks)
 			throws CoreException {
 		monitor.subTask(MessageFormat.format(Messages.SynchronizeTasksJob_Receiving_X_tasks_from_X, tasks.size(),
@@ -283,6 +404,7 @@ public class SynchronizeTasksJob extends SynchronizationJob {
 			idToTask.put(task.getTaskId(), task);
 		}
 
+		// results are not batched: putUpdatedTaskData() updates the task list based on the task data it has stored
 		TaskDataCollector collector = new TaskDataCollector() {
 			@Override
 			public void accept(TaskData taskData) {
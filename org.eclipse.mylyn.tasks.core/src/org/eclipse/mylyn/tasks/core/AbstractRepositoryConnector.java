@@ -282,6 +282,29 @@ public abstract class AbstractRepositoryConnector {
 		return null;
 	}
 
+	/**
+	 * Returns the maximum number of requests that are issued concurrently to <code>repository</code> during
+	 * synchronization. This applies to invocations of
+	 * {@link #performQuery(TaskRepository, IRepositoryQuery, TaskDataCollector, ISynchronizationSession, IProgressMonitor)}
+	 * when several queries are synchronized and to invocations of
+	 * {@link #getTaskData(TaskRepository, String, IProgressMonitor)} when tasks are synchronized individually since the
+	 * task data handler does not support {@link AbstractTaskDataHandler#canGetMultiTaskData(TaskRepository)}.
+	 * <p>
+	 * If queries are performed concurrently each query runs in a separate thread. Connectors may invoke the collector
+	 * and {@link ISynchronizationSession#markStale(ITask)} from that thread.
+	 * <p>
+	 * The default implementation returns the value configured for <code>repository</code> or <code>1</code> if no
+	 * value is set which synchronizes sequentially. Connectors that may safely access the repository from several
+	 * threads should override this method.
+	 * 
+	 * @see TaskRepository#getMaxConcurrentRequests()
+	 * @since 3.15
+	 */
+	public int getMaxConcurrentRequests(@NonNull TaskRepository repository) {
+		int maxConcurrentRequests = repository.getMaxConcurrentRequests();
+		return (maxConcurrentRequests > 0) ? maxConcurrentRequests : 1;
+	}
+
 	/**
 	 * Returns the task identifier for <code>taskUrl</code> if it is a valid task URL for this connector. The task
 	 * identifier needs to be a task ID or key that is recognized by
@@ -827,6 +827,41 @@ public final class TaskRepository extends PlatformObject {
 		setProperty(IRepositoryConstants.PROPERTY_CATEGORY, category);
 	}
 
+	/**
+	 * Returns the maximum number of requests for task data that may be issued concurrently to this repository during
+	 * synchronization, or <code>0</code> if the default of the connector applies.
+	 *
+	 * @since 3.15
+	 * @see #setMaxConcurrentRequests(int)
+	 * @see AbstractRepositoryConnector#getMaxConcurrentRequests(TaskRepository)
+	 */
+	public int getMaxConcurrentRequests() {
+		String value = getProperty(IRepositoryConstants.PROPERTY_MAX_CONCURRENT_REQUESTS);
+		if (value != null) {
+			try {
+				return Math.max(0, Integer.parseInt(value));
+			} catch (NumberFormatException e) {
+				// ignore
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Sets the maximum number of concurrent requests for task data. A value of <code>0</code> restores the default of
+	 * the connector.
+	 *
+	 * @since 3.15
+	 * @see #getMaxConcurrentRequests()
+	 */
+	public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+		if (maxConcurrentRequests > 0) {
+			setProperty(IRepositoryConstants.PROPERTY_MAX_CONCURRENT_REQUESTS, String.valueOf(maxConcurrentRequests));
+		} else {
+			removeProperty(IRepositoryConstants.PROPERTY_MAX_CONCURRENT_REQUESTS);
+		}
+	}
+
 	private ILocationService getService() {
 		return service;
 	}
@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.core.data;
+
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Parses and formats dates using a fixed list of {@link SimpleDateFormat} patterns. Instead of trying each pattern
+ * until parsing succeeds the shape of a value, i.e. the sequence of digits, separators and time zone, is compared
+ * against the shape of each pattern first. Values are only parsed with patterns that match which avoids handling parse
+ * exceptions for the common case.
+ * <p>
+ * Formats are cached per thread, hence instances are thread-safe and are intended to be shared, e.g. by a connector
+ * specific {@link TaskAttributeMapper}. Like {@link SimpleDateFormat#parse(String)} text following a recognized date
+ * is ignored and dates without time zone are interpreted in the default time zone.
+ *
+ * @since 3.15
+ * @see TaskAttributeMapper#getDateParser()
+ */
+public final class DateParser {
+
+	/**
+	 * Matches a number of arbitrary length.
+	 */
+	private static final int NUMBER = -1;
+
+	/**
+	 * Matches a single digit of a number that is followed by another number, e.g. <code>HHmm</code>.
+	 */
+	private static final int DIGIT = -2;
+
+	/**
+	 * Matches a time zone. Time zones are only validated when parsing.
+	 */
+	private static final int ZONE = -3;
+
+	private static final String NUMERIC_FIELDS = "yYMdDFwWuHkKhmsS"; //$NON-NLS-1$
+
+	private static final String ZONE_FIELDS = "zZX"; //$NON-NLS-1$
+
+	private final String[] patterns;
+
+	/**
+	 * Tokens for each pattern: a literal character, or one of {@link #NUMBER}, {@link #DIGIT} and {@link #ZONE}. Null,
+	 * if the pattern uses fields that are not matched by shape, e.g. month names.
+	 */
+	private final int[][] shapes;
+
+	private final ThreadLocal<SimpleDateFormat[]> formats = new ThreadLocal<SimpleDateFormat[]>() {
+		@Override
+		protected SimpleDateFormat[] initialValue() {
+			return new SimpleDateFormat[patterns.length];
+		}
+	};
+
+	/**
+	 * Constructs a parser for the given patterns. The order of patterns is significant: values are parsed with the
+	 * first pattern that matches, hence more specific patterns need to precede patterns that match a prefix of the
+	 * same value.
+	 *
+	 * @param patterns
+	 *            patterns as specified by {@link SimpleDateFormat}
+	 */
+	public DateParser(@NonNull String... patterns) {
+		Assert.isNotNull(patterns);
+		this.patterns = patterns.clone();
+		this.shapes = new int[patterns.length][];
+		for (int i = 0; i < patterns.length; i++) {
+			Assert.isNotNull(patterns[i]);
+			shapes[i] = compile(patterns[i]);
+		}
+	}
+
+	/**
+	 * Parses <code>value</code> with the first pattern that matches.
+	 *
+	 * @return the parsed date or null, if <code>value</code> does not match any pattern
+	 */
+	@Nullable
+	public Date parse(@Nullable String value) {
+		if (value == null || value.length() == 0) {
+			return null;
+		}
+		ParsePosition position = null;
+		for (int i = 0; i < patterns.length; i++) {
+			if (matches(shapes[i], value)) {
+				if (position == null) {
+					position = new ParsePosition(0);
+				} else {
+					position.setIndex(0);
+					position.setErrorIndex(-1);
+				}
+				Date date = getFormat(i).parse(value, position);
+				if (date != null) {
+					return date;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Formats <code>date</code> using <code>pattern</code>.
+	 *
+	 * @param pattern
+	 *            one of the patterns this parser was constructed with
+	 * @throws IllegalArgumentException
+	 *             if the parser does not support <code>pattern</code>
+	 */
+	@NonNull
+	public String format(@NonNull Date date, @NonNull String pattern) {
+		Assert.isNotNull(date);
+		for (int i = 0; i < patterns.length; i++) {
+			if (patterns[i].equals(pattern)) {
+				return getFormat(i).format(date);
+			}
+		}
+		throw new IllegalArgumentException("Unsupported pattern: " + pattern); //$NON-NLS-1$
+	}
+
+	private SimpleDateFormat getFormat(int index) {
+		SimpleDateFormat[] cache = formats.get();
+		SimpleDateFormat format = cache[index];
+		if (format == null) {
+			format = new SimpleDateFormat(patterns[index]);
+			cache[index] = format;
+		}
+		// parsing a time zone name changes the time zone of the format and the default may have changed since
+		// the format was created
+		format.setTimeZone(TimeZone.getDefault());
+		return format;
+	}
+
+	private static int[] compile(String pattern) {
+		List<Integer> tokens = new ArrayList<Integer>();
+		int length = pattern.length();
+		int i = 0;
+		while (i < length) {
+			char c = pattern.charAt(i);
+			if (c == '\'') {
+				int end = pattern.indexOf('\'', i + 1);
+				if (end == -1) {
+					return null;
+				}
+				if (end == i + 1) {
+					// escaped quote
+					tokens.add((int) '\'');
+				}
+				for (int k = i + 1; k < end; k++) {
+					tokens.add((int) pattern.charAt(k));
+				}
+				i = end + 1;
+				continue;
+			}
+
+			int count = countRepeats(pattern, i);
+			if (isNumericField(pattern, i, count)) {
+				if (i + count < length && isNumericField(pattern, i + count, countRepeats(pattern, i + count))) {
+					// adjacent numbers are parsed with a fixed width
+					for (int k = 0; k < count; k++) {
+						tokens.add(DIGIT);
+					}
+				} else {
+					tokens.add(NUMBER);
+				}
+			} else if (ZONE_FIELDS.indexOf(c) != -1) {
+				tokens.add(ZONE);
+			} else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+				// text field
+				return null;
+			} else {
+				for (int k = 0; k < count; k++) {
+					tokens.add((int) c);
+				}
+			}
+			i += count;
+		}
+
+		int[] shape = new int[tokens.size()];
+		for (int k = 0; k < shape.length; k++) {
+			shape[k] = tokens.get(k);
+		}
+		return shape;
+	}
+
+	private static int countRepeats(String pattern, int index) {
+		char c = pattern.charAt(index);
+		int count = 1;
+		while (index + count < pattern.length() && pattern.charAt(index + count) == c) {
+			count++;
+		}
+		return count;
+	}
+
+	private static boolean isNumericField(String pattern, int index, int count) {
+		char c = pattern.charAt(index);
+		// months with three or more letters are parsed as text
+		return NUMERIC_FIELDS.indexOf(c) != -1 && !(c == 'M' && count >= 3);
+	}
+
+	/**
+	 * Returns true, if <code>value</code> starts with text that matches <code>shape</code>.
+	 */
+	private static boolean matches(int[] shape, String value) {
+		if (shape == null) {
+			return true;
+		}
+		int length = value.length();
+		int pos = 0;
+		for (int token : shape) {
+			if (token == NUMBER || token == ZONE) {
+				// SimpleDateFormat skips whitespace preceding fields
+				while (pos < length && (value.charAt(pos) == ' ' || value.charAt(pos) == '\t')) {
+					pos++;
+				}
+			}
+			if (pos >= length) {
+				return false;
+			}
+			char c = value.charAt(pos);
+			switch (token) {
+			case NUMBER:
+				if (!isDigit(c)) {
+					return false;
+				}
+				do {
+					pos++;
+				} while (pos < length && isDigit(value.charAt(pos)));
+				break;
+			case DIGIT:
+				if (!isDigit(c)) {
+					return false;
+				}
+				pos++;
+				break;
+			case ZONE:
+				return true;
+			default:
+				if (c != token) {
+					return false;
+				}
+				pos++;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+}
@@ -0,0 +1,52 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.core.data;
+
+/**
+ * Creates the children of a {@link TaskAttribute} when they are first accessed.
+ * <p>
+ * A loader may be shared by copies of an attribute, hence implementations must not retain a reference to the
+ * attribute they populate and must not depend on state that changes after the loader was created.
+ *
+ * @since 3.15
+ * @see TaskAttribute#setAttributeLoader(ITaskAttributeLoader)
+ */
+public interface ITaskAttributeLoader {
+
+	/**
+	 * Creates the children of <code>parent</code>, e.g. by invoking {@link TaskAttribute#createAttribute(String)}.
+	 */
+	void loadAttributes(TaskAttribute parent);
+
+	/**
+	 * Returns the number of attributes created by {@link #loadAttributes(TaskAttribute)} including all descendants.
+	 * The count is used to estimate the memory required for the attributes without loading them.
+	 */
+	int getAttributeCount();
+
+	/**
+	 * Returns the number of bytes that are retained by this loader until the attributes are loaded, e.g. the encoded
+	 * form of the attributes. Used in addition to {@link #getAttributeCount()} to estimate memory usage.
+	 *
+	 * @return the size in bytes or 0, if the loader does not retain data
+	 */
+	int getRetainedSize();
+
+	/**
+	 * Returns the hash of the fingerprints of the attributes created by {@link #loadAttributes(TaskAttribute)}, see
+	 * {@link TaskAttribute#getFingerprint()}, which allows comparing attributes without loading their children.
+	 *
+	 * @return the fingerprint or 0, if the fingerprint is not known
+	 */
+	long getAttributesFingerprint();
+
+}
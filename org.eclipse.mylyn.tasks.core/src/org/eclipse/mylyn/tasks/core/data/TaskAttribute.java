@@ -16,8 +16,10 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.mylyn.internal.tasks.core.data.Fingerprint;
 
 /**
  * Encapsulates attributes for task data.
@@ -348,6 +350,18 @@ public final class TaskAttribute {
 
 	private final String attributeId;
 
+	/**
+	 * Creates the children of this attribute when they are first accessed, null if children have been created.
+	 */
+	private volatile ITaskAttributeLoader attributeLoader;
+
+	private volatile boolean loading;
+
+	/**
+	 * The cached fingerprint, 0 if not computed.
+	 */
+	private volatile long fingerprint;
+
 	private Map<String, String> metaData;
 
 	private Map<String, String> optionByKey;
@@ -383,31 +397,39 @@ public final class TaskAttribute {
 	}
 
 	private void add(TaskAttribute attribute) {
+		materialize();
 		if (attributeById == null) {
 			attributeById = new LinkedHashMap<String, TaskAttribute>();
 		}
 		attributeById.put(attribute.getId(), attribute);
+		invalidateFingerprint();
 	}
 
 	public void addValue(String value) {
 		Assert.isNotNull(value);
 		values.add(value);
+		invalidateFingerprint();
 	}
 
 	public void clearAttributes() {
+		attributeLoader = null;
 		attributeById = null;
+		invalidateFingerprint();
 	}
 
 	void clearMetaDataMap() {
 		metaData = null;
+		invalidateFingerprint();
 	}
 
 	public void clearOptions() {
 		optionByKey = null;
+		invalidateFingerprint();
 	}
 
 	public void clearValues() {
 		values.clear();
+		invalidateFingerprint();
 	}
 
 	public TaskAttribute createAttribute(String attributeId) {
@@ -423,11 +445,20 @@ public final class TaskAttribute {
 		if (source.optionByKey != null) {
 			target.optionByKey = new LinkedHashMap<String, String>(source.optionByKey);
 		}
-		if (source.attributeById != null) {
+		if (source.attributeLoader != null && source.attributeById != null) {
+			// the loader only creates the children that were not added before it was set
+			source.materialize();
+		}
+		ITaskAttributeLoader loader = source.attributeLoader;
+		if (loader != null) {
+			// loaders are independent of the attribute they populate, copies are materialized on their own
+			target.attributeLoader = loader;
+		} else if (source.attributeById != null) {
 			for (TaskAttribute child : source.attributeById.values()) {
 				target.deepAddCopy(child);
 			}
 		}
+		target.fingerprint = source.fingerprint;
 	}
 
 	@Override
@@ -454,10 +485,12 @@ public final class TaskAttribute {
 
 	public TaskAttribute getAttribute(String attributeId) {
 		Assert.isNotNull(attributeId);
+		materialize();
 		return (attributeById != null) ? attributeById.get(attributeId) : null;
 	}
 
 	public Map<String, TaskAttribute> getAttributes() {
+		materialize();
 		if (attributeById != null) {
 			return Collections.unmodifiableMap(attributeById);
 		} else {
@@ -471,6 +504,7 @@ public final class TaskAttribute {
 
 	public TaskAttribute getMappedAttribute(String attributeId) {
 		Assert.isNotNull(attributeId);
+		materialize();
 		return (attributeById != null) ? attributeById.get(getTaskData().getAttributeMapper().mapToRepositoryKey(this,
 				attributeId)) : null;
 	}
@@ -498,6 +532,49 @@ public final class TaskAttribute {
 		}
 	}
 
+	/**
+	 * Returns a hash of the id, values, options, meta data and children of this attribute including all descendants.
+	 * Attributes with equal content have equal fingerprints which allows comparing subtrees, e.g. comments or
+	 * attachments, with a single comparison. Attributes that have different fingerprints differ in content.
+	 * <p>
+	 * The fingerprint is computed on first access and cached until the attribute or one of its descendants is
+	 * modified. Children that have not been loaded yet are only loaded if their {@link ITaskAttributeLoader} does not
+	 * provide a fingerprint.
+	 * 
+	 * @return the fingerprint, never 0
+	 * @since 3.15
+	 */
+	public long getFingerprint() {
+		long result = fingerprint;
+		if (result == 0) {
+			long payload = Fingerprint.update(Fingerprint.SEED, attributeId);
+			payload = Fingerprint.update(payload, values.size());
+			for (String value : values) {
+				payload = Fingerprint.update(payload, value);
+			}
+			Map<String, String> options = getOptions();
+			payload = Fingerprint.update(payload, options.size());
+			for (Entry<String, String> option : options.entrySet()) {
+				payload = Fingerprint.update(payload, option.getKey());
+				payload = Fingerprint.update(payload, option.getValue());
+			}
+			Map<String, String> metaData = getMetaDataMap();
+			payload = Fingerprint.update(payload, metaData.size());
+			for (Entry<String, String> entry : metaData.entrySet()) {
+				payload = Fingerprint.update(payload, entry.getKey());
+				payload = Fingerprint.update(payload, entry.getValue());
+			}
+			ITaskAttributeLoader loader = attributeLoader;
+			long children = (loader != null) ? loader.getAttributesFingerprint() : 0;
+			if (children == 0) {
+				children = Fingerprint.children(getAttributes().values());
+			}
+			result = Fingerprint.combine(payload, children);
+			fingerprint = result;
+		}
+		return result;
+	}
+
 	public String getOption(String key) {
 		return (optionByKey != null) ? optionByKey.get(key) : null;
 	}
@@ -510,6 +587,17 @@ public final class TaskAttribute {
 		}
 	}
 
+	/**
+	 * Returns the loader that creates the children of this attribute when they are first accessed.
+	 * 
+	 * @return the loader or null, if children have been created
+	 * @since 3.15
+	 * @see #setAttributeLoader(ITaskAttributeLoader)
+	 */
+	public ITaskAttributeLoader getAttributeLoader() {
+		return attributeLoader;
+	}
+
 	public TaskAttribute getParentAttribute() {
 		return parentAttribute;
 	}
@@ -578,6 +666,7 @@ public final class TaskAttribute {
 			metaData = new LinkedHashMap<String, String>();
 		}
 		metaData.put(key.intern(), value);
+		invalidateFingerprint();
 	}
 
 	/**
@@ -595,22 +684,44 @@ public final class TaskAttribute {
 			optionByKey = new LinkedHashMap<String, String>();
 		}
 		optionByKey.put(key.intern(), value);
+		invalidateFingerprint();
 	}
 
 	public void removeAttribute(String attributeId) {
+		materialize();
 		if (attributeById != null) {
 			attributeById.remove(attributeId);
 		}
+		invalidateFingerprint();
 	}
 
 	void removeMetaDatum(String metaDataId) {
 		if (metaData != null) {
 			metaData.remove(metaDataId);
 		}
+		invalidateFingerprint();
 	}
 
 	public void removeValue(String value) {
 		values.remove(value);
+		invalidateFingerprint();
+	}
+
+	/**
+	 * Defers creating the children of this attribute until they are accessed through {@link #getAttribute(String)},
+	 * {@link #getAttributes()} or a method that modifies children. This allows large subtrees such as comments or
+	 * attachments to be decoded on demand. The loader is invoked until it completes successfully. If it fails, the
+	 * exception is propagated to the caller that accessed the children, children created by the loader are discarded
+	 * and the next access invokes the loader again.
+	 * 
+	 * @param loader
+	 *            the loader, or null to not defer loading
+	 * @since 3.15
+	 */
+	public void setAttributeLoader(ITaskAttributeLoader loader) {
+		materialize();
+		this.attributeLoader = loader;
+		invalidateFingerprint();
 	}
 
 	public void setValue(String value) {
@@ -619,6 +730,7 @@ public final class TaskAttribute {
 			values.clear();
 		}
 		values.add(value);
+		invalidateFingerprint();
 	}
 
 	public void setValues(List<String> values) {
@@ -626,6 +738,7 @@ public final class TaskAttribute {
 		Assert.isTrue(!values.contains(null));
 		this.values.clear();
 		this.values.addAll(values);
+		invalidateFingerprint();
 	}
 
 	@Override
@@ -646,6 +759,7 @@ public final class TaskAttribute {
 		sb.append(",metaData="); //$NON-NLS-1$
 		sb.append(metaData);
 		sb.append("]"); //$NON-NLS-1$
+		materialize();
 		if (attributeById != null) {
 			for (TaskAttribute child : attributeById.values()) {
 				sb.append("\n"); //$NON-NLS-1$
@@ -654,6 +768,51 @@ public final class TaskAttribute {
 		}
 	}
 
+	/**
+	 * Clears the cached fingerprint of this attribute and of all ancestors since their fingerprints include this
+	 * attribute. Fingerprints of an attribute that is loading its children and of its ancestors are retained since
+	 * loading does not change the content.
+	 */
+	private void invalidateFingerprint() {
+		for (TaskAttribute attribute = this; attribute != null; attribute = attribute.parentAttribute) {
+			if (attribute.loading) {
+				break;
+			}
+			if (attribute.fingerprint != 0) {
+				attribute.fingerprint = 0;
+			}
+		}
+	}
+
+	private void materialize() {
+		if (attributeLoader != null) {
+			synchronized (this) {
+				ITaskAttributeLoader loader = attributeLoader;
+				// children created by the loader are added to this attribute on the same thread
+				if (loader != null && !loading) {
+					Map<String, TaskAttribute> previousAttributes = null;
+					if (attributeById != null) {
+						previousAttributes = new LinkedHashMap<String, TaskAttribute>(attributeById);
+					}
+					boolean loaded = false;
+					loading = true;
+					try {
+						loader.loadAttributes(this);
+						loaded = true;
+					} finally {
+						loading = false;
+						if (loaded) {
+							attributeLoader = null;
+						} else {
+							// retain the loader to retry on the next access
+							attributeById = previousAttributes;
+						}
+					}
+				}
+			}
+		}
+	}
+
 	public TaskAttribute createMappedAttribute(String attributeId) {
 		Assert.isNotNull(attributeId);
 		String mappedAttributeId = getTaskData().getAttributeMapper().mapToRepositoryKey(this, attributeId);
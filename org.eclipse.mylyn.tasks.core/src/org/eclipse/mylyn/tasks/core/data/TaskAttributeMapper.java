@@ -122,6 +122,13 @@ public class TaskAttributeMapper {
 		String dateString = attribute.getValue();
 		try {
 			if (dateString != null && dateString.length() > 0) {
+				DateParser dateParser = getDateParser();
+				if (dateParser != null) {
+					Date date = dateParser.parse(dateString);
+					if (date != null) {
+						return date;
+					}
+				}
 				return new Date(Long.parseLong(dateString));
 			}
 		} catch (NumberFormatException e) {
@@ -130,6 +137,19 @@ public class TaskAttributeMapper {
 		return null;
 	}
 
+	/**
+	 * Returns the parser for repository specific date formats that is used by {@link #getDateValue(TaskAttribute)}.
+	 * Values that are not recognized by the parser are interpreted as milliseconds. Subclasses may override; the
+	 * parser is thread-safe and should be shared rather than created for each invocation.
+	 *
+	 * @return the date parser or null, if date values are only stored as milliseconds
+	 * @since 3.15
+	 */
+	@Nullable
+	protected DateParser getDateParser() {
+		return null;
+	}
+
 	/**
 	 * @deprecated Not used, see {@link TaskAttributeMetaData#setDefaultOption(String)}
 	 */
@@ -164,6 +164,10 @@ public class TaskDataModel {
 			return true;
 		}
 
+		if (taskAttribute.getFingerprint() == oldAttribute.getFingerprint()) {
+			// avoid comparing unchanged subtrees such as comments and attachments through the mapper
+			return false;
+		}
 		return !getTaskData().getAttributeMapper().equals(taskAttribute, oldAttribute);
 	}
 
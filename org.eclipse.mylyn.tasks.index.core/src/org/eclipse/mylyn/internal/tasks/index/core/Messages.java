@@ -30,6 +30,8 @@ class Messages extends NLS {
 
 	public static String TaskListIndex_indexerJob;
 
+	public static String TaskListIndex_indexing_progress;
+
 	public static String TaskListIndex_task_rebuilding_index;
 
 	static {
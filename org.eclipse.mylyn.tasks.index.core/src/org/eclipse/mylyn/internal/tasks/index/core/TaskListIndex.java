@@ -18,16 +18,29 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -47,6 +60,8 @@ import org.apache.lucene.queryParser.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanClause.Occur;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldCache;
+import org.apache.lucene.search.FieldCache.StringIndex;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
@@ -64,6 +79,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -91,6 +107,7 @@ import org.eclipse.mylyn.tasks.core.data.DefaultTaskSchema;
 import org.eclipse.mylyn.tasks.core.data.ITaskDataManager;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.osgi.util.NLS;
 
 /**
  * An index on a task list, provides a way to {@link #find(String, TaskCollector, int) search for tasks}, and a way to
@@ -119,6 +136,16 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 	private static final Object COMMAND_RESET_INDEX = "index:reset"; //$NON-NLS-1$
 
+	private static final int MAX_CACHED_MATCH_RESULTS = 8;
+
+	private static final long PROGRESS_INTERVAL = 500L;
+
+	/**
+	 * the minimum interval between commits of incremental changes, these are visible to near real-time readers
+	 * immediately
+	 */
+	private static final long COMMIT_INTERVAL = 60 * 1000L;
+
 	private static final String INDEX_TASK_ATTRIBUTE_PREFIX = "index:"; //$NON-NLS-1$
 
 	private static final String TASK_ATTRIBUTE_IDENTIFIER = INDEX_TASK_ATTRIBUTE_PREFIX + "handle-identifier"; //$NON-NLS-1$
@@ -186,6 +213,66 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 	}
 
+	/**
+	 * the tasks matched by a pattern, stored as a bit set over the ordinals of the identifier terms of an index reader.
+	 * The sorted identifier terms are shared by all hits computed for the same reader.
+	 */
+	private static class TaskHits {
+
+		/**
+		 * the sorted identifier terms as provided by {@link FieldCache.StringIndex#lookup}, the first element is
+		 * <code>null</code>
+		 */
+		private final String[] identifiers;
+
+		private final BitSet ordinals;
+
+		public TaskHits(String[] identifiers, BitSet ordinals) {
+			this.identifiers = identifiers;
+			this.ordinals = ordinals;
+		}
+
+		public boolean contains(String handleIdentifier) {
+			int ordinal = Arrays.binarySearch(identifiers, 1, identifiers.length, handleIdentifier);
+			return ordinal > 0 && ordinals.get(ordinal);
+		}
+
+	}
+
+	/**
+	 * identifies cached {@link TaskHits} by the pattern and the {@link TaskListIndex#indexGeneration generation} of the
+	 * index reader they were computed for
+	 */
+	private static class MatchKey {
+
+		private final String patternString;
+
+		private final long generation;
+
+		public MatchKey(String patternString, long generation) {
+			this.patternString = patternString;
+			this.generation = generation;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof MatchKey)) {
+				return false;
+			}
+			MatchKey other = (MatchKey) obj;
+			return generation == other.generation && patternString.equals(other.patternString);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * patternString.hashCode() + (int) (generation ^ (generation >>> 32));
+		}
+
+	}
+
 	/**
 	 * keeps track of fields that are handled specially in the code so that we don't use the generalized field handling
 	 * for indexing them.
@@ -248,14 +335,49 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	private volatile boolean rebuildIndex = false;
 
 	/**
-	 * 'this' must be synchronized before accessing or modifying
+	 * indicates that the {@link #indexWriter} has changes that are visible to near real-time readers but have not been
+	 * committed
+	 */
+	private volatile boolean uncommittedChanges;
+
+	/**
+	 * the time of the last commit of the {@link #indexWriter}
+	 */
+	private volatile long lastCommitTime;
+
+	/**
+	 * kept open between runs of the maintenance job and used to obtain near real-time readers. 'this' must be
+	 * synchronized before accessing or modifying
+	 */
+	private IndexWriter indexWriter;
+
+	/**
+	 * do not access directly, instead use {@link #getIndexSearcher()}. 'this' must be synchronized before accessing or
+	 * modifying
 	 */
-	private String lastPatternString;
+	private IndexSearcher indexSearcher;
 
 	/**
+	 * incremented whenever search results may change, e.g. when the index reader is closed after changes to the index.
 	 * 'this' must be synchronized before accessing or modifying
 	 */
-	private Set<String> lastResults;
+	private long indexGeneration;
+
+	/**
+	 * the results of recent {@link #matches(ITask, String)} invocations keyed by pattern and {@link #indexGeneration}.
+	 * Results of previous generations are never looked up again and age out of the cache. 'this' must be synchronized
+	 * before accessing or modifying
+	 */
+	private final Map<MatchKey, TaskHits> matchResults = new LinkedHashMap<MatchKey, TaskHits>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<MatchKey, TaskHits> eldest) {
+			return size() > MAX_CACHED_MATCH_RESULTS;
+		}
+
+	};
 
 	private AbstractTaskSchema.Field defaultField = FIELD_SUMMARY;
 
@@ -271,6 +393,18 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 	private int maxMatchSearchHits = 1500;
 
+	private volatile int indexingThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * 'this' must be synchronized before accessing or modifying
+	 */
+	private int lastIndexedTaskCount;
+
+	/**
+	 * 'this' must be synchronized before accessing or modifying
+	 */
+	private long lastIndexingThroughput;
+
 	/**
 	 * must hold this lock as a read lock when accessing the index, and must hold this lock as a write lock when closing
 	 * or reassigning {@link #indexReader}.
@@ -418,13 +552,16 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		writeLock.lock();
 		try {
 			synchronized (this) {
-				if (indexReader != null) {
-					try {
-						indexReader.close();
-					} catch (IOException e) {
-						// ignore
-					}
-					indexReader = null;
+				try {
+					disposeIndexReader();
+				} catch (IOException e) {
+					// ignore
+				}
+				try {
+					disposeIndexWriter();
+				} catch (IOException e) {
+					StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+							"Cannot close index: " + e.getMessage(), e)); //$NON-NLS-1$
 				}
 
 				if (indexLocation.exists() && indexLocation.isDirectory()) {
@@ -469,7 +606,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		Assert.isTrue(indexedFields.contains(defaultField));
 		this.defaultField = defaultField;
 		synchronized (this) {
-			lastResults = null;
+			invalidateMatchResults();
 		}
 	}
 
@@ -494,6 +631,35 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		this.maxMatchSearchHits = maxMatchSearchHits;
 	}
 
+	/**
+	 * the number of threads used to build documents when the index is rebuilt
+	 */
+	public int getIndexingThreads() {
+		return indexingThreads;
+	}
+
+	/**
+	 * the number of threads used to build documents when the index is rebuilt
+	 */
+	public void setIndexingThreads(int indexingThreads) {
+		Assert.isTrue(indexingThreads > 0);
+		this.indexingThreads = indexingThreads;
+	}
+
+	/**
+	 * the number of tasks that were indexed by the last rebuild or update of the index
+	 */
+	public synchronized int getLastIndexedTaskCount() {
+		return lastIndexedTaskCount;
+	}
+
+	/**
+	 * the number of tasks per second that were indexed by the last rebuild or update of the index
+	 */
+	public synchronized long getLastIndexingThroughput() {
+		return lastIndexingThroughput;
+	}
+
 	private void initialize() {
 		if (!rebuildIndex) {
 			IndexReader indexReader = null;
@@ -565,59 +731,51 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		Lock readLock = indexReaderLock.readLock();
 		readLock.lock();
 		try {
-
-			IndexReader indexReader = getIndexReader();
-			if (indexReader != null) {
-				Set<String> hits;
-
-				final boolean needIndexHit;
+			IndexSearcher indexSearcher = getIndexSearcher();
+			if (indexSearcher != null) {
+				TaskHits hits;
+				MatchKey key;
 				synchronized (this) {
-					needIndexHit = lastResults == null
-							|| (lastPatternString == null || !lastPatternString.equals(patternString));
+					key = new MatchKey(patternString, indexGeneration);
+					hits = matchResults.get(key);
 				}
-				if (needIndexHit) {
-					this.lastPatternString = patternString;
-
-					hits = new HashSet<String>();
-
-					IndexSearcher indexSearcher = new IndexSearcher(indexReader);
-					try {
-						Query query = computeQuery(patternString);
-						TopDocs results = indexSearcher.search(query, maxMatchSearchHits);
-						for (ScoreDoc scoreDoc : results.scoreDocs) {
-							Document document = indexReader.document(scoreDoc.doc);
-							hits.add(document.get(FIELD_IDENTIFIER.getIndexKey()));
-						}
-					} catch (IOException e) {
-						StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
-								"Unexpected failure within task list index", e)); //$NON-NLS-1$
-					} finally {
-						try {
-							indexSearcher.close();
-						} catch (IOException e) {
-							// ignore
-						}
+				if (hits == null) {
+					hits = search(indexSearcher, patternString);
+					if (hits == null) {
+						return false;
 					}
-
-				} else {
-					hits = lastResults;
-				}
-				synchronized (this) {
-					if (this.indexReader == indexReader) {
-						this.lastPatternString = patternString;
-						this.lastResults = hits;
+					synchronized (this) {
+						// results are not looked up again if the default field changed while searching
+						matchResults.put(key, hits);
 					}
 				}
-				String taskIdentifier = task.getHandleIdentifier();
-				return hits != null && hits.contains(taskIdentifier);
+				return hits.contains(task.getHandleIdentifier());
 			}
-
 		} finally {
 			readLock.unlock();
 		}
 		return false;
 	}
 
+	private TaskHits search(IndexSearcher indexSearcher, String patternString) {
+		try {
+			Query query = computeQuery(patternString);
+			TopDocs results = indexSearcher.search(query, maxMatchSearchHits);
+			// identifiers are indexed as a single term which avoids loading the stored fields of each hit
+			StringIndex identifiers = FieldCache.DEFAULT.getStringIndex(indexSearcher.getIndexReader(),
+					FIELD_IDENTIFIER.getIndexKey());
+			BitSet ordinals = new BitSet(identifiers.lookup.length);
+			for (ScoreDoc scoreDoc : results.scoreDocs) {
+				ordinals.set(identifiers.order[scoreDoc.doc]);
+			}
+			return new TaskHits(identifiers.lookup, ordinals);
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Unexpected failure within task list index", e)); //$NON-NLS-1$
+		}
+		return null;
+	}
+
 	public void reindex() {
 		rebuildIndex = true;
 		scheduleIndexMaintenance(MaintainIndexType.REINDEX);
@@ -657,14 +815,13 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		Lock readLock = indexReaderLock.readLock();
 		readLock.lock();
 		try {
-			IndexReader indexReader = getIndexReader();
-			if (indexReader != null) {
-				IndexSearcher indexSearcher = new IndexSearcher(indexReader);
+			IndexSearcher indexSearcher = getIndexSearcher();
+			if (indexSearcher != null) {
 				try {
 					Query query = computeQuery(patternString);
 					TopDocs results = indexSearcher.search(query, resultsLimit);
 					for (ScoreDoc scoreDoc : results.scoreDocs) {
-						Document document = indexReader.document(scoreDoc.doc);
+						Document document = indexSearcher.doc(scoreDoc.doc);
 						String taskIdentifier = document.get(FIELD_IDENTIFIER.getIndexKey());
 						AbstractTask task = taskList.getTask(taskIdentifier);
 						if (task != null) {
@@ -674,12 +831,6 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 				} catch (IOException e) {
 					StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
 							"Unexpected failure within task list index", e)); //$NON-NLS-1$
-				} finally {
-					try {
-						indexSearcher.close();
-					} catch (IOException e) {
-						// ignore
-					}
 				}
 			}
 		} finally {
@@ -745,13 +896,16 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		writeLock.lock();
 		try {
 			synchronized (this) {
-				if (indexReader != null) {
-					try {
-						indexReader.close();
-					} catch (IOException e) {
-						// ignore
-					}
-					indexReader = null;
+				try {
+					disposeIndexReader();
+				} catch (IOException e) {
+					// ignore
+				}
+				try {
+					disposeIndexWriter();
+				} catch (IOException e) {
+					StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+							"Cannot close index: " + e.getMessage(), e)); //$NON-NLS-1$
 				}
 			}
 			try {
@@ -769,8 +923,12 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		try {
 			synchronized (this) {
 				if (indexReader == null) {
-					indexReader = IndexReader.open(directory, true);
-					lastResults = null;
+					if (indexWriter != null && !rebuildIndex) {
+						// near real-time reader that shares segments with the writer
+						indexReader = indexWriter.getReader();
+					} else {
+						indexReader = IndexReader.open(directory, true);
+					}
 				}
 				return indexReader;
 			}
@@ -788,6 +946,46 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		return null;
 	}
 
+	/**
+	 * returns a searcher that is shared until the index reader is closed
+	 */
+	private IndexSearcher getIndexSearcher() {
+		synchronized (this) {
+			if (indexSearcher == null) {
+				IndexReader indexReader = getIndexReader();
+				if (indexReader != null) {
+					indexSearcher = new IndexSearcher(indexReader);
+				}
+			}
+			return indexSearcher;
+		}
+	}
+
+	/**
+	 * 'this' must be synchronized and the {@link #indexReaderLock} must be held as a write lock
+	 */
+	private void disposeIndexReader() throws IOException {
+		invalidateMatchResults();
+		try {
+			if (indexSearcher != null) {
+				indexSearcher.close();
+				indexSearcher = null;
+			}
+		} finally {
+			if (indexReader != null) {
+				indexReader.close();
+				indexReader = null;
+			}
+		}
+	}
+
+	/**
+	 * 'this' must be synchronized
+	 */
+	private void invalidateMatchResults() {
+		indexGeneration++;
+	}
+
 	public void taskDataUpdated(TaskDataManagerEvent event) {
 		reindex(event.getTask(), event.getTaskData());
 	}
@@ -1036,7 +1234,8 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 	 * filter some tasks from the task list. This method may be called more than once per task, with some calls omitting
 	 * the task data. In this way implementations can avoid loading task data if the decision to filter tasks can be
 	 * based on the ITask alone. Implementations that must read the task data in order to determine eligibility for
-	 * indexing should return true for tasks where the provided task data is null.
+	 * indexing should return true for tasks where the provided task data is null. This method may be invoked
+	 * concurrently while the index is rebuilt.
 	 * 
 	 * @param task
 	 *            the task
@@ -1067,7 +1266,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 		SubMonitor monitor = SubMonitor.convert(m, 2 * WORK_PER_SEGMENT);
 		try {
 			try {
-				if (!rebuildIndex) {
+				if (!rebuildIndex && getIndexWriterIfOpen() == null) {
 					try {
 						IndexReader reader = IndexReader.open(directory, false);
 						reader.close();
@@ -1076,6 +1275,7 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 					}
 				}
 
+				boolean indexChanged = false;
 				if (rebuildIndex) {
 					synchronized (reindexQueue) {
 						reindexQueue.clear();
@@ -1085,103 +1285,195 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 					if (!status.isOK()) {
 						StatusHandler.log(status);
 					}
+					indexChanged = true;
 				} else {
 					monitor.worked(WORK_PER_SEGMENT);
 				}
 
 				// index any tasks that have been changed
-				indexQueuedTasks(monitor.newChild(WORK_PER_SEGMENT));
+				if (indexQueuedTasks(monitor.newChild(WORK_PER_SEGMENT))) {
+					indexChanged = true;
+				}
+
+				// prevent new searches from reading the now-stale index, the next reader is obtained from the writer
+				// and includes uncommitted changes. The reader and cached results remain valid if nothing was changed
+				if (indexChanged) {
+					closeIndexReader();
+				}
 
-				// prevent new searches from reading the now-stale index
-				closeIndexReader();
+				if (uncommittedChanges) {
+					long delay = lastCommitTime + COMMIT_INTERVAL - System.currentTimeMillis();
+					if (delay <= 0L) {
+						commitIndexWriter();
+					} else {
+						maintainIndexJob.schedule(delay);
+					}
+				}
 			} catch (IOException e) {
+				// discard uncommitted changes, the writer is created again on the next run
+				rollbackIndexWriter();
 				throw new CoreException(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
 						"Unexpected exception: " + e.getMessage(), e)); //$NON-NLS-1$
+			} catch (OperationCanceledException e) {
+				rollbackIndexWriter();
+				throw e;
 			}
 		} finally {
 			monitor.done();
 		}
 	}
 
+	private void commitIndexWriter() throws IOException {
+		IndexWriter writer = getIndexWriterIfOpen();
+		if (writer != null) {
+			writer.commit();
+		}
+		uncommittedChanges = false;
+		lastCommitTime = System.currentTimeMillis();
+	}
+
 	private void closeIndexReader() throws IOException {
 		Lock writeLock = indexReaderLock.writeLock();
 		writeLock.lock();
 		try {
 			synchronized (this) {
-				if (indexReader != null) {
-					indexReader.close();
-					indexReader = null;
+				disposeIndexReader();
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * returns the writer that is kept open between runs of the maintenance job. Must only be invoked from the
+	 * maintenance job.
+	 */
+	private IndexWriter getIndexWriter() throws CorruptIndexException, LockObtainFailedException, IOException {
+		synchronized (this) {
+			if (indexWriter == null) {
+				indexWriter = createIndexWriter(false);
+			}
+			return indexWriter;
+		}
+	}
+
+	private IndexWriter getIndexWriterIfOpen() {
+		synchronized (this) {
+			return indexWriter;
+		}
+	}
+
+	/**
+	 * 'this' must be synchronized and the {@link #indexReaderLock} must be held as a write lock
+	 */
+	private void disposeIndexWriter() throws IOException {
+		if (indexWriter != null) {
+			try {
+				// commits pending changes
+				indexWriter.close();
+			} finally {
+				indexWriter = null;
+				uncommittedChanges = false;
+			}
+		}
+	}
+
+	private void rollbackIndexWriter() {
+		Lock writeLock = indexReaderLock.writeLock();
+		writeLock.lock();
+		try {
+			synchronized (this) {
+				// readers obtained from the writer may reflect changes that are discarded
+				disposeIndexReader();
+				if (indexWriter != null) {
+					indexWriter.rollback();
 				}
 			}
+		} catch (IOException e) {
+			StatusHandler.log(new Status(IStatus.ERROR, TasksIndexCore.ID_PLUGIN,
+					"Cannot close index: " + e.getMessage(), e)); //$NON-NLS-1$
 		} finally {
+			synchronized (this) {
+				indexWriter = null;
+			}
+			if (uncommittedChanges) {
+				// tasks indexed since the last commit are no longer queued
+				uncommittedChanges = false;
+				rebuildIndex = true;
+			}
 			writeLock.unlock();
 		}
 	}
 
-	private void indexQueuedTasks(SubMonitor monitor) throws CorruptIndexException, LockObtainFailedException,
+	/**
+	 * @return true, if the index was modified
+	 */
+	private boolean indexQueuedTasks(SubMonitor monitor) throws CorruptIndexException, LockObtainFailedException,
 			IOException, CoreException {
 
 		synchronized (reindexQueue) {
 			if (reindexQueue.isEmpty()) {
-				return;
+				return false;
 			}
 
 			monitor.beginTask(Messages.TaskListIndex_task_rebuilding_index, reindexQueue.size());
 		}
 
+		long startTime = System.currentTimeMillis();
+		int count = 0;
 		try {
 			IndexWriter writer = null;
-			try {
-				Map<ITask, TaskData> workingQueue = new HashMap<ITask, TaskData>();
+			Map<ITask, TaskData> workingQueue = new HashMap<ITask, TaskData>();
 
-				// reindex tasks that are in the reindexQueue, making multiple passes so that we catch anything
-				// added/changed while we were reindexing
-				for (;;) {
-					workingQueue.clear();
+			// reindex tasks that are in the reindexQueue, making multiple passes so that we catch anything
+			// added/changed while we were reindexing
+			for (;;) {
+				workingQueue.clear();
 
-					synchronized (reindexQueue) {
-						if (reindexQueue.isEmpty()) {
-							break;
-						}
-						// move items from the reindexQueue to the temporary working queue
-						workingQueue.putAll(reindexQueue);
-						reindexQueue.keySet().removeAll(workingQueue.keySet());
+				synchronized (reindexQueue) {
+					if (reindexQueue.isEmpty()) {
+						break;
 					}
+					// move items from the reindexQueue to the temporary working queue
+					workingQueue.putAll(reindexQueue);
+					reindexQueue.keySet().removeAll(workingQueue.keySet());
+				}
 
-					if (writer == null) {
-						try {
-							writer = createIndexWriter(false);
-						} catch (CorruptIndexException e) {
-							rebuildIndex = true;
-							synchronized (reindexQueue) {
-								reindexQueue.clear();
-							}
-							rebuildIndexCompletely(monitor);
-							return;
+				if (writer == null) {
+					try {
+						writer = getIndexWriter();
+					} catch (CorruptIndexException e) {
+						rebuildIndex = true;
+						synchronized (reindexQueue) {
+							reindexQueue.clear();
 						}
+						rebuildIndexCompletely(monitor);
+						return true;
 					}
+				}
 
-					monitor.setWorkRemaining(workingQueue.size());
+				monitor.setWorkRemaining(workingQueue.size());
 
-					for (Entry<ITask, TaskData> entry : workingQueue.entrySet()) {
-						ITask task = entry.getKey();
-						TaskData taskData = entry.getValue();
+				for (Entry<ITask, TaskData> entry : workingQueue.entrySet()) {
+					ITask task = entry.getKey();
+					TaskData taskData = entry.getValue();
 
-						writer.deleteDocuments(new Term(FIELD_IDENTIFIER.getIndexKey(), task.getHandleIdentifier()));
+					writer.deleteDocuments(new Term(FIELD_IDENTIFIER.getIndexKey(), task.getHandleIdentifier()));
 
-						add(writer, task, taskData);
+					add(writer, task, taskData);
 
-						monitor.worked(1);
-					}
-				}
-			} finally {
-				if (writer != null) {
-					writer.close();
+					monitor.worked(1);
+					count++;
 				}
 			}
+			if (writer != null) {
+				uncommittedChanges = true;
+			}
+			updateStatistics(count, startTime);
 		} finally {
 			monitor.done();
 		}
+		return true;
 	}
 
 	private class TaskListState implements ITaskListRunnable {
@@ -1211,43 +1503,142 @@ public class TaskListIndex implements ITaskDataManagerListener, ITaskListChangeL
 
 		monitor.beginTask(Messages.TaskListIndex_task_rebuilding_index, taskListState.indexableTasks.size());
 		try {
-			IndexWriter writer;
-			try {
-				writer = createIndexWriter(true);
-			} catch (CorruptIndexException e) {
-				if (directory instanceof FSDirectory) {
-					cleanDirectory(((FSDirectory) directory).getFile());
+			long startTime = System.currentTimeMillis();
+			IndexWriter writer = getIndexWriterIfOpen();
+			if (writer != null) {
+				writer.deleteAll();
+			} else {
+				try {
 					writer = createIndexWriter(true);
-				} else {
-					throw e;
-				}
-			}
-			try {
-
-				for (ITask task : taskListState.indexableTasks) {
-					if (taskIsIndexable(task, null)) {
-						try {
-							TaskData taskData = dataManager.getTaskData(task);
-							add(writer, task, taskData);
-						} catch (CoreException e) {
-							// an individual task data error should not prevent the index from updating
-							multiStatus.add(e.getStatus());
-						}
+				} catch (CorruptIndexException e) {
+					if (directory instanceof FSDirectory) {
+						cleanDirectory(((FSDirectory) directory).getFile());
+						writer = createIndexWriter(true);
+					} else {
+						throw e;
 					}
-					monitor.worked(1);
 				}
 				synchronized (this) {
-					rebuildIndex = false;
+					indexWriter = writer;
 				}
-			} finally {
-				writer.close();
 			}
+
+			addDocuments(writer, taskListState.indexableTasks, multiStatus, monitor);
+
+			commitIndexWriter();
+			synchronized (this) {
+				rebuildIndex = false;
+			}
+			updateStatistics(taskListState.indexableTasks.size(), startTime);
 		} finally {
 			monitor.done();
 		}
 		return multiStatus;
 	}
 
+	/**
+	 * Retrieves task data and builds documents for <code>tasks</code> using {@link #getIndexingThreads()} threads.
+	 * Progress is reported on the calling thread.
+	 */
+	private void addDocuments(final IndexWriter writer, final List<ITask> tasks, final MultiStatus multiStatus,
+			SubMonitor monitor) throws IOException {
+		final AtomicInteger nextTask = new AtomicInteger();
+		final AtomicInteger completedTasks = new AtomicInteger();
+		final AtomicBoolean canceled = new AtomicBoolean();
+		int threadCount = Math.max(1, Math.min(indexingThreads, tasks.size()));
+
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, new ThreadFactory() {
+			private final AtomicInteger threadNumber = new AtomicInteger();
+
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, Messages.TaskListIndex_indexerJob + " #" //$NON-NLS-1$
+						+ threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		try {
+			List<Future<Object>> futures = new ArrayList<Future<Object>>(threadCount);
+			for (int i = 0; i < threadCount; i++) {
+				futures.add(executor.submit(new Callable<Object>() {
+					public Object call() throws IOException {
+						int index;
+						while (!canceled.get() && (index = nextTask.getAndIncrement()) < tasks.size()) {
+							ITask task = tasks.get(index);
+							if (taskIsIndexable(task, null)) {
+								try {
+									TaskData taskData = dataManager.getTaskData(task);
+									add(writer, task, taskData);
+								} catch (CoreException e) {
+									// an individual task data error should not prevent the index from updating
+									synchronized (multiStatus) {
+										multiStatus.add(e.getStatus());
+									}
+								}
+							}
+							completedTasks.incrementAndGet();
+						}
+						return null;
+					}
+				}));
+			}
+
+			long startTime = System.currentTimeMillis();
+			int reported = 0;
+			for (Future<Object> future : futures) {
+				for (;;) {
+					try {
+						future.get(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+						break;
+					} catch (TimeoutException e) {
+						// report progress
+					}
+					if (monitor.isCanceled()) {
+						canceled.set(true);
+						throw new OperationCanceledException();
+					}
+					reported = reportProgress(monitor, completedTasks.get(), reported, tasks.size(), startTime);
+				}
+			}
+			reportProgress(monitor, completedTasks.get(), reported, tasks.size(), startTime);
+		} catch (InterruptedException e) {
+			canceled.set(true);
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			canceled.set(true);
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			} else if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IOException(e.getMessage());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private int reportProgress(SubMonitor monitor, int completed, int reported, int total, long startTime) {
+		monitor.worked(completed - reported);
+		long elapsed = System.currentTimeMillis() - startTime;
+		monitor.subTask(NLS.bind(Messages.TaskListIndex_indexing_progress, new Object[] { completed, total,
+				computeThroughput(completed, elapsed) }));
+		return completed;
+	}
+
+	private void updateStatistics(int count, long startTime) {
+		long elapsed = System.currentTimeMillis() - startTime;
+		synchronized (this) {
+			lastIndexedTaskCount = count;
+			lastIndexingThroughput = computeThroughput(count, elapsed);
+		}
+	}
+
+	private static long computeThroughput(int count, long elapsedMillis) {
+		return (elapsedMillis > 0) ? count * 1000L / elapsedMillis : count;
+	}
+
 	private void cleanDirectory(File file) throws IOException {
 		if (file.exists()) {
 			File[] children = file.listFiles();
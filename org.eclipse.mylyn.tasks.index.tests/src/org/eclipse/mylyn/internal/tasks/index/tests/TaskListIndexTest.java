@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -481,6 +482,96 @@ public class TaskListIndexTest extends AbstractTaskListIndexTest {
 				+ attachmentMapper.getDescription() + "\""));
 	}
 
+	@Test
+	public void testMatchesAlternatingPatterns() throws InterruptedException {
+		setupIndex();
+
+		ITask task1 = context.createLocalTask();
+		task1.setSummary("alpha one");
+		ITask task2 = context.createLocalTask();
+		task2.setSummary("beta two");
+		context.getTaskList().notifyElementsChanged(new HashSet<ITask>(Arrays.asList(task1, task2)));
+
+		index.waitUntilIdle();
+
+		index.setDefaultField(FIELD_SUMMARY);
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(index.matches(task1, "alpha"));
+			assertFalse(index.matches(task2, "alpha"));
+			assertFalse(index.matches(task1, "beta"));
+			assertTrue(index.matches(task2, "beta"));
+		}
+	}
+
+	@Test
+	public void testMatchesAfterTaskChanged() throws InterruptedException {
+		setupIndex();
+
+		ITask task = context.createLocalTask();
+		task.setSummary("alpha");
+		context.getTaskList().notifyElementsChanged(Collections.singleton(task));
+
+		index.waitUntilIdle();
+
+		index.setDefaultField(FIELD_SUMMARY);
+
+		assertTrue(index.matches(task, "alpha"));
+		assertFalse(index.matches(task, "gamma"));
+
+		task.setSummary("gamma");
+		context.getTaskList().notifyElementsChanged(Collections.singleton(task));
+
+		index.waitUntilIdle();
+
+		assertFalse(index.matches(task, "alpha"));
+		assertTrue(index.matches(task, "gamma"));
+	}
+
+	@Test
+	public void testRebuildIndexConcurrently() throws InterruptedException, CoreException {
+		setupIndex();
+		index.setIndexingThreads(4);
+
+		List<ITask> tasks = new ArrayList<ITask>();
+		for (int i = 0; i < 20; i++) {
+			tasks.add(context.createRepositoryTask());
+			ITask task = context.createLocalTask();
+			task.setSummary("local" + i);
+			tasks.add(task);
+		}
+
+		index.waitUntilIdle();
+		index.reindex();
+		index.waitUntilIdle();
+
+		assertEquals(tasks.size(), index.getLastIndexedTaskCount());
+		assertTrue(index.getLastIndexingThroughput() > 0);
+		for (ITask task : tasks) {
+			assertTrue(index.matches(task, task.getSummary()));
+		}
+	}
+
+	@Test
+	public void testMatchesAfterUpdateWithOpenWriter() throws InterruptedException {
+		setupIndex();
+
+		ITask task1 = context.createLocalTask();
+		task1.setSummary("first");
+		context.getTaskList().notifyElementsChanged(Collections.singleton(task1));
+		index.waitUntilIdle();
+		assertTrue(index.matches(task1, "first"));
+
+		ITask task2 = context.createLocalTask();
+		task2.setSummary("second");
+		context.getTaskList().notifyElementsChanged(Collections.singleton(task2));
+		index.waitUntilIdle();
+		assertEquals(1, index.getLastIndexedTaskCount());
+		assertTrue(index.matches(task1, "first"));
+		assertTrue(index.matches(task2, "second"));
+		assertFalse(index.matches(task1, "second"));
+	}
+
 	private void assertCanFindTask(ITask task) {
 		TestTaskCollector collector = new TestTaskCollector();
 		index.find(task.getSummary(), collector, 1000);
@@ -18,11 +18,13 @@ import org.eclipse.mylyn.commons.sdk.util.ManagedTestSuite;
 import org.eclipse.mylyn.commons.sdk.util.TestConfiguration;
 import org.eclipse.mylyn.tasks.tests.bugs.SupportHandlerManagerTest;
 import org.eclipse.mylyn.tasks.tests.core.AbstractRepositoryConnectorTest;
+import org.eclipse.mylyn.tasks.tests.core.AttributeMapTest;
 import org.eclipse.mylyn.tasks.tests.core.FileTaskAttachmentSourceTest;
 import org.eclipse.mylyn.tasks.tests.core.ITasksCoreConstantsTest;
 import org.eclipse.mylyn.tasks.tests.core.PriorityLevelTest;
 import org.eclipse.mylyn.tasks.tests.core.RepositoryClientManagerTest;
 import org.eclipse.mylyn.tasks.tests.core.RepositoryConnectorContributorTest;
+import org.eclipse.mylyn.tasks.tests.core.SynchronizeQueriesJobTest;
 import org.eclipse.mylyn.tasks.tests.core.SynchronizeTasksJobTest;
 import org.eclipse.mylyn.tasks.tests.core.TaskAttributeMetaDataTest;
 import org.eclipse.mylyn.tasks.tests.core.TaskInitializationDataTest;
@@ -106,6 +108,7 @@ public class AllTasksTests {
 		suite.addTestSuite(RepositorySettingsPageTest.class);
 		suite.addTestSuite(CommentQuoterTest.class);
 		suite.addTestSuite(TaskDataStoreTest.class);
+		suite.addTestSuite(TaskDataStoreBinaryTest.class);
 		suite.addTestSuite(TaskExportImportTest.class);
 		suite.addTestSuite(PersonProposalProviderTest.class);
 		suite.addTestSuite(TaskRepositoryLocationTest.class);
@@ -160,6 +163,7 @@ public class AllTasksTests {
 		suite.addTestSuite(RepositoryClientManagerTest.class);
 		suite.addTestSuite(AbstractRepositoryConnectorUiTest.class);
 		suite.addTestSuite(SynchronizeTasksJobTest.class);
+		suite.addTestSuite(SynchronizeQueriesJobTest.class);
 		suite.addTestSuite(TaskAttributeTest.class);
 		suite.addTestSuite(ScheduledTaskContainerTest.class);
 		suite.addTestSuite(RepositoryConnectorContributorTest.class);
@@ -168,6 +172,7 @@ public class AllTasksTests {
 		suite.addTestSuite(TaskEditorExtensionsTest.class);
 		suite.addTestSuite(AbstractRepositoryConnectorTest.class);
 		suite.addTestSuite(TaskJobFactoryTest.class);
+		suite.addTestSuite(AttributeMapTest.class);
 	}
 
 }
@@ -13,6 +13,7 @@
 package org.eclipse.mylyn.tasks.tests;
 
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 
 import junit.framework.TestCase;
@@ -311,4 +312,43 @@ public class TaskActivityManagerTest extends TestCase {
 		assertNull(taskActivityManager.getActiveTask());
 	}
 
+	public void testUnscheduledAndCompletedTasks() {
+		AbstractTask task = new LocalTask("task1", "description1");
+		taskList.addTask(task);
+		assertTrue(taskActivityManager.getUnscheduledIncompleteTasks().contains(task));
+		assertFalse(taskActivityManager.getCompletedTasks().contains(task));
+
+		taskActivityManager.setScheduledFor(task, TaskActivityUtil.getCurrentWeek());
+		assertFalse(taskActivityManager.getUnscheduledIncompleteTasks().contains(task));
+
+		taskActivityManager.setScheduledFor(task, null);
+		assertTrue(taskActivityManager.getUnscheduledIncompleteTasks().contains(task));
+
+		task.setCompletionDate(new Date());
+		taskList.notifyElementChanged(task);
+		assertFalse(taskActivityManager.getUnscheduledIncompleteTasks().contains(task));
+		assertTrue(taskActivityManager.getCompletedTasks().contains(task));
+
+		taskList.deleteTask(task);
+		assertFalse(taskActivityManager.getUnscheduledIncompleteTasks().contains(task));
+		assertFalse(taskActivityManager.getCompletedTasks().contains(task));
+	}
+
+	public void testUnscheduledAndCompletedTasksAfterReload() {
+		AbstractTask task1 = new LocalTask("task1", "description1");
+		AbstractTask task2 = new LocalTask("task2", "description2");
+		task2.setCompletionDate(new Date());
+		AbstractTask task3 = new LocalTask("task3", "description3");
+		task3.setScheduledForDate(TaskActivityUtil.getCurrentWeek());
+		taskList.addTask(task1);
+		taskList.addTask(task2);
+		taskList.addTask(task3);
+
+		taskActivityManager.clear();
+		assertTrue(taskActivityManager.getUnscheduledIncompleteTasks().isEmpty());
+		taskActivityManager.reloadPlanningData();
+		assertEquals(Collections.singleton(task1), taskActivityManager.getUnscheduledIncompleteTasks());
+		assertEquals(Collections.singleton(task2), taskActivityManager.getCompletedTasks());
+	}
+
 }
\ No newline at end of file
@@ -11,8 +11,12 @@
 
 package org.eclipse.mylyn.tasks.tests;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import junit.framework.TestCase;
 
+import org.eclipse.mylyn.tasks.core.ITask;
 import org.eclipse.mylyn.tasks.tests.connector.MockTask;
 
 /**
@@ -36,4 +40,36 @@ public class TaskContainerTest extends TestCase {
 		assertFalse(task3.contains("abc"));
 	}
 
+	public void testGetChildrenInsertionOrder() {
+		MockTask parent = new MockTask("parent");
+		List<ITask> expected = new ArrayList<ITask>();
+		for (int i = 10; i > 0; i--) {
+			MockTask child = new MockTask(Integer.toString(i));
+			parent.internalAddChild(child);
+			expected.add(child);
+		}
+		parent.internalAddChild(new MockTask("5"));
+		assertEquals(expected, new ArrayList<ITask>(parent.getChildren()));
+
+		parent.internalRemoveChild(expected.remove(2));
+		assertEquals(expected, new ArrayList<ITask>(parent.getChildren()));
+	}
+
+	public void testRemoveChildDuringIteration() {
+		MockTask parent = new MockTask("parent");
+		MockTask task1 = new MockTask("1");
+		MockTask task2 = new MockTask("2");
+		parent.internalAddChild(task1);
+		parent.internalAddChild(task2);
+
+		int count = 0;
+		for (ITask child : parent.getChildren()) {
+			parent.internalRemoveChild(child);
+			count++;
+		}
+		assertEquals(2, count);
+		assertTrue(parent.isEmpty());
+		assertFalse(parent.contains(task1.getHandleIdentifier()));
+	}
+
 }
@@ -11,14 +11,20 @@
 
 package org.eclipse.mylyn.tasks.tests;
 
+import java.io.File;
+
 import junit.framework.TestCase;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.mylyn.commons.core.DelegatingProgressMonitor;
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
 import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
 import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.data.ITaskDataManagerListener;
 import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManager;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManagerEvent;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore.Format;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.tasks.core.ITask.SynchronizationState;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
@@ -61,6 +67,36 @@ public class TaskDataManagerTest extends TestCase {
 		assertEquals(SynchronizationState.SYNCHRONIZED, task.getSynchronizationState());
 	}
 
+	public void testPutUpdatedTaskDataEventHasLastReadData() throws Exception {
+		TaskTask task = TaskTestUtil.createMockTask("1");
+		task.setSynchronizationState(SynchronizationState.SYNCHRONIZED);
+		TaskData taskData = TaskTestUtil.createTaskData(taskRepository, "1");
+		taskData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("old");
+		taskDataManger.putUpdatedTaskData(task, taskData, true, null);
+		taskDataManger.setTaskRead(task, true);
+
+		final TaskDataManagerEvent[] events = new TaskDataManagerEvent[1];
+		ITaskDataManagerListener listener = new ITaskDataManagerListener() {
+			public void taskDataUpdated(TaskDataManagerEvent event) {
+				events[0] = event;
+			}
+
+			public void editsDiscarded(TaskDataManagerEvent event) {
+			}
+		};
+		taskDataManger.addListener(listener);
+		try {
+			taskData = TaskTestUtil.createTaskData(taskRepository, "1");
+			taskData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("new");
+			taskDataManger.putUpdatedTaskData(task, taskData, true, null);
+		} finally {
+			taskDataManger.removeListener(listener);
+		}
+		assertNotNull(events[0]);
+		assertTrue(events[0].hasLastReadData());
+		assertEquals("old", events[0].getLastReadData().getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+	}
+
 	public void testIncomming() throws Exception {
 		TaskTask task = TaskTestUtil.createMockTask("1");
 		task.setSynchronizationState(SynchronizationState.SYNCHRONIZED);
@@ -143,6 +179,81 @@ public class TaskDataManagerTest extends TestCase {
 
 	}
 
+	public void testSetDataPathDiscardsCachedTaskData() throws Exception {
+		String dataPath = taskDataManger.getDataPath();
+		File folder = CommonTestUtil.createTempFolder(TaskDataManagerTest.class.getSimpleName());
+		File backupFolder = new File(folder.getPath() + ".backup");
+		File previousFolder = new File(folder.getPath() + ".previous");
+		try {
+			TaskTask task = TaskTestUtil.createMockTask("1");
+			TaskData taskData = TaskTestUtil.createTaskData(taskRepository, "1");
+			taskData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("backup");
+			taskDataManger.setDataPath(backupFolder.getAbsolutePath());
+			taskDataManger.putUpdatedTaskData(task, taskData, true, null);
+
+			taskData = TaskTestUtil.createTaskData(taskRepository, "1");
+			taskData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("current");
+			taskDataManger.setDataPath(folder.getAbsolutePath());
+			taskDataManger.putUpdatedTaskData(task, taskData, true, null);
+			taskData = taskDataManger.getTaskData(task);
+			assertEquals("current", taskData.getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+
+			// restore the backup into the data folder
+			assertTrue(folder.renameTo(previousFolder));
+			assertTrue(backupFolder.renameTo(folder));
+			taskDataManger.setDataPath(folder.getAbsolutePath());
+			taskData = taskDataManger.getTaskData(task);
+			assertEquals("backup", taskData.getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+		} finally {
+			taskDataManger.setDataPath(dataPath);
+			delete(folder);
+			delete(backupFolder);
+			delete(previousFolder);
+		}
+	}
+
+	public void testMigrateTaskData() throws Exception {
+		String dataPath = taskDataManger.getDataPath();
+		Format format = taskDataManger.getFormat();
+		File folder = CommonTestUtil.createTempFolder(TaskDataManagerTest.class.getSimpleName());
+		try {
+			taskDataManger.setDataPath(folder.getAbsolutePath());
+			TaskTask task = TaskTestUtil.createMockTask("1");
+			TaskData taskData = TaskTestUtil.createTaskData(taskRepository, "1");
+			taskData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("summary");
+			taskDataManger.putUpdatedTaskData(task, taskData, true, null);
+
+			// task data in the previous format is still found
+			taskDataManger.setFormat(Format.BINARY);
+			assertTrue(taskDataManger.hasTaskData(task));
+			taskData = taskDataManger.getTaskData(task);
+			assertEquals("summary", taskData.getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+
+			assertEquals(1, taskDataManger.migrateTaskData(null));
+			assertEquals(0, taskDataManger.migrateTaskData(null));
+			taskData = taskDataManger.getTaskData(task);
+			assertEquals("summary", taskData.getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+
+			// writes migrate task data on demand
+			taskDataManger.setFormat(Format.XML);
+			taskData.getRoot().getAttribute(TaskAttribute.SUMMARY).setValue("changed");
+			taskDataManger.putUpdatedTaskData(task, taskData, true, null);
+			assertEquals(0, taskDataManger.migrateTaskData(null));
+			taskData = taskDataManger.getTaskData(task);
+			assertEquals("changed", taskData.getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+		} finally {
+			taskDataManger.setFormat(format);
+			taskDataManger.setDataPath(dataPath);
+			delete(folder);
+		}
+	}
+
+	private void delete(File folder) {
+		if (folder.exists()) {
+			CommonTestUtil.deleteFolderRecursively(folder);
+		}
+	}
+
 //	public void testHasIncomingDateComparison() {
 //		final Stack<Date> dates = new Stack<Date>();
 //		MockTask task = new MockTask(MOCCK_ID);
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.zip.DeflaterOutputStream;
+
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataState;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStateBinaryReader;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStateBinaryWriter;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+
+/**
+ * Runs all tests of {@link TaskDataStoreTest} with files in the binary format.
+ */
+public class TaskDataStoreBinaryTest extends TaskDataStoreTest {
+
+	@Override
+	protected File createFile() throws IOException {
+		return File.createTempFile("mylyn", TaskDataStore.EXTENSION_BINARY);
+	}
+
+	@Override
+	public void testReadWriteInvalidCharacters() throws Exception {
+		// unlike XML the binary format supports all characters
+		setupData();
+		data.getRoot().createAttribute("attribute").setValue("\u0000\uD800");
+
+		storage.putTaskData(file, state);
+
+		TaskDataState state2 = storage.getTaskDataState(file);
+		assertEquals("\u0000\uD800", state2.getRepositoryData().getRoot().getAttribute("attribute").getValue());
+	}
+
+	public void testWriteBinary() throws Exception {
+		setupData();
+		storage.putTaskData(file, state);
+		assertTrue(isBinary(file));
+	}
+
+	public void testMigrate() throws Exception {
+		File xmlFile = File.createTempFile("mylyn", ".zip");
+		xmlFile.deleteOnExit();
+		setupData();
+		data.getRoot().createAttribute("attribute").setValue("value");
+		storage.putTaskData(xmlFile, state);
+		assertFalse(isBinary(xmlFile));
+
+		assertTrue(storage.migrate(xmlFile, file));
+		assertTrue(isBinary(file));
+		assertFalse(xmlFile.exists());
+		assertEquals(data.getRoot().toString(), storage.getTaskDataState(file).getRepositoryData().getRoot().toString());
+
+		// the binary file can be migrated back
+		assertTrue(storage.migrate(file, xmlFile));
+		assertFalse(isBinary(xmlFile));
+		assertFalse(storage.migrate(file, xmlFile));
+		assertEquals(data.getRoot().toString(), storage.getTaskDataState(xmlFile)
+				.getRepositoryData()
+				.getRoot()
+				.toString());
+		xmlFile.delete();
+	}
+
+	public void testLastReadDelta() throws Exception {
+		setupData();
+		data.getRoot().createAttribute("unchanged").setValue("value");
+		data.getRoot().createAttribute("changed").setValue("new value");
+		data.getRoot().createAttribute("added").setValue("value");
+		TaskAttribute comment = data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		comment.createAttribute(TaskAttribute.COMMENT_TEXT).setValue("text");
+		comment.createAttribute(TaskAttribute.COMMENT_AUTHOR).setValue("author");
+
+		TaskData lastRead = TaskDataState.createCopy(data);
+		lastRead.getRoot().getAttribute("changed").setValue("old value");
+		lastRead.getRoot().removeAttribute("added");
+		lastRead.getRoot().createAttribute("removed").setValue("value");
+		lastRead.getRoot()
+				.getAttribute(TaskAttribute.PREFIX_COMMENT + "1")
+				.getAttribute(TaskAttribute.COMMENT_TEXT)
+				.setValue("old text");
+		state.setLastReadData(lastRead);
+
+		storage.putTaskData(file, state);
+		TaskDataState state2 = storage.getTaskDataState(file);
+		assertEquals(data.getRoot().toString(), state2.getRepositoryData().getRoot().toString());
+		assertEquals(lastRead.getRoot().toString(), state2.getLastReadData().getRoot().toString());
+	}
+
+	public void testReadChildrenOnDemand() throws Exception {
+		setupData();
+		data.getRoot().createAttribute("attribute").setValue("value");
+		TaskAttribute comment = data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		comment.createAttribute(TaskAttribute.COMMENT_TEXT).setValue("text");
+		comment.createAttribute(TaskAttribute.COMMENT_AUTHOR).createAttribute("name").setValue("author");
+		// strings that are first defined by a skipped subtree are referenced by subsequent attributes
+		data.getRoot().createAttribute(TaskAttribute.COMMENT_TEXT).setValue("text");
+		state.setLastReadData(TaskDataState.createCopy(data));
+
+		storage.putTaskData(file, state);
+		TaskDataState state2 = storage.getTaskDataState(file);
+		TaskAttribute comment2 = state2.getRepositoryData().getRoot().getAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		assertNotNull(comment2.getAttributeLoader());
+		assertEquals(3, comment2.getAttributeLoader().getAttributeCount());
+		assertTrue(comment2.getAttributeLoader().getRetainedSize() > 0);
+		assertNull(state2.getRepositoryData().getRoot().getAttribute("attribute").getAttributeLoader());
+
+		assertEquals(data.getRoot().toString(), state2.getRepositoryData().getRoot().toString());
+		assertNull(comment2.getAttributeLoader());
+		assertEquals(data.getRoot().toString(), state2.getLastReadData().getRoot().toString());
+	}
+
+	public void testFingerprintWithoutLoading() throws Exception {
+		setupData();
+		TaskAttribute comment = data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		comment.createAttribute(TaskAttribute.COMMENT_TEXT).setValue("text");
+		comment.createAttribute(TaskAttribute.COMMENT_AUTHOR).putOption("key", "value");
+		comment.getAttribute(TaskAttribute.COMMENT_AUTHOR).getMetaData().setReadOnly(true);
+
+		storage.putTaskData(file, state);
+		TaskDataState state2 = storage.getTaskDataState(file);
+		TaskAttribute comment2 = state2.getRepositoryData().getRoot().getAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		assertEquals(comment.getFingerprint(), comment2.getFingerprint());
+		assertNotNull(comment2.getAttributeLoader());
+		assertEquals(data.getRoot().getFingerprint(), state2.getRepositoryData().getRoot().getFingerprint());
+	}
+
+	public void testSize() throws Exception {
+		setupData();
+		for (int i = 0; i < 100; i++) {
+			TaskCommentMapper comment = new TaskCommentMapper();
+			comment.setCommentId(Integer.toString(i));
+			comment.setNumber(i);
+			comment.setText("comment " + i);
+			comment.applyTo(data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + i));
+		}
+		state.setLastReadData(TaskDataState.createCopy(data));
+
+		storage.putTaskData(file, state);
+		long binaryLength = file.length();
+		File xmlFile = File.createTempFile("mylyn", ".zip");
+		xmlFile.deleteOnExit();
+		storage.putTaskData(xmlFile, state);
+		long xmlLength = xmlFile.length();
+		xmlFile.delete();
+		assertTrue("Expected binary size " + binaryLength + " < XML size " + xmlLength, binaryLength < xmlLength);
+	}
+
+	public void testReadCorruptLength() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream header = new DataOutputStream(out);
+		header.writeInt(TaskDataStateBinaryWriter.MAGIC);
+		header.writeByte(TaskDataStateBinaryWriter.VERSION);
+		DeflaterOutputStream body = new DeflaterOutputStream(out);
+		// a string length of Integer.MAX_VALUE followed by a single character
+		body.write(new byte[] { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'a' });
+		body.close();
+
+		try {
+			new TaskDataStateBinaryReader(null).read(new ByteArrayInputStream(out.toByteArray()));
+			fail("Expected IOException");
+		} catch (IOException e) {
+			assertEquals("Invalid count: " + Integer.MAX_VALUE, e.getMessage());
+		}
+	}
+
+	private boolean isBinary(File file) throws IOException {
+		DataInputStream in = new DataInputStream(new FileInputStream(file));
+		try {
+			return in.readInt() == TaskDataStateBinaryWriter.MAGIC;
+		} finally {
+			in.close();
+		}
+	}
+
+}
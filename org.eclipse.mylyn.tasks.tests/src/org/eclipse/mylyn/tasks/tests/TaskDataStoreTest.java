@@ -11,8 +11,18 @@
 
 package org.eclipse.mylyn.tasks.tests;
 
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import junit.framework.TestCase;
 
@@ -38,25 +48,28 @@ import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
  */
 public class TaskDataStoreTest extends TestCase {
 
-	private static final String MOCK_ID = "1";
+	protected static final String MOCK_ID = "1";
 
-	private TaskDataStore storage;
+	protected TaskDataStore storage;
 
-	private TaskRepository taskRepository;
+	protected TaskRepositoryManager taskRepositoryManager;
 
-	private File file;
+	protected TaskRepository taskRepository;
 
-	private TaskData data;
+	protected File file;
 
-	private TaskDataState state;
+	protected TaskData data;
+
+	protected TaskDataState state;
 
 	@Override
 	protected void setUp() throws Exception {
-		TaskRepositoryManager taskRepositoryManager = new TaskRepositoryManager();
-		storage = new TaskDataStore(taskRepositoryManager);
+		taskRepositoryManager = new TaskRepositoryManager();
+		// disable caching to ensure that all tests round-trip through the file system
+		storage = createStorage(taskRepositoryManager, 0);
 		taskRepository = new TaskRepository(MockRepositoryConnector.CONNECTOR_KIND,
 				MockRepositoryConnector.REPOSITORY_URL);
-		file = File.createTempFile("mylyn", null);
+		file = createFile();
 		file.deleteOnExit();
 
 		taskRepositoryManager.addRepositoryConnector(new MockRepositoryConnector());
@@ -68,6 +81,17 @@ public class TaskDataStoreTest extends TestCase {
 		file.delete();
 	}
 
+	protected TaskDataStore createStorage(TaskRepositoryManager taskRepositoryManager, long maximumCacheWeight) {
+		return new TaskDataStore(taskRepositoryManager, maximumCacheWeight);
+	}
+
+	/**
+	 * Creates a file for storing task data, the extension determines the format.
+	 */
+	protected File createFile() throws IOException {
+		return File.createTempFile("mylyn", null);
+	}
+
 	public void testPutAndGet() throws Exception {
 		TaskDataState state = new TaskDataState(MockRepositoryConnector.CONNECTOR_KIND,
 				MockRepositoryConnector.REPOSITORY_URL, MOCK_ID);
@@ -112,7 +136,7 @@ public class TaskDataStoreTest extends TestCase {
 		assertNull(storage.getTaskDataState(file));
 	}
 
-	private void setupData() {
+	protected void setupData() {
 		data = new TaskData(new TaskAttributeMapper(taskRepository), MockRepositoryConnector.CONNECTOR_KIND,
 				MockRepositoryConnector.REPOSITORY_URL, MOCK_ID);
 		state = new TaskDataState(MockRepositoryConnector.CONNECTOR_KIND, MockRepositoryConnector.REPOSITORY_URL,
@@ -347,4 +371,236 @@ public class TaskDataStoreTest extends TestCase {
 		return RandomStringUtils.random(1000, start, end, true, true);
 	}
 
+	public void testCacheReturnsCopies() throws Exception {
+		storage = createStorage(taskRepositoryManager, TaskDataStore.DEFAULT_CACHE_WEIGHT);
+		setupData();
+		data.getRoot().createAttribute("attribute").setValue("value");
+		storage.putTaskData(file, state);
+
+		// modifying the written state must not affect the cache
+		data.getRoot().getAttribute("attribute").setValue("modified");
+		TaskDataState state2 = storage.getTaskDataState(file);
+		assertEquals("value", state2.getRepositoryData().getRoot().getAttribute("attribute").getValue());
+
+		// modifying a retrieved state must not affect the cache
+		state2.getRepositoryData().getRoot().getAttribute("attribute").setValue("modified");
+		TaskDataState state3 = storage.getTaskDataState(file);
+		assertNotSame(state2, state3);
+		assertEquals("value", state3.getRepositoryData().getRoot().getAttribute("attribute").getValue());
+	}
+
+	public void testCacheWriteThrough() throws Exception {
+		storage = createStorage(taskRepositoryManager, TaskDataStore.DEFAULT_CACHE_WEIGHT);
+		setupData();
+		storage.putTaskData(file, state);
+
+		TaskData edits = new TaskData(new TaskAttributeMapper(taskRepository), MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, MOCK_ID);
+		edits.getRoot().createAttribute("edit").setValue("value");
+		storage.putEdits(file, edits);
+		assertEquals("value", storage.getTaskDataState(file).getEditsData().getRoot().getAttribute("edit").getValue());
+
+		storage.discardEdits(file);
+		assertNull(storage.getTaskDataState(file).getEditsData());
+
+		storage.deleteTaskData(file);
+		assertNull(storage.getTaskDataState(file));
+	}
+
+	public void testCacheMatchesFile() throws Exception {
+		storage = createStorage(taskRepositoryManager, TaskDataStore.DEFAULT_CACHE_WEIGHT);
+		setupData();
+		data.getRoot().createAttribute("attribute").setValue("value");
+		storage.putTaskData(file, state);
+		String cachedValue = storage.getTaskDataState(file).getRepositoryData().getRoot().toString();
+
+		storage.clearCache();
+		String fileValue = storage.getTaskDataState(file).getRepositoryData().getRoot().toString();
+		assertEquals(fileValue, cachedValue);
+	}
+
+	public void testCacheCopiesAttributesOnDemand() throws Exception {
+		storage = createStorage(taskRepositoryManager, TaskDataStore.DEFAULT_CACHE_WEIGHT);
+		setupData();
+		TaskAttribute comment = data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		comment.createAttribute(TaskAttribute.COMMENT_TEXT).setValue("text");
+		storage.putTaskData(file, state);
+		String expected = data.getRoot().toString();
+
+		TaskDataState state2 = storage.getTaskDataState(file);
+		assertNotNull(state2.getRepositoryData().getRoot().getAttributeLoader());
+		TaskAttribute comment2 = state2.getRepositoryData().getRoot().getAttribute(TaskAttribute.PREFIX_COMMENT + "1");
+		assertNotNull(comment2.getAttributeLoader());
+
+		// modifying children of a retrieved state must not affect the cache
+		comment2.getAttribute(TaskAttribute.COMMENT_TEXT).setValue("modified");
+		comment2.createAttribute("added");
+		assertEquals(expected, storage.getTaskDataState(file).getRepositoryData().getRoot().toString());
+	}
+
+	public void testConcurrentPutAndGet() throws Exception {
+		storage = createStorage(taskRepositoryManager, TaskDataStore.DEFAULT_CACHE_WEIGHT);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int i = 0; i < 8; i++) {
+				final String taskId = Integer.toString(i);
+				final File taskFile = createFile();
+				taskFile.deleteOnExit();
+				futures.add(executor.submit(new Callable<Object>() {
+					public Object call() throws Exception {
+						for (int j = 0; j < 20; j++) {
+							TaskData taskData = new TaskData(new TaskAttributeMapper(taskRepository),
+									MockRepositoryConnector.CONNECTOR_KIND, MockRepositoryConnector.REPOSITORY_URL,
+									taskId);
+							taskData.getRoot().createAttribute("counter").setValue(Integer.toString(j));
+							storage.putTaskData(taskFile, taskData, true, false);
+							TaskDataState taskState = storage.getTaskDataState(taskFile);
+							assertEquals(taskId, taskState.getTaskId());
+							assertEquals(Integer.toString(j), taskState.getRepositoryData()
+									.getRoot()
+									.getAttribute("counter")
+									.getValue());
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	public void testWriteRecoversTempFile() throws Exception {
+		setupData();
+		data.getRoot().createAttribute("attribute").setValue("value");
+		storage.putTaskData(file, state);
+		File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+		tempFile.deleteOnExit();
+		assertFalse(tempFile.exists());
+
+		// simulate a crash after the old archive was removed but before the new archive was moved into place
+		assertTrue(file.renameTo(tempFile));
+		TaskDataState state2 = storage.getTaskDataState(file);
+		assertEquals("value", state2.getRepositoryData().getRoot().getAttribute("attribute").getValue());
+		assertTrue(file.exists());
+		assertFalse(tempFile.exists());
+	}
+
+	public void testWriteIgnoresIncompleteTempFile() throws Exception {
+		File tempFile = new File(file.getParentFile(), file.getName() + ".tmp");
+		tempFile.deleteOnExit();
+		file.delete();
+		FileOutputStream out = new FileOutputStream(tempFile);
+		try {
+			out.write(new byte[] { 0x50, 0x4b, 0x03 });
+		} finally {
+			out.close();
+		}
+		assertNull(storage.getTaskDataState(file));
+		assertFalse(tempFile.exists());
+	}
+
+	public void testJournalEdits() throws Exception {
+		storage.setJournalEdits(true);
+		setupData();
+		storage.putTaskData(file, state);
+		long length = file.length();
+		File journalFile = new File(file.getParentFile(), file.getName() + ".journal");
+		journalFile.deleteOnExit();
+
+		for (int i = 0; i < 3; i++) {
+			TaskData edits = new TaskData(new TaskAttributeMapper(taskRepository),
+					MockRepositoryConnector.CONNECTOR_KIND, MockRepositoryConnector.REPOSITORY_URL, MOCK_ID);
+			edits.getRoot().createAttribute("edit").setValue("value" + i);
+			storage.putEdits(file, edits);
+		}
+		assertTrue(journalFile.exists());
+		assertEquals(length, file.length());
+		assertEquals("value2", storage.getTaskDataState(file).getEditsData().getRoot().getAttribute("edit").getValue());
+
+		// a full write merges the journal
+		storage.putTaskData(file, storage.getTaskDataState(file));
+		assertFalse(journalFile.exists());
+		assertEquals("value2", storage.getTaskDataState(file).getEditsData().getRoot().getAttribute("edit").getValue());
+
+		storage.discardEdits(file);
+		assertNull(storage.getTaskDataState(file).getEditsData());
+
+		storage.deleteTaskData(file);
+		assertFalse(journalFile.exists());
+	}
+
+	public void testJournalEditsTruncatedRecord() throws Exception {
+		storage.setJournalEdits(true);
+		setupData();
+		storage.putTaskData(file, state);
+		File journalFile = new File(file.getParentFile(), file.getName() + ".journal");
+		journalFile.deleteOnExit();
+
+		TaskData edits = new TaskData(new TaskAttributeMapper(taskRepository), MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, MOCK_ID);
+		edits.getRoot().createAttribute("edit").setValue("value");
+		storage.putEdits(file, edits);
+
+		// simulate a crash while appending a record
+		FileOutputStream out = new FileOutputStream(journalFile, true);
+		try {
+			out.write(new byte[] { 0, 0, 1, 0, 42 });
+		} finally {
+			out.close();
+		}
+		assertEquals("value", storage.getTaskDataState(file).getEditsData().getRoot().getAttribute("edit").getValue());
+	}
+
+	public void testJournalEditsIgnoredForNewerArchive() throws Exception {
+		storage.setJournalEdits(true);
+		setupData();
+		storage.putTaskData(file, state);
+		File journalFile = new File(file.getParentFile(), file.getName() + ".journal");
+		journalFile.deleteOnExit();
+
+		TaskData edits = new TaskData(new TaskAttributeMapper(taskRepository), MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, MOCK_ID);
+		edits.getRoot().createAttribute("edit").setValue("value");
+		storage.putEdits(file, edits);
+		byte[] journal = readFile(journalFile);
+
+		storage.discardEdits(file);
+		assertFalse(journalFile.exists());
+
+		// simulate a crash before the journal was removed
+		writeFile(journalFile, journal);
+		assertNull(storage.getTaskDataState(file).getEditsData());
+
+		// the stale journal is replaced by new edits
+		edits.getRoot().getAttribute("edit").setValue("value2");
+		storage.putEdits(file, edits);
+		assertEquals("value2", storage.getTaskDataState(file).getEditsData().getRoot().getAttribute("edit").getValue());
+		assertTrue(journalFile.length() < 2 * journal.length);
+	}
+
+	private byte[] readFile(File file) throws IOException {
+		byte[] bytes = new byte[(int) file.length()];
+		DataInputStream in = new DataInputStream(new FileInputStream(file));
+		try {
+			in.readFully(bytes);
+		} finally {
+			in.close();
+		}
+		return bytes;
+	}
+
+	private void writeFile(File file, byte[] bytes) throws IOException {
+		FileOutputStream out = new FileOutputStream(file);
+		try {
+			out.write(bytes);
+		} finally {
+			out.close();
+		}
+	}
+
 }
@@ -11,6 +11,7 @@
 
 package org.eclipse.mylyn.tasks.tests;
 
+import java.io.File;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -21,6 +22,7 @@ import java.util.TimeZone;
 
 import junit.framework.TestCase;
 
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTaskCategory;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTaskContainer;
@@ -31,6 +33,8 @@ import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
 import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
 import org.eclipse.mylyn.internal.tasks.core.TaskList;
 import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.externalization.IExternalizationContext;
+import org.eclipse.mylyn.internal.tasks.core.externalization.TaskListExternalizer;
 import org.eclipse.mylyn.internal.tasks.ui.ITasksUiPreferenceConstants;
 import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
 import org.eclipse.mylyn.internal.tasks.ui.util.TasksUiInternal;
@@ -675,4 +679,169 @@ public class TaskListExternalizationTest extends TestCase {
 		assertEquals(1, TasksUiPlugin.getTaskList().getQueries().size());
 	}
 
+	public void testNotesWithMarkup() throws Exception {
+		String notes = "line 1\n\tline 2\r\n<tag attribute=\"value\"> & 'quote'";
+		AbstractTask task = TasksUiInternal.createNewLocalTask("summary <1> & \"2\"");
+		task.setNotes(notes);
+		task.setAttribute("key", "a\nb");
+
+		TaskTestUtil.saveAndReadTasklist();
+
+		task = taskList.getTask(task.getHandleIdentifier());
+		assertNotNull(task);
+		assertEquals("summary <1> & \"2\"", task.getSummary());
+		assertEquals(notes, task.getNotes());
+		assertEquals("a\nb", task.getAttribute("key"));
+	}
+
+	public void testSaveModifiedElements() throws Exception {
+		TaskCategory category = new TaskCategory("category");
+		taskList.addCategory(category);
+		AbstractTask task1 = TasksUiInternal.createNewLocalTask("task 1");
+		AbstractTask task2 = TasksUiInternal.createNewLocalTask("task 2");
+		taskList.addTask(task1, category);
+		TasksUiPlugin.getExternalizationManager().save(true);
+
+		task2.setSummary("changed");
+		taskList.notifyElementChanged(task2);
+		TasksUiPlugin.getExternalizationManager().save(true);
+
+		TasksUiPlugin.getDefault().initializeDataSources();
+		assertEquals("task 1", taskList.getTask(task1.getHandleIdentifier()).getSummary());
+		assertEquals("changed", taskList.getTask(task2.getHandleIdentifier()).getSummary());
+		assertTrue(taskList.getContainerForHandle(category.getHandleIdentifier()).contains(
+				task1.getHandleIdentifier()));
+	}
+
+	public void testFullSaveIncludesElementsModifiedWithoutDelta() throws Exception {
+		AbstractTask task1 = TasksUiInternal.createNewLocalTask("task 1");
+		AbstractTask task2 = TasksUiInternal.createNewLocalTask("task 2");
+		TasksUiPlugin.getExternalizationManager().save(true);
+
+		task1.setSummary("modified");
+		task2.setSummary("changed");
+		taskList.notifyElementChanged(task2);
+		TaskTestUtil.saveNow();
+
+		TasksUiPlugin.getDefault().initializeDataSources();
+		assertEquals("modified", taskList.getTask(task1.getHandleIdentifier()).getSummary());
+		assertEquals("changed", taskList.getTask(task2.getHandleIdentifier()).getSummary());
+	}
+
+	public void testFullSaveContextIncludesElementsModifiedWithoutDelta() throws Exception {
+		AbstractTask task = TasksUiInternal.createNewLocalTask("task");
+		TasksUiPlugin.getExternalizationManager().save(true);
+
+		task.setSummary("modified");
+		// a forced save does not query the dirty state, the full save is requested through the context only
+		TasksUiPlugin.getTaskListExternalizationParticipant().execute(new IExternalizationContext() {
+			public Kind getKind() {
+				return Kind.SAVE;
+			}
+
+			public String getRootPath() {
+				return TasksUiPlugin.getDefault().getDataDirectory();
+			}
+
+			public boolean isFullSave() {
+				return true;
+			}
+		}, null);
+
+		TasksUiPlugin.getDefault().initializeDataSources();
+		assertEquals("modified", taskList.getTask(task.getHandleIdentifier()).getSummary());
+	}
+
+	public void testMoveTaskInvalidatesContainers() throws Exception {
+		TaskCategory category1 = new TaskCategory("category 1");
+		TaskCategory category2 = new TaskCategory("category 2");
+		taskList.addCategory(category1);
+		taskList.addCategory(category2);
+		AbstractTask task = TasksUiInternal.createNewLocalTask("task");
+		taskList.addTask(task, category1);
+		TasksUiPlugin.getExternalizationManager().save(true);
+
+		taskList.addTask(task, category2);
+		TasksUiPlugin.getExternalizationManager().save(true);
+
+		TasksUiPlugin.getDefault().initializeDataSources();
+		assertFalse(taskList.getContainerForHandle(category1.getHandleIdentifier()).contains(
+				task.getHandleIdentifier()));
+		assertTrue(taskList.getContainerForHandle(category2.getHandleIdentifier()).contains(
+				task.getHandleIdentifier()));
+	}
+
+	public void testReadTaskListConcurrently() throws Exception {
+		TaskCategory category = new TaskCategory("category");
+		taskList.addCategory(category);
+		for (int i = 0; i < 100; i++) {
+			TaskTask task = new TaskTask(MockRepositoryConnector.CONNECTOR_KIND, MockRepositoryConnector.REPOSITORY_URL,
+					Integer.toString(i));
+			task.setSummary("task " + i);
+			task.setDueDate(new Date(1400000000000L + i));
+			task.setAttribute("key", "value " + i);
+			if (i % 2 == 0) {
+				taskList.addTask(task, category);
+			} else {
+				taskList.addTask(task);
+			}
+		}
+		TaskListExternalizer externalizer = TasksUiPlugin.getDefault().createTaskListExternalizer();
+		File file = File.createTempFile("tasklist", ".xml.zip");
+		try {
+			externalizer.writeTaskList(taskList, file);
+
+			TaskList readTaskList = new TaskList();
+			externalizer.setReadThreadCount(4);
+			externalizer.readTaskList(readTaskList, file);
+			assertEquals(100, readTaskList.getAllTasks().size());
+			AbstractTaskCategory readCategory = readTaskList.getContainerForHandle(category.getHandleIdentifier());
+			assertEquals(50, readCategory.getChildren().size());
+			for (int i = 0; i < 100; i++) {
+				ITask task = readTaskList.getTask(MockRepositoryConnector.REPOSITORY_URL, Integer.toString(i));
+				assertEquals("task " + i, task.getSummary());
+				assertEquals(new Date(1400000000000L + i), task.getDueDate());
+				assertEquals("value " + i, task.getAttribute("key"));
+				assertEquals(i % 2 == 0, readCategory.contains(task.getHandleIdentifier()));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testReadTaskListConcurrentlyActivatesFirstActiveTask() throws Exception {
+		for (int i = 0; i < 100; i++) {
+			TaskTask task = new TaskTask(MockRepositoryConnector.CONNECTOR_KIND, MockRepositoryConnector.REPOSITORY_URL,
+					Integer.toString(i));
+			task.setActive(i % 10 == 0);
+			taskList.addTask(task);
+		}
+		File file = File.createTempFile("tasklist", ".xml.zip");
+		try {
+			TasksUiPlugin.getDefault().createTaskListExternalizer().writeTaskList(taskList, file);
+
+			Set<String> expected = readActiveTaskIds(file, 1);
+			assertEquals(1, expected.size());
+			for (int i = 0; i < 10; i++) {
+				assertEquals(expected, readActiveTaskIds(file, 4));
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	private Set<String> readActiveTaskIds(File file, int threadCount) throws CoreException {
+		TaskListExternalizer externalizer = TasksUiPlugin.getDefault().createTaskListExternalizer();
+		externalizer.setReadThreadCount(threadCount);
+		TaskList readTaskList = new TaskList();
+		externalizer.readTaskList(readTaskList, file);
+		Set<String> taskIds = new HashSet<String>();
+		for (ITask task : readTaskList.getAllTasks()) {
+			if (task.isActive()) {
+				taskIds.add(task.getTaskId());
+			}
+		}
+		return taskIds;
+	}
+
 }
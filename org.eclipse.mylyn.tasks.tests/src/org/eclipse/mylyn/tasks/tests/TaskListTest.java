@@ -11,16 +11,25 @@
 
 package org.eclipse.mylyn.tasks.tests;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import junit.framework.TestCase;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTaskCategory;
 import org.eclipse.mylyn.internal.tasks.core.AbstractTaskContainer;
+import org.eclipse.mylyn.internal.tasks.core.ITaskListChangeListener;
+import org.eclipse.mylyn.internal.tasks.core.ITaskListRunnable;
 import org.eclipse.mylyn.internal.tasks.core.LocalRepositoryConnector;
 import org.eclipse.mylyn.internal.tasks.core.LocalTask;
 import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.TaskContainerDelta;
 import org.eclipse.mylyn.internal.tasks.core.TaskList;
 import org.eclipse.mylyn.tasks.core.ITask;
 import org.eclipse.mylyn.tasks.core.ITaskContainer;
@@ -552,4 +561,130 @@ public class TaskListTest extends TestCase {
 		assertTrue(tasksReturned.contains(task1));
 	}
 
+	public void testGetTaskByKey() {
+		MockTask task1 = new MockTask("https://bugs.eclipse.org/bugs", "1");
+		task1.setTaskKey("TASK-1");
+		taskList.addTask(task1);
+		MockTask task2 = new MockTask("https://unresolved", "1");
+		task2.setTaskKey("TASK-1");
+		taskList.addTask(task2);
+
+		assertSame(task1, taskList.getTaskByKey("https://bugs.eclipse.org/bugs", "TASK-1"));
+		assertSame(task2, taskList.getTaskByKey("https://unresolved", "TASK-1"));
+		assertNull(taskList.getTaskByKey("https://bugs.eclipse.org/bugs", "TASK-2"));
+		assertNull(taskList.getTaskByKey("https://other", "TASK-1"));
+
+		taskList.deleteTask(task1);
+		assertNull(taskList.getTaskByKey("https://bugs.eclipse.org/bugs", "TASK-1"));
+	}
+
+	public void testGetTaskByKeyAfterKeyChanged() {
+		MockTask task = new MockTask("https://bugs.eclipse.org/bugs", "1");
+		task.setTaskKey("TASK-1");
+		taskList.addTask(task);
+
+		task.setTaskKey("TASK-2");
+		assertNull(taskList.getTaskByKey("https://bugs.eclipse.org/bugs", "TASK-1"));
+		assertSame(task, taskList.getTaskByKey("https://bugs.eclipse.org/bugs", "TASK-2"));
+	}
+
+	public void testGetRepositoryTasksView() {
+		Collection<AbstractTask> view = taskList.getRepositoryTasks("https://bugs.eclipse.org/bugs");
+		assertTrue(view.isEmpty());
+
+		MockTask task1 = new MockTask("https://bugs.eclipse.org/bugs", "1");
+		taskList.addTask(task1);
+		taskList.addTask(new MockTask("https://unresolved", "2"));
+		assertEquals(1, view.size());
+		assertTrue(view.contains(task1));
+
+		try {
+			view.clear();
+			fail("Expected UnsupportedOperationException");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		taskList.deleteTask(task1);
+		assertTrue(view.isEmpty());
+	}
+
+	public void testRefactorRepositoryUrlUpdatesIndexes() {
+		MockTask task = new MockTask("http://old", "1");
+		task.setTaskKey("TASK-1");
+		taskList.addTask(task);
+
+		taskList.refactorRepositoryUrl("http://old", "http://new");
+		assertTrue(taskList.getRepositoryTasks("http://old").isEmpty());
+		assertTrue(taskList.getTasks("http://old").isEmpty());
+		assertNull(taskList.getTaskByKey("http://old", "TASK-1"));
+		assertEquals(Collections.singleton(task), taskList.getTasks("http://new"));
+		assertSame(task, taskList.getTaskByKey("http://new", "TASK-1"));
+	}
+
+	public void testRefactorRepositoryUrlUpdatesContainers() {
+		MockRepositoryQuery query = new MockRepositoryQuery("query");
+		query.setRepositoryUrl("http://old");
+		taskList.addQuery(query);
+		MockTask task = new MockTask("http://old", "1");
+		MockTask subTask = new MockTask("http://old", "2");
+		taskList.addTask(task, query);
+		taskList.addTask(subTask, task);
+
+		taskList.refactorRepositoryUrl("http://old", "http://new");
+		assertTrue(query.contains(task.getHandleIdentifier()));
+		assertTrue(query.getChildren().contains(task));
+		assertTrue(task.getParentContainers().contains(query));
+		assertTrue(task.contains(subTask.getHandleIdentifier()));
+		assertTrue(subTask.getParentContainers().contains(task));
+
+		taskList.removeFromContainer(query, task);
+		assertFalse(query.contains(task.getHandleIdentifier()));
+		assertFalse(task.getParentContainers().contains(query));
+	}
+
+	public void testRunBatchCoalescesDeltas() throws Exception {
+		final TaskCategory category = new TaskCategory("category");
+		taskList.addCategory(category);
+		final List<Set<TaskContainerDelta>> deltas = new ArrayList<Set<TaskContainerDelta>>();
+		taskList.addChangeListener(new ITaskListChangeListener() {
+			public void containersChanged(Set<TaskContainerDelta> containers) {
+				deltas.add(containers);
+			}
+		});
+
+		final LocalTask task1 = new LocalTask("1", "summary1");
+		final LocalTask task2 = new LocalTask("2", "summary2");
+		taskList.runBatch(new ITaskListRunnable() {
+			public void execute(IProgressMonitor monitor) throws CoreException {
+				taskList.addTask(task1, category);
+				taskList.addTask(task2, category);
+				taskList.removeFromContainer(category, task2);
+				taskList.notifyElementChanged(task1);
+				taskList.notifySynchronizationStateChanged(task1);
+				taskList.notifyElementChanged(task1);
+				assertTrue(deltas.isEmpty());
+			}
+		}, null);
+
+		assertEquals(1, deltas.size());
+		List<TaskContainerDelta> fired = new ArrayList<TaskContainerDelta>(deltas.get(0));
+		assertEquals(fired.toString(), 3, fired.size());
+		assertDelta(fired.get(0), task1, category, TaskContainerDelta.Kind.ADDED);
+		assertDelta(fired.get(1), task2, taskList.getDefaultCategory(), TaskContainerDelta.Kind.ADDED);
+		assertDelta(fired.get(2), task1, null, TaskContainerDelta.Kind.CONTENT);
+		assertFalse(fired.get(2).isTransient());
+
+		deltas.clear();
+		taskList.notifyElementChanged(task1);
+		assertEquals(1, deltas.size());
+	}
+
+	private void assertDelta(TaskContainerDelta delta, ITask element, ITaskContainer parent,
+			TaskContainerDelta.Kind kind) {
+		assertEquals(element, delta.getElement());
+		assertEquals(parent, delta.getParent());
+		assertEquals(kind, delta.getKind());
+	}
+
 }
@@ -11,6 +11,8 @@
 
 package org.eclipse.mylyn.tasks.tests;
 
+import java.util.Date;
+
 import junit.framework.TestCase;
 
 import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
@@ -75,4 +77,38 @@ public class TaskTest extends TestCase {
 		assertEquals(PriorityLevel.P5, PriorityLevel.fromLevel(6));
 		assertEquals(PriorityLevel.P5, PriorityLevel.fromLevel(Integer.MAX_VALUE));
 	}
+
+	public void testDates() {
+		AbstractTask task = new LocalTask("handle", "label");
+		assertNull(task.getDueDate());
+		assertFalse(task.isCompleted());
+
+		Date date = new Date(1400000000000L);
+		task.setDueDate(date);
+		assertEquals(date, task.getDueDate());
+		task.setCompletionDate(date);
+		assertEquals(date, task.getCompletionDate());
+		assertTrue(task.isCompleted());
+
+		task.setChanged(false);
+		task.setDueDate(new Date(date.getTime()));
+		assertFalse(task.isChanged());
+
+		task.setCompletionDate(null);
+		assertNull(task.getCompletionDate());
+		assertFalse(task.isCompleted());
+		assertTrue(task.isChanged());
+	}
+
+	public void testAttributes() {
+		AbstractTask task = new LocalTask("handle", "label");
+		assertNull(task.getAttribute("key"));
+		task.setAttribute("key", "value");
+		assertEquals("value", task.getAttribute("key"));
+		assertEquals(1, task.getAttributes().size());
+		task.setAttribute("key", null);
+		assertNull(task.getAttribute("key"));
+		assertTrue(task.getAttributes().isEmpty());
+	}
+
 }
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.core;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.tasks.core.AttributeMap;
+import org.eclipse.mylyn.internal.tasks.core.StringPool;
+
+public class AttributeMapTest extends TestCase {
+
+	private AttributeMap map;
+
+	@Override
+	protected void setUp() throws Exception {
+		map = new AttributeMap("kind");
+	}
+
+	public void testEmpty() {
+		assertEquals(0, map.size());
+		assertNull(map.getAttribute("key"));
+		assertEquals(new HashMap<String, String>(), map.getAttributes());
+		map.setAttribute("key", null);
+		assertEquals(0, map.size());
+	}
+
+	public void testSetAttribute() {
+		map.setAttribute("key", "value");
+		assertEquals("value", map.getAttribute("key"));
+		assertEquals(1, map.size());
+
+		map.setAttribute("key", "newValue");
+		assertEquals("newValue", map.getAttribute("key"));
+		assertEquals(1, map.size());
+
+		map.setAttribute("key", null);
+		assertNull(map.getAttribute("key"));
+		assertEquals(0, map.size());
+	}
+
+	public void testSetAttributeNullKey() {
+		try {
+			map.setAttribute(null, "value");
+			fail("Expected exception");
+		} catch (RuntimeException e) {
+			// expected
+		}
+	}
+
+	public void testGetAttributesCopy() {
+		map.setAttribute("key", "value");
+		Map<String, String> attributes = map.getAttributes();
+		attributes.put("key", "changed");
+		attributes.put("other", "value");
+		assertEquals("value", map.getAttribute("key"));
+		assertEquals(1, map.size());
+	}
+
+	public void testValuesPooled() {
+		AttributeMap otherMap = new AttributeMap("kind");
+		map.setAttribute(new String("key"), new String("value"));
+		otherMap.setAttribute(new String("key"), new String("value"));
+		assertSame(map.getAttributes().keySet().iterator().next(), otherMap.getAttributes()
+				.keySet()
+				.iterator()
+				.next());
+		assertSame(map.getAttribute("key"), otherMap.getAttribute("key"));
+		assertSame(StringPool.getPool("kind").intern(new String("value")), map.getAttribute("key"));
+	}
+
+	public void testRandomOperations() {
+		Map<String, String> expected = new HashMap<String, String>();
+		Random random = new Random(1);
+		for (int i = 0; i < 5000; i++) {
+			String key = "key" + random.nextInt(40);
+			String value = (random.nextInt(3) == 0) ? null : "value" + i;
+			map.setAttribute(key, value);
+			if (value == null) {
+				expected.remove(key);
+			} else {
+				expected.put(key, value);
+			}
+			assertEquals(expected.size(), map.size());
+			assertEquals(expected.get(key), map.getAttribute(key));
+		}
+		assertEquals(expected, map.getAttributes());
+	}
+
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryModel;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
+import org.eclipse.mylyn.internal.tasks.core.TaskActivityManager;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.data.SynchronizationManger;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManager;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.internal.tasks.core.sync.SynchronizeQueriesJob;
+import org.eclipse.mylyn.internal.tasks.ui.util.TasksUiInternal;
+import org.eclipse.mylyn.tasks.core.AbstractRepositoryConnector;
+import org.eclipse.mylyn.tasks.core.IRepositoryQuery;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
+import org.eclipse.mylyn.tasks.core.sync.ISynchronizationSession;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnectorWithTaskDataHandler;
+import org.eclipse.mylyn.tasks.tests.connector.MockTask;
+import org.eclipse.mylyn.tasks.ui.TasksUi;
+import org.eclipse.mylyn.tests.util.TestFixture;
+
+public class SynchronizeQueriesJobTest extends TestCase {
+
+	private TaskRepository repository;
+
+	private TaskList taskList;
+
+	private List<String> updatedTaskIds;
+
+	private Set<Thread> updateThreads;
+
+	private TaskDataManager taskDataManager;
+
+	@Override
+	protected void setUp() throws Exception {
+		repository = new TaskRepository(MockRepositoryConnector.CONNECTOR_KIND, MockRepositoryConnector.REPOSITORY_URL);
+		taskList = (TaskList) TasksUiInternal.getTaskList();
+		updatedTaskIds = Collections.synchronizedList(new ArrayList<String>());
+		updateThreads = Collections.synchronizedSet(new HashSet<Thread>());
+		TaskDataStore taskDataStore = new TaskDataStore(TasksUi.getRepositoryManager());
+		taskDataManager = new TaskDataManager(taskDataStore, TasksUi.getRepositoryManager(), taskList,
+				(TaskActivityManager) TasksUi.getTaskActivityManager(), new SynchronizationManger(
+						(RepositoryModel) TasksUi.getRepositoryModel())) {
+			@Override
+			public void putUpdatedTaskData(ITask itask, TaskData taskData, boolean user, Object token,
+					IProgressMonitor monitor) throws CoreException {
+				updatedTaskIds.add(itask.getTaskId());
+				updateThreads.add(Thread.currentThread());
+			}
+		};
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		TestFixture.resetTaskList();
+	}
+
+	public void testTaskInSeveralQueriesUpdatedOnce() throws Exception {
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public IStatus performQuery(TaskRepository repository, IRepositoryQuery query,
+					TaskDataCollector resultCollector, ISynchronizationSession event, IProgressMonitor monitor) {
+				resultCollector.accept(createTaskData("1"));
+				resultCollector.accept(createTaskData(query.getSummary()));
+				return Status.OK_STATUS;
+			}
+		};
+		RepositoryQuery query1 = createQuery("2");
+		RepositoryQuery query2 = createQuery("3");
+
+		SynchronizeQueriesJob job = createSyncJob(connector, query1, query2);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+
+		assertEquals(3, updatedTaskIds.size());
+		assertEquals(new HashSet<String>(updatedTaskIds).size(), updatedTaskIds.size());
+		ITask task = taskList.getTask(MockRepositoryConnector.REPOSITORY_URL, "1");
+		assertTrue(query1.contains(task.getHandleIdentifier()));
+		assertTrue(query2.contains(task.getHandleIdentifier()));
+	}
+
+	public void testTaskInSeveralQueriesFullDataSupersedesPartial() throws Exception {
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public IStatus performQuery(TaskRepository repository, IRepositoryQuery query,
+					TaskDataCollector resultCollector, ISynchronizationSession event, IProgressMonitor monitor) {
+				TaskData taskData = createTaskData("1");
+				taskData.setPartial(query.getSummary().equals("partial"));
+				resultCollector.accept(taskData);
+				return Status.OK_STATUS;
+			}
+		};
+		RepositoryQuery partialQuery = createQuery("partial");
+		RepositoryQuery fullQuery = createQuery("full");
+
+		SynchronizeQueriesJob job = createSyncJob(connector, partialQuery, fullQuery);
+		job.run(new NullProgressMonitor());
+		assertEquals(Arrays.asList("1", "1"), updatedTaskIds);
+
+		updatedTaskIds.clear();
+		job = createSyncJob(connector, fullQuery, partialQuery);
+		job.run(new NullProgressMonitor());
+		assertEquals(Arrays.asList("1"), updatedTaskIds);
+	}
+
+	public void testConcurrentQueries() throws Exception {
+		final CyclicBarrier barrier = new CyclicBarrier(3);
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public IStatus performQuery(TaskRepository repository, IRepositoryQuery query,
+					TaskDataCollector resultCollector, ISynchronizationSession event, IProgressMonitor monitor) {
+				try {
+					// only succeeds if three queries are performed in parallel
+					barrier.await(10, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					return new Status(IStatus.ERROR, "bundle", "barrier", e);
+				}
+				resultCollector.accept(createTaskData(query.getSummary()));
+				resultCollector.accept(createTaskData("shared"));
+				return Status.OK_STATUS;
+			}
+		};
+		repository.setMaxConcurrentRequests(3);
+		RepositoryQuery query1 = createQuery("1");
+		RepositoryQuery query2 = createQuery("2");
+		RepositoryQuery query3 = createQuery("3");
+
+		SynchronizeQueriesJob job = createSyncJob(connector, query1, query2, query3);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+
+		assertEquals(Collections.emptyList(), new ArrayList<IStatus>(job.getStatuses()));
+		assertEquals(4, updatedTaskIds.size());
+		assertEquals(Collections.singleton(Thread.currentThread()), updateThreads);
+		for (RepositoryQuery query : new RepositoryQuery[] { query1, query2, query3 }) {
+			assertNull(query.getStatus());
+			assertEquals(2, query.getChildren().size());
+		}
+	}
+
+	public void testConcurrentQueriesRemoveChildren() throws Exception {
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public IStatus performQuery(TaskRepository repository, IRepositoryQuery query,
+					TaskDataCollector resultCollector, ISynchronizationSession event, IProgressMonitor monitor) {
+				resultCollector.accept(createTaskData(query.getSummary()));
+				return Status.OK_STATUS;
+			}
+		};
+		repository.setMaxConcurrentRequests(2);
+		RepositoryQuery query1 = createQuery("1");
+		RepositoryQuery query2 = createQuery("2");
+		MockTask oldTask = new MockTask("old");
+		taskList.addTask(oldTask, query1);
+		taskList.addTask(oldTask, query2);
+
+		SynchronizeQueriesJob job = createSyncJob(connector, query1, query2);
+		job.run(new NullProgressMonitor());
+
+		assertFalse(query1.contains(oldTask.getHandleIdentifier()));
+		assertFalse(query2.contains(oldTask.getHandleIdentifier()));
+		assertEquals(1, query1.getChildren().size());
+		assertEquals(1, query2.getChildren().size());
+	}
+
+	public void testConcurrentQueriesError() throws Exception {
+		final IStatus status = new Status(IStatus.ERROR, "bundle", "error");
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public IStatus performQuery(TaskRepository repository, IRepositoryQuery query,
+					TaskDataCollector resultCollector, ISynchronizationSession event, IProgressMonitor monitor) {
+				if (query.getSummary().equals("1")) {
+					return status;
+				}
+				resultCollector.accept(createTaskData(query.getSummary()));
+				return Status.OK_STATUS;
+			}
+		};
+		repository.setMaxConcurrentRequests(2);
+		RepositoryQuery query1 = createQuery("1");
+		RepositoryQuery query2 = createQuery("2");
+
+		SynchronizeQueriesJob job = createSyncJob(connector, query1, query2);
+		job.run(new NullProgressMonitor());
+
+		assertEquals(status, query1.getStatus());
+		assertNull(query2.getStatus());
+		assertEquals(1, query2.getChildren().size());
+		assertEquals(Collections.singletonList(status), new ArrayList<IStatus>(job.getStatuses()));
+	}
+
+	public void testConcurrentQueriesCanceled() throws Exception {
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public IStatus performQuery(TaskRepository repository, IRepositoryQuery query,
+					TaskDataCollector resultCollector, ISynchronizationSession event, IProgressMonitor monitor) {
+				throw new OperationCanceledException();
+			}
+		};
+		repository.setMaxConcurrentRequests(2);
+		RepositoryQuery query1 = createQuery("1");
+		RepositoryQuery query2 = createQuery("2");
+
+		SynchronizeQueriesJob job = createSyncJob(connector, query1, query2);
+		assertEquals(Status.CANCEL_STATUS, job.run(new NullProgressMonitor()));
+		assertFalse(query1.isSynchronizing());
+		assertFalse(query2.isSynchronizing());
+	}
+
+	private RepositoryQuery createQuery(String summary) {
+		RepositoryQuery query = new RepositoryQuery(MockRepositoryConnector.CONNECTOR_KIND, "query-" + summary);
+		query.setRepositoryUrl(MockRepositoryConnector.REPOSITORY_URL);
+		query.setSummary(summary);
+		taskList.addQuery(query);
+		return query;
+	}
+
+	private SynchronizeQueriesJob createSyncJob(AbstractRepositoryConnector connector, RepositoryQuery... queries) {
+		Set<RepositoryQuery> querySet = new LinkedHashSet<RepositoryQuery>();
+		Collections.addAll(querySet, queries);
+		return new SynchronizeQueriesJob(taskList, taskDataManager, TasksUi.getRepositoryModel(), connector,
+				repository, querySet);
+	}
+
+	private TaskData createTaskData(String taskId) {
+		return new TaskData(new TaskAttributeMapper(repository), MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, taskId);
+	}
+
+}
@@ -17,6 +17,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -690,6 +692,109 @@ public class SynchronizeTasksJobTest extends TestCase {
 		((TaskRepositoryManager) TasksUi.getRepositoryManager()).removeRepository(firstRepository);
 	}
 
+	public void testMaxConcurrentRequests() throws Exception {
+		AbstractRepositoryConnector connector = new MockRepositoryConnector();
+		assertEquals(0, repository.getMaxConcurrentRequests());
+		assertEquals(1, connector.getMaxConcurrentRequests(repository));
+		repository.setMaxConcurrentRequests(4);
+		assertEquals(4, repository.getMaxConcurrentRequests());
+		assertEquals(4, connector.getMaxConcurrentRequests(repository));
+		repository.setMaxConcurrentRequests(0);
+		assertEquals(0, repository.getMaxConcurrentRequests());
+		assertEquals(1, connector.getMaxConcurrentRequests(repository));
+	}
+
+	public void testGetSingleTaskDataConcurrently() throws Exception {
+		final CyclicBarrier barrier = new CyclicBarrier(3);
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public TaskData getTaskData(TaskRepository taskRepository, String taskId, IProgressMonitor monitor)
+					throws CoreException {
+				try {
+					// only succeeds if three requests are executed in parallel
+					barrier.await(10, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new CoreException(new Status(IStatus.ERROR, "bundle", "barrier", e));
+				}
+				return createTaskData(taskId);
+			}
+		};
+		repository.setMaxConcurrentRequests(3);
+		final Thread jobThread = Thread.currentThread();
+		final Set<String> updatedTaskIds = Collections.synchronizedSet(new HashSet<String>());
+		TaskDataManager customTaskDataManager = new TaskDataManager(taskDataStore, TasksUi.getRepositoryManager(),
+				taskList, (TaskActivityManager) TasksUi.getTaskActivityManager(), new SynchronizationManger(
+						(RepositoryModel) TasksUi.getRepositoryModel())) {
+			@Override
+			public void putUpdatedTaskData(ITask itask, TaskData taskData, boolean user, Object token,
+					IProgressMonitor monitor) throws CoreException {
+				assertSame(jobThread, Thread.currentThread());
+				assertEquals(itask.getTaskId(), taskData.getTaskId());
+				updatedTaskIds.add(itask.getTaskId());
+			}
+		};
+		Set<ITask> tasks = new HashSet<ITask>();
+		for (int i = 1; i <= 6; i++) {
+			tasks.add(new MockTask(Integer.toString(i)));
+		}
+		SynchronizeTasksJob job = createSyncJobWithManager(connector, tasks, customTaskDataManager);
+		AssertionProgressMonitor monitor = new AssertionProgressMonitor();
+		job.run(monitor);
+		assertEquals(Collections.emptyList(), new ArrayList<IStatus>(job.getStatuses()));
+		assertEquals(6, updatedTaskIds.size());
+		assertEquals("beginTask|subTask|subTask|subTask|subTask|subTask|subTask|done", monitor.getProgressLog());
+	}
+
+	public void testGetSingleTaskDataConcurrentlyErrors() throws Exception {
+		final IStatus status = new Status(IStatus.WARNING, "bundle", "error");
+		AbstractRepositoryConnector connector = new MockRepositoryConnectorWithTaskDataHandler() {
+			@Override
+			public TaskData getTaskData(TaskRepository taskRepository, String taskId, IProgressMonitor monitor)
+					throws CoreException {
+				if (taskId.equals("1")) {
+					throw new CoreException(status);
+				} else if (taskId.equals("2")) {
+					return null;
+				}
+				return createTaskData(taskId);
+			}
+		};
+		repository.setMaxConcurrentRequests(2);
+		ITask task = new MockTask("1");
+		ITask task2 = new MockTask("2");
+		ITask task3 = new MockTask("3");
+		Set<ITask> tasks = new HashSet<ITask>();
+		tasks.add(task);
+		tasks.add(task2);
+		tasks.add(task3);
+		SynchronizeTasksJob job = createSyncJob(connector, tasks);
+		job.run(new NullProgressMonitor());
+		assertEquals(status, ((AbstractTask) task).getStatus());
+		assertEquals(IStatus.ERROR, ((AbstractTask) task2).getStatus().getSeverity());
+		assertNull(((AbstractTask) task3).getStatus());
+		assertEquals(2, job.getStatuses().size());
+	}
+
+	public void testGetSingleTaskDataConcurrentlyCanceled() throws Exception {
+		AbstractRepositoryConnector connector = new MockRepositoryConnector() {
+			@Override
+			public TaskData getTaskData(TaskRepository taskRepository, String taskId, IProgressMonitor monitor)
+					throws CoreException {
+				throw new OperationCanceledException();
+			}
+		};
+		repository.setMaxConcurrentRequests(2);
+		Set<ITask> tasks = new HashSet<ITask>();
+		tasks.add(new MockTask("1"));
+		tasks.add(new MockTask("2"));
+		tasks.add(new MockTask("3"));
+		SynchronizeTasksJob job = createSyncJob(connector, tasks);
+		assertEquals(Status.CANCEL_STATUS, job.run(new NullProgressMonitor()));
+		for (ITask task : tasks) {
+			assertFalse(((AbstractTask) task).isSynchronizing());
+		}
+	}
+
 	private SynchronizeTasksJob createSyncJob(AbstractRepositoryConnector connector, Set<ITask> tasks) {
 		return new SynchronizeTasksJob(taskList, taskDataManager, tasksModel, connector, repository, tasks);
 	}
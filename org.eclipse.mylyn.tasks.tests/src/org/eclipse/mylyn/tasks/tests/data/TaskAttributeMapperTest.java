@@ -11,9 +11,14 @@
 
 package org.eclipse.mylyn.tasks.tests.data;
 
+import java.util.Calendar;
+import java.util.Date;
+import java.util.TimeZone;
+
 import junit.framework.TestCase;
 
 import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.DateParser;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
@@ -96,4 +101,106 @@ public class TaskAttributeMapperTest extends TestCase {
 				mapper.equals(attributeNew, attributeOld));
 	}
 
+	public void testGetDateValueDateParser() {
+		final DateParser dateParser = new DateParser("yyyy-MM-dd HH:mm:ss Z", "yyyy-MM-dd HH:mm:ss");
+		TaskAttributeMapper mapper = new TaskAttributeMapper(taskRepository) {
+			@Override
+			protected DateParser getDateParser() {
+				return dateParser;
+			}
+		};
+		TaskAttribute attribute = data.getRoot().createAttribute("date");
+		attribute.setValue("2006-05-08 15:04:11 -0800");
+		assertEquals(new Date(1147129451000L), mapper.getDateValue(attribute));
+
+		attribute.setValue("1147129451000");
+		assertEquals(new Date(1147129451000L), mapper.getDateValue(attribute));
+
+		attribute.setValue("invalid");
+		assertNull(mapper.getDateValue(attribute));
+	}
+
+	public void testDateParserShape() {
+		TimeZone defaultTimeZone = TimeZone.getDefault();
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("GMT"));
+			DateParser dateParser = new DateParser("yyyy-MM-dd HH:mm:ss Z", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm z",
+					"yyyy-MM-dd HH:mm", "yyyy-MM-dd");
+			assertDate(2006, 4, 8, 23, 4, 11, dateParser.parse("2006-05-08 15:04:11 -0800"));
+			assertDate(2006, 4, 8, 15, 4, 11, dateParser.parse("2006-05-08 15:04:11"));
+			assertDate(2006, 4, 8, 23, 4, 0, dateParser.parse("2006-05-08 15:04 PST"));
+			assertDate(2006, 4, 8, 15, 4, 0, dateParser.parse("2006-05-08 15:04"));
+			assertDate(2006, 4, 8, 0, 0, 0, dateParser.parse("2006-05-08"));
+			// text following the date is ignored
+			assertDate(2006, 4, 8, 15, 4, 11, dateParser.parse("2006-05-08 15:04:11 invalid"));
+
+			assertNull(dateParser.parse(null));
+			assertNull(dateParser.parse(""));
+			assertNull(dateParser.parse("1147129451000"));
+			assertNull(dateParser.parse("May 8, 2006"));
+		} finally {
+			TimeZone.setDefault(defaultTimeZone);
+		}
+	}
+
+	public void testDateParserDefaultTimeZone() {
+		TimeZone defaultTimeZone = TimeZone.getDefault();
+		try {
+			DateParser dateParser = new DateParser("yyyy-MM-dd HH:mm z", "yyyy-MM-dd HH:mm");
+			TimeZone.setDefault(TimeZone.getTimeZone("GMT"));
+			// parsing a time zone must not affect subsequent values
+			assertDate(2006, 4, 8, 23, 4, 0, dateParser.parse("2006-05-08 15:04 PST"));
+			assertDate(2006, 4, 8, 15, 4, 0, dateParser.parse("2006-05-08 15:04"));
+
+			TimeZone.setDefault(TimeZone.getTimeZone("GMT+01:00"));
+			Date date = dateParser.parse("2006-05-08 15:04");
+			TimeZone.setDefault(TimeZone.getTimeZone("GMT"));
+			assertDate(2006, 4, 8, 14, 4, 0, date);
+		} finally {
+			TimeZone.setDefault(defaultTimeZone);
+		}
+	}
+
+	public void testDateParserFormat() {
+		TimeZone defaultTimeZone = TimeZone.getDefault();
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("GMT"));
+			DateParser dateParser = new DateParser("yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd");
+			assertEquals("2006-05-08 23:04:11", dateParser.format(new Date(1147129451000L), "yyyy-MM-dd HH:mm:ss"));
+			assertEquals("2006-05-08", dateParser.format(new Date(1147129451000L), "yyyy-MM-dd"));
+			try {
+				dateParser.format(new Date(), "yyyy");
+				fail("Expected IllegalArgumentException");
+			} catch (IllegalArgumentException expected) {
+			}
+		} finally {
+			TimeZone.setDefault(defaultTimeZone);
+		}
+	}
+
+	public void testDateParserNumbersWithoutSeparator() {
+		TimeZone defaultTimeZone = TimeZone.getDefault();
+		try {
+			TimeZone.setDefault(TimeZone.getTimeZone("GMT"));
+			DateParser dateParser = new DateParser("yyyyMMdd'T'HHmmss", "yyyy-MM-dd");
+			assertDate(2006, 4, 8, 15, 4, 11, dateParser.parse("20060508T150411"));
+			assertDate(2006, 4, 8, 0, 0, 0, dateParser.parse("2006-05-08"));
+			assertNull(dateParser.parse("T150411"));
+		} finally {
+			TimeZone.setDefault(defaultTimeZone);
+		}
+	}
+
+	private void assertDate(int year, int month, int day, int hour, int minute, int second, Date date) {
+		assertNotNull(date);
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTime(date);
+		assertEquals(year, calendar.get(Calendar.YEAR));
+		assertEquals(month, calendar.get(Calendar.MONTH));
+		assertEquals(day, calendar.get(Calendar.DAY_OF_MONTH));
+		assertEquals(hour, calendar.get(Calendar.HOUR_OF_DAY));
+		assertEquals(minute, calendar.get(Calendar.MINUTE));
+		assertEquals(second, calendar.get(Calendar.SECOND));
+	}
+
 }
@@ -11,12 +11,14 @@
 
 package org.eclipse.mylyn.tasks.tests.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 
 import junit.framework.TestCase;
 
 import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.ITaskAttributeLoader;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
@@ -103,4 +105,168 @@ public class TaskAttributeTest extends TestCase {
 		}
 	}
 
+	public void testAttributeLoader() {
+		CountingLoader loader = new CountingLoader();
+		attribute.setAttributeLoader(loader);
+		assertSame(loader, attribute.getAttributeLoader());
+		assertEquals(0, loader.count);
+
+		assertEquals("value", attribute.getAttribute("child").getValue());
+		assertNull(attribute.getAttributeLoader());
+		attribute.createAttribute("other");
+		assertEquals(Arrays.asList("child", "other"), new ArrayList<String>(attribute.getAttributes().keySet()));
+		assertEquals(1, loader.count);
+	}
+
+	public void testAttributeLoaderFailure() {
+		CountingLoader loader = new CountingLoader() {
+			@Override
+			public void loadAttributes(TaskAttribute parent) {
+				super.loadAttributes(parent);
+				if (count == 1) {
+					throw new IllegalStateException();
+				}
+			}
+		};
+		attribute.setAttributeLoader(loader);
+		try {
+			attribute.getAttributes();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertSame(loader, attribute.getAttributeLoader());
+
+		assertEquals("value", attribute.getAttribute("child").getValue());
+		assertEquals(Arrays.asList("child"), new ArrayList<String>(attribute.getAttributes().keySet()));
+		assertNull(attribute.getAttributeLoader());
+		assertEquals(2, loader.count);
+	}
+
+	public void testAttributeLoaderCreateAttribute() {
+		CountingLoader loader = new CountingLoader();
+		attribute.setAttributeLoader(loader);
+		attribute.createAttribute("other");
+		assertEquals(Arrays.asList("child", "other"), new ArrayList<String>(attribute.getAttributes().keySet()));
+		assertEquals(1, loader.count);
+	}
+
+	public void testAttributeLoaderClearAttributes() {
+		CountingLoader loader = new CountingLoader();
+		attribute.setAttributeLoader(loader);
+		attribute.clearAttributes();
+		assertTrue(attribute.getAttributes().isEmpty());
+		assertEquals(0, loader.count);
+	}
+
+	public void testAttributeLoaderDeepAddCopy() {
+		CountingLoader loader = new CountingLoader();
+		attribute.setAttributeLoader(loader);
+		TaskAttribute copy = new TaskAttribute(attribute.getTaskData().getRoot(), "copy");
+		copy.deepAddCopy(attribute);
+
+		TaskAttribute copiedAttribute = copy.getAttribute("test");
+		assertSame(loader, copiedAttribute.getAttributeLoader());
+		copiedAttribute.getAttribute("child").setValue("modified");
+		assertEquals("value", attribute.getAttribute("child").getValue());
+		assertEquals(2, loader.count);
+	}
+
+	public void testAttributeLoaderDeepAddCopyExistingChildren() {
+		CountingLoader loader = new CountingLoader();
+		attribute.createAttribute("existing");
+		attribute.setAttributeLoader(loader);
+		TaskAttribute copy = new TaskAttribute(attribute.getTaskData().getRoot(), "copy");
+		copy.deepAddCopy(attribute);
+
+		TaskAttribute copiedAttribute = copy.getAttribute("test");
+		assertNull(copiedAttribute.getAttributeLoader());
+		assertEquals(Arrays.asList("existing", "child"),
+				new ArrayList<String>(copiedAttribute.getAttributes().keySet()));
+		assertEquals(1, loader.count);
+	}
+
+	public void testFingerprint() {
+		TaskAttribute child = attribute.createAttribute("child");
+		child.setValue("value");
+		child.putOption("key", "option");
+		long fingerprint = attribute.getFingerprint();
+		assertEquals(fingerprint, attribute.getFingerprint());
+
+		TaskAttribute copy = new TaskAttribute(attribute.getTaskData().getRoot(), "copy");
+		copy.deepAddCopy(attribute);
+		assertEquals(fingerprint, copy.getAttribute("test").getFingerprint());
+
+		child.setValue("modified");
+		assertTrue(fingerprint != attribute.getFingerprint());
+		child.setValue("value");
+		assertEquals(fingerprint, attribute.getFingerprint());
+
+		child.getMetaData().setReadOnly(true);
+		assertTrue(fingerprint != attribute.getFingerprint());
+		child.getMetaData().clear();
+		assertEquals(fingerprint, attribute.getFingerprint());
+
+		child.createAttribute("grandchild");
+		assertTrue(fingerprint != attribute.getFingerprint());
+		child.removeAttribute("grandchild");
+		assertEquals(fingerprint, attribute.getFingerprint());
+	}
+
+	public void testFingerprintAttributeLoader() {
+		attribute.setAttributeLoader(new CountingLoader());
+		long fingerprint = attribute.getFingerprint();
+		assertNull(attribute.getAttributeLoader());
+
+		TaskAttribute other = new TaskAttribute(attribute.getTaskData().getRoot(), "other");
+		other.createAttribute("child").setValue("value");
+		TaskAttribute copy = new TaskAttribute(other, "test");
+		copy.createAttribute("child").setValue("value");
+		assertEquals(fingerprint, copy.getFingerprint());
+	}
+
+	public void testFingerprintRetainedWhenLoading() {
+		CountingLoader loader = new CountingLoader() {
+			@Override
+			public long getAttributesFingerprint() {
+				return 42;
+			}
+		};
+		attribute.setAttributeLoader(loader);
+		TaskAttribute root = attribute.getTaskData().getRoot();
+		long fingerprint = root.getFingerprint();
+		assertSame(loader, attribute.getAttributeLoader());
+
+		attribute.getAttributes();
+		assertNull(attribute.getAttributeLoader());
+		// the fingerprints computed from the loader are not recomputed from the loaded children
+		assertEquals(fingerprint, root.getFingerprint());
+
+		attribute.getAttribute("child").setValue("modified");
+		assertTrue(fingerprint != root.getFingerprint());
+	}
+
+	private static class CountingLoader implements ITaskAttributeLoader {
+
+		int count;
+
+		public void loadAttributes(TaskAttribute parent) {
+			count++;
+			parent.createAttribute("child").setValue("value");
+		}
+
+		public int getAttributeCount() {
+			return 1;
+		}
+
+		public int getRetainedSize() {
+			return 0;
+		}
+
+		public long getAttributesFingerprint() {
+			return 0;
+		}
+
+	}
+
 }
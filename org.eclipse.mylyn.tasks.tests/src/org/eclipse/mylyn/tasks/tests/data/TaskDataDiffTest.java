@@ -107,12 +107,34 @@ public class TaskDataDiffTest extends TestCase {
 		assertEquals(Collections.emptySet(), diff.getChangedAttributes());
 	}
 
+	@Test
+	public void testGetChangedAttributesUnchanged() {
+		newData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("text");
+		oldData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("text");
+		TaskAttribute attribute = newData.getRoot().createAttribute(TaskAttribute.PRIORITY);
+		attribute.setValue("P1");
+		oldData.getRoot().createAttribute(TaskAttribute.PRIORITY).setValue("P2");
+		TaskDataDiff diff = new TaskDataDiff(model, newData, oldData);
+		assertEquals(Collections.singleton(new TaskAttributeDiff(oldData.getRoot().getAttribute(TaskAttribute.PRIORITY),
+				attribute)), diff.getChangedAttributes());
+	}
+
 	@Test
 	public void testHasChanges() {
 		TaskDataDiff diff = new TaskDataDiff(model, newData, oldData);
 		assertTrue(diff.hasChanged());
 	}
 
+	@Test
+	public void testGetChangedAttributesIdentical() {
+		newData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("text");
+		oldData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("text");
+		TaskDataDiff diff = new TaskDataDiff(model, newData, oldData);
+		assertTrue(diff.hasChanged());
+		assertEquals(Collections.emptySet(), diff.getChangedAttributes());
+		assertTrue(diff.getNewComments().isEmpty());
+	}
+
 	@Test
 	public void testHasChangesAttribute() {
 		newData.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("text");
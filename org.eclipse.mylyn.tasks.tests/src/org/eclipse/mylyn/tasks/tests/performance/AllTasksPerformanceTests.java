@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Tests that process large amounts of data. These are not part of {@link org.eclipse.mylyn.tasks.tests.AllTasksTests}
+ * and are run on demand by setting the <code>test.suite</code> property to this class.
+ */
+public class AllTasksPerformanceTests {
+
+	public static Test suite() {
+		TestSuite suite = new TestSuite(AllTasksPerformanceTests.class.getName());
+		suite.addTestSuite(DateParserPerformanceTest.class);
+		suite.addTestSuite(TaskContainerPerformanceTest.class);
+		suite.addTestSuite(TaskDataFormatPerformanceTest.class);
+		suite.addTestSuite(TaskDataLazyLoadingPerformanceTest.class);
+		suite.addTestSuite(TaskDataStorePerformanceTest.class);
+		suite.addTestSuite(TaskListLoadPerformanceTest.class);
+		suite.addTestSuite(TaskListMemoryPerformanceTest.class);
+		return suite;
+	}
+
+}
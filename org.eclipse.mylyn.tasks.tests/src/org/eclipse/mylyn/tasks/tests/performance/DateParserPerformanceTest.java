@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.tasks.core.data.DateParser;
+
+/**
+ * Compares parsing a mix of timestamps as reported by Bugzilla for bugs, comments and attachments with a
+ * {@link DateParser} to trying each pattern with a new {@link SimpleDateFormat}, i.e. the behavior of connectors prior
+ * to sharing parsers.
+ */
+public class DateParserPerformanceTest extends TestCase {
+
+	private static final String[] PATTERNS = { "yyyy-MM-dd HH:mm:ss Z", "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd HH:mm z",
+			"yyyy-MM-dd HH:mm", "yyyy-MM-dd z", "yyyy-MM-dd" };
+
+	private static final int VALUES = 50000;
+
+	private static final int THREADS = 4;
+
+	private String[] values;
+
+	@Override
+	protected void setUp() throws Exception {
+		// deltas and comments include seconds and zone, attachments and creation dates lack either, deadlines are dates
+		String[] samples = { "2016-03-14 09:26:53 -0700", "2016-03-14 09:26:53 PDT", "2016-03-14 09:26",
+				"2016-03-14 09:26:53", "2016-03-14 09:26 PDT", "2016-03-14", "2016-03-14 09:26:53 +0100" };
+		values = new String[VALUES];
+		for (int i = 0; i < VALUES; i++) {
+			String sample = samples[i % samples.length];
+			// vary the minute to avoid measuring a single value
+			values[i] = sample.replace(":26", ":" + (10 + i % 50));
+		}
+	}
+
+	public void testParse() throws Exception {
+		DateParser parser = new DateParser(PATTERNS);
+		// warm up
+		for (int i = 0; i < 1000; i++) {
+			parseLegacy(values[i]);
+			parser.parse(values[i]);
+		}
+
+		long start = System.currentTimeMillis();
+		for (String value : values) {
+			assertNotNull(parseLegacy(value));
+		}
+		long legacyTime = System.currentTimeMillis() - start;
+
+		start = System.currentTimeMillis();
+		for (String value : values) {
+			assertNotNull(parser.parse(value));
+		}
+		long time = System.currentTimeMillis() - start;
+
+		System.out.println(String.format("> DateParserPerformanceTest.testParse(): parsed %d timestamps in %d ms, "
+				+ "new format per pattern: %d ms", VALUES, time, legacyTime));
+	}
+
+	public void testParseResultsMatchLegacy() throws Exception {
+		DateParser parser = new DateParser(PATTERNS);
+		for (String value : values) {
+			Date date = parser.parse(value);
+			assertNotNull(value, date);
+			assertEquals(value, parseLegacy(value), date);
+		}
+	}
+
+	public void testParseConcurrently() throws Exception {
+		final DateParser parser = new DateParser(PATTERNS);
+		final Throwable[] failure = new Throwable[1];
+		Thread[] threads = new Thread[THREADS];
+		for (int i = 0; i < THREADS; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						for (String value : values) {
+							assertEquals(value, parseLegacy(value), parser.parse(value));
+						}
+					} catch (Throwable e) {
+						failure[0] = e;
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (failure[0] != null) {
+			throw new AssertionError(failure[0]);
+		}
+	}
+
+	private static Date parseLegacy(String dateString) {
+		for (String format : PATTERNS) {
+			try {
+				SimpleDateFormat simpleFormatter = new SimpleDateFormat(format);
+				return simpleFormatter.parse(dateString);
+			} catch (ParseException e) {
+			} catch (NumberFormatException e) {
+			}
+		}
+		return null;
+	}
+
+}
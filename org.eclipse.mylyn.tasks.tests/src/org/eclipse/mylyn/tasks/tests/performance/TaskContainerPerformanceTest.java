@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.UnmatchedTaskContainer;
+import org.eclipse.mylyn.tasks.core.ITask;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryQuery;
+import org.eclipse.mylyn.tasks.tests.connector.MockTask;
+
+/**
+ * Measures filling a query with a large number of hits and replacing them compared to a copy-on-write list of children,
+ * i.e. the behavior prior to indexing children by handle.
+ */
+public class TaskContainerPerformanceTest extends TestCase {
+
+	private static final int HITS = 10000;
+
+	private TaskList taskList;
+
+	private List<MockTask> tasks;
+
+	@Override
+	protected void setUp() throws Exception {
+		taskList = new TaskList();
+		taskList.addUnmatchedContainer(new UnmatchedTaskContainer(MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL));
+		tasks = new ArrayList<MockTask>(HITS);
+		for (int i = 0; i < HITS; i++) {
+			tasks.add(new MockTask(MockRepositoryConnector.REPOSITORY_URL, Integer.toString(i)));
+		}
+	}
+
+	public void testFillQuery() throws Exception {
+		long legacyTime = fillCopyOnWriteList();
+
+		MockRepositoryQuery query = new MockRepositoryQuery("query");
+		taskList.addQuery(query);
+		long start = System.currentTimeMillis();
+		for (MockTask task : tasks) {
+			taskList.addTask(task, query);
+		}
+		for (MockTask task : tasks) {
+			assertTrue(query.contains(task.getHandleIdentifier()));
+		}
+		for (MockTask task : tasks) {
+			taskList.removeFromContainer(query, task);
+		}
+		long time = System.currentTimeMillis() - start;
+		assertTrue(query.isEmpty());
+
+		System.out.println(String.format("> TaskContainerPerformanceTest.testFillQuery(): query with %d hits filled, "
+				+ "looked up and emptied in %d ms, copy-on-write: %d ms", HITS, time, legacyTime));
+	}
+
+	private long fillCopyOnWriteList() {
+		Collection<ITask> children = new CopyOnWriteArrayList<ITask>();
+		long start = System.currentTimeMillis();
+		for (MockTask task : tasks) {
+			children.add(task);
+		}
+		for (MockTask task : tasks) {
+			assertTrue(children.contains(task));
+		}
+		for (MockTask task : tasks) {
+			children.remove(task);
+		}
+		return System.currentTimeMillis() - start;
+	}
+
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import java.io.File;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataState;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore.Format;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+
+/**
+ * Compares write time, read time and size on disk of the XML and binary task data formats for a synthetic corpus of
+ * large tasks with many comments.
+ */
+public class TaskDataFormatPerformanceTest extends TestCase {
+
+	private static class Result {
+
+		long writeTime;
+
+		long readTime;
+
+		long size;
+
+		@Override
+		public String toString() {
+			return String.format("write %d ms, read %d ms, %d KB on disk", writeTime, readTime, size / 1024);
+		}
+
+	}
+
+	private static final int TASKS = 100;
+
+	private static final int COMMENTS = 500;
+
+	private TaskRepositoryManager taskRepositoryManager;
+
+	private TaskRepository taskRepository;
+
+	private File folder;
+
+	@Override
+	protected void setUp() throws Exception {
+		taskRepositoryManager = new TaskRepositoryManager();
+		taskRepository = new TaskRepository(MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL);
+		taskRepositoryManager.addRepositoryConnector(new MockRepositoryConnector());
+		taskRepositoryManager.addRepository(taskRepository);
+		folder = CommonTestUtil.createTempFolder(TaskDataFormatPerformanceTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CommonTestUtil.deleteFolderRecursively(folder);
+	}
+
+	public void testReadWrite() throws Exception {
+		TaskDataState[] corpus = createCorpus();
+		// warm up
+		run(Format.XML, corpus);
+		run(Format.BINARY, corpus);
+
+		Result xml = run(Format.XML, corpus);
+		Result binary = run(Format.BINARY, corpus);
+		String message = String.format("%d tasks with %d comments, binary: %s, XML: %s", TASKS, COMMENTS, binary, xml);
+		System.out.println("> TaskDataFormatPerformanceTest.testReadWrite(): " + message);
+		assertTrue(message, binary.size < xml.size);
+	}
+
+	public void testMigrate() throws Exception {
+		TaskDataStore store = new TaskDataStore(taskRepositoryManager, 0);
+		File[] files = write(store, Format.XML, createCorpus());
+
+		for (int i = 0; i < files.length; i++) {
+			assertTrue(store.migrate(files[i], new File(folder, "migrated" + i + TaskDataStore.EXTENSION_BINARY)));
+		}
+	}
+
+	private Result run(Format format, TaskDataState[] corpus) throws Exception {
+		TaskDataStore store = new TaskDataStore(taskRepositoryManager, 0);
+		Result result = new Result();
+
+		long start = System.currentTimeMillis();
+		File[] files = write(store, format, corpus);
+		result.writeTime = System.currentTimeMillis() - start;
+
+		for (File file : files) {
+			result.size += file.length();
+		}
+
+		TaskDataState[] states = new TaskDataState[files.length];
+		start = System.currentTimeMillis();
+		for (int i = 0; i < files.length; i++) {
+			states[i] = store.getTaskDataState(files[i]);
+		}
+		result.readTime = System.currentTimeMillis() - start;
+
+		for (int i = 0; i < corpus.length; i++) {
+			assertEquals(corpus[i].getRepositoryData().getRoot().toString(),
+					states[i].getRepositoryData().getRoot().toString());
+			assertEquals(corpus[i].getLastReadData().getRoot().toString(),
+					states[i].getLastReadData().getRoot().toString());
+		}
+		return result;
+	}
+
+	private TaskDataState[] createCorpus() {
+		TaskDataState[] corpus = new TaskDataState[TASKS];
+		for (int i = 0; i < TASKS; i++) {
+			corpus[i] = createState(Integer.toString(i));
+		}
+		return corpus;
+	}
+
+	private File[] write(TaskDataStore store, Format format, TaskDataState[] corpus) throws Exception {
+		String extension = (format == Format.BINARY) ? TaskDataStore.EXTENSION_BINARY : ".zip";
+		File[] files = new File[corpus.length];
+		for (int i = 0; i < corpus.length; i++) {
+			files[i] = new File(folder, format.name() + i + extension);
+			store.putTaskData(files[i], corpus[i]);
+		}
+		return files;
+	}
+
+	private TaskDataState createState(String taskId) {
+		TaskData data = new TaskData(new TaskAttributeMapper(taskRepository), MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, taskId);
+		data.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("summary of task " + taskId);
+		data.getRoot().createAttribute(TaskAttribute.DESCRIPTION).setValue(createText(taskId, 40));
+		for (int i = 0; i < COMMENTS; i++) {
+			TaskCommentMapper comment = new TaskCommentMapper();
+			comment.setCommentId(taskId + "-" + i);
+			comment.setNumber(i);
+			comment.setCreationDate(new Date(1400000000000L + i * 60000L));
+			comment.setText(createText(taskId + "-" + i, 10));
+			comment.setAuthor(taskRepository.createPerson("user" + (i % 20) + "@example.com"));
+			TaskAttribute attribute = data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + i);
+			comment.applyTo(attribute);
+		}
+
+		TaskData lastRead = TaskDataState.createCopy(data);
+		lastRead.getRoot().removeAttribute(TaskAttribute.PREFIX_COMMENT + (COMMENTS - 1));
+
+		TaskDataState state = new TaskDataState(MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, taskId);
+		state.setRepositoryData(data);
+		state.setLastReadData(lastRead);
+		return state;
+	}
+
+	private String createText(String seed, int lines) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			sb.append("Line ").append(i).append(" of ").append(seed);
+			sb.append(": the quick brown fox jumps over the lazy dog\n");
+		}
+		return sb.toString();
+	}
+
+}
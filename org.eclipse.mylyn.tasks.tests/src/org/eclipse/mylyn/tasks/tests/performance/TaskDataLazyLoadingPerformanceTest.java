@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import java.io.File;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataState;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+
+/**
+ * Measures latency and retained memory of reading tasks with many comments when only a few attributes are accessed,
+ * e.g. to compute a notification, compared to materializing all attributes, i.e. the behavior prior to loading
+ * attributes on demand.
+ */
+public class TaskDataLazyLoadingPerformanceTest extends TestCase {
+
+	private static final int TASKS = 50;
+
+	private static final int COMMENTS = 600;
+
+	private TaskRepositoryManager taskRepositoryManager;
+
+	private TaskRepository taskRepository;
+
+	private File folder;
+
+	private File[] files;
+
+	@Override
+	protected void setUp() throws Exception {
+		taskRepositoryManager = new TaskRepositoryManager();
+		taskRepository = new TaskRepository(MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL);
+		taskRepositoryManager.addRepositoryConnector(new MockRepositoryConnector());
+		taskRepositoryManager.addRepository(taskRepository);
+		folder = CommonTestUtil.createTempFolder(TaskDataLazyLoadingPerformanceTest.class.getSimpleName());
+
+		TaskDataStore store = new TaskDataStore(taskRepositoryManager, 0);
+		files = new File[TASKS];
+		for (int i = 0; i < TASKS; i++) {
+			files[i] = new File(folder, i + TaskDataStore.EXTENSION_BINARY);
+			store.putTaskData(files[i], createState(Integer.toString(i)));
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CommonTestUtil.deleteFolderRecursively(folder);
+	}
+
+	public void testReadFromDisk() throws Exception {
+		TaskDataStore store = new TaskDataStore(taskRepositoryManager, 0);
+		// warm up
+		read(store, false);
+		read(store, true);
+
+		long start = System.currentTimeMillis();
+		TaskDataState[] states = read(store, false);
+		long lazyTime = System.currentTimeMillis() - start;
+		long lazyMemory = getRetainedMemory(states);
+
+		start = System.currentTimeMillis();
+		states = read(store, true);
+		long fullTime = System.currentTimeMillis() - start;
+		long fullMemory = getRetainedMemory(states);
+
+		String message = String.format("Read %d tasks with %d comments from disk: summary %d ms, %d KB retained, "
+				+ "all attributes %d ms, %d KB retained", TASKS, COMMENTS, lazyTime, lazyMemory / 1024, fullTime,
+				fullMemory / 1024);
+		System.out.println("> TaskDataLazyLoadingPerformanceTest.testReadFromDisk(): " + message);
+		assertTrue(message, lazyMemory < fullMemory);
+	}
+
+	public void testReadFromCache() throws Exception {
+		TaskDataStore store = new TaskDataStore(taskRepositoryManager, TaskDataStore.DEFAULT_CACHE_WEIGHT * 10);
+		// populate the cache
+		read(store, true);
+
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < 10; i++) {
+			read(store, false);
+		}
+		long lazyTime = System.currentTimeMillis() - start;
+
+		start = System.currentTimeMillis();
+		for (int i = 0; i < 10; i++) {
+			read(store, true);
+		}
+		long fullTime = System.currentTimeMillis() - start;
+
+		System.out.println(String.format("> TaskDataLazyLoadingPerformanceTest.testReadFromCache(): read %d tasks "
+				+ "with %d comments from cache 10 times, summary %d ms, all attributes %d ms", TASKS, COMMENTS,
+				lazyTime, fullTime));
+	}
+
+	private TaskDataState[] read(TaskDataStore store, boolean materialize) throws Exception {
+		TaskDataState[] states = new TaskDataState[files.length];
+		for (int i = 0; i < files.length; i++) {
+			states[i] = store.getTaskDataState(files[i]);
+			TaskData data = states[i].getRepositoryData();
+			assertNotNull(data.getRoot().getAttribute(TaskAttribute.SUMMARY));
+			if (materialize) {
+				assertTrue(countAttributes(data.getRoot()) > COMMENTS);
+				assertTrue(countAttributes(states[i].getLastReadData().getRoot()) > COMMENTS);
+			}
+		}
+		return states;
+	}
+
+	private int countAttributes(TaskAttribute attribute) {
+		int count = 1;
+		for (TaskAttribute child : attribute.getAttributes().values()) {
+			count += countAttributes(child);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the heap that is freed when <code>states</code> are released.
+	 */
+	private long getRetainedMemory(TaskDataState[] states) throws Exception {
+		long used = getUsedMemory();
+		for (int i = 0; i < states.length; i++) {
+			states[i] = null;
+		}
+		return used - getUsedMemory();
+	}
+
+	private long getUsedMemory() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private TaskDataState createState(String taskId) {
+		TaskData data = new TaskData(new TaskAttributeMapper(taskRepository), MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, taskId);
+		data.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("summary of task " + taskId);
+		data.getRoot().createAttribute(TaskAttribute.DESCRIPTION).setValue("description of task " + taskId);
+		for (int i = 0; i < COMMENTS; i++) {
+			TaskCommentMapper comment = new TaskCommentMapper();
+			comment.setCommentId(taskId + "-" + i);
+			comment.setNumber(i);
+			comment.setCreationDate(new Date(1400000000000L + i * 60000L));
+			comment.setText("Comment " + i + " of " + taskId + ": the quick brown fox jumps over the lazy dog");
+			comment.setAuthor(taskRepository.createPerson("user" + (i % 20) + "@example.com"));
+			comment.applyTo(data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + i));
+		}
+
+		TaskDataState state = new TaskDataState(MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, taskId);
+		state.setRepositoryData(data);
+		state.setLastReadData(TaskDataState.createCopy(data));
+		return state;
+	}
+
+}
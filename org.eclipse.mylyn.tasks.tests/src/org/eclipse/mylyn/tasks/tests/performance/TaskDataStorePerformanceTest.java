@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataState;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.tasks.core.TaskRepository;
+import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
+import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
+import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+
+/**
+ * Measures concurrent throughput of {@link TaskDataStore} compared to a store that serializes all access on a single
+ * monitor and parses every read from disk, i.e. the behavior prior to striped locking and caching.
+ */
+public class TaskDataStorePerformanceTest extends TestCase {
+
+	/**
+	 * Emulates the previous implementation: a single monitor and no cache.
+	 */
+	private static class SynchronizedTaskDataStore extends TaskDataStore {
+
+		public SynchronizedTaskDataStore(TaskRepositoryManager taskRepositoryManager) {
+			super(taskRepositoryManager, 0);
+		}
+
+		@Override
+		public synchronized TaskDataState getTaskDataState(File file) throws CoreException {
+			return super.getTaskDataState(file);
+		}
+
+		@Override
+		public synchronized TaskDataState putTaskData(File file, TaskData data, boolean setLastRead, boolean user)
+				throws CoreException {
+			return super.putTaskData(file, data, setLastRead, user);
+		}
+
+	}
+
+	private static final int TASKS = 200;
+
+	private static final int THREADS = 8;
+
+	private static final int ITERATIONS = 5;
+
+	private static final int COMMENTS = 50;
+
+	private TaskRepositoryManager taskRepositoryManager;
+
+	private TaskRepository taskRepository;
+
+	private File folder;
+
+	@Override
+	protected void setUp() throws Exception {
+		taskRepositoryManager = new TaskRepositoryManager();
+		taskRepository = new TaskRepository(MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL);
+		taskRepositoryManager.addRepositoryConnector(new MockRepositoryConnector());
+		taskRepositoryManager.addRepository(taskRepository);
+		folder = CommonTestUtil.createTempFolder(TaskDataStorePerformanceTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CommonTestUtil.deleteFolderRecursively(folder);
+	}
+
+	public void testConcurrentPutAndGet() throws Exception {
+		// warm up
+		run(new TaskDataStore(taskRepositoryManager));
+
+		long legacyTime = run(new SynchronizedTaskDataStore(taskRepositoryManager));
+		long time = run(new TaskDataStore(taskRepositoryManager));
+		System.out.println(String.format("> TaskDataStorePerformanceTest.testConcurrentPutAndGet(): %d ops in %d ms "
+				+ "(%.0f ops/s), synchronized store without cache: %d ms (%.0f ops/s)", getOperationCount(), time,
+				getThroughput(time), legacyTime, getThroughput(legacyTime)));
+	}
+
+	private int getOperationCount() {
+		// one put and two gets per task and iteration
+		return TASKS * ITERATIONS * 3;
+	}
+
+	private double getThroughput(long time) {
+		return getOperationCount() * 1000d / Math.max(time, 1);
+	}
+
+	/**
+	 * Returns the time in milliseconds it took to run all operations.
+	 */
+	private long run(final TaskDataStore store) throws Exception {
+		final File[] files = new File[TASKS];
+		for (int i = 0; i < TASKS; i++) {
+			files[i] = new File(folder, store.getClass().getSimpleName() + i + ".zip");
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			long start = System.currentTimeMillis();
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < THREADS; t++) {
+				final int offset = t;
+				futures.add(executor.submit(new Callable<Object>() {
+					public Object call() throws Exception {
+						for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+							for (int i = offset; i < TASKS; i += THREADS) {
+								store.putTaskData(files[i], createTaskData(Integer.toString(i), iteration), true, false);
+								assertNotNull(store.getTaskDataState(files[i]));
+								assertNotNull(store.getTaskDataState(files[i]));
+							}
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			long time = System.currentTimeMillis() - start;
+
+			for (int i = 0; i < TASKS; i++) {
+				TaskAttribute summary = store.getTaskDataState(files[i])
+						.getRepositoryData()
+						.getRoot()
+						.getAttribute(TaskAttribute.SUMMARY);
+				assertEquals("summary " + (ITERATIONS - 1), summary.getValue());
+			}
+			return time;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private TaskData createTaskData(String taskId, int iteration) {
+		TaskData data = new TaskData(new TaskAttributeMapper(taskRepository), MockRepositoryConnector.CONNECTOR_KIND,
+				MockRepositoryConnector.REPOSITORY_URL, taskId);
+		data.getRoot().createAttribute(TaskAttribute.SUMMARY).setValue("summary " + iteration);
+		for (int i = 0; i < COMMENTS; i++) {
+			TaskCommentMapper comment = new TaskCommentMapper();
+			comment.setCommentId(Integer.toString(i));
+			comment.setNumber(i);
+			comment.setText("comment " + i);
+			comment.applyTo(data.getRoot().createAttribute(TaskAttribute.PREFIX_COMMENT + i));
+		}
+		return data;
+	}
+
+}
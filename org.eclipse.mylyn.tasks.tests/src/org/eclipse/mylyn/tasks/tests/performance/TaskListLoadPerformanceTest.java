@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import java.io.File;
+import java.util.Date;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.commons.sdk.util.CommonTestUtil;
+import org.eclipse.mylyn.internal.tasks.core.RepositoryQuery;
+import org.eclipse.mylyn.internal.tasks.core.TaskCategory;
+import org.eclipse.mylyn.internal.tasks.core.TaskList;
+import org.eclipse.mylyn.internal.tasks.core.TaskTask;
+import org.eclipse.mylyn.internal.tasks.core.externalization.TaskListExternalizer;
+import org.eclipse.mylyn.internal.tasks.ui.TasksUiPlugin;
+import org.eclipse.mylyn.tasks.core.ITask.SynchronizationState;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+
+/**
+ * Measures reading synthetic task lists of increasing size on a single thread compared to creating tasks on a thread
+ * per available processor.
+ */
+public class TaskListLoadPerformanceTest extends TestCase {
+
+	private File folder;
+
+	@Override
+	protected void setUp() throws Exception {
+		folder = CommonTestUtil.createTempFolder(TaskListLoadPerformanceTest.class.getSimpleName());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		CommonTestUtil.deleteFolderRecursively(folder);
+	}
+
+	public void testLoad10k() throws Exception {
+		load(10000);
+	}
+
+	public void testLoad50k() throws Exception {
+		load(50000);
+	}
+
+	public void testLoad100k() throws Exception {
+		load(100000);
+	}
+
+	private void load(int taskCount) throws Exception {
+		TaskListExternalizer externalizer = TasksUiPlugin.getDefault().createTaskListExternalizer();
+		File file = new File(folder, "tasklist.xml.zip");
+		externalizer.writeTaskList(createTaskList(taskCount), file);
+
+		// warm up
+		read(externalizer, file, 1, taskCount);
+
+		int threadCount = Runtime.getRuntime().availableProcessors();
+		long sequentialTime = read(externalizer, file, 1, taskCount);
+		long parallelTime = read(externalizer, file, threadCount, taskCount);
+
+		System.out.println(String.format("> TaskListLoadPerformanceTest.load(): read task list with %d tasks (%d KB), "
+				+ "1 thread %d ms, %d threads %d ms", taskCount, file.length() / 1024, sequentialTime, threadCount,
+				parallelTime));
+	}
+
+	/**
+	 * Returns the time in milliseconds it took to read the task list.
+	 */
+	private long read(TaskListExternalizer externalizer, File file, int threadCount, int taskCount) throws Exception {
+		TaskList taskList = new TaskList();
+		externalizer.setReadThreadCount(threadCount);
+		long start = System.currentTimeMillis();
+		externalizer.readTaskList(taskList, file);
+		long time = System.currentTimeMillis() - start;
+		assertEquals(taskCount, taskList.getAllTasks().size());
+		return time;
+	}
+
+	private TaskList createTaskList(int taskCount) {
+		TaskList taskList = new TaskList();
+		RepositoryQuery query = new RepositoryQuery(MockRepositoryConnector.CONNECTOR_KIND, "query");
+		query.setRepositoryUrl(MockRepositoryConnector.REPOSITORY_URL);
+		taskList.addQuery(query);
+		TaskCategory category = new TaskCategory("category");
+		taskList.addCategory(category);
+		for (int i = 0; i < taskCount; i++) {
+			TaskTask task = new TaskTask(MockRepositoryConnector.CONNECTOR_KIND, MockRepositoryConnector.REPOSITORY_URL,
+					Integer.toString(i));
+			task.setSummary("Summary of task " + i);
+			task.setTaskKey(Integer.toString(i));
+			task.setOwner("user" + (i % 50) + "@example.com");
+			task.setCreationDate(new Date(1400000000000L + i * 60000L));
+			task.setModificationDate(new Date(1450000000000L + i * 60000L));
+			task.setSynchronizationState(SynchronizationState.SYNCHRONIZED);
+			task.setAttribute("product", "product" + (i % 10));
+			task.setAttribute("status", "status" + (i % 5));
+			if (i % 10 == 0) {
+				taskList.addTask(task, category);
+			} else {
+				taskList.addTask(task, query);
+			}
+		}
+		return taskList;
+	}
+
+}
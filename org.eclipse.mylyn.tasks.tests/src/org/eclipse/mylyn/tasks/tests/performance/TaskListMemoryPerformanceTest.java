@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.tasks.tests.performance;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.eclipse.mylyn.internal.tasks.core.AbstractTask;
+import org.eclipse.mylyn.tasks.tests.connector.MockRepositoryConnector;
+import org.eclipse.mylyn.tasks.tests.connector.MockTask;
+
+/**
+ * Measures the heap retained by the attributes and dates of a large task list compared to storing them in a
+ * {@link HashMap} of globally interned strings and {@link Date} objects, i.e. the representation prior to the compact
+ * attribute map.
+ */
+public class TaskListMemoryPerformanceTest extends TestCase {
+
+	private static final int TASKS = 50000;
+
+	private static final String[] KEYS = { "product", "component", "status", "resolution", "severity", "version",
+			"milestone", "platform" };
+
+	public void testAttributesAndDates() throws Exception {
+		AbstractTask[] tasks = createTasks(false);
+		for (int i = 0; i < TASKS; i++) {
+			for (int j = 0; j < KEYS.length; j++) {
+				assertEquals(getValue(i, j), tasks[i].getAttribute(KEYS[j]));
+			}
+			assertEquals(new Date(1400000000000L + i), tasks[i].getCreationDate());
+			assertEquals(new Date(1450000000000L + i), tasks[i].getModificationDate());
+			assertEquals(new Date(1500000000000L + i), tasks[i].getDueDate());
+		}
+	}
+
+	public void testMemory() throws Exception {
+		long used = getUsedMemory();
+		AbstractTask[] tasks = createTasks(false);
+		long compactMemory = getUsedMemory() - used;
+		assertEquals(TASKS, tasks.length);
+
+		tasks = null;
+		used = getUsedMemory();
+		tasks = createTasks(true);
+		Object[] legacy = createLegacyAttributes();
+		long legacyMemory = getUsedMemory() - used;
+		assertEquals(TASKS, tasks.length);
+		assertEquals(TASKS * 2, legacy.length);
+
+		assertTrue(String.format("Attributes and dates of %d tasks: compact %d KB, legacy %d KB", TASKS,
+				compactMemory / 1024, legacyMemory / 1024), compactMemory < legacyMemory);
+	}
+
+	private AbstractTask[] createTasks(boolean tasksOnly) {
+		AbstractTask[] tasks = new AbstractTask[TASKS];
+		for (int i = 0; i < TASKS; i++) {
+			tasks[i] = new MockTask(MockRepositoryConnector.REPOSITORY_URL, Integer.toString(i));
+			if (!tasksOnly) {
+				for (int j = 0; j < KEYS.length; j++) {
+					tasks[i].setAttribute(new String(KEYS[j]), getValue(i, j));
+				}
+				tasks[i].setCreationDate(new Date(1400000000000L + i));
+				tasks[i].setModificationDate(new Date(1450000000000L + i));
+				tasks[i].setDueDate(new Date(1500000000000L + i));
+			}
+		}
+		return tasks;
+	}
+
+	private Object[] createLegacyAttributes() {
+		Object[] legacy = new Object[TASKS * 2];
+		for (int i = 0; i < TASKS; i++) {
+			Map<String, String> attributes = new HashMap<String, String>(4);
+			for (int j = 0; j < KEYS.length; j++) {
+				attributes.put(new String(KEYS[j]).intern(), getValue(i, j).intern());
+			}
+			legacy[i * 2] = attributes;
+			legacy[i * 2 + 1] = new Date[] { new Date(1400000000000L + i), new Date(1450000000000L + i),
+					new Date(1500000000000L + i) };
+		}
+		return legacy;
+	}
+
+	private String getValue(int task, int key) {
+		// a few distinct values per key as is typical for product, status and similar fields
+		return KEYS[key] + (task % (5 + key));
+	}
+
+	private long getUsedMemory() throws InterruptedException {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(50);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+}
@@ -112,4 +112,14 @@ public interface ITasksUiPreferenceConstants {
 
 	public static final String LAST_SERVICE_MESSAGE_CHECKTIME = "org.eclipse.mylyn.tasks.ui.servicemessage.checktime"; //$NON-NLS-1$
 
+	/**
+	 * The format for storing task data, either <code>XML</code> or <code>BINARY</code>.
+	 */
+	public static final String TASK_DATA_FORMAT = "org.eclipse.mylyn.tasks.ui.task.data.format"; //$NON-NLS-1$
+
+	/**
+	 * The format that all task data has been converted to.
+	 */
+	public static final String TASK_DATA_FORMAT_MIGRATED = "org.eclipse.mylyn.tasks.ui.task.data.format.migrated"; //$NON-NLS-1$
+
 }
@@ -17,6 +17,7 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.mylyn.internal.tasks.core.ITasksCoreConstants;
+import org.eclipse.mylyn.internal.tasks.core.LocalRepositoryConnector;
 import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManager;
 import org.eclipse.mylyn.tasks.core.ITask;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
@@ -63,32 +64,33 @@ public class RefactorRepositoryUrlOperation extends TaskListModifyOperation {
 
 	private void refactorOfflineHandles(String oldRepositoryUrl, String newRepositoryUrl) throws CoreException {
 		TaskDataManager taskDataManager = TasksUiPlugin.getTaskDataManager();
-		for (ITask task : getTaskList().getAllTasks()) {
+		// unsubmitted tasks are local tasks
+		for (ITask task : getTaskList().getRepositoryTasks(LocalRepositoryConnector.REPOSITORY_URL)) {
 			if (oldRepositoryUrl.equals(task.getAttribute(ITasksCoreConstants.ATTRIBUTE_OUTGOING_NEW_REPOSITORY_URL))) {
 				taskDataManager.refactorRepositoryUrl(task, task.getRepositoryUrl(), newRepositoryUrl);
 			}
-			if (task.getRepositoryUrl().equals(oldRepositoryUrl)) {
-				taskDataManager.refactorRepositoryUrl(task, newRepositoryUrl, newRepositoryUrl);
-//					RepositoryTaskData newTaskData = taskDataManager.getNewTaskData(repositoryTask.getRepositoryUrl(),
-//							repositoryTask.getTaskId());
-//					RepositoryTaskData oldTaskData = taskDataManager.getOldTaskData(repositoryTask.getRepositoryUrl(),
-//							repositoryTask.getTaskId());
-//					Set<RepositoryTaskAttribute> edits = taskDataManager.getEdits(repositoryTask.getRepositoryUrl(),
-//							repositoryTask.getTaskId());
-//					taskDataManager.remove(repositoryTask.getRepositoryUrl(), repositoryTask.getTaskId());
+		}
+		for (ITask task : getTaskList().getRepositoryTasks(oldRepositoryUrl)) {
+			taskDataManager.refactorRepositoryUrl(task, newRepositoryUrl, newRepositoryUrl);
+//				RepositoryTaskData newTaskData = taskDataManager.getNewTaskData(repositoryTask.getRepositoryUrl(),
+//						repositoryTask.getTaskId());
+//				RepositoryTaskData oldTaskData = taskDataManager.getOldTaskData(repositoryTask.getRepositoryUrl(),
+//						repositoryTask.getTaskId());
+//				Set<RepositoryTaskAttribute> edits = taskDataManager.getEdits(repositoryTask.getRepositoryUrl(),
+//						repositoryTask.getTaskId());
+//				taskDataManager.remove(repositoryTask.getRepositoryUrl(), repositoryTask.getTaskId());
 //
-//					if (newTaskData != null) {
-//						newTaskData.setRepositoryURL(newRepositoryUrl);
-//						taskDataManager.setNewTaskData(newTaskData);
-//					}
-//					if (oldTaskData != null) {
-//						oldTaskData.setRepositoryURL(newRepositoryUrl);
-//						taskDataManager.setOldTaskData(oldTaskData);
-//					}
-//					if (!edits.isEmpty()) {
-//						taskDataManager.saveEdits(newRepositoryUrl, repositoryTask.getTaskId(), edits);
-//					}
-			}
+//				if (newTaskData != null) {
+//					newTaskData.setRepositoryURL(newRepositoryUrl);
+//					taskDataManager.setNewTaskData(newTaskData);
+//				}
+//				if (oldTaskData != null) {
+//					oldTaskData.setRepositoryURL(newRepositoryUrl);
+//					taskDataManager.setOldTaskData(oldTaskData);
+//				}
+//				if (!edits.isEmpty()) {
+//					taskDataManager.saveEdits(newRepositoryUrl, repositoryTask.getTaskId(), edits);
+//				}
 		}
 //		TasksUiPlugin.getTaskDataStorageManager().saveNow();
 	}
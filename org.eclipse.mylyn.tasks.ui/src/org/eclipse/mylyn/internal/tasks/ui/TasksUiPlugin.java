@@ -81,6 +81,7 @@ import org.eclipse.mylyn.internal.tasks.core.TaskRepositoryManager;
 import org.eclipse.mylyn.internal.tasks.core.data.SynchronizationManger;
 import org.eclipse.mylyn.internal.tasks.core.data.TaskDataManager;
 import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore;
+import org.eclipse.mylyn.internal.tasks.core.data.TaskDataStore.Format;
 import org.eclipse.mylyn.internal.tasks.core.externalization.ExternalizationManager;
 import org.eclipse.mylyn.internal.tasks.core.externalization.IExternalizationParticipant;
 import org.eclipse.mylyn.internal.tasks.core.externalization.TaskActivationExternalizationParticipant;
@@ -582,9 +583,11 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 
 			// instantiate taskDataManager
 			TaskDataStore taskDataStore = new TaskDataStore(repositoryManager);
+			taskDataStore.setJournalEdits(true);
 			synchronizationManger = new SynchronizationManger(repositoryModel);
 			taskDataManager = new TaskDataManager(taskDataStore, repositoryManager, taskList, taskActivityManager,
 					synchronizationManger);
+			taskDataManager.setFormat(getTaskDataFormat());
 
 			taskJobFactory = new TaskJobFactory(taskList, taskDataManager, repositoryManager, repositoryModel);
 
@@ -622,6 +625,8 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 			// initialize managers
 			initializeDataSources();
 
+			migrateTaskData();
+
 			migrateCredentials(repositoryManager.getAllRepositories());
 
 			// make this available early for clients that are not initialized through tasks ui but need access
@@ -702,6 +707,45 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 		}.schedule();
 	}
 
+	private Format getTaskDataFormat() {
+		String value = getPreferenceStore().getString(ITasksUiPreferenceConstants.TASK_DATA_FORMAT);
+		try {
+			return Format.valueOf(value);
+		} catch (IllegalArgumentException e) {
+			StatusHandler.log(new Status(IStatus.WARNING, ID_PLUGIN, NLS.bind(
+					"Unsupported task data format \"{0}\", using XML", value))); //$NON-NLS-1$
+			return Format.XML;
+		}
+	}
+
+	/**
+	 * Converts task data to the format set in the preferences unless that has been done before. Until then task data
+	 * in the previous format is read as is and converted when it is written.
+	 */
+	private void migrateTaskData() {
+		final Format format = taskDataManager.getFormat();
+		String migratedFormat = getPreferenceStore().getString(ITasksUiPreferenceConstants.TASK_DATA_FORMAT_MIGRATED);
+		if (format.name().equals(migratedFormat)) {
+			return;
+		}
+		Job job = new Job("Task Data Migration") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					taskDataManager.migrateTaskData(monitor);
+					getPreferenceStore().setValue(ITasksUiPreferenceConstants.TASK_DATA_FORMAT_MIGRATED, format.name());
+					return Status.OK_STATUS;
+				} catch (CoreException e) {
+					return new Status(IStatus.ERROR, ID_PLUGIN, "Task data migration failed", e); //$NON-NLS-1$
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
 	private boolean isKeyringInstalled() {
 		return Platform.getBundle("org.eclipse.core.runtime.compatibility.auth") != null; //$NON-NLS-1$
 	}
@@ -1014,6 +1058,9 @@ public class TasksUiPlugin extends AbstractUIPlugin {
 		store.setDefault(ITasksUiPreferenceConstants.TASK_LIST_TOOL_TIPS_ENABLED, true);
 
 		store.setDefault(ITasksUiPreferenceConstants.SERVICE_MESSAGE_URL, "http://eclipse.org/mylyn/updates.xml"); //$NON-NLS-1$
+
+		store.setDefault(ITasksUiPreferenceConstants.TASK_DATA_FORMAT, Format.XML.name());
+		store.setDefault(ITasksUiPreferenceConstants.TASK_DATA_FORMAT_MIGRATED, Format.XML.name());
 	}
 
 	public static TaskActivityManager getTaskActivityManager() {
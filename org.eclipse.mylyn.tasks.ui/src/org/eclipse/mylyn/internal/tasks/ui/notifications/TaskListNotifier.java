@@ -56,12 +56,16 @@ public class TaskListNotifier implements ITaskDataManagerListener, ITaskListNoti
 	}
 
 	public TaskListNotification getNotification(ITask task, Object token) {
+		return getNotification(task, token, null);
+	}
+
+	private TaskListNotification getNotification(ITask task, Object token, TaskDataManagerEvent event) {
 		if (task.getSynchronizationState() == SynchronizationState.INCOMING_NEW) {
 			TaskListNotification notification = new TaskListNotification(task, token);
 			notification.setDescription(Messages.TaskListNotifier_New_unread_task);
 			return notification;
 		} else if (task.getSynchronizationState() == SynchronizationState.INCOMING) {
-			TaskDataDiff diff = getDiff(task);
+			TaskDataDiff diff = (event != null) ? getDiff(event) : getDiff(task);
 			if (diff != null && diff.hasChanged()) {
 				TaskListNotification notification = new TaskListNotification(task, token);
 				notification.setDescription(TaskDiffUtil.toString(diff, 60, true));
@@ -86,6 +90,21 @@ public class TaskListNotifier implements ITaskDataManagerListener, ITaskListNoti
 		return null;
 	}
 
+	/**
+	 * Returns the difference computed while updating the task data or compares the updated task data to the last read
+	 * task data carried by <code>event</code>. Only reads the stored state if neither is available.
+	 */
+	private TaskDataDiff getDiff(TaskDataManagerEvent event) {
+		if (event.getDiff() != null) {
+			return event.getDiff();
+		}
+		if (event.hasLastReadData()) {
+			return synchronizationManger.createDiff(event.getTaskData(), event.getLastReadData(),
+					new NullProgressMonitor());
+		}
+		return getDiff(event.getTask());
+	}
+
 	public void taskDataUpdated(TaskDataManagerEvent event) {
 		synchronized (notificationQueue) {
 			if (!enabled) {
@@ -98,7 +117,7 @@ public class TaskListNotifier implements ITaskDataManagerListener, ITaskListNoti
 				AbstractRepositoryConnectorUi connectorUi = TasksUi.getRepositoryConnectorUi(event.getTaskData()
 						.getConnectorKind());
 				if (!connectorUi.hasCustomNotifications()) {
-					TaskListNotification notification = getNotification(event.getTask(), event.getToken());
+					TaskListNotification notification = getNotification(event.getTask(), event.getToken(), event);
 					if (notification != null) {
 						synchronized (notificationQueue) {
 							if (enabled) {
@@ -264,6 +264,11 @@ public class TaskScheduleContentProvider extends TaskListContentProvider impleme
 			return !task.isCompleted() && notScheduled(task);
 		}
 
+		@Override
+		protected boolean selectsCompleted() {
+			return false;
+		}
+
 	}
 
 	public abstract class StateTaskContainer extends ScheduledTaskContainer {
@@ -274,15 +279,32 @@ public class TaskScheduleContentProvider extends TaskListContentProvider impleme
 			super(taskActivityManager, range, summary);
 		}
 
+		/**
+		 * Only completed and unscheduled tasks are included in state containers except for tasks scheduled after the
+		 * current week in focused mode, see {@link #include(ITask)}. Hence the candidates are read from the indexes
+		 * maintained by the task activity manager rather than from all tasks.
+		 */
 		@Override
 		public Collection<ITask> getChildren() {
 			Set<ITask> children = new HashSet<ITask>();
-			for (ITask task : TasksUiPlugin.getTaskList().getAllTasks()) {
+			if (selectsIncomplete()) {
+				addChildren(children, taskActivityManager.getUnscheduledIncompleteTasks());
+				if (taskListView.isFocusedMode()) {
+					addChildren(children, taskActivityManager.getAllScheduledTasks());
+				}
+			}
+			if (selectsCompleted()) {
+				addChildren(children, taskActivityManager.getCompletedTasks());
+			}
+			return children;
+		}
+
+		private void addChildren(Set<ITask> children, Collection<ITask> candidates) {
+			for (ITask task : candidates) {
 				if (select(task) && include(task)) {
 					children.add(task);
 				}
 			}
-			return children;
 		}
 
 		private boolean include(ITask task) {
@@ -330,6 +352,20 @@ public class TaskScheduleContentProvider extends TaskListContentProvider impleme
 
 		protected abstract boolean select(ITask task);
 
+		/**
+		 * Returns false, if {@link #select(ITask)} never selects completed tasks.
+		 */
+		protected boolean selectsCompleted() {
+			return true;
+		}
+
+		/**
+		 * Returns false, if {@link #select(ITask)} never selects tasks that are not completed.
+		 */
+		protected boolean selectsIncomplete() {
+			return true;
+		}
+
 	}
 
 	public class Incoming extends StateTaskContainer {
@@ -371,6 +407,11 @@ public class TaskScheduleContentProvider extends TaskListContentProvider impleme
 			return task.isCompleted() && notScheduled(task);
 		}
 
+		@Override
+		protected boolean selectsIncomplete() {
+			return false;
+		}
+
 	}
 
 	private class RolloverCheck extends Job {
@@ -19,6 +19,8 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -32,15 +34,17 @@ import org.eclipse.mylyn.tasks.core.TaskRepository;
 import org.eclipse.mylyn.tasks.core.TaskRepositoryLocationFactory;
 
 /**
- * Caches {@link ITracClient} objects.
+ * Caches {@link ITracClient} objects. Clients are looked up without locking, hence connectors for different
+ * repositories do not block each other.
  * 
  * @author Steffen Pingel
  */
 public class TracClientManager implements IRepositoryListener {
 
-	private final Map<String, ITracClient> clientByUrl = new HashMap<String, ITracClient>();
+	private final ConcurrentMap<String, ITracClient> clientByUrl = new ConcurrentHashMap<String, ITracClient>();
 
-	private final Map<String, TracClientData> clientDataByUrl = new HashMap<String, TracClientData>();
+	private final ConcurrentMap<String, TracClientData> clientDataByUrl = new ConcurrentHashMap<String, TracClientData>(
+			4);
 
 	private final File cacheFile;
 
@@ -53,19 +57,29 @@ public class TracClientManager implements IRepositoryListener {
 		readCache();
 	}
 
-	public synchronized ITracClient getTracClient(TaskRepository taskRepository) {
-		ITracClient repository = clientByUrl.get(taskRepository.getRepositoryUrl());
+	public ITracClient getTracClient(TaskRepository taskRepository) {
+		String url = taskRepository.getRepositoryUrl();
+		ITracClient repository = clientByUrl.get(url);
 		if (repository == null) {
 			AbstractWebLocation location = taskRepositoryLocationFactory.createWebLocation(taskRepository);
-			repository = TracClientFactory.createClient(location, Version.fromVersion(taskRepository.getVersion()));
-			clientByUrl.put(taskRepository.getRepositoryUrl(), repository);
+			ITracClient client = TracClientFactory.createClient(location,
+					Version.fromVersion(taskRepository.getVersion()));
 
-			TracClientData data = clientDataByUrl.get(taskRepository.getRepositoryUrl());
+			TracClientData data = clientDataByUrl.get(url);
 			if (data == null) {
 				data = new TracClientData();
-				clientDataByUrl.put(taskRepository.getRepositoryUrl(), data);
+				TracClientData existingData = clientDataByUrl.putIfAbsent(url, data);
+				if (existingData != null) {
+					data = existingData;
+				}
+			}
+			client.setData(data);
+
+			// if another thread has created a client concurrently, use that one
+			repository = clientByUrl.putIfAbsent(url, client);
+			if (repository == null) {
+				repository = client;
 			}
-			repository.setData(data);
 		}
 		return repository;
 	}
@@ -74,26 +88,46 @@ public class TracClientManager implements IRepositoryListener {
 		// ignore
 	}
 
-	public synchronized void repositoryAdded(TaskRepository repository) {
+	public void repositoryAdded(TaskRepository repository) {
 		// make sure there is no stale client still in the cache, bug #149939
 		removeClient(repository);
 		clientDataByUrl.remove(repository.getRepositoryUrl());
 	}
 
-	public synchronized void clearClients() {
-		clientByUrl.clear();
+	public void clearClients() {
+		for (String url : clientByUrl.keySet()) {
+			removeClient(url);
+		}
+	}
+
+	private void removeClient(TaskRepository repository) {
+		removeClient(repository.getRepositoryUrl());
 	}
 
-	private synchronized void removeClient(TaskRepository repository) {
-		clientByUrl.remove(repository.getRepositoryUrl());
+	private void removeClient(String url) {
+		ITracClient client = clientByUrl.remove(url);
+		if (client != null) {
+			saveClientData(url, client);
+		}
+	}
+
+	/**
+	 * Clients replace their data object when attributes are refreshed, hence the current object needs to be retained
+	 * before a client is discarded or the cache is written.
+	 */
+	private void saveClientData(String url, ITracClient client) {
+		TracClientData data = client.getData();
+		if (data != null) {
+			clientDataByUrl.put(url, data);
+		}
 	}
 
-	public synchronized void repositoryRemoved(TaskRepository repository) {
+	public void repositoryRemoved(TaskRepository repository) {
 		removeClient(repository);
 		clientDataByUrl.remove(repository.getRepositoryUrl());
 	}
 
-	public synchronized void repositorySettingsChanged(TaskRepository repository) {
+	public void repositorySettingsChanged(TaskRepository repository) {
 		removeClient(repository);
 		// if url is changed a stale data object will be left in
 		// clientDataByUrl, bug #149939
@@ -135,13 +169,19 @@ public class TracClientManager implements IRepositoryListener {
 			return;
 		}
 
+		for (Map.Entry<String, ITracClient> entry : clientByUrl.entrySet()) {
+			saveClientData(entry.getKey(), entry.getValue());
+		}
+
+		// take a snapshot since the map may be modified concurrently
+		Map<String, TracClientData> dataByUrl = new HashMap<String, TracClientData>(clientDataByUrl);
 		ObjectOutputStream out = null;
 		try {
 			out = new ObjectOutputStream(new FileOutputStream(cacheFile));
-			out.writeInt(clientDataByUrl.size());
-			for (String url : clientDataByUrl.keySet()) {
-				out.writeObject(url);
-				out.writeObject(clientDataByUrl.get(url));
+			out.writeInt(dataByUrl.size());
+			for (Map.Entry<String, TracClientData> entry : dataByUrl.entrySet()) {
+				out.writeObject(entry.getKey());
+				out.writeObject(entry.getValue());
 			}
 		} catch (IOException e) {
 			StatusHandler.log(new Status(IStatus.WARNING, TracCorePlugin.ID_PLUGIN,
@@ -241,6 +241,8 @@ public class TracRepositoryConnector extends AbstractRepositoryConnector {
 
 	private final static Date DEFAULT_COMPLETION_DATE = new Date(0);
 
+	private final static int DEFAULT_MAX_CONCURRENT_REQUESTS = 4;
+
 	private static int TASK_PRIORITY_LEVELS = 5;
 
 	public static final String TASK_KEY_SUPPORTS_SUBTASKS = "SupportsSubtasks"; //$NON-NLS-1$
@@ -395,6 +397,19 @@ public class TracRepositoryConnector extends AbstractRepositoryConnector {
 		return taskDataHandler.getTaskData(repository, taskId, monitor);
 	}
 
+	/**
+	 * Returns 1 unless the repository is accessed through XML-RPC since the web client that scrapes pages is not known
+	 * to be safe for concurrent use.
+	 */
+	@Override
+	public int getMaxConcurrentRequests(TaskRepository repository) {
+		if (!Version.XML_RPC.name().equals(repository.getVersion())) {
+			return 1;
+		}
+		int maxConcurrentRequests = repository.getMaxConcurrentRequests();
+		return (maxConcurrentRequests > 0) ? maxConcurrentRequests : DEFAULT_MAX_CONCURRENT_REQUESTS;
+	}
+
 	@Override
 	public TracTaskDataHandler getTaskDataHandler() {
 		return taskDataHandler;
@@ -14,6 +14,7 @@ package org.eclipse.mylyn.internal.trac.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
@@ -22,6 +23,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringTokenizer;
 
+import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -29,6 +31,8 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.internal.trac.core.client.ITracClient;
 import org.eclipse.mylyn.internal.trac.core.client.InvalidTicketException;
+import org.eclipse.mylyn.internal.trac.core.client.TracRemoteException;
+import org.eclipse.mylyn.internal.trac.core.client.TracXmlRpcClient;
 import org.eclipse.mylyn.internal.trac.core.model.TracAction;
 import org.eclipse.mylyn.internal.trac.core.model.TracAttachment;
 import org.eclipse.mylyn.internal.trac.core.model.TracComment;
@@ -49,6 +53,7 @@ import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMetaData;
 import org.eclipse.mylyn.tasks.core.data.TaskCommentMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
 import org.eclipse.mylyn.tasks.core.data.TaskMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskOperation;
 import org.eclipse.osgi.util.NLS;
@@ -73,8 +78,16 @@ public class TracTaskDataHandler extends AbstractTaskDataHandler {
 
 	private static final String TRAC_KEY = "tracKey"; //$NON-NLS-1$
 
+	/**
+	 * The default number of tickets that are retrieved in a single request by
+	 * {@link #getMultiTaskData(TaskRepository, Set, TaskDataCollector, IProgressMonitor)}.
+	 */
+	public static final int DEFAULT_MULTI_TASK_DATA_CHUNK_SIZE = 50;
+
 	private final TracRepositoryConnector connector;
 
+	private volatile int multiTaskDataChunkSize = DEFAULT_MULTI_TASK_DATA_CHUNK_SIZE;
+
 	public TracTaskDataHandler(TracRepositoryConnector connector) {
 		this.connector = connector;
 	}
@@ -106,6 +119,106 @@ public class TracTaskDataHandler extends AbstractTaskDataHandler {
 		return createTaskDataFromTicket(client, repository, ticket, monitor);
 	}
 
+	@Override
+	public boolean canGetMultiTaskData(TaskRepository repository) {
+		return connector.getClientManager().getTracClient(repository) instanceof TracXmlRpcClient;
+	}
+
+	/**
+	 * Retrieves tickets in chunks of {@link #getMultiTaskDataChunkSize()} tickets per request. If a chunk can not be
+	 * retrieved since the repository reports an error for one of the tickets, e.g. because it was deleted, the tickets
+	 * of the chunk are retrieved individually and failures are reported to <code>collector</code>. Clients that do not
+	 * support XML-RPC retrieve each ticket through a separate request.
+	 */
+	@Override
+	public void getMultiTaskData(TaskRepository repository, Set<String> taskIds, TaskDataCollector collector,
+			IProgressMonitor monitor) throws CoreException {
+		monitor = Policy.monitorFor(monitor);
+		try {
+			monitor.beginTask("Task Download", taskIds.size()); //$NON-NLS-1$
+			ITracClient client = connector.getClientManager().getTracClient(repository);
+			List<Integer> ids = new ArrayList<Integer>(taskIds.size());
+			for (String taskId : taskIds) {
+				try {
+					ids.add(TracRepositoryConnector.getTicketId(taskId));
+				} catch (CoreException e) {
+					collector.failed(taskId, e.getStatus());
+					monitor.worked(1);
+				}
+			}
+			if (!(client instanceof TracXmlRpcClient)) {
+				for (Integer id : ids) {
+					try {
+						collector.accept(downloadTaskData(repository, id, monitor));
+					} catch (CoreException e) {
+						collector.failed(id.toString(), e.getStatus());
+					}
+					monitor.worked(1);
+				}
+				return;
+			}
+			int chunkSize = multiTaskDataChunkSize;
+			for (int start = 0; start < ids.size(); start += chunkSize) {
+				List<Integer> chunk = ids.subList(start, Math.min(start + chunkSize, ids.size()));
+				getMultiTaskData(repository, (TracXmlRpcClient) client, chunk, collector, monitor);
+			}
+		} finally {
+			monitor.done();
+		}
+	}
+
+	private void getMultiTaskData(TaskRepository repository, TracXmlRpcClient client, List<Integer> ids,
+			TaskDataCollector collector, IProgressMonitor monitor) throws CoreException {
+		List<TracTicket> tickets;
+		try {
+			client.updateAttributes(monitor, false);
+			int[] ticketIds = new int[ids.size()];
+			for (int i = 0; i < ticketIds.length; i++) {
+				ticketIds[i] = ids.get(i);
+			}
+			tickets = client.getTicketsWithDetails(ticketIds, monitor);
+		} catch (OperationCanceledException e) {
+			throw e;
+		} catch (Exception e) {
+			if (!(e instanceof TracRemoteException || e instanceof InvalidTicketException)) {
+				throw new CoreException(TracCorePlugin.toStatus(e, repository));
+			}
+			if (ids.size() == 1) {
+				collector.failed(ids.get(0).toString(), TracCorePlugin.toStatus(e, repository));
+				monitor.worked(1);
+			} else {
+				// determine which ticket failed
+				for (Integer id : ids) {
+					getMultiTaskData(repository, client, Collections.singletonList(id), collector, monitor);
+				}
+			}
+			return;
+		}
+
+		for (TracTicket ticket : tickets) {
+			try {
+				collector.accept(createTaskDataFromTicket(client, repository, ticket, monitor));
+			} catch (CoreException e) {
+				collector.failed(Integer.toString(ticket.getId()), e.getStatus());
+			}
+			monitor.worked(1);
+		}
+	}
+
+	public int getMultiTaskDataChunkSize() {
+		return multiTaskDataChunkSize;
+	}
+
+	/**
+	 * Sets the number of tickets that are retrieved in a single request by
+	 * {@link #getMultiTaskData(TaskRepository, Set, TaskDataCollector, IProgressMonitor)}. Each ticket requires four
+	 * calls in the request.
+	 */
+	public void setMultiTaskDataChunkSize(int chunkSize) {
+		Assert.isLegal(chunkSize > 0);
+		this.multiTaskDataChunkSize = chunkSize;
+	}
+
 	public TaskData createTaskDataFromTicket(ITracClient client, TaskRepository repository, TracTicket ticket,
 			IProgressMonitor monitor) throws CoreException {
 		TaskData taskData = new TaskData(getAttributeMapper(repository), TracCorePlugin.CONNECTOR_KIND,
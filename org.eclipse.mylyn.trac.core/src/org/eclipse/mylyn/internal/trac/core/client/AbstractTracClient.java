@@ -16,6 +16,15 @@ import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.URL;
 import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.httpclient.Cookie;
 import org.apache.commons.httpclient.HostConfiguration;
@@ -24,11 +33,18 @@ import org.apache.commons.httpclient.NameValuePair;
 import org.apache.commons.httpclient.cookie.CookiePolicy;
 import org.apache.commons.httpclient.methods.PostMethod;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.mylyn.commons.core.CoreUtil;
+import org.eclipse.mylyn.commons.core.StatusHandler;
 import org.eclipse.mylyn.commons.net.AbstractWebLocation;
 import org.eclipse.mylyn.commons.net.AuthenticationCredentials;
+import org.eclipse.mylyn.commons.net.Policy;
 import org.eclipse.mylyn.commons.net.WebUtil;
+import org.eclipse.mylyn.internal.trac.core.TracCorePlugin;
 import org.eclipse.mylyn.internal.trac.core.model.TracComponent;
 import org.eclipse.mylyn.internal.trac.core.model.TracMilestone;
 import org.eclipse.mylyn.internal.trac.core.model.TracPriority;
@@ -55,13 +71,43 @@ public abstract class AbstractTracClient implements ITracClient {
 
 	private static final String LOGIN_COOKIE_NAME = "trac_auth"; //$NON-NLS-1$
 
+	/**
+	 * The default time in milliseconds after which cached attributes are refreshed in the background.
+	 */
+	public static final long DEFAULT_ATTRIBUTES_MAX_AGE = 24 * 60 * 60 * 1000L;
+
+	private static final long REFRESH_POLL_INTERVAL = 100;
+
+	private static final ExecutorService refreshExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "Trac Attribute Refresh #" + count.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+
+	});
+
 	protected final String repositoryUrl;
 
 	protected final Version version;
 
 	protected final AbstractWebLocation location;
 
-	protected TracClientData data;
+	protected volatile TracClientData data;
+
+	private final Object refreshLock = new Object();
+
+	/**
+	 * The attribute refresh that is currently running, guarded by {@link #refreshLock}.
+	 */
+	private AttributeRefresh refresh;
+
+	private volatile long attributesMaxAge = DEFAULT_ATTRIBUTES_MAX_AGE;
+
+	private volatile long lastRefreshFailure;
 
 	public AbstractTracClient(URL repositoryUrl, Version version, String username, String password, Proxy proxy) {
 		this.repositoryUrl = repositoryUrl.toString();
@@ -188,8 +234,9 @@ public abstract class AbstractTracClient implements ITracClient {
 	}
 
 	public TracTicketField getTicketFieldByName(String name) {
+		TracClientData data = this.data;
 		if (data.ticketFields != null) {
-			synchronized (this) {
+			synchronized (data) {
 				// lazily fill fieldByName map
 				if (data.ticketFieldByName == null) {
 					data.ticketFieldByName = new HashMap<String, TracTicketField>();
@@ -224,18 +271,109 @@ public abstract class AbstractTracClient implements ITracClient {
 	}
 
 	public void updateAttributes(IProgressMonitor monitor, boolean force) throws TracException {
-		if (!hasAttributes() || force) {
-			updateAttributes(monitor);
-			data.lastUpdate = System.currentTimeMillis();
+		long lastUpdate = data.lastUpdate;
+		if (lastUpdate != 0 && !force) {
+			// keep serving the cached attributes while they are refreshed
+			long now = System.currentTimeMillis();
+			if (now - Math.max(lastUpdate, lastRefreshFailure) > attributesMaxAge) {
+				startRefresh(null);
+			}
+			return;
+		}
+
+		monitor = Policy.monitorFor(monitor);
+		while (true) {
+			AttributeRefresh task = startRefresh(monitor);
+			try {
+				waitForRefresh(task, monitor);
+				return;
+			} catch (OperationCanceledException e) {
+				if (monitor.isCanceled() || task.monitor == monitor) {
+					throw e;
+				}
+				// the refresh was started and canceled by another caller, retry
+			}
+		}
+	}
+
+	/**
+	 * Returns the refresh that is currently running or starts a new refresh. If <code>monitor</code> is null, the
+	 * refresh is run in the background, otherwise it is run in the calling thread.
+	 */
+	private AttributeRefresh startRefresh(IProgressMonitor monitor) {
+		AttributeRefresh task;
+		synchronized (refreshLock) {
+			if (refresh != null) {
+				return refresh;
+			}
+			task = new AttributeRefresh(monitor);
+			refresh = task;
+		}
+		if (monitor != null) {
+			task.run();
+		} else {
+			refreshExecutor.execute(task);
+		}
+		return task;
+	}
+
+	private void waitForRefresh(AttributeRefresh task, IProgressMonitor monitor) throws TracException {
+		while (true) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				task.get(REFRESH_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+				return;
+			} catch (TimeoutException e) {
+				// check for cancellation
+			} catch (InterruptedException e) {
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof TracException) {
+					throw (TracException) cause;
+				} else if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				} else if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new TracException(cause);
+			}
 		}
 	}
 
-	public abstract void updateAttributes(IProgressMonitor monitor) throws TracException;
+	/**
+	 * Retrieves the repository attributes and stores them in <code>data</code>. The retrieved attributes are not
+	 * visible to readers until the update has completed.
+	 * 
+	 * @param data
+	 *            an empty object that receives the attributes
+	 * @throws TracException
+	 *             thrown in case of a connection error
+	 */
+	protected abstract void updateAttributes(TracClientData data, IProgressMonitor monitor) throws TracException;
+
+	public long getAttributesMaxAge() {
+		return attributesMaxAge;
+	}
+
+	/**
+	 * Sets the time in milliseconds after which cached attributes are refreshed in the background by
+	 * {@link #updateAttributes(IProgressMonitor, boolean)}.
+	 */
+	public void setAttributesMaxAge(long attributesMaxAge) {
+		this.attributesMaxAge = attributesMaxAge;
+	}
 
 	public void setData(TracClientData data) {
 		this.data = data;
 	}
 
+	public TracClientData getData() {
+		return data;
+	}
+
 	public String[] getDefaultTicketResolutions() {
 		return new String[] { "fixed", "invalid", "wontfix", "duplicate", "worksforme" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
 	}
@@ -257,4 +395,51 @@ public abstract class AbstractTracClient implements ITracClient {
 		return repositoryUrl;
 	}
 
+	/**
+	 * Retrieves attributes into a new {@link TracClientData} object that replaces the current one when the refresh has
+	 * completed, hence readers always see a consistent snapshot.
+	 */
+	private class AttributeRefresh extends FutureTask<TracClientData> {
+
+		private final IProgressMonitor monitor;
+
+		/**
+		 * @param monitor
+		 *            the monitor of the calling thread or null, if the refresh is run in the background
+		 */
+		public AttributeRefresh(final IProgressMonitor monitor) {
+			super(new Callable<TracClientData>() {
+				public TracClientData call() throws Exception {
+					TracClientData newData = new TracClientData();
+					updateAttributes(newData, (monitor != null) ? monitor : new NullProgressMonitor());
+					newData.lastUpdate = System.currentTimeMillis();
+					data = newData;
+					return newData;
+				}
+			});
+			this.monitor = monitor;
+		}
+
+		@Override
+		protected void done() {
+			synchronized (refreshLock) {
+				if (refresh == this) {
+					refresh = null;
+				}
+			}
+		}
+
+		@Override
+		protected void setException(Throwable t) {
+			lastRefreshFailure = System.currentTimeMillis();
+			super.setException(t);
+			if (monitor == null) {
+				// the cached attributes remain in use, the error is not reported to a caller
+				StatusHandler.log(new Status(IStatus.WARNING, TracCorePlugin.ID_PLUGIN,
+						"Refreshing attributes of Trac repository failed: " + repositoryUrl, t)); //$NON-NLS-1$
+			}
+		}
+
+	}
+
 }
@@ -153,14 +153,16 @@ public interface ITracClient {
 
 	/**
 	 * Returns true, if the repository details are cached. If this method returns true, invoking
-	 * <tt>updateAttributes(monitor, false)</tt> will return without opening a connection.
+	 * <tt>updateAttributes(monitor, false)</tt> will return without waiting for a connection.
 	 * 
 	 * @see #updateAttributes(IProgressMonitor, boolean)
 	 */
 	boolean hasAttributes();
 
 	/**
-	 * Updates cached repository details: milestones, versions etc.
+	 * Updates cached repository details: milestones, versions etc. If details are cached and <code>force</code> is
+	 * false, the cached details are kept and, if they have expired, refreshed in the background. Otherwise the method
+	 * blocks until the details have been retrieved. Concurrent invocations share a single refresh.
 	 * 
 	 * @throws TracException
 	 *             thrown in case of a connection error
@@ -209,6 +211,12 @@ public interface ITracClient {
 	 */
 	void setData(TracClientData data);
 
+	/**
+	 * Returns the cached repository attributes. The returned object is replaced, not modified, when attributes are
+	 * updated.
+	 */
+	TracClientData getData();
+
 	Set<Integer> getChangedTickets(Date since, IProgressMonitor monitor) throws TracException;
 
 	Date getTicketLastChanged(Integer id, IProgressMonitor monitor) throws TracException;
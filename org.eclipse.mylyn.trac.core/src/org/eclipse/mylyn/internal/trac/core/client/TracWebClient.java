@@ -529,7 +529,7 @@ public class TracWebClient extends AbstractTracClient {
 	}
 
 	@Override
-	public void updateAttributes(IProgressMonitor monitor) throws TracException {
+	protected void updateAttributes(TracClientData data, IProgressMonitor monitor) throws TracException {
 		monitor.beginTask(Messages.TracWebClient_Updating_attributes, IProgressMonitor.UNKNOWN);
 
 		GetMethod method = connect(repositoryUrl + ITracClient.CUSTOM_QUERY_URL, monitor);
@@ -549,16 +549,16 @@ public class TracWebClient extends AbstractTracClient {
 							String text = getText(tokenizer).trim();
 							int i = text.indexOf("var properties="); //$NON-NLS-1$
 							if (i != -1) {
-								if (!parseAttributesJSon(text.substring(i))) {
+								if (!parseAttributesJSon(text.substring(i), data)) {
 									// fall back
-									parseAttributesTokenizer(text.substring(i));
+									parseAttributesTokenizer(text.substring(i), data);
 								}
 							}
 						}
 					}
 				}
 
-				addResolutionAndStatus();
+				addResolutionAndStatus(data);
 			} finally {
 				in.close();
 			}
@@ -575,7 +575,7 @@ public class TracWebClient extends AbstractTracClient {
 		INIT, IN_LIST, IN_ATTRIBUTE_KEY, IN_ATTRIBUTE_VALUE, IN_ATTRIBUTE_VALUE_LIST
 	};
 
-	private boolean parseAttributesJSon(String text) {
+	private boolean parseAttributesJSon(String text, TracClientData data) {
 		// remove surrounding JavaScript
 		if (text.startsWith("var properties=")) { //$NON-NLS-1$
 			text = text.substring("var properties=".length()); //$NON-NLS-1$
@@ -630,7 +630,7 @@ public class TracWebClient extends AbstractTracClient {
 	/**
 	 * Parses the JavaScript code from the query page to extract repository configuration.
 	 */
-	private void parseAttributesTokenizer(String text) throws IOException {
+	private void parseAttributesTokenizer(String text, TracClientData data) throws IOException {
 		StreamTokenizer t = new StreamTokenizer(new StringReader(text));
 		t.quoteChar('"');
 
@@ -699,7 +699,7 @@ public class TracWebClient extends AbstractTracClient {
 		}
 	}
 
-	public void updateAttributesNewTicketPage(IProgressMonitor monitor) throws TracException {
+	public void updateAttributesNewTicketPage(TracClientData data, IProgressMonitor monitor) throws TracException {
 		monitor.beginTask(Messages.TracWebClient_Updating_attributes, IProgressMonitor.UNKNOWN);
 
 		GetMethod method = connect(repositoryUrl + ITracClient.NEW_TICKET_URL, monitor);
@@ -758,7 +758,7 @@ public class TracWebClient extends AbstractTracClient {
 					}
 				}
 
-				addResolutionAndStatus();
+				addResolutionAndStatus(data);
 			} finally {
 				in.close();
 			}
@@ -771,7 +771,7 @@ public class TracWebClient extends AbstractTracClient {
 		}
 	}
 
-	private void addResolutionAndStatus() {
+	private void addResolutionAndStatus(TracClientData data) {
 		if (data.ticketResolutions == null || data.ticketResolutions.isEmpty()) {
 			data.ticketResolutions = new ArrayList<TracTicketResolution>(5);
 			data.ticketResolutions.add(new TracTicketResolution("fixed", 1)); //$NON-NLS-1$
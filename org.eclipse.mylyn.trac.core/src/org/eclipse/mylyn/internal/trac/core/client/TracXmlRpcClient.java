@@ -268,7 +268,7 @@ public class TracXmlRpcClient extends AbstractTracClient implements ITracWikiCli
 
 	public static final int REQUIRED_WIKI_RPC_VERSION = 2;
 
-	private XmlRpcClient xmlrpc;
+	private volatile XmlRpcClient xmlrpc;
 
 	private TracHttpClientTransportFactory factory;
 
@@ -295,69 +295,82 @@ public class TracXmlRpcClient extends AbstractTracClient implements ITracWikiCli
 				AuthScope.ANY_SCHEME);
 	}
 
-	public synchronized XmlRpcClient getClient() throws TracException {
-		if (xmlrpc == null) {
-			config = new XmlRpcClientConfigImpl();
-			config.setEncoding(ITracClient.CHARSET);
-			config.setTimeZone(TimeZone.getTimeZone(ITracClient.TIME_ZONE));
-			config.setContentLengthOptional(false);
-			config.setConnectionTimeout(WebUtil.getConnectionTimeout());
-			config.setReplyTimeout(WebUtil.getSocketTimeout());
-
-			xmlrpc = new XmlRpcClient();
-			xmlrpc.setConfig(config);
-			// bug 307200: force factory that supports proper UTF-8 encoding
-			xmlrpc.setXmlWriterFactory(new CharSetXmlWriterFactory());
-
-			factory = new TracHttpClientTransportFactory(xmlrpc, httpClient);
-			factory.setLocation(location);
-			factory.setInterceptor(new HttpMethodInterceptor() {
-				public void processRequest(HttpMethod method) {
-					DigestScheme scheme = digestScheme;
-					if (scheme != null) {
+	public XmlRpcClient getClient() throws TracException {
+		XmlRpcClient client = xmlrpc;
+		if (client == null) {
+			synchronized (this) {
+				client = xmlrpc;
+				if (client == null) {
+					client = createClient();
+					// publish the client after it has been fully configured
+					xmlrpc = client;
+				}
+			}
+		}
+		return client;
+	}
+
+	private XmlRpcClient createClient() throws TracException {
+		config = new XmlRpcClientConfigImpl();
+		config.setEncoding(ITracClient.CHARSET);
+		config.setTimeZone(TimeZone.getTimeZone(ITracClient.TIME_ZONE));
+		config.setContentLengthOptional(false);
+		config.setConnectionTimeout(WebUtil.getConnectionTimeout());
+		config.setReplyTimeout(WebUtil.getSocketTimeout());
+
+		XmlRpcClient client = new XmlRpcClient();
+		client.setConfig(config);
+		// bug 307200: force factory that supports proper UTF-8 encoding
+		client.setXmlWriterFactory(new CharSetXmlWriterFactory());
+
+		factory = new TracHttpClientTransportFactory(client, httpClient);
+		factory.setLocation(location);
+		factory.setInterceptor(new HttpMethodInterceptor() {
+			public void processRequest(HttpMethod method) {
+				DigestScheme scheme = digestScheme;
+				if (scheme != null) {
+					if (DEBUG_AUTH) {
+						System.err.println(location.getUrl() + ": Digest scheme is present"); //$NON-NLS-1$ 
+					}
+					Credentials creds = httpClient.getState().getCredentials(authScope);
+					if (creds != null) {
 						if (DEBUG_AUTH) {
-							System.err.println(location.getUrl() + ": Digest scheme is present"); //$NON-NLS-1$ 
-						}
-						Credentials creds = httpClient.getState().getCredentials(authScope);
-						if (creds != null) {
-							if (DEBUG_AUTH) {
-								System.err.println(location.getUrl() + ": Setting digest scheme for request"); //$NON-NLS-1$ 
-							}
-							method.getHostAuthState().setAuthScheme(digestScheme);
-							method.getHostAuthState().setAuthRequested(true);
+							System.err.println(location.getUrl() + ": Setting digest scheme for request"); //$NON-NLS-1$ 
 						}
+						method.getHostAuthState().setAuthScheme(digestScheme);
+						method.getHostAuthState().setAuthRequested(true);
 					}
 				}
+			}
 
-				public void processResponse(HttpMethod method) {
-					AuthScheme authScheme = method.getHostAuthState().getAuthScheme();
-					if (authScheme instanceof DigestScheme) {
-						digestScheme = (DigestScheme) authScheme;
-						if (DEBUG_AUTH) {
-							System.err.println(location.getUrl() + ": Received digest scheme"); //$NON-NLS-1$ 
-						}
+			public void processResponse(HttpMethod method) {
+				AuthScheme authScheme = method.getHostAuthState().getAuthScheme();
+				if (authScheme instanceof DigestScheme) {
+					digestScheme = (DigestScheme) authScheme;
+					if (DEBUG_AUTH) {
+						System.err.println(location.getUrl() + ": Received digest scheme"); //$NON-NLS-1$ 
 					}
 				}
-			});
-			xmlrpc.setTransportFactory(factory);
+			}
+		});
+		client.setTransportFactory(factory);
 
-			// update configuration with latest values
-			AuthenticationCredentials credentials = location.getCredentials(AuthenticationType.REPOSITORY);
-			config.setServerURL(getXmlRpcUrl(credentials));
-			if (credentialsValid(credentials)) {
-				Credentials httpCredentials = WebUtil.getHttpClientCredentials(credentials,
-						WebUtil.getHost(location.getUrl()));
-				httpClient.getState().setCredentials(authScope, httpCredentials);
+		// update configuration with latest values
+		AuthenticationCredentials credentials = location.getCredentials(AuthenticationType.REPOSITORY);
+		config.setServerURL(getXmlRpcUrl(credentials));
+		if (credentialsValid(credentials)) {
+			Credentials httpCredentials = WebUtil.getHttpClientCredentials(credentials,
+					WebUtil.getHost(location.getUrl()));
+			httpClient.getState().setCredentials(authScope, httpCredentials);
 //				if (CoreUtil.TEST_MODE) {
 //					System.err.println(" Setting credentials: " + httpCredentials); //$NON-NLS-1$
 //				}
-				httpClient.getState().setCredentials(authScope, httpCredentials);
-			} else {
-				httpClient.getState().clearCredentials();
-			}
+			httpClient.getState().setCredentials(authScope, httpCredentials);
+		} else {
+			httpClient.getState().clearCredentials();
 		}
 
-		return xmlrpc;
+		return client;
 	}
 
 	private URL getXmlRpcUrl(AuthenticationCredentials credentials) throws TracException {
@@ -608,18 +621,64 @@ public class TracXmlRpcClient extends AbstractTracClient implements ITracWikiCli
 		ticket.setActions(actions);
 
 		updateAttributes(new NullProgressMonitor(), false);
+		ticket.setResolutions(getResolutionNames());
+
+		return ticket;
+	}
+
+	/**
+	 * Retrieves tickets including comments, attachments and actions. Unlike {@link #getTicket(int, IProgressMonitor)}
+	 * which requires several requests per ticket all tickets are retrieved in a single multicall.
+	 *
+	 * @return the tickets in the order of <code>ids</code>
+	 * @throws TracException
+	 *             thrown in case of a connection error or if any of the tickets could not be retrieved
+	 */
+	@SuppressWarnings("unchecked")
+	public List<TracTicket> getTicketsWithDetails(int[] ids, IProgressMonitor monitor) throws TracException {
+		boolean supportsWorkFlow = supportsWorkFlow(monitor);
+		String actionsMethod = (supportsWorkFlow) ? "ticket.getActions" : "ticket.getAvailableActions"; //$NON-NLS-1$ //$NON-NLS-2$
+		Map<String, Object>[] calls = new Map[ids.length * 4];
+		for (int i = 0; i < ids.length; i++) {
+			calls[i * 4] = createMultiCall("ticket.get", ids[i]); //$NON-NLS-1$
+			calls[i * 4 + 1] = createMultiCall("ticket.changeLog", ids[i], 0); //$NON-NLS-1$
+			calls[i * 4 + 2] = createMultiCall("ticket.listAttachments", ids[i]); //$NON-NLS-1$
+			calls[i * 4 + 3] = createMultiCall(actionsMethod, ids[i]);
+		}
+
+		Object[] result = multicall(monitor, calls);
+		assert result.length == calls.length;
+
+		updateAttributes(new NullProgressMonitor(), false);
+		String[] resolutions = getResolutionNames();
+
+		List<TracTicket> tickets = new ArrayList<TracTicket>(ids.length);
+		for (int i = 0; i < ids.length; i++) {
+			TracTicket ticket = parseTicket((Object[]) getMultiCallResult(result[i * 4]));
+			for (Object item : (Object[]) getMultiCallResult(result[i * 4 + 1])) {
+				ticket.addComment(parseChangeLogEntry((Object[]) item));
+			}
+			for (Object item : (Object[]) getMultiCallResult(result[i * 4 + 2])) {
+				ticket.addAttachment(parseAttachment((Object[]) item));
+			}
+			ticket.setActions(parseActions((Object[]) getMultiCallResult(result[i * 4 + 3]), supportsWorkFlow));
+			ticket.setResolutions(resolutions);
+			tickets.add(ticket);
+		}
+		return tickets;
+	}
+
+	private String[] getResolutionNames() {
 		TracTicketResolution[] resolutions = getTicketResolutions();
 		if (resolutions != null) {
 			String[] resolutionStrings = new String[resolutions.length];
 			for (int i = 0; i < resolutions.length; i++) {
 				resolutionStrings[i] = resolutions[i].getName();
 			}
-			ticket.setResolutions(resolutionStrings);
+			return resolutionStrings;
 		} else {
-			ticket.setResolutions(getDefaultTicketResolutions());
+			return getDefaultTicketResolutions();
 		}
-
-		return ticket;
 	}
 
 	private TracAttachment parseAttachment(Object[] entry) {
@@ -718,7 +777,7 @@ public class TracXmlRpcClient extends AbstractTracClient implements ITracWikiCli
 	}
 
 	@Override
-	public synchronized void updateAttributes(IProgressMonitor monitor) throws TracException {
+	protected void updateAttributes(TracClientData data, IProgressMonitor monitor) throws TracException {
 		monitor.beginTask("Updating attributes", 9); //$NON-NLS-1$
 
 		Object[] result = getAttributes("ticket.component", monitor); //$NON-NLS-1$
@@ -1014,6 +1073,15 @@ public class TracXmlRpcClient extends AbstractTracClient implements ITracWikiCli
 	public TracAction[] getActions(int id, IProgressMonitor monitor) throws TracException {
 		if (supportsWorkFlow(monitor)) {
 			Object[] actions = (Object[]) call(monitor, "ticket.getActions", id); //$NON-NLS-1$
+			return parseActions(actions, true);
+		} else {
+			Object[] actions = (Object[]) call(monitor, "ticket.getAvailableActions", id); //$NON-NLS-1$
+			return parseActions(actions, false);
+		}
+	}
+
+	private TracAction[] parseActions(Object[] actions, boolean supportsWorkFlow) {
+		if (supportsWorkFlow) {
 			TracAction[] result = new TracAction[actions.length];
 			for (int i = 0; i < result.length; i++) {
 				Object[] entry = (Object[]) actions[i];
@@ -1043,7 +1111,6 @@ public class TracXmlRpcClient extends AbstractTracClient implements ITracWikiCli
 			}
 			return result;
 		} else {
-			Object[] actions = (Object[]) call(monitor, "ticket.getAvailableActions", id); //$NON-NLS-1$
 			TracAction[] result = new TracAction[actions.length];
 			for (int i = 0; i < result.length; i++) {
 				result[i] = new TracAction((String) actions[i]);
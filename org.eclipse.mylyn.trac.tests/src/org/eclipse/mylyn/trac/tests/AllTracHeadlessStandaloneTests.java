@@ -18,6 +18,7 @@ import junit.framework.TestSuite;
 
 import org.eclipse.mylyn.commons.sdk.util.TestConfiguration;
 import org.eclipse.mylyn.internal.trac.core.client.ITracClient.Version;
+import org.eclipse.mylyn.trac.tests.client.TracClientAttributesTest;
 import org.eclipse.mylyn.trac.tests.client.TracClientFactoryTest;
 import org.eclipse.mylyn.trac.tests.client.TracClientProxyTest;
 import org.eclipse.mylyn.trac.tests.client.TracClientTest;
@@ -44,6 +45,7 @@ public class AllTracHeadlessStandaloneTests {
 		suite.addTestSuite(TracTicketTest.class);
 		suite.addTestSuite(TracRepositoryInfoTest.class);
 		suite.addTestSuite(TracClientProxyTest.class);
+		suite.addTestSuite(TracClientAttributesTest.class);
 		// network tests
 		if (!configuration.isLocalOnly()) {
 			List<TracFixture> fixtures = configuration.discover(TracFixture.class, "trac");
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2016 Tasktop Technologies and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Tasktop Technologies - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.mylyn.trac.tests.client;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.mylyn.commons.net.WebLocation;
+import org.eclipse.mylyn.internal.trac.core.client.ITracClient.Version;
+import org.eclipse.mylyn.internal.trac.core.client.TracClientData;
+import org.eclipse.mylyn.internal.trac.core.client.TracException;
+import org.eclipse.mylyn.internal.trac.core.client.TracXmlRpcClient;
+
+public class TracClientAttributesTest extends TestCase {
+
+	private static class StubClient extends TracXmlRpcClient {
+
+		private final AtomicInteger updateCount = new AtomicInteger();
+
+		private volatile CountDownLatch started = new CountDownLatch(1);
+
+		private volatile CountDownLatch release;
+
+		private volatile TracException failure;
+
+		public StubClient() {
+			super(new WebLocation("http://mylyn.org/trac", "", ""), Version.XML_RPC);
+		}
+
+		@Override
+		protected void updateAttributes(TracClientData data, IProgressMonitor monitor) throws TracException {
+			updateCount.incrementAndGet();
+			started.countDown();
+			if (release != null) {
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					throw new TracException(e);
+				}
+			}
+			if (failure != null) {
+				throw failure;
+			}
+		}
+
+	}
+
+	private StubClient client;
+
+	@Override
+	protected void setUp() throws Exception {
+		client = new StubClient();
+	}
+
+	public void testUpdateAttributes() throws Exception {
+		assertFalse(client.hasAttributes());
+		client.updateAttributes(new NullProgressMonitor(), false);
+		assertTrue(client.hasAttributes());
+		assertEquals(1, client.updateCount.get());
+
+		// cached attributes have not expired
+		TracClientData data = client.getData();
+		client.updateAttributes(new NullProgressMonitor(), false);
+		assertEquals(1, client.updateCount.get());
+		assertSame(data, client.getData());
+
+		client.updateAttributes(new NullProgressMonitor(), true);
+		assertEquals(2, client.updateCount.get());
+		assertNotSame(data, client.getData());
+	}
+
+	public void testUpdateAttributesSingleFlight() throws Exception {
+		client.release = new CountDownLatch(1);
+		Thread[] threads = new Thread[4];
+		final AtomicInteger completed = new AtomicInteger();
+		for (int i = 0; i < threads.length; i++) {
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						client.updateAttributes(new NullProgressMonitor(), false);
+						completed.incrementAndGet();
+					} catch (TracException e) {
+						// fail below
+					}
+				}
+			};
+			threads[i].start();
+		}
+		assertTrue(client.started.await(10, TimeUnit.SECONDS));
+		// give the remaining threads a chance to join the running refresh
+		Thread.sleep(200);
+		assertFalse(client.hasAttributes());
+
+		client.release.countDown();
+		for (Thread thread : threads) {
+			thread.join(10000);
+		}
+		assertEquals(threads.length, completed.get());
+		assertEquals(1, client.updateCount.get());
+		assertTrue(client.hasAttributes());
+	}
+
+	public void testUpdateAttributesStaleWhileRevalidate() throws Exception {
+		client.updateAttributes(new NullProgressMonitor(), false);
+		TracClientData data = client.getData();
+
+		client.setAttributesMaxAge(0);
+		client.started = new CountDownLatch(1);
+		client.release = new CountDownLatch(1);
+		Thread.sleep(5);
+		// returns the cached attributes while the refresh is blocked
+		client.updateAttributes(new NullProgressMonitor(), false);
+		assertTrue(client.started.await(10, TimeUnit.SECONDS));
+		assertSame(data, client.getData());
+		client.updateAttributes(new NullProgressMonitor(), false);
+		assertEquals(2, client.updateCount.get());
+
+		client.release.countDown();
+		waitForData(data);
+		assertTrue(client.hasAttributes());
+		assertEquals(2, client.updateCount.get());
+	}
+
+	public void testUpdateAttributesBackgroundFailure() throws Exception {
+		client.updateAttributes(new NullProgressMonitor(), false);
+		TracClientData data = client.getData();
+
+		client.setAttributesMaxAge(0);
+		client.started = new CountDownLatch(1);
+		client.failure = new TracException("failure");
+		Thread.sleep(5);
+		client.updateAttributes(new NullProgressMonitor(), false);
+		assertTrue(client.started.await(10, TimeUnit.SECONDS));
+		assertSame(data, client.getData());
+
+		try {
+			client.updateAttributes(new NullProgressMonitor(), true);
+			fail("Expected TracException");
+		} catch (TracException e) {
+			assertSame(client.failure, e);
+		}
+		assertSame(data, client.getData());
+	}
+
+	private void waitForData(TracClientData oldData) throws InterruptedException {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (client.getData() == oldData && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertNotSame(oldData, client.getData());
+	}
+
+}
@@ -149,6 +149,37 @@ public class TracXmlRpcClientTest extends TestCase {
 		assertEquals("accept", actions[3].getId());
 	}
 
+	public void testGetTicketsWithDetails() throws Exception {
+		TracTicket ticket1 = harness.createTicket("getTicketsWithDetails1");
+		TracTicket ticket2 = harness.createTicket("getTicketsWithDetails2");
+		harness.attachFile(ticket2.getId(), "attachment.txt", "content");
+		client.updateTicket(ticket2, "comment", null);
+
+		List<TracTicket> tickets = client.getTicketsWithDetails(new int[] { ticket2.getId(), ticket1.getId() }, null);
+		assertEquals(2, tickets.size());
+		assertEquals(ticket2.getId(), tickets.get(0).getId());
+		assertEquals(ticket1.getId(), tickets.get(1).getId());
+		for (TracTicket ticket : tickets) {
+			TracTicket expected = client.getTicket(ticket.getId(), null);
+			TracTestUtil.assertTicketEquals(expected, ticket);
+			assertEquals(expected.getComments().length, ticket.getComments().length);
+			assertEquals(expected.getAttachments().length, ticket.getAttachments().length);
+			assertEquals(expected.getActions().length, ticket.getActions().length);
+			assertEquals(Arrays.asList(expected.getResolutions()), Arrays.asList(ticket.getResolutions()));
+		}
+		assertEquals(1, tickets.get(0).getAttachments().length);
+	}
+
+	public void testGetTicketsWithDetailsInvalidTicket() throws Exception {
+		TracTicket ticket = harness.createTicket("getTicketsWithDetailsInvalidTicket");
+		try {
+			client.getTicketsWithDetails(new int[] { ticket.getId(), Integer.MAX_VALUE }, null);
+			fail("Expected TracRemoteException");
+		} catch (TracRemoteException e) {
+			// expected
+		}
+	}
+
 	public void testGetTicketActionsClosed() throws Exception {
 		TracTicket ticket = harness.createTicket("getTicketActionsClosed");
 		ticket.putBuiltinValue(Key.STATUS, "closed");
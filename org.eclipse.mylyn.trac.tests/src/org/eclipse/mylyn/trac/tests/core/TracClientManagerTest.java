@@ -13,12 +13,17 @@ package org.eclipse.mylyn.trac.tests.core;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import junit.framework.TestCase;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.mylyn.internal.trac.core.TracClientManager;
 import org.eclipse.mylyn.internal.trac.core.client.ITracClient;
+import org.eclipse.mylyn.internal.trac.core.client.TracClientData;
 import org.eclipse.mylyn.internal.trac.core.model.TracMilestone;
 import org.eclipse.mylyn.tasks.core.TaskRepository;
 import org.eclipse.mylyn.tasks.core.TaskRepositoryLocationFactory;
@@ -71,4 +76,47 @@ public class TracClientManagerTest extends TestCase {
 		assertEquals(Arrays.asList(milestones), Arrays.asList(client.getMilestones()));
 	}
 
+	public void testGetTracClientConcurrently() throws Exception {
+		final TracClientManager manager = new TracClientManager(null, new TaskRepositoryLocationFactory());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		ITracClient client;
+		try {
+			Future<?>[] futures = new Future<?>[16];
+			for (int i = 0; i < futures.length; i++) {
+				futures[i] = executor.submit(new Callable<ITracClient>() {
+					public ITracClient call() throws Exception {
+						return manager.getTracClient(repository);
+					}
+				});
+			}
+			client = manager.getTracClient(repository);
+			for (Future<?> future : futures) {
+				assertSame(client, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		manager.repositoryRemoved(repository);
+		assertNotSame(client, manager.getTracClient(repository));
+	}
+
+	public void testRepositorySettingsChangedRetainsData() throws Exception {
+		TracClientManager manager = new TracClientManager(null, new TaskRepositoryLocationFactory());
+		ITracClient client = manager.getTracClient(repository);
+		// simulates a completed attribute refresh which replaces the data object of the client
+		TracClientData data = new TracClientData();
+		client.setData(data);
+
+		manager.repositorySettingsChanged(repository);
+		ITracClient newClient = manager.getTracClient(repository);
+		assertNotSame(client, newClient);
+		assertSame(data, newClient.getData());
+
+		data = new TracClientData();
+		newClient.setData(data);
+		manager.clearClients();
+		assertSame(data, manager.getTracClient(repository).getData());
+	}
+
 }
@@ -17,12 +17,16 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import junit.framework.TestCase;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.mylyn.commons.net.AuthenticationCredentials;
 import org.eclipse.mylyn.commons.net.AuthenticationType;
@@ -48,6 +52,7 @@ import org.eclipse.mylyn.tasks.core.data.AbstractTaskAttachmentHandler;
 import org.eclipse.mylyn.tasks.core.data.TaskAttribute;
 import org.eclipse.mylyn.tasks.core.data.TaskAttributeMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskData;
+import org.eclipse.mylyn.tasks.core.data.TaskDataCollector;
 import org.eclipse.mylyn.tasks.core.data.TaskMapper;
 import org.eclipse.mylyn.tasks.core.data.TaskOperation;
 import org.eclipse.mylyn.tasks.core.data.TaskRelation;
@@ -187,6 +192,58 @@ public class TracTaskDataHandlerXmlRpcTest extends TestCase {
 		assertEquals(Collections.singleton(task), session.getStaleTasks());
 	}
 
+	public void testGetMultiTaskData() throws Exception {
+		assertTrue(taskDataHandler.canGetMultiTaskData(repository));
+		TracTicket ticket1 = harness.createTicket("getMultiTaskData1");
+		TracTicket ticket2 = harness.createTicket("getMultiTaskData2");
+		TracTicket ticket3 = harness.createTicket("getMultiTaskData3");
+		Set<String> taskIds = new HashSet<String>(Arrays.asList(ticket1.getId() + "", ticket2.getId() + "",
+				ticket3.getId() + ""));
+
+		int chunkSize = taskDataHandler.getMultiTaskDataChunkSize();
+		taskDataHandler.setMultiTaskDataChunkSize(2);
+		try {
+			MultiTaskDataCollector collector = new MultiTaskDataCollector();
+			taskDataHandler.getMultiTaskData(repository, taskIds, collector, null);
+			assertEquals(taskIds, collector.taskDataById.keySet());
+			assertTrue(collector.failedById.isEmpty());
+			TaskData taskData = collector.taskDataById.get(ticket2.getId() + "");
+			assertEquals("getMultiTaskData2", taskData.getRoot().getAttribute(TaskAttribute.SUMMARY).getValue());
+			assertNotNull(taskData.getRoot().getAttribute(TaskAttribute.PREFIX_OPERATION + "leave"));
+		} finally {
+			taskDataHandler.setMultiTaskDataChunkSize(chunkSize);
+		}
+	}
+
+	public void testGetMultiTaskDataInvalidTicket() throws Exception {
+		TracTicket ticket = harness.createTicket("getMultiTaskDataInvalidTicket");
+		String invalidId = Integer.toString(Integer.MAX_VALUE);
+		Set<String> taskIds = new HashSet<String>(Arrays.asList(ticket.getId() + "", invalidId, "abc"));
+
+		MultiTaskDataCollector collector = new MultiTaskDataCollector();
+		taskDataHandler.getMultiTaskData(repository, taskIds, collector, null);
+		assertEquals(Collections.singleton(ticket.getId() + ""), collector.taskDataById.keySet());
+		assertEquals(new HashSet<String>(Arrays.asList(invalidId, "abc")), collector.failedById.keySet());
+	}
+
+	private static class MultiTaskDataCollector extends TaskDataCollector {
+
+		final Map<String, TaskData> taskDataById = new HashMap<String, TaskData>();
+
+		final Map<String, IStatus> failedById = new HashMap<String, IStatus>();
+
+		@Override
+		public void accept(TaskData taskData) {
+			taskDataById.put(taskData.getTaskId(), taskData);
+		}
+
+		@Override
+		public void failed(String taskId, IStatus status) {
+			failedById.put(taskId, status);
+		}
+
+	}
+
 	public void testNonNumericTaskId() {
 		try {
 			connector.getTaskData(repository, "abc", null);